@@ -2,6 +2,8 @@
 -- Projet SAE BUT Informatique
 
 -- Suppression des tables si elles existent déjà (pour réinitialisation)
+DROP TABLE Suppression;
+DROP TABLE Rencontre;
 DROP TABLE Affectation;
 DROP TABLE Inscription;
 DROP TABLE Joueur;
@@ -18,6 +20,7 @@ DROP SEQUENCE seq_equipe_id;
 DROP SEQUENCE seq_joueur_id;
 DROP SEQUENCE seq_utilisateur_id;
 DROP SEQUENCE seq_staff_id;
+DROP SEQUENCE seq_rencontre_id;
 
 -- Création des séquences pour les auto-incréments
 CREATE SEQUENCE seq_jeu_id START WITH 1 INCREMENT BY 1;
@@ -26,6 +29,7 @@ CREATE SEQUENCE seq_equipe_id START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_joueur_id START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_utilisateur_id START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE seq_staff_id START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE seq_rencontre_id START WITH 1 INCREMENT BY 1;
 
 -- Création de la table Jeu
 CREATE TABLE Jeu (
@@ -49,6 +53,10 @@ CREATE TABLE Tournoi (
     statut VARCHAR2(20) DEFAULT 'En préparation',
     prix_pool NUMBER(10,2),
     id_jeu NUMBER(10),
+    nb_inscrits NUMBER(10) DEFAULT 0 NOT NULL,
+    version NUMBER(10) DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT ck_tournoi_capacite CHECK (nb_inscrits <= nb_equipes_max),
     CONSTRAINT fk_tournoi_jeu FOREIGN KEY (id_jeu) REFERENCES Jeu(id_jeu) ON DELETE SET NULL
 );
 
@@ -60,7 +68,9 @@ CREATE TABLE Equipe (
     logo VARCHAR2(255),
     date_creation DATE,
     pays VARCHAR2(50),
-    description VARCHAR2(300)
+    description VARCHAR2(300),
+    version NUMBER(10) DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL
 );
 
 -- Création de la table Joueur
@@ -74,6 +84,7 @@ CREATE TABLE Joueur (
     email VARCHAR2(100),
     id_equipe NUMBER(10),
     role VARCHAR2(50),
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     CONSTRAINT fk_joueur_equipe FOREIGN KEY (id_equipe) REFERENCES Equipe(id_equipe) ON DELETE SET NULL
 );
 
@@ -97,6 +108,7 @@ CREATE TABLE Staff (
     email VARCHAR2(100),
     telephone VARCHAR2(20),
     id_utilisateur NUMBER(10),
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     CONSTRAINT fk_staff_utilisateur FOREIGN KEY (id_utilisateur) REFERENCES Utilisateur(id_utilisateur) ON DELETE SET NULL
 );
 
@@ -107,6 +119,8 @@ CREATE TABLE Inscription (
     date_inscription DATE DEFAULT SYSDATE,
     statut VARCHAR2(20) DEFAULT 'Inscrit',
     seed NUMBER(10),
+    version NUMBER(10) DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     CONSTRAINT pk_inscription PRIMARY KEY (id_tournoi, id_equipe),
     CONSTRAINT fk_inscription_tournoi FOREIGN KEY (id_tournoi) REFERENCES Tournoi(id_tournoi) ON DELETE CASCADE,
     CONSTRAINT fk_inscription_equipe FOREIGN KEY (id_equipe) REFERENCES Equipe(id_equipe) ON DELETE CASCADE
@@ -119,11 +133,112 @@ CREATE TABLE Affectation (
     role_specifique VARCHAR2(50),
     date_debut DATE,
     date_fin DATE,
+    last_modified TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
     CONSTRAINT pk_affectation PRIMARY KEY (id_tournoi, id_staff),
     CONSTRAINT fk_affectation_tournoi FOREIGN KEY (id_tournoi) REFERENCES Tournoi(id_tournoi) ON DELETE CASCADE,
     CONSTRAINT fk_affectation_staff FOREIGN KEY (id_staff) REFERENCES Staff(id_staff) ON DELETE CASCADE
 );
 
+-- Table des rencontres (calendrier d'un tournoi)
+CREATE TABLE Rencontre (
+    id_rencontre NUMBER(10) PRIMARY KEY,
+    id_tournoi NUMBER(10) NOT NULL,
+    groupe VARCHAR2(5),
+    tour NUMBER(5) NOT NULL,
+    id_equipe_a NUMBER(10) NOT NULL,
+    id_equipe_b NUMBER(10) NOT NULL,
+    score_a NUMBER(5),
+    score_b NUMBER(5),
+    statut VARCHAR2(20) DEFAULT 'Planifiée' NOT NULL,
+    version NUMBER(10) DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_rencontre_tournoi FOREIGN KEY (id_tournoi) REFERENCES Tournoi(id_tournoi) ON DELETE CASCADE,
+    CONSTRAINT fk_rencontre_equipe_a FOREIGN KEY (id_equipe_a) REFERENCES Equipe(id_equipe) ON DELETE CASCADE,
+    CONSTRAINT fk_rencontre_equipe_b FOREIGN KEY (id_equipe_b) REFERENCES Equipe(id_equipe) ON DELETE CASCADE,
+    CONSTRAINT ck_rencontre_equipes CHECK (id_equipe_a <> id_equipe_b),
+    CONSTRAINT ck_rencontre_scores CHECK ((score_a IS NULL AND score_b IS NULL) OR (score_a >= 0 AND score_b >= 0))
+);
+
+CREATE INDEX idx_rencontre_tournoi ON Rencontre(id_tournoi, groupe, tour);
+
+-- Suivi des modifications entre postes (rafraîchissement par delta)
+-- last_modified est posé par trigger à chaque écriture ; les suppressions laissent
+-- une trace dans Suppression (id_2 : second élément de la clé des tables d'association)
+CREATE TABLE Suppression (
+    nom_table VARCHAR2(30) NOT NULL,
+    id_1 NUMBER(10) NOT NULL,
+    id_2 NUMBER(10),
+    date_suppression TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_suppression_date ON Suppression(date_suppression);
+CREATE INDEX idx_tournoi_modif ON Tournoi(last_modified);
+CREATE INDEX idx_equipe_modif ON Equipe(last_modified);
+CREATE INDEX idx_joueur_modif ON Joueur(last_modified);
+CREATE INDEX idx_staff_modif ON Staff(last_modified);
+CREATE INDEX idx_inscription_modif ON Inscription(last_modified);
+CREATE INDEX idx_affectation_modif ON Affectation(last_modified);
+
+CREATE OR REPLACE TRIGGER trg_tournoi_modif BEFORE INSERT OR UPDATE ON Tournoi FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_equipe_modif BEFORE INSERT OR UPDATE ON Equipe FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_joueur_modif BEFORE INSERT OR UPDATE ON Joueur FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_staff_modif BEFORE INSERT OR UPDATE ON Staff FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_inscription_modif BEFORE INSERT OR UPDATE ON Inscription FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_affectation_modif BEFORE INSERT OR UPDATE ON Affectation FOR EACH ROW
+BEGIN
+    :NEW.last_modified := SYSTIMESTAMP;
+END;
+/
+CREATE OR REPLACE TRIGGER trg_tournoi_suppr AFTER DELETE ON Tournoi FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1) VALUES ('TOURNOI', :OLD.id_tournoi);
+END;
+/
+CREATE OR REPLACE TRIGGER trg_equipe_suppr AFTER DELETE ON Equipe FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1) VALUES ('EQUIPE', :OLD.id_equipe);
+END;
+/
+CREATE OR REPLACE TRIGGER trg_joueur_suppr AFTER DELETE ON Joueur FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1) VALUES ('JOUEUR', :OLD.id_joueur);
+END;
+/
+CREATE OR REPLACE TRIGGER trg_staff_suppr AFTER DELETE ON Staff FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1) VALUES ('STAFF', :OLD.id_staff);
+END;
+/
+CREATE OR REPLACE TRIGGER trg_inscription_suppr AFTER DELETE ON Inscription FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1, id_2) VALUES ('INSCRIPTION', :OLD.id_tournoi, :OLD.id_equipe);
+END;
+/
+CREATE OR REPLACE TRIGGER trg_affectation_suppr AFTER DELETE ON Affectation FOR EACH ROW
+BEGIN
+    INSERT INTO Suppression (nom_table, id_1, id_2) VALUES ('AFFECTATION', :OLD.id_tournoi, :OLD.id_staff);
+END;
+/
+
 -- Insertion des données de test
 -- Insertion des jeux
 INSERT INTO Jeu (id_jeu, nom, editeur, annee_sortie, genre, description) VALUES
@@ -233,6 +348,9 @@ INSERT INTO Inscription (id_tournoi, id_equipe, date_inscription, statut, seed)
 INSERT INTO Inscription (id_tournoi, id_equipe, date_inscription, statut, seed) VALUES
 (4, 5, SYSTIMESTAMP, 'Confirmé', 5);
 
+-- Initialisation du compteur d'inscrits (garde de capacité)
+UPDATE Tournoi t SET nb_inscrits = (SELECT COUNT(*) FROM Inscription i WHERE i.id_tournoi = t.id_tournoi);
+
 -- Affectation du staff aux tournois
 INSERT INTO Affectation (id_tournoi, id_staff, role_specifique, date_debut, date_fin) VALUES
 (1, 1, 'Responsable tournoi', TO_DATE('15/06/2025 08:00:00', 'DD/MM/YYYY HH24:MI:SS'), TO_DATE('20/06/2025 20:00:00', 'DD/MM/YYYY HH24:MI:SS'));
@@ -0,0 +1,304 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Inscription;
+import fr.tournois.model.Rencontre;
+import fr.tournois.model.Tournoi;
+import fr.tournois.util.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moteur d'appariement du système suisse.
+ *
+ * À chaque tour, les équipes sont classées par points puis par tête de série et
+ * appariées de haut en bas : chaque équipe rencontre la première équipe libre
+ * classée après elle qu'elle n'a pas encore affrontée, en privilégiant, dans
+ * son groupe de points, un adversaire qui équilibre les côtés (A / B) des deux équipes.
+ * Si les dernières équipes libres se sont déjà rencontrées, la paire est échangée
+ * avec la paire précédente la plus proche qui permet deux rencontres inédites.
+ * Avec un nombre impair d'équipes, la moins bien classée n'ayant pas encore
+ * été exemptée reçoit l'exemption (et les points d'une victoire).
+ *
+ * L'historique des rencontres est un {@link LongHashSet} de paires d'indices :
+ * la vérification d'une revanche est un accès direct, sans allocation.
+ * Un tour de 1 000 équipes est apparié en une fraction de milliseconde
+ * dans le cas courant (quelques sondages par équipe).
+ */
+public class AppariementSuisse {
+
+    /** Points attribués pour une victoire (et pour une exemption). */
+    public static final int POINTS_VICTOIRE = 3;
+    /** Points attribués pour un match nul. */
+    public static final int POINTS_NUL = 1;
+
+    private final int[] equipes;
+    private final Map<Integer, Integer> indices;
+    private final int[] points;
+    /** Différence (nombre de matchs côté A - côté B) de chaque équipe. */
+    private final int[] cotes;
+    private final boolean[] exemptee;
+    private final LongHashSet historique;
+    private int tour;
+
+    /**
+     * Constructeur
+     * @param inscriptions les équipes inscrites avec leur seed
+     * @throws IllegalArgumentException s'il y a moins de deux équipes
+     */
+    public AppariementSuisse(List<Inscription> inscriptions) {
+        this.equipes = BracketGenerator.equipesParSeed(inscriptions);
+        int n = equipes.length;
+        this.indices = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(equipes[i], i);
+        }
+        this.points = new int[n];
+        this.cotes = new int[n];
+        this.exemptee = new boolean[n];
+        // Un système suisse dure environ log2(n) tours de n/2 rencontres
+        this.historique = new LongHashSet(n * (32 - Integer.numberOfLeadingZeros(n)) / 2);
+    }
+
+    /**
+     * Apparie le tour suivant.
+     * @return les paires d'identifiants d'équipes à plat (A, B, A, B...) ;
+     *         une exemption est une paire (équipe, {@link Bracket#BYE})
+     */
+    public int[] apparierTour() {
+        int n = equipes.length;
+        int[] classement = classement();
+        boolean[] appariee = new boolean[n];
+        int[] paires = new int[(n + 1) / 2 * 2];
+
+        if (n % 2 == 1) {
+            int exempt = choisirExempt(classement);
+            appariee[exempt] = true;
+            exemptee[exempt] = true;
+            points[exempt] += POINTS_VICTOIRE;
+            paires[paires.length - 2] = equipes[exempt];
+            paires[paires.length - 1] = Bracket.BYE;
+        }
+
+        // Paires du tour en indices d'équipes
+        int[] premiers = new int[n / 2];
+        int[] seconds = new int[n / 2];
+        int m = 0;
+        for (int r = 0; r < n; r++) {
+            int a = classement[r];
+            if (appariee[a]) {
+                continue;
+            }
+            int adversaire = chercherAdversaire(classement, appariee, r);
+            appariee[a] = true;
+            appariee[adversaire] = true;
+            premiers[m] = a;
+            seconds[m] = adversaire;
+            if (historique.contains(cle(a, adversaire))) {
+                // Seul en bas de classement avec un ancien adversaire : échange avec une paire déjà formée
+                reparerRevanche(premiers, seconds, m);
+            }
+            m++;
+        }
+
+        int k = 0;
+        for (int p = 0; p < m; p++) {
+            int a = premiers[p];
+            int b = seconds[p];
+            historique.add(cle(a, b));
+            // L'équipe qui a le plus joué côté A passe côté B
+            if (cotes[a] > cotes[b]) {
+                int echange = a;
+                a = b;
+                b = echange;
+            }
+            cotes[a]++;
+            cotes[b]--;
+            paires[k++] = equipes[a];
+            paires[k++] = equipes[b];
+        }
+        tour++;
+        return paires;
+    }
+
+    /**
+     * Remplace la paire m (une revanche) et une paire précédente (c, d) par deux
+     * paires inédites (c, a) / (d, b) ou (c, b) / (d, a), en remontant le classement.
+     * Si aucun échange n'est possible, la revanche est conservée.
+     */
+    private void reparerRevanche(int[] premiers, int[] seconds, int m) {
+        int a = premiers[m];
+        int b = seconds[m];
+        for (int p = m - 1; p >= 0; p--) {
+            int c = premiers[p];
+            int d = seconds[p];
+            if (!historique.contains(cle(c, a)) && !historique.contains(cle(d, b))) {
+                seconds[p] = a;
+                premiers[m] = d;
+                return;
+            }
+            if (!historique.contains(cle(c, b)) && !historique.contains(cle(d, a))) {
+                seconds[p] = b;
+                premiers[m] = d;
+                seconds[m] = a;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Apparie le tour suivant sous forme de rencontres à enregistrer
+     * (les exemptions ne sont pas des rencontres et ne sont pas retournées).
+     * @param tournoi le tournoi
+     * @return les rencontres du tour
+     */
+    public List<Rencontre> apparierTour(Tournoi tournoi) {
+        int[] paires = apparierTour();
+        Map<Integer, Equipe> parId = new HashMap<>();
+        for (Equipe equipe : tournoi.getEquipes()) {
+            parId.put(equipe.getId(), equipe);
+        }
+        List<Rencontre> rencontres = new ArrayList<>(paires.length / 2);
+        for (int k = 0; k < paires.length; k += 2) {
+            if (paires[k + 1] != Bracket.BYE) {
+                rencontres.add(new Rencontre(tournoi, null, tour,
+                        equipe(parId, paires[k]), equipe(parId, paires[k + 1])));
+            }
+        }
+        return rencontres;
+    }
+
+    private static Equipe equipe(Map<Integer, Equipe> parId, int id) {
+        Equipe equipe = parId.get(id);
+        if (equipe == null) {
+            equipe = new Equipe();
+            equipe.setId(id);
+        }
+        return equipe;
+    }
+
+    /**
+     * Enregistre le résultat d'une rencontre du tour.
+     * @param equipeA identifiant de la première équipe
+     * @param equipeB identifiant de la seconde équipe
+     * @param scoreA score de la première équipe
+     * @param scoreB score de la seconde équipe
+     */
+    public void enregistrerResultat(int equipeA, int equipeB, int scoreA, int scoreB) {
+        int a = indice(equipeA);
+        int b = indice(equipeB);
+        if (scoreA > scoreB) {
+            points[a] += POINTS_VICTOIRE;
+        } else if (scoreB > scoreA) {
+            points[b] += POINTS_VICTOIRE;
+        } else {
+            points[a] += POINTS_NUL;
+            points[b] += POINTS_NUL;
+        }
+    }
+
+    /**
+     * Indique si deux équipes se sont déjà rencontrées.
+     * @param equipeA identifiant d'une équipe
+     * @param equipeB identifiant de l'autre équipe
+     * @return true si la rencontre a déjà eu lieu
+     */
+    public boolean dejaRencontrees(int equipeA, int equipeB) {
+        return historique.contains(cle(indice(equipeA), indice(equipeB)));
+    }
+
+    /**
+     * @param equipeId identifiant de l'équipe
+     * @return les points de l'équipe
+     */
+    public int getPoints(int equipeId) {
+        return points[indice(equipeId)];
+    }
+
+    /** @return le nombre de tours déjà appariés */
+    public int getTour() {
+        return tour;
+    }
+
+    /**
+     * Classe les équipes par points décroissants puis par seed, avec un seul tri
+     * de {@code long} (points en poids fort, indice de seed en poids faible).
+     */
+    private int[] classement() {
+        int n = equipes.length;
+        long[] cles = new long[n];
+        for (int i = 0; i < n; i++) {
+            cles[i] = ((long) -points[i] << 32) | i;
+        }
+        Arrays.sort(cles);
+        int[] classement = new int[n];
+        for (int r = 0; r < n; r++) {
+            classement[r] = (int) cles[r];
+        }
+        return classement;
+    }
+
+    /**
+     * Cherche l'adversaire de l'équipe classée au rang r : d'abord, dans son groupe de
+     * points, une équipe jamais rencontrée qui préfère l'autre côté ; sinon la première
+     * équipe jamais rencontrée ; en dernier recours (fin de classement), la première libre,
+     * la revanche étant ensuite corrigée par {@link #reparerRevanche}.
+     */
+    private int chercherAdversaire(int[] classement, boolean[] appariee, int r) {
+        int a = classement[r];
+        int premierLibre = -1;
+        int premierInedit = -1;
+        for (int s = r + 1; s < classement.length; s++) {
+            int b = classement[s];
+            if (appariee[b]) {
+                continue;
+            }
+            if (premierLibre < 0) {
+                premierLibre = b;
+            }
+            if (historique.contains(cle(a, b))) {
+                continue;
+            }
+            if (points[b] != points[a]) {
+                // Sortie du groupe de points : on prend la première équipe inédite
+                return premierInedit >= 0 ? premierInedit : b;
+            }
+            if (premierInedit < 0) {
+                premierInedit = b;
+            }
+            // Côtés compatibles : les deux équipes ne penchent pas du même côté
+            if ((long) cotes[a] * cotes[b] <= 0) {
+                return b;
+            }
+        }
+        return premierInedit >= 0 ? premierInedit : premierLibre;
+    }
+
+    /**
+     * Choisit l'équipe exemptée : la moins bien classée qui ne l'a pas encore été.
+     */
+    private int choisirExempt(int[] classement) {
+        for (int r = classement.length - 1; r >= 0; r--) {
+            if (!exemptee[classement[r]]) {
+                return classement[r];
+            }
+        }
+        return classement[classement.length - 1];
+    }
+
+    private int indice(int equipeId) {
+        Integer i = indices.get(equipeId);
+        if (i == null) {
+            throw new IllegalArgumentException("L'équipe " + equipeId + " ne participe pas à ce tournoi");
+        }
+        return i;
+    }
+
+    private static long cle(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+}
@@ -0,0 +1,206 @@
+package fr.tournois.bracket;
+
+/**
+ * Arbre d'élimination (simple ou double) stocké dans des tableaux parallèles.
+ *
+ * Chaque match est identifié par son indice. Pour un match {@code m} :
+ * <ul>
+ *   <li>{@code equipeA[m]} / {@code equipeB[m]} : identifiant de l'équipe, {@link #BYE}
+ *       pour une exemption ou {@link #A_DETERMINER} tant que le match précédent n'est pas joué ;</li>
+ *   <li>{@code vainqueurVers[m]} : match qui reçoit le vainqueur (-1 pour la finale),
+ *       {@code slotVainqueur[m]} indique s'il y occupe la place A (0) ou B (1) ;</li>
+ *   <li>{@code perdantVers[m]} / {@code slotPerdant[m]} : idem pour le perdant
+ *       (uniquement en double élimination, -1 sinon).</li>
+ * </ul>
+ * Les matchs sont rangés par section puis par tour : un match ne reçoit jamais
+ * d'équipe d'un match d'indice supérieur, ce qui permet de propager les résultats
+ * en un seul parcours.
+ *
+ * Aucun objet n'est alloué par match : un tableau de 1 024 équipes en double
+ * élimination (2 046 matchs) tient dans une quarantaine de kilo-octets.
+ */
+public class Bracket {
+
+    /** Place attribuée à aucune équipe (exemption). */
+    public static final int BYE = 0;
+    /** Place en attente du résultat d'un match précédent. */
+    public static final int A_DETERMINER = -1;
+
+    /** Tableau principal (ou unique en élimination directe). */
+    public static final byte SECTION_PRINCIPALE = 0;
+    /** Tableau des perdants (double élimination). */
+    public static final byte SECTION_PERDANTS = 1;
+    /** Grande finale (double élimination). */
+    public static final byte SECTION_GRANDE_FINALE = 2;
+
+    private final FormatTournoi format;
+    private final int taille;
+    private final int nbMatchs;
+    private final int[] equipeA;
+    private final int[] equipeB;
+    private final int[] vainqueur;
+    private final int[] vainqueurVers;
+    private final byte[] slotVainqueur;
+    private final int[] perdantVers;
+    private final byte[] slotPerdant;
+    private final short[] tour;
+    private final byte[] section;
+
+    /**
+     * Constructeur (utilisé par {@link BracketGenerator})
+     * @param format format du tableau
+     * @param taille nombre de places au premier tour (puissance de deux)
+     * @param nbMatchs nombre total de matchs
+     */
+    Bracket(FormatTournoi format, int taille, int nbMatchs) {
+        this.format = format;
+        this.taille = taille;
+        this.nbMatchs = nbMatchs;
+        this.equipeA = new int[nbMatchs];
+        this.equipeB = new int[nbMatchs];
+        this.vainqueur = new int[nbMatchs];
+        this.vainqueurVers = new int[nbMatchs];
+        this.slotVainqueur = new byte[nbMatchs];
+        this.perdantVers = new int[nbMatchs];
+        this.slotPerdant = new byte[nbMatchs];
+        this.tour = new short[nbMatchs];
+        this.section = new byte[nbMatchs];
+        java.util.Arrays.fill(equipeA, A_DETERMINER);
+        java.util.Arrays.fill(equipeB, A_DETERMINER);
+        java.util.Arrays.fill(vainqueur, A_DETERMINER);
+        java.util.Arrays.fill(vainqueurVers, -1);
+        java.util.Arrays.fill(perdantVers, -1);
+    }
+
+    /**
+     * Définit la structure d'un match (utilisé par {@link BracketGenerator})
+     */
+    void definirMatch(int match, byte section, int tour, int vainqueurVers, int slotVainqueur,
+                      int perdantVers, int slotPerdant) {
+        this.section[match] = section;
+        this.tour[match] = (short) tour;
+        this.vainqueurVers[match] = vainqueurVers;
+        this.slotVainqueur[match] = (byte) slotVainqueur;
+        this.perdantVers[match] = perdantVers;
+        this.slotPerdant[match] = (byte) slotPerdant;
+    }
+
+    /**
+     * Place une équipe dans un match (utilisé par {@link BracketGenerator})
+     */
+    void placer(int match, int slot, int equipeId) {
+        if (slot == 0) {
+            equipeA[match] = equipeId;
+        } else {
+            equipeB[match] = equipeId;
+        }
+    }
+
+    /**
+     * Qualifie automatiquement les équipes exemptées, en un seul parcours des matchs.
+     */
+    void propagerExemptions() {
+        for (int m = 0; m < nbMatchs; m++) {
+            if (vainqueur[m] == A_DETERMINER && (equipeA[m] == BYE || equipeB[m] == BYE)
+                    && equipeA[m] != A_DETERMINER && equipeB[m] != A_DETERMINER) {
+                int gagnant = equipeA[m] == BYE ? equipeB[m] : equipeA[m];
+                appliquerResultat(m, gagnant, BYE);
+            }
+        }
+    }
+
+    /**
+     * Enregistre le vainqueur d'un match et fait avancer les deux équipes
+     * dans le tableau (le perdant rejoint le tableau des perdants en double élimination).
+     * @param match indice du match
+     * @param equipeId identifiant de l'équipe gagnante
+     * @throws IllegalArgumentException si l'équipe ne joue pas ce match
+     * @throws IllegalStateException si le match n'est pas encore jouable ou déjà joué
+     */
+    public void enregistrerVainqueur(int match, int equipeId) {
+        if (equipeA[match] == A_DETERMINER || equipeB[match] == A_DETERMINER) {
+            throw new IllegalStateException("Le match " + match + " n'a pas encore ses deux équipes");
+        }
+        if (vainqueur[match] != A_DETERMINER) {
+            throw new IllegalStateException("Le match " + match + " a déjà un vainqueur");
+        }
+        int perdant;
+        if (equipeId == equipeA[match]) {
+            perdant = equipeB[match];
+        } else if (equipeId == equipeB[match]) {
+            perdant = equipeA[match];
+        } else {
+            throw new IllegalArgumentException("L'équipe " + equipeId + " ne joue pas le match " + match);
+        }
+        appliquerResultat(match, equipeId, perdant);
+        propagerExemptions();
+    }
+
+    private void appliquerResultat(int match, int gagnant, int perdant) {
+        vainqueur[match] = gagnant;
+        if (vainqueurVers[match] >= 0) {
+            placer(vainqueurVers[match], slotVainqueur[match], gagnant);
+        }
+        if (perdantVers[match] >= 0) {
+            placer(perdantVers[match], slotPerdant[match], perdant);
+        }
+    }
+
+    /** @return le format du tableau (élimination directe ou double) */
+    public FormatTournoi getFormat() {
+        return format;
+    }
+
+    /** @return le nombre de places au premier tour (puissance de deux) */
+    public int getTaille() {
+        return taille;
+    }
+
+    /** @return le nombre total de matchs, exemptions comprises */
+    public int getNbMatchs() {
+        return nbMatchs;
+    }
+
+    public int getEquipeA(int match) {
+        return equipeA[match];
+    }
+
+    public int getEquipeB(int match) {
+        return equipeB[match];
+    }
+
+    /** @return l'équipe gagnante du match, {@link #A_DETERMINER} si non joué */
+    public int getVainqueur(int match) {
+        return vainqueur[match];
+    }
+
+    /** @return le match où le vainqueur est envoyé, -1 s'il n'y en a pas */
+    public int getVainqueurVers(int match) {
+        return vainqueurVers[match];
+    }
+
+    /** @return le match où le perdant est envoyé, -1 s'il est éliminé */
+    public int getPerdantVers(int match) {
+        return perdantVers[match];
+    }
+
+    /** @return le tour du match dans sa section (à partir de 1) */
+    public int getTour(int match) {
+        return tour[match];
+    }
+
+    /** @return la section du match (principale, perdants ou grande finale) */
+    public byte getSection(int match) {
+        return section[match];
+    }
+
+    /** @return true si le match oppose une équipe à une exemption */
+    public boolean isExemption(int match) {
+        return equipeA[match] == BYE || equipeB[match] == BYE;
+    }
+
+    /** @return l'indice du dernier match (finale ou grande finale) */
+    public int getFinale() {
+        return nbMatchs - 1;
+    }
+}
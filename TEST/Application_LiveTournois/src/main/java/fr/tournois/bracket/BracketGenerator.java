@@ -0,0 +1,240 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Inscription;
+import fr.tournois.model.Tournoi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Génère les tableaux d'élimination directe et de double élimination
+ * à partir des têtes de série ({@code Inscription.seed}).
+ *
+ * Le placement suit l'ordre classique des têtes de série (1 contre N, 2 contre N-1...,
+ * les deux premières ne pouvant se rencontrer qu'en finale). Quand le nombre
+ * d'équipes n'est pas une puissance de deux, les places manquantes sont des
+ * exemptions attribuées aux meilleures têtes de série.
+ *
+ * Toutes les étapes sont linéaires en nombre d'équipes : pas de tri
+ * (les seeds sont rangés par placement direct) et un nombre de matchs en O(n).
+ */
+public final class BracketGenerator {
+
+    private BracketGenerator() {
+    }
+
+    /**
+     * Génère le tableau d'un tournoi chargé par {@code TournoiDAO.findById},
+     * selon son format : double élimination si le format le précise,
+     * élimination directe sinon.
+     * @param tournoi le tournoi avec ses inscriptions
+     * @return le tableau généré
+     * @throws IllegalArgumentException si le tournoi compte moins de deux équipes
+     */
+    public static Bracket generer(Tournoi tournoi) {
+        List<Inscription> inscriptions = tournoi.getInscriptions();
+        if (inscriptions.isEmpty() && !tournoi.getEquipes().isEmpty()) {
+            // Tournoi chargé sans les inscriptions : l'ordre des équipes sert de seed
+            inscriptions = new ArrayList<>();
+            for (Equipe equipe : tournoi.getEquipes()) {
+                inscriptions.add(new Inscription(tournoi, equipe, null, 0));
+            }
+        }
+        if (FormatTournoi.depuis(tournoi.getFormat()) == FormatTournoi.DOUBLE_ELIMINATION) {
+            return doubleElimination(inscriptions);
+        }
+        return eliminationDirecte(inscriptions);
+    }
+
+    /**
+     * Génère un tableau d'élimination directe.
+     * @param inscriptions les équipes inscrites avec leur seed
+     * @return le tableau, exemptions déjà qualifiées
+     */
+    public static Bracket eliminationDirecte(List<Inscription> inscriptions) {
+        int[] equipes = equipesParSeed(inscriptions);
+        int taille = puissanceDeDeuxSuperieure(equipes.length);
+        Bracket bracket = new Bracket(FormatTournoi.ELIMINATION_DIRECTE, taille, taille - 1);
+        construireTableauPrincipal(bracket, taille, false, 0);
+        placerPremierTour(bracket, equipes, taille);
+        bracket.propagerExemptions();
+        return bracket;
+    }
+
+    /**
+     * Génère un tableau de double élimination : tableau principal, tableau des
+     * perdants (2·log2(n) - 2 tours) et grande finale.
+     * @param inscriptions les équipes inscrites avec leur seed
+     * @return le tableau, exemptions déjà qualifiées
+     */
+    public static Bracket doubleElimination(List<Inscription> inscriptions) {
+        int[] equipes = equipesParSeed(inscriptions);
+        int taille = puissanceDeDeuxSuperieure(equipes.length);
+        // (taille - 1) matchs principaux + (taille - 2) matchs perdants + grande finale
+        int nbMatchs = 2 * taille - 2;
+        Bracket bracket = new Bracket(FormatTournoi.DOUBLE_ELIMINATION, taille, nbMatchs);
+        int grandeFinale = nbMatchs - 1;
+        int debutPerdants = taille - 1;
+
+        construireTableauPrincipal(bracket, taille, true, debutPerdants);
+
+        // Tableau des perdants : tours impairs entre survivants, tours pairs contre
+        // les perdants du tableau principal. Deux tours par palier de taille.
+        int nbTours = Integer.numberOfTrailingZeros(taille);
+        int indice = debutPerdants;
+        for (int palier = 1; palier < nbTours; palier++) {
+            int matchsParTour = taille >> (palier + 1);
+            int tourImpair = indice;
+            int tourPair = indice + matchsParTour;
+            int tourSuivant = tourPair + matchsParTour;
+            for (int j = 0; j < matchsParTour; j++) {
+                // Tour impair : les survivants s'affrontent (au premier palier, les perdants
+                // du premier tour principal) ; le vainqueur passe au tour pair
+                bracket.definirMatch(tourImpair + j, Bracket.SECTION_PERDANTS, 2 * palier - 1,
+                        tourPair + j, 0, -1, 0);
+                // Tour pair : contre un perdant du tableau principal ; les vainqueurs sont
+                // regroupés deux à deux au palier suivant (ou envoyés en grande finale)
+                int suivant = palier + 1 < nbTours ? tourSuivant + j / 2 : grandeFinale;
+                int slot = palier + 1 < nbTours ? j % 2 : 1;
+                bracket.definirMatch(tourPair + j, Bracket.SECTION_PERDANTS, 2 * palier,
+                        suivant, slot, -1, 0);
+            }
+            indice = tourSuivant;
+        }
+        bracket.definirMatch(grandeFinale, Bracket.SECTION_GRANDE_FINALE, 1, -1, 0, -1, 0);
+
+        placerPremierTour(bracket, equipes, taille);
+        bracket.propagerExemptions();
+        return bracket;
+    }
+
+    /**
+     * Construit le tableau principal : le tour r occupe un bloc contigu de taille/2^r matchs,
+     * le match p d'un tour alimente le match p/2 du tour suivant.
+     * En double élimination, les perdants sont envoyés dans le tableau des perdants.
+     */
+    private static void construireTableauPrincipal(Bracket bracket, int taille, boolean perdants, int debutPerdants) {
+        int nbTours = Integer.numberOfTrailingZeros(taille);
+        int debutTour = 0;
+        for (int tour = 1; tour <= nbTours; tour++) {
+            int matchsDuTour = taille >> tour;
+            int debutSuivant = debutTour + matchsDuTour;
+            for (int p = 0; p < matchsDuTour; p++) {
+                int match = debutTour + p;
+                int suivant = tour < nbTours ? debutSuivant + p / 2 : -1;
+                int perdantVers = -1;
+                int slotPerdant = 0;
+                if (perdants) {
+                    if (tour == nbTours) {
+                        // Le finaliste du tableau principal dispute la grande finale,
+                        // le perdant de la finale principale rejoint la finale des perdants
+                        suivant = bracket.getNbMatchs() - 1;
+                        perdantVers = taille > 2 ? bracket.getNbMatchs() - 2 : bracket.getNbMatchs() - 1;
+                        slotPerdant = 1;
+                    } else if (tour == 1) {
+                        // Premier tour des perdants : les perdants des matchs 2j et 2j+1 s'affrontent
+                        perdantVers = debutPerdants + p / 2;
+                        slotPerdant = p % 2;
+                    } else {
+                        // Les perdants rejoignent le tour pair de leur palier, en ordre inversé
+                        // pour éviter de recroiser immédiatement le même adversaire
+                        perdantVers = debutTourPairPerdants(taille, tour - 1, debutPerdants) + (matchsDuTour - 1 - p);
+                        slotPerdant = 1;
+                    }
+                }
+                bracket.definirMatch(match, Bracket.SECTION_PRINCIPALE, tour, suivant, p % 2, perdantVers, slotPerdant);
+            }
+            debutTour = debutSuivant;
+        }
+    }
+
+    /**
+     * Calcule l'indice du premier match du tour pair d'un palier du tableau des perdants.
+     * Le palier k (k ≥ 1) compte deux tours de taille/2^(k+1) matchs.
+     */
+    private static int debutTourPairPerdants(int taille, int palier, int debutPerdants) {
+        int indice = debutPerdants;
+        for (int k = 1; k < palier; k++) {
+            indice += 2 * (taille >> (k + 1));
+        }
+        return indice + (taille >> (palier + 1));
+    }
+
+    /**
+     * Place les équipes au premier tour selon l'ordre des têtes de série.
+     * Les seeds au-delà du nombre d'équipes sont des exemptions.
+     */
+    private static void placerPremierTour(Bracket bracket, int[] equipes, int taille) {
+        int[] ordre = ordreDesSeeds(taille);
+        for (int i = 0; i < taille; i++) {
+            int seed = ordre[i];
+            int equipeId = seed <= equipes.length ? equipes[seed - 1] : Bracket.BYE;
+            bracket.placer(i / 2, i % 2, equipeId);
+        }
+    }
+
+    /**
+     * Calcule l'ordre de placement des têtes de série sur un tableau de taille donnée.
+     * Pour 8 places : 1, 8, 4, 5, 2, 7, 3, 6.
+     * Chaque étape remplace le seed s par la paire (s, taille + 1 - s) : coût total O(taille).
+     * @param taille nombre de places (puissance de deux)
+     * @return les seeds (à partir de 1) dans l'ordre des places
+     */
+    public static int[] ordreDesSeeds(int taille) {
+        int[] ordre = new int[taille];
+        int[] tampon = new int[taille];
+        ordre[0] = 1;
+        for (int n = 1; n < taille; n *= 2) {
+            int somme = 2 * n + 1;
+            for (int i = 0; i < n; i++) {
+                tampon[2 * i] = ordre[i];
+                tampon[2 * i + 1] = somme - ordre[i];
+            }
+            int[] echange = ordre;
+            ordre = tampon;
+            tampon = echange;
+        }
+        return ordre;
+    }
+
+    /**
+     * Range les identifiants d'équipe par seed sans tri : les seeds valides (1..n,
+     * non dupliqués) sont placés directement, les autres (seed 0 = non classé)
+     * occupent les places restantes dans l'ordre d'inscription.
+     */
+    static int[] equipesParSeed(List<Inscription> inscriptions) {
+        int n = inscriptions.size();
+        if (n < 2) {
+            throw new IllegalArgumentException("Il faut au moins deux équipes pour générer un tableau");
+        }
+        int[] equipes = new int[n];
+        int[] nonPlaces = new int[n];
+        int nbNonPlaces = 0;
+        for (Inscription inscription : inscriptions) {
+            int seed = inscription.getSeed();
+            int equipeId = inscription.getEquipe().getId();
+            if (seed >= 1 && seed <= n && equipes[seed - 1] == 0) {
+                equipes[seed - 1] = equipeId;
+            } else {
+                nonPlaces[nbNonPlaces++] = equipeId;
+            }
+        }
+        int suivant = 0;
+        for (int i = 0; i < n && suivant < nbNonPlaces; i++) {
+            if (equipes[i] == 0) {
+                equipes[i] = nonPlaces[suivant++];
+            }
+        }
+        return equipes;
+    }
+
+    /**
+     * @param n un entier positif
+     * @return la plus petite puissance de deux supérieure ou égale à n (au moins 2)
+     */
+    static int puissanceDeDeuxSuperieure(int n) {
+        int taille = Integer.highestOneBit(Math.max(2, n));
+        return taille < n ? taille << 1 : taille;
+    }
+}
@@ -0,0 +1,167 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Rencontre;
+import fr.tournois.model.Tournoi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Génère les calendriers de phase de groupes (round robin).
+ *
+ * Les équipes, fournies par ordre de tête de série (voir
+ * {@code TournoiDAO.findEquipesByTournoi}), sont réparties en serpentin
+ * (groupe A, B, C, C, B, A, A, B...) pour équilibrer le niveau des groupes.
+ * Chaque groupe est ensuite planifié avec la méthode du cercle : une équipe fixe,
+ * les autres tournent d'un cran à chaque tour. Avec un nombre impair d'équipes,
+ * une place fictive est ajoutée et l'équipe qui la rencontre est exemptée du tour.
+ *
+ * Le calcul travaille sur des indices d'équipes et ne fait aucun tri :
+ * O(n²) pour les n·(n-1)/2 rencontres d'un groupe, sans allocation par tour.
+ */
+public final class CalendrierGenerator {
+
+    /** Indice de la place fictive (exemption) dans un groupe de taille impaire. */
+    static final int EXEMPT = -1;
+
+    private CalendrierGenerator() {
+    }
+
+    /**
+     * Génère toutes les rencontres de la phase de groupes d'un tournoi.
+     * @param tournoi le tournoi
+     * @param equipesParSeed les équipes inscrites, par ordre de tête de série
+     * @param nbGroupes nombre de groupes (1 pour un round robin intégral)
+     * @return les rencontres, groupe par groupe et tour par tour
+     * @throws IllegalArgumentException si un groupe compterait moins de deux équipes
+     */
+    public static List<Rencontre> phaseDeGroupes(Tournoi tournoi, List<Equipe> equipesParSeed, int nbGroupes) {
+        int n = equipesParSeed.size();
+        if (nbGroupes < 1 || n < 2 * nbGroupes) {
+            throw new IllegalArgumentException("Impossible de former " + nbGroupes + " groupes avec " + n + " équipes");
+        }
+        int[][] groupes = repartirEnGroupes(n, nbGroupes);
+
+        int total = 0;
+        for (int[] groupe : groupes) {
+            total += groupe.length * (groupe.length - 1) / 2;
+        }
+        List<Rencontre> rencontres = new ArrayList<>(total);
+        for (int g = 0; g < groupes.length; g++) {
+            String nomGroupe = nomGroupe(g);
+            int[] membres = groupes[g];
+            int[] appariements = roundRobin(membres.length);
+            int parTour = nbPairesParTour(membres.length);
+            for (int k = 0, paire = 0; k < appariements.length; k += 2, paire++) {
+                int a = appariements[k];
+                int b = appariements[k + 1];
+                if (a == EXEMPT || b == EXEMPT) {
+                    continue;
+                }
+                int tour = paire / parTour + 1;
+                rencontres.add(new Rencontre(tournoi, nomGroupe, tour,
+                        equipesParSeed.get(membres[a]), equipesParSeed.get(membres[b])));
+            }
+        }
+        return rencontres;
+    }
+
+    /**
+     * Répartit n équipes (indices 0..n-1 par ordre de seed) en groupes équilibrés,
+     * en serpentin.
+     * @param n nombre d'équipes
+     * @param nbGroupes nombre de groupes
+     * @return pour chaque groupe, les indices de ses équipes par ordre de seed
+     */
+    static int[][] repartirEnGroupes(int n, int nbGroupes) {
+        int[][] groupes = new int[nbGroupes][];
+        for (int g = 0; g < nbGroupes; g++) {
+            // Les premiers groupes reçoivent une équipe de plus si la division n'est pas exacte
+            groupes[g] = new int[n / nbGroupes + (g < n % nbGroupes ? 1 : 0)];
+        }
+        int[] remplissage = new int[nbGroupes];
+        for (int i = 0; i < n; i++) {
+            int ligne = i / nbGroupes;
+            int colonne = i % nbGroupes;
+            int g = ligne % 2 == 0 ? colonne : nbGroupes - 1 - colonne;
+            if (remplissage[g] == groupes[g].length) {
+                // Dernière ligne incomplète d'un serpentin retour : on complète le premier groupe libre
+                g = premierGroupeIncomplet(groupes, remplissage);
+            }
+            groupes[g][remplissage[g]++] = i;
+        }
+        return groupes;
+    }
+
+    private static int premierGroupeIncomplet(int[][] groupes, int[] remplissage) {
+        for (int g = 0; g < groupes.length; g++) {
+            if (remplissage[g] < groupes[g].length) {
+                return g;
+            }
+        }
+        throw new IllegalStateException("Tous les groupes sont complets");
+    }
+
+    /**
+     * Calcule les appariements d'un round robin par la méthode du cercle.
+     * @param n nombre d'équipes du groupe
+     * @return les paires (indiceA, indiceB) à plat, tour après tour ;
+     *         {@link #EXEMPT} désigne l'exemption d'un groupe impair
+     */
+    static int[] roundRobin(int n) {
+        int places = n % 2 == 0 ? n : n + 1;
+        int tours = places - 1;
+        int parTour = places / 2;
+        int[] paires = new int[tours * parTour * 2];
+        int k = 0;
+        for (int tour = 0; tour < tours; tour++) {
+            for (int i = 0; i < parTour; i++) {
+                int a = position(i, tour, tours);
+                int b = position(places - 1 - i, tour, tours);
+                // On alterne domicile / extérieur pour l'équipe fixe
+                if (i == 0 && tour % 2 == 1) {
+                    int echange = a;
+                    a = b;
+                    b = echange;
+                }
+                paires[k++] = a < n ? a : EXEMPT;
+                paires[k++] = b < n ? b : EXEMPT;
+            }
+        }
+        return paires;
+    }
+
+    /**
+     * Équipe occupant une place du cercle à un tour donné : la place 0 est fixe,
+     * les places 1..tours tournent d'un cran par tour.
+     */
+    private static int position(int place, int tour, int tours) {
+        if (place == 0) {
+            return 0;
+        }
+        return 1 + (place - 1 + tour) % tours;
+    }
+
+    /**
+     * @param n nombre d'équipes du groupe
+     * @return le nombre de paires par tour (exemption comprise)
+     */
+    static int nbPairesParTour(int n) {
+        return (n + 1) / 2;
+    }
+
+    /**
+     * @param indice indice du groupe (0 pour le premier)
+     * @return le nom du groupe : A, B, ..., Z, AA, AB...
+     */
+    static String nomGroupe(int indice) {
+        StringBuilder nom = new StringBuilder();
+        int i = indice;
+        do {
+            nom.insert(0, (char) ('A' + i % 26));
+            i = i / 26 - 1;
+        } while (i >= 0);
+        return nom.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package fr.tournois.bracket;
+
+import java.text.Normalizer;
+
+/**
+ * Formats de compétition reconnus à partir du champ libre {@code Tournoi.format}.
+ * La reconnaissance ignore la casse et les accents : "Double Élimination" et
+ * "double elimination" désignent le même format.
+ */
+public enum FormatTournoi {
+    ELIMINATION_DIRECTE,
+    DOUBLE_ELIMINATION,
+    GROUPES,
+    SUISSE,
+    INCONNU;
+
+    /**
+     * Détermine le format de compétition à partir du libellé saisi.
+     * @param libelle le format saisi par l'organisateur (ex : "Groupes + Élimination directe")
+     * @return le format reconnu, INCONNU si aucun ne correspond
+     */
+    public static FormatTournoi depuis(String libelle) {
+        if (libelle == null || libelle.trim().isEmpty()) {
+            return INCONNU;
+        }
+        String normalise = Normalizer.normalize(libelle, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+
+        if (normalise.contains("round robin") || normalise.contains("groupe") || normalise.contains("poule")) {
+            return GROUPES;
+        }
+        if (normalise.contains("suisse") || normalise.contains("swiss")) {
+            return SUISSE;
+        }
+        if (normalise.contains("double")) {
+            return DOUBLE_ELIMINATION;
+        }
+        if (normalise.contains("elimination")) {
+            return ELIMINATION_DIRECTE;
+        }
+        return INCONNU;
+    }
+}
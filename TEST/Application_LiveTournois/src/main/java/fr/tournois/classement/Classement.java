@@ -0,0 +1,318 @@
+package fr.tournois.classement;
+
+import fr.tournois.dao.DAOException;
+import fr.tournois.dao.RencontreDAO;
+import fr.tournois.dao.TournoiDAO;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Rencontre;
+import fr.tournois.model.Tournoi;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Classement d'un tournoi (ou d'un groupe) mis à jour de façon incrémentale.
+ *
+ * Chaque résultat ne modifie que les statistiques des deux équipes concernées ;
+ * l'ordre du classement est ensuite corrigé en déplaçant ces deux équipes
+ * de proche en proche (tri par insertion local) au lieu de recalculer
+ * le classement à partir de toutes les rencontres.
+ *
+ * Critères de départage, dans l'ordre : points, différence de score,
+ * score marqué, puis tête de série (ordre de la liste initiale).
+ */
+public class Classement {
+
+    /** Points attribués pour une victoire. */
+    public static final int POINTS_VICTOIRE = 3;
+    /** Points attribués pour un match nul. */
+    public static final int POINTS_NUL = 1;
+
+    private final int[] equipes;
+    private final Map<Integer, Integer> indices;
+    private final int[] points;
+    private final int[] joues;
+    private final int[] victoires;
+    private final int[] nuls;
+    private final int[] defaites;
+    private final int[] marques;
+    private final int[] encaisses;
+    /** ordre[r] : équipe classée au rang r (à partir de 0). */
+    private final int[] ordre;
+    /** rang[i] : position de l'équipe i dans {@link #ordre}. */
+    private final int[] rang;
+
+    /**
+     * Constructeur : toutes les équipes à zéro, classées par seed
+     * @param equipesParSeed les équipes, par ordre de tête de série
+     */
+    public Classement(List<Equipe> equipesParSeed) {
+        int n = equipesParSeed.size();
+        this.equipes = new int[n];
+        this.indices = new HashMap<>(n * 2);
+        this.points = new int[n];
+        this.joues = new int[n];
+        this.victoires = new int[n];
+        this.nuls = new int[n];
+        this.defaites = new int[n];
+        this.marques = new int[n];
+        this.encaisses = new int[n];
+        this.ordre = new int[n];
+        this.rang = new int[n];
+        for (int i = 0; i < n; i++) {
+            equipes[i] = equipesParSeed.get(i).getId();
+            indices.put(equipes[i], i);
+            ordre[i] = i;
+            rang[i] = i;
+        }
+    }
+
+    /**
+     * Construit le classement à partir des rencontres déjà jouées.
+     * @param equipesParSeed les équipes, par ordre de tête de série
+     * @param rencontres les rencontres (celles sans résultat sont ignorées)
+     * @return le classement
+     */
+    public static Classement depuis(List<Equipe> equipesParSeed, List<Rencontre> rencontres) {
+        Classement classement = new Classement(equipesParSeed);
+        for (Rencontre rencontre : rencontres) {
+            if (rencontre.isJouee()) {
+                classement.ajouterResultat(rencontre);
+            }
+        }
+        return classement;
+    }
+
+    /**
+     * Construit le classement d'un tournoi à partir des résultats enregistrés en base.
+     * @param connection connexion à la base
+     * @param tournoi le tournoi
+     * @return le classement de toutes les équipes inscrites
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public static Classement charger(Connection connection, Tournoi tournoi) throws DAOException {
+        return depuis(new TournoiDAO(connection).findEquipesByTournoi(tournoi),
+                new RencontreDAO(connection).findJoueesByTournoi(tournoi));
+    }
+
+    /**
+     * Construit le classement d'un groupe d'un tournoi à partir des résultats enregistrés en base.
+     * Le groupe comprend les équipes inscrites qui ont joué au moins une de ses rencontres.
+     * @param connection connexion à la base
+     * @param tournoi le tournoi
+     * @param groupe le nom du groupe
+     * @return le classement du groupe
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public static Classement charger(Connection connection, Tournoi tournoi, String groupe) throws DAOException {
+        List<Rencontre> rencontres = new ArrayList<>();
+        Set<Integer> participants = new HashSet<>();
+        for (Rencontre rencontre : new RencontreDAO(connection).findJoueesByTournoi(tournoi)) {
+            if (Objects.equals(groupe, rencontre.getGroupe())) {
+                rencontres.add(rencontre);
+                participants.add(rencontre.getEquipeA().getId());
+                participants.add(rencontre.getEquipeB().getId());
+            }
+        }
+        List<Equipe> equipes = new ArrayList<>();
+        for (Equipe equipe : new TournoiDAO(connection).findEquipesByTournoi(tournoi)) {
+            if (participants.contains(equipe.getId())) {
+                equipes.add(equipe);
+            }
+        }
+        return depuis(equipes, rencontres);
+    }
+
+    /**
+     * Prend en compte le résultat d'une rencontre.
+     * @param rencontre la rencontre jouée
+     */
+    public void ajouterResultat(Rencontre rencontre) {
+        ajouterResultat(rencontre.getEquipeA().getId(), rencontre.getEquipeB().getId(),
+                rencontre.getScoreA(), rencontre.getScoreB());
+    }
+
+    /**
+     * Prend en compte le résultat d'une rencontre.
+     * @param equipeA identifiant de la première équipe
+     * @param equipeB identifiant de la seconde équipe
+     * @param scoreA score de la première équipe
+     * @param scoreB score de la seconde équipe
+     */
+    public void ajouterResultat(int equipeA, int equipeB, int scoreA, int scoreB) {
+        appliquer(indice(equipeA), indice(equipeB), scoreA, scoreB, 1);
+    }
+
+    /**
+     * Retire un résultat précédemment pris en compte (rencontre annulée).
+     * @param equipeA identifiant de la première équipe
+     * @param equipeB identifiant de la seconde équipe
+     * @param scoreA score enregistré de la première équipe
+     * @param scoreB score enregistré de la seconde équipe
+     */
+    public void retirerResultat(int equipeA, int equipeB, int scoreA, int scoreB) {
+        appliquer(indice(equipeA), indice(equipeB), scoreA, scoreB, -1);
+    }
+
+    /**
+     * Corrige le résultat d'une rencontre déjà prise en compte.
+     * @param ancienne la rencontre avec son ancien score
+     * @param scoreA nouveau score de la première équipe
+     * @param scoreB nouveau score de la seconde équipe
+     */
+    public void corrigerResultat(Rencontre ancienne, int scoreA, int scoreB) {
+        int a = ancienne.getEquipeA().getId();
+        int b = ancienne.getEquipeB().getId();
+        retirerResultat(a, b, ancienne.getScoreA(), ancienne.getScoreB());
+        ajouterResultat(a, b, scoreA, scoreB);
+    }
+
+    /**
+     * Applique (sens = 1) ou retire (sens = -1) un résultat puis replace les deux équipes.
+     */
+    private void appliquer(int a, int b, int scoreA, int scoreB, int sens) {
+        joues[a] += sens;
+        joues[b] += sens;
+        marques[a] += sens * scoreA;
+        encaisses[a] += sens * scoreB;
+        marques[b] += sens * scoreB;
+        encaisses[b] += sens * scoreA;
+        if (scoreA > scoreB) {
+            victoires[a] += sens;
+            defaites[b] += sens;
+            points[a] += sens * POINTS_VICTOIRE;
+        } else if (scoreB > scoreA) {
+            victoires[b] += sens;
+            defaites[a] += sens;
+            points[b] += sens * POINTS_VICTOIRE;
+        } else {
+            nuls[a] += sens;
+            nuls[b] += sens;
+            points[a] += sens * POINTS_NUL;
+            points[b] += sens * POINTS_NUL;
+        }
+        // Les deux équipes ont bougé : on les replace jusqu'à ce qu'aucune ne se déplace plus
+        // (une seule passe chacune peut laisser une inversion entre elles et leurs voisines)
+        while (repositionner(a) | repositionner(b)) {
+            // rien
+        }
+    }
+
+    /**
+     * Déplace une équipe vers le haut ou le bas du classement jusqu'à sa place.
+     * Coût proportionnel au nombre de places gagnées ou perdues.
+     * @return true si l'équipe a changé de place
+     */
+    private boolean repositionner(int equipe) {
+        int depart = rang[equipe];
+        int r = depart;
+        while (r > 0 && devance(equipe, ordre[r - 1])) {
+            echanger(r, r - 1);
+            r--;
+        }
+        while (r < ordre.length - 1 && devance(ordre[r + 1], equipe)) {
+            echanger(r, r + 1);
+            r++;
+        }
+        return r != depart;
+    }
+
+    private void echanger(int r1, int r2) {
+        int e1 = ordre[r1];
+        int e2 = ordre[r2];
+        ordre[r1] = e2;
+        ordre[r2] = e1;
+        rang[e2] = r1;
+        rang[e1] = r2;
+    }
+
+    /**
+     * @return true si l'équipe i doit être classée devant l'équipe j
+     */
+    private boolean devance(int i, int j) {
+        if (points[i] != points[j]) {
+            return points[i] > points[j];
+        }
+        int differenceI = marques[i] - encaisses[i];
+        int differenceJ = marques[j] - encaisses[j];
+        if (differenceI != differenceJ) {
+            return differenceI > differenceJ;
+        }
+        if (marques[i] != marques[j]) {
+            return marques[i] > marques[j];
+        }
+        return i < j;
+    }
+
+    private int indice(int equipeId) {
+        Integer i = indices.get(equipeId);
+        if (i == null) {
+            throw new IllegalArgumentException("L'équipe " + equipeId + " ne fait pas partie de ce classement");
+        }
+        return i;
+    }
+
+    /** @return le nombre d'équipes classées */
+    public int getNbEquipes() {
+        return equipes.length;
+    }
+
+    /**
+     * @param equipeId identifiant de l'équipe
+     * @return le rang de l'équipe (1 pour la première)
+     */
+    public int getRang(int equipeId) {
+        return rang[indice(equipeId)] + 1;
+    }
+
+    /**
+     * @param rang rang dans le classement (1 pour la première)
+     * @return l'identifiant de l'équipe classée à ce rang
+     */
+    public int getEquipeAuRang(int rang) {
+        return equipes[ordre[rang - 1]];
+    }
+
+    public int getPoints(int equipeId) {
+        return points[indice(equipeId)];
+    }
+
+    public int getJoues(int equipeId) {
+        return joues[indice(equipeId)];
+    }
+
+    public int getVictoires(int equipeId) {
+        return victoires[indice(equipeId)];
+    }
+
+    public int getNuls(int equipeId) {
+        return nuls[indice(equipeId)];
+    }
+
+    public int getDefaites(int equipeId) {
+        return defaites[indice(equipeId)];
+    }
+
+    public int getMarques(int equipeId) {
+        return marques[indice(equipeId)];
+    }
+
+    public int getEncaisses(int equipeId) {
+        return encaisses[indice(equipeId)];
+    }
+
+    /**
+     * @param equipeId identifiant de l'équipe
+     * @return la différence entre score marqué et score encaissé
+     */
+    public int getDifference(int equipeId) {
+        int i = indice(equipeId);
+        return marques[i] - encaisses[i];
+    }
+}
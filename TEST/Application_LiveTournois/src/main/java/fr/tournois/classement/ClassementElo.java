@@ -0,0 +1,131 @@
+package fr.tournois.classement;
+
+import fr.tournois.model.Equipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cote Elo des équipes pour un jeu.
+ *
+ * Les cotes sont rangées dans un tableau primitif indexé directement par
+ * l'identifiant de l'équipe (les identifiants viennent d'une séquence, donc
+ * sont denses) : pas d'objet ni de boxing par équipe, et un accès en O(1).
+ * Le tableau est agrandi au besoin.
+ *
+ * Le coefficient K vaut 40 pendant les {@value #MATCHS_PROVISOIRES} premières
+ * rencontres d'une équipe (cote provisoire), puis 20.
+ */
+public class ClassementElo {
+
+    /** Cote d'une équipe qui n'a encore joué aucune rencontre. */
+    public static final double ELO_INITIAL = 1500.0;
+    /** Nombre de rencontres pendant lesquelles la cote est provisoire. */
+    public static final int MATCHS_PROVISOIRES = 10;
+
+    private static final double K_PROVISOIRE = 40.0;
+    private static final double K_ETABLI = 20.0;
+
+    private final int idJeu;
+    private double[] elo;
+    private int[] nbMatchs;
+    private boolean figee;
+
+    /**
+     * Constructeur
+     * @param idJeu identifiant du jeu
+     */
+    public ClassementElo(int idJeu) {
+        this.idJeu = idJeu;
+        this.elo = new double[64];
+        this.nbMatchs = new int[64];
+        Arrays.fill(elo, ELO_INITIAL);
+    }
+
+    private ClassementElo(ClassementElo source) {
+        this.idJeu = source.idJeu;
+        this.elo = source.elo.clone();
+        this.nbMatchs = source.nbMatchs.clone();
+        this.figee = true;
+    }
+
+    /**
+     * Copie en lecture seule des cotes actuelles, qui peut être lue depuis
+     * n'importe quel thread pendant que l'original continue d'évoluer.
+     * @return l'instantané (son {@link #enregistrer} lève une IllegalStateException)
+     */
+    public ClassementElo instantane() {
+        return new ClassementElo(this);
+    }
+
+    /**
+     * Met à jour les cotes des deux équipes après une rencontre.
+     * @param equipeA identifiant de la première équipe
+     * @param equipeB identifiant de la seconde équipe
+     * @param scoreA score de la première équipe
+     * @param scoreB score de la seconde équipe
+     */
+    public void enregistrer(int equipeA, int equipeB, int scoreA, int scoreB) {
+        if (figee) {
+            throw new IllegalStateException("Instantané des cotes en lecture seule");
+        }
+        assurerCapacite(Math.max(equipeA, equipeB));
+        double resultatA = scoreA > scoreB ? 1.0 : scoreA < scoreB ? 0.0 : 0.5;
+        double attenduA = 1.0 / (1.0 + Math.pow(10.0, (elo[equipeB] - elo[equipeA]) / 400.0));
+        double variationA = coefficient(equipeA) * (resultatA - attenduA);
+        double variationB = coefficient(equipeB) * (attenduA - resultatA);
+        elo[equipeA] += variationA;
+        elo[equipeB] += variationB;
+        nbMatchs[equipeA]++;
+        nbMatchs[equipeB]++;
+    }
+
+    private double coefficient(int equipe) {
+        return nbMatchs[equipe] < MATCHS_PROVISOIRES ? K_PROVISOIRE : K_ETABLI;
+    }
+
+    private void assurerCapacite(int equipeId) {
+        if (equipeId < elo.length) {
+            return;
+        }
+        int ancienne = elo.length;
+        int capacite = Math.max(ancienne * 2, equipeId + 1);
+        elo = Arrays.copyOf(elo, capacite);
+        nbMatchs = Arrays.copyOf(nbMatchs, capacite);
+        Arrays.fill(elo, ancienne, capacite, ELO_INITIAL);
+    }
+
+    /**
+     * @param equipeId identifiant de l'équipe
+     * @return la cote de l'équipe ({@link #ELO_INITIAL} si elle n'a jamais joué)
+     */
+    public double getElo(int equipeId) {
+        return equipeId >= 0 && equipeId < elo.length ? elo[equipeId] : ELO_INITIAL;
+    }
+
+    /**
+     * @param equipeId identifiant de l'équipe
+     * @return le nombre de rencontres prises en compte pour l'équipe
+     */
+    public int getNbMatchs(int equipeId) {
+        return equipeId >= 0 && equipeId < nbMatchs.length ? nbMatchs[equipeId] : 0;
+    }
+
+    /** @return l'identifiant du jeu */
+    public int getIdJeu() {
+        return idJeu;
+    }
+
+    /**
+     * Propose un ordre de têtes de série : cote décroissante, les équipes sans
+     * historique gardant leur ordre relatif (tri stable).
+     * @param equipes les équipes inscrites
+     * @return les équipes dans l'ordre proposé (seed 1 en premier)
+     */
+    public List<Equipe> suggererOrdre(List<Equipe> equipes) {
+        List<Equipe> ordre = new ArrayList<>(equipes);
+        ordre.sort((e1, e2) -> Double.compare(getElo(e2.getId()), getElo(e1.getId())));
+        return ordre;
+    }
+}
@@ -0,0 +1,152 @@
+package fr.tournois.classement;
+
+import fr.tournois.dao.DAOException;
+import fr.tournois.dao.InscriptionDAO;
+import fr.tournois.dao.RencontreDAO;
+import fr.tournois.dao.TournoiDAO;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Rencontre;
+import fr.tournois.model.Tournoi;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Singleton maintenant les cotes Elo des équipes, une par jeu.
+ *
+ * La cote d'un jeu est calculée à la première demande en parcourant
+ * l'historique des résultats en flux (voir {@link RencontreDAO#parcourirResultats}),
+ * puis tenue à jour résultat par résultat. Le parcours se fait hors du verrou du
+ * service, et les cotes sont rendues sous forme d'instantanés en lecture seule
+ * ({@link ClassementElo#instantane()}) : elles peuvent être lues sans verrou.
+ */
+public class ServiceElo {
+    private static ServiceElo instance;
+    private final Map<Integer, ClassementElo> parJeu = new HashMap<>();
+    /** Nombre de changements (résultats, invalidations) par jeu, pour détecter ceux survenus pendant un recalcul. */
+    private final Map<Integer, Integer> revisions = new HashMap<>();
+
+    private ServiceElo() {
+        // Constructeur privé pour empêcher l'instanciation directe
+    }
+
+    /**
+     * Obtient l'instance unique de ServiceElo.
+     * @return l'instance de ServiceElo
+     */
+    public static synchronized ServiceElo getInstance() {
+        if (instance == null) {
+            instance = new ServiceElo();
+        }
+        return instance;
+    }
+
+    /**
+     * Retourne les cotes d'un jeu, en les calculant depuis l'historique si besoin.
+     * @param connection connexion à la base
+     * @param idJeu identifiant du jeu
+     * @return un instantané des cotes du jeu
+     * @throws DAOException si erreur lors de la lecture de l'historique
+     */
+    public ClassementElo getClassement(Connection connection, int idJeu) throws DAOException {
+        synchronized (this) {
+            ClassementElo classement = parJeu.get(idJeu);
+            if (classement != null) {
+                return classement.instantane();
+            }
+        }
+        return recalculer(connection, idJeu);
+    }
+
+    /**
+     * Recalcule entièrement les cotes d'un jeu à partir de l'historique des résultats.
+     * Les rencontres sont lues en flux : la mémoire utilisée ne dépend que du nombre d'équipes.
+     * @param connection connexion à la base
+     * @param idJeu identifiant du jeu
+     * @return un instantané des nouvelles cotes du jeu
+     * @throws DAOException si erreur lors de la lecture de l'historique
+     */
+    public ClassementElo recalculer(Connection connection, int idJeu) throws DAOException {
+        int revision;
+        synchronized (this) {
+            revision = revisions.getOrDefault(idJeu, 0);
+        }
+        ClassementElo classement = new ClassementElo(idJeu);
+        new RencontreDAO(connection).parcourirResultats(idJeu, classement::enregistrer);
+        synchronized (this) {
+            // Un résultat enregistré pendant le parcours peut y manquer : le calcul n'est pas gardé
+            if (revisions.getOrDefault(idJeu, 0) == revision) {
+                parJeu.put(idJeu, classement);
+            }
+            return classement.instantane();
+        }
+    }
+
+    /**
+     * Prend en compte un nouveau résultat (si les cotes du jeu sont déjà chargées).
+     * Appelé après le commit de {@link RencontreDAO#enregistrerResultat}.
+     * @param rencontre la rencontre jouée
+     * @param idJeu identifiant du jeu du tournoi
+     */
+    public synchronized void enregistrerResultat(Rencontre rencontre, int idJeu) {
+        if (rencontre.isJouee()) {
+            enregistrerResultat(rencontre.getEquipeA().getId(), rencontre.getEquipeB().getId(),
+                    rencontre.getScoreA(), rencontre.getScoreB(), idJeu);
+        }
+    }
+
+    /**
+     * Prend en compte un nouveau résultat (si les cotes du jeu sont déjà chargées).
+     * @param equipeA identifiant de la première équipe
+     * @param equipeB identifiant de la seconde équipe
+     * @param scoreA score de la première équipe
+     * @param scoreB score de la seconde équipe
+     * @param idJeu identifiant du jeu du tournoi
+     */
+    public synchronized void enregistrerResultat(int equipeA, int equipeB, int scoreA, int scoreB, int idJeu) {
+        revisions.merge(idJeu, 1, Integer::sum);
+        ClassementElo classement = parJeu.get(idJeu);
+        if (classement != null) {
+            classement.enregistrer(equipeA, equipeB, scoreA, scoreB);
+        }
+    }
+
+    /**
+     * Oublie les cotes d'un jeu : elles seront recalculées depuis l'historique à la
+     * prochaine demande. Une cote Elo dépend de l'ordre des résultats, on ne peut pas
+     * en retirer un : la correction d'un résultat déjà compté passe par ici.
+     * @param idJeu identifiant du jeu
+     */
+    public synchronized void invalider(int idJeu) {
+        revisions.merge(idJeu, 1, Integer::sum);
+        parJeu.remove(idJeu);
+    }
+
+    /**
+     * Propose les têtes de série d'un tournoi d'après les cotes de son jeu.
+     * @param connection connexion à la base
+     * @param tournoi le tournoi (avec son jeu)
+     * @return les équipes inscrites, dans l'ordre des seeds proposés
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public List<Equipe> suggererSeeds(Connection connection, Tournoi tournoi) throws DAOException {
+        if (tournoi.getJeu() == null || tournoi.getJeu().getId() == null) {
+            throw new DAOException("Le jeu du tournoi est obligatoire pour proposer des têtes de série");
+        }
+        List<Equipe> equipes = new TournoiDAO(connection).findEquipesByTournoi(tournoi);
+        return getClassement(connection, tournoi.getJeu().getId()).suggererOrdre(equipes);
+    }
+
+    /**
+     * Attribue aux inscriptions d'un tournoi les têtes de série proposées.
+     * @param connection connexion à la base
+     * @param tournoi le tournoi (avec son jeu)
+     * @return le nombre d'inscriptions mises à jour
+     * @throws DAOException si erreur lors de la mise à jour
+     */
+    public int appliquerSeeds(Connection connection, Tournoi tournoi) throws DAOException {
+        return new InscriptionDAO(connection).attribuerSeeds(tournoi.getId(), suggererSeeds(connection, tournoi));
+    }
+}
@@ -1,6 +1,7 @@
 package fr.tournois.dao;
 
 import fr.tournois.model.*;
+import fr.tournois.planning.DetecteurConflits;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,7 +11,10 @@ public class AffectationDAO {
     private final Connection connection;
 
     private static final String FIND_BY_TOURNOI_AND_STAFF_QUERY = 
-    "SELECT a.*, t.*, s.* FROM Affectation a " +
+    "SELECT a.*, " +
+    "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
+    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
+    "FROM Affectation a " +
     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
     "JOIN Staff s ON a.id_staff = s.id_staff " +
     "WHERE a.id_tournoi = ? AND a.id_staff = ?";
@@ -20,9 +24,10 @@ public class AffectationDAO {
 
     public Affectation create(Affectation affectation) throws DAOException {
         validateAffectation(affectation);
+        DetecteurConflits.getInstance().verifier(connection, affectation);
         
-        String sql = "INSERT INTO Affectation (id_affectation, id_staff, id_tournoi, role_specifique, date_debut, date_fin) " +
-                    "VALUES (seq_affectation_id.NEXTVAL, ?, ?, ?, TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'), TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'))";
+        String sql = "INSERT INTO Affectation (id_staff, id_tournoi, role_specifique, date_debut, date_fin) " +
+                    "VALUES (?, ?, ?, TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'), TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'))";
         
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setInt(1, affectation.getStaff().getId());
@@ -37,19 +42,57 @@ public class AffectationDAO {
                 throw new DAOException("La création de l'affectation a échoué");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().enregistrer(affectation));
 
-            return findByStaffAndTournoi(affectation.getStaff().getId(), affectation.getTournoi().getId())
-                .orElseThrow(() -> new DAOException("Impossible de recharger l'affectation après création"));
+            // La clé (staff, tournoi) est fournie par l'appelant : rien à relire
+            return affectation;
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la création de l'affectation: " + e.getMessage());
         }
     }
 
+    /**
+     * Crée plusieurs affectations en un seul lot et une seule transaction
+     * (par exemple la proposition du solveur d'affectation).
+     * @param affectations les affectations à créer
+     * @return le nombre d'affectations créées
+     * @throws ConflitAffectationException si l'une d'elles chevauche une affectation existante
+     * @throws DAOException si erreur lors de la création (aucune n'est alors créée)
+     */
+    public int createAll(List<Affectation> affectations) throws DAOException {
+        for (Affectation affectation : affectations) {
+            validateAffectation(affectation);
+            DetecteurConflits.getInstance().verifier(connection, affectation);
+        }
+        String sql = "INSERT INTO Affectation (id_staff, id_tournoi, role_specifique, date_debut, date_fin) VALUES (?, ?, ?, ?, ?)";
+
+        int crees = new TransactionTemplate(connection).execute(uow -> {
+            try (PreparedStatement pst = connection.prepareStatement(sql)) {
+                for (Affectation affectation : affectations) {
+                    pst.setInt(1, affectation.getStaff().getId());
+                    pst.setInt(2, affectation.getTournoi().getId());
+                    pst.setString(3, affectation.getRoleSpecifique());
+                    pst.setTimestamp(4, affectation.getDateDebut() != null ? Timestamp.valueOf(affectation.getDateDebut()) : null);
+                    pst.setTimestamp(5, affectation.getDateFin() != null ? Timestamp.valueOf(affectation.getDateFin()) : null);
+                    pst.addBatch();
+                }
+                pst.executeBatch();
+            }
+            UnitOfWork.apresCommit(connection, () -> {
+                for (Affectation affectation : affectations) {
+                    DetecteurConflits.getInstance().enregistrer(affectation);
+                }
+            });
+            return affectations.size();
+        });
+        return crees;
+    }
+
     public Optional<Affectation> findByStaffAndTournoi(Integer staffId, Integer tournoiId) throws DAOException {
         String sql = "SELECT a.*, " +
                     "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
-                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
                     "FROM Affectation a " +
                     "JOIN Staff s ON a.id_staff = s.id_staff " +
                     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
@@ -61,7 +104,7 @@ public class AffectationDAO {
             
             try (ResultSet rs = pst.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToEntity(rs));
+                    return Optional.of(mappeurAffectation(rs).mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -74,7 +117,7 @@ public class AffectationDAO {
         List<Affectation> affectations = new ArrayList<>();
         String sql = "SELECT a.*, " +
                     "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
-                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
                     "FROM Affectation a " +
                     "JOIN Staff s ON a.id_staff = s.id_staff " +
                     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi";
@@ -82,8 +125,9 @@ public class AffectationDAO {
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             
+            MappeurLigne<Affectation> mappeur = mappeurAffectation(rs);
             while (rs.next()) {
-                affectations.add(mapResultSetToEntity(rs));
+                affectations.add(mappeur.mapper(rs));
             }
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la récupération de la liste des affectations: " + e.getMessage());
@@ -92,8 +136,40 @@ public class AffectationDAO {
         return affectations;
     }
 
+    /**
+     * Recherche les affectations créées ou modifiées après un instant (rafraîchissement par delta)
+     * @param depuis instant de la dernière lecture
+     * @return les affectations dont {@code last_modified} est postérieur ou égal
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public List<Affectation> findModifieesDepuis(Timestamp depuis) throws DAOException {
+        List<Affectation> affectations = new ArrayList<>();
+        String sql = "SELECT a.*, " +
+                    "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
+                    "FROM Affectation a " +
+                    "JOIN Staff s ON a.id_staff = s.id_staff " +
+                    "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
+                    "WHERE a.last_modified >= ?";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setTimestamp(1, depuis);
+            try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Affectation> mappeur = mappeurAffectation(rs);
+                while (rs.next()) {
+                    affectations.add(mappeur.mapper(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la lecture des affectations modifiées: " + e.getMessage());
+        }
+
+        return affectations;
+    }
+
     public Affectation update(Affectation affectation) throws DAOException {
         validateAffectation(affectation);
+        DetecteurConflits.getInstance().verifier(connection, affectation);
         
         String sql = "UPDATE Affectation SET role_specifique = ?, date_debut = TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'), date_fin = TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS') WHERE id_staff = ? AND id_tournoi = ?";
         
@@ -107,13 +183,13 @@ public class AffectationDAO {
             int affectedRows = pst.executeUpdate();
 
             if (affectedRows == 0) {
-                throw new DAOException("La mise à jour de l'affectation a échoué");
+                throw new DAOException("L'affectation n'existe pas");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().remplacer(affectation));
 
-            return findByStaffAndTournoi(affectation.getStaff().getId(), affectation.getTournoi().getId())
-                .orElseThrow(() -> new DAOException("Impossible de recharger l'affectation après mise à jour"));
+            return affectation;
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la mise à jour de l'affectation: " + e.getMessage());
         }
@@ -128,7 +204,8 @@ public class AffectationDAO {
             
             int affectedRows = pst.executeUpdate();
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().retirer(staffId, tournoiId));
             
             return affectedRows > 0;
             
@@ -152,37 +229,53 @@ public class AffectationDAO {
         }
     }
 
-    private Affectation mapResultSetToEntity(ResultSet rs) throws SQLException {
-        Affectation affectation = new Affectation();
-
-        Staff staff = new Staff();
-        staff.setId(rs.getInt("id_staff"));
-        staff.setNom(rs.getString("staff_nom"));
-        staff.setPrenom(rs.getString("staff_prenom"));
-        staff.setEmail(rs.getString("staff_email"));
-        staff.setFonction(rs.getString("staff_fonction"));
-        affectation.setStaff(staff);
-
-        Tournoi tournoi = new Tournoi();
-        tournoi.setId(rs.getInt("id_tournoi"));
-        tournoi.setNom(rs.getString("tournoi_nom"));
-        tournoi.setFormat(rs.getString("tournoi_format"));
-        tournoi.setStatut(rs.getString("tournoi_statut"));
-        affectation.setTournoi(tournoi);
-
-        affectation.setRoleSpecifique(rs.getString("role_specifique"));
-        
-        Timestamp dateDebut = rs.getTimestamp("date_debut");
-        if (dateDebut != null) {
-            affectation.setDateDebut(dateDebut.toLocalDateTime());
-        }
-        
-        Timestamp dateFin = rs.getTimestamp("date_fin");
-        if (dateFin != null) {
-            affectation.setDateFin(dateFin.toLocalDateTime());
-        }
+    /**
+     * Crée le mappeur des lignes d'affectation jointes au staff (alias staff_*)
+     * et au tournoi (alias tournoi_*)
+     * @param rs Résultat de la requête SQL
+     * @return le mappeur, à réutiliser pour toutes les lignes du résultat
+     * @throws SQLException si une colonne obligatoire manque
+     */
+    private MappeurLigne<Affectation> mappeurAffectation(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int idStaff = colonnes.requise("id_staff");
+        int staffNom = colonnes.requise("staff_nom");
+        int staffPrenom = colonnes.requise("staff_prenom");
+        int staffEmail = colonnes.requise("staff_email");
+        int staffFonction = colonnes.requise("staff_fonction");
+        int idTournoi = colonnes.requise("id_tournoi");
+        int tournoiNom = colonnes.requise("tournoi_nom");
+        int tournoiFormat = colonnes.requise("tournoi_format");
+        int tournoiStatut = colonnes.requise("tournoi_statut");
+        int tournoiLieu = colonnes.requise("tournoi_lieu");
+        int roleSpecifique = colonnes.requise("role_specifique");
+        int dateDebut = colonnes.requise("date_debut");
+        int dateFin = colonnes.requise("date_fin");
+
+        return ligne -> {
+            Affectation affectation = new Affectation();
+
+            Staff staff = new Staff();
+            staff.setId(ligne.getInt(idStaff));
+            staff.setNom(ligne.getString(staffNom));
+            staff.setPrenom(ligne.getString(staffPrenom));
+            staff.setEmail(ligne.getString(staffEmail));
+            staff.setFonction(ligne.getString(staffFonction));
+            affectation.setStaff(staff);
+
+            Tournoi tournoi = new Tournoi();
+            tournoi.setId(ligne.getInt(idTournoi));
+            tournoi.setNom(ligne.getString(tournoiNom));
+            tournoi.setFormat(ligne.getString(tournoiFormat));
+            tournoi.setStatut(ligne.getString(tournoiStatut));
+            tournoi.setLieu(ligne.getString(tournoiLieu));
+            affectation.setTournoi(tournoi);
 
-        return affectation;
+            affectation.setRoleSpecifique(ligne.getString(roleSpecifique));
+            affectation.setDateDebut(Colonnes.horodatage(ligne, dateDebut));
+            affectation.setDateFin(Colonnes.horodatage(ligne, dateFin));
+            return affectation;
+        };
     }
 
     /**
@@ -194,7 +287,7 @@ public class AffectationDAO {
     public List<Affectation> findByStaff(Staff staff) throws DAOException {
         String sql = "SELECT a.*, " +
                     "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
-                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
                     "FROM Affectation a " +
                     "JOIN Staff s ON a.id_staff = s.id_staff " +
                     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
@@ -206,8 +299,9 @@ public class AffectationDAO {
             pst.setInt(1, staff.getId());
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Affectation> mappeur = mappeurAffectation(rs);
                 while (rs.next()) {
-                    affectations.add(mapResultSetToEntity(rs));
+                    affectations.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -226,7 +320,7 @@ public class AffectationDAO {
     public List<Affectation> findByTournoi(Tournoi tournoi) throws DAOException {
         String sql = "SELECT a.*, " +
                     "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
-                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
                     "FROM Affectation a " +
                     "JOIN Staff s ON a.id_staff = s.id_staff " +
                     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
@@ -238,8 +332,9 @@ public class AffectationDAO {
             pst.setInt(1, tournoi.getId());
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Affectation> mappeur = mappeurAffectation(rs);
                 while (rs.next()) {
-                    affectations.add(mapResultSetToEntity(rs));
+                    affectations.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -257,7 +352,7 @@ public class AffectationDAO {
         List<Affectation> affectations = new ArrayList<>();
         String sql = "SELECT a.*, " +
                     "s.nom as staff_nom, s.prenom as staff_prenom, s.email as staff_email, s.fonction as staff_fonction, " +
-                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut " +
+                    "t.nom as tournoi_nom, t.format as tournoi_format, t.statut as tournoi_statut, t.lieu as tournoi_lieu " +
                     "FROM Affectation a " +
                     "JOIN Staff s ON a.id_staff = s.id_staff " +
                     "JOIN Tournoi t ON a.id_tournoi = t.id_tournoi " +
@@ -267,8 +362,9 @@ public class AffectationDAO {
             pst.setString(1, roleSpecifique);
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Affectation> mappeur = mappeurAffectation(rs);
                 while (rs.next()) {
-                    affectations.add(mapResultSetToEntity(rs));
+                    affectations.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -291,7 +387,7 @@ public class AffectationDAO {
             stmt.setInt(2, staff.getId());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToEntity(rs));
+                    return Optional.of(mappeurAffectation(rs).mapper(rs));
                 }
                 return Optional.empty();
             }
@@ -0,0 +1,115 @@
+package fr.tournois.dao;
+
+import java.lang.ref.WeakReference;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus d'événements en mémoire sur lequel les DAO publient leurs écritures
+ * (création, modification, suppression).
+ *
+ * Un événement publié pendant une {@link UnitOfWork} n'est diffusé qu'après
+ * son commit physique, et jamais si elle est annulée : les abonnés ne voient
+ * que des changements réellement enregistrés. Hors unité de travail, le DAO
+ * publie juste après son propre commit et la diffusion est immédiate.
+ *
+ * Les écouteurs sont appelés dans le thread qui a validé la transaction ;
+ * ils sont référencés faiblement, l'abonné doit conserver l'{@link Abonnement}
+ * tant qu'il veut être notifié (un écran fermé est ainsi désabonné seul).
+ */
+public class BusEvenements {
+
+    /**
+     * Reçoit les événements d'un type d'entité.
+     * @param <T> type de l'entité
+     */
+    @FunctionalInterface
+    public interface Ecouteur<T> {
+        void surEvenement(EvenementDAO<T> evenement);
+    }
+
+    /**
+     * Lien entre un écouteur et le bus. Garde l'écouteur en vie ;
+     * {@link #close()} le désabonne.
+     */
+    public final class Abonnement implements AutoCloseable {
+        private final Class<?> entite;
+        private final Ecouteur<?> ecouteur;
+        private final WeakReference<Abonnement> reference = new WeakReference<>(this);
+
+        private Abonnement(Class<?> entite, Ecouteur<?> ecouteur) {
+            this.entite = entite;
+            this.ecouteur = ecouteur;
+        }
+
+        @Override
+        public void close() {
+            abonnements.remove(reference);
+        }
+    }
+
+    private static BusEvenements instance;
+
+    private final List<WeakReference<Abonnement>> abonnements = new CopyOnWriteArrayList<>();
+
+    BusEvenements() {
+    }
+
+    public static synchronized BusEvenements getInstance() {
+        if (instance == null) {
+            instance = new BusEvenements();
+        }
+        return instance;
+    }
+
+    /**
+     * Abonne un écouteur aux événements d'un type d'entité.
+     * @param entite classe de l'entité suivie
+     * @param ecouteur l'écouteur
+     * @param <T> type de l'entité
+     * @return l'abonnement, à conserver tant que l'écouteur doit être notifié
+     */
+    public <T> Abonnement abonner(Class<T> entite, Ecouteur<T> ecouteur) {
+        Abonnement abonnement = new Abonnement(entite, ecouteur);
+        abonnements.add(abonnement.reference);
+        return abonnement;
+    }
+
+    /**
+     * Publie un changement effectué sur la connexion : diffusé après le commit
+     * de l'unité de travail en cours, ou tout de suite s'il n'y en a pas.
+     * @param connection connexion sur laquelle l'écriture a eu lieu
+     * @param evenement le changement
+     */
+    public void publier(Connection connection, EvenementDAO<?> evenement) {
+        UnitOfWork.apresCommit(connection, () -> diffuser(evenement));
+    }
+
+    /**
+     * Diffuse immédiatement un événement aux écouteurs de son type d'entité.
+     * Une erreur d'un écouteur n'empêche pas la notification des suivants.
+     * @param evenement l'événement
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void diffuser(EvenementDAO<?> evenement) {
+        for (WeakReference<Abonnement> reference : abonnements) {
+            Abonnement abonnement = reference.get();
+            if (abonnement == null) {
+                abonnements.remove(reference);
+            } else if (abonnement.entite == evenement.getEntite()) {
+                try {
+                    ((Ecouteur) abonnement.ecouteur).surEvenement(evenement);
+                } catch (RuntimeException e) {
+                    System.err.println("Erreur lors de la diffusion de " + evenement + " : " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** @return le nombre d'abonnements encore actifs (diagnostic) */
+    int getNombreAbonnements() {
+        abonnements.removeIf(reference -> reference.get() == null);
+        return abonnements.size();
+    }
+}
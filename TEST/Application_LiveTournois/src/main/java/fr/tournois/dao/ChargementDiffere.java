@@ -0,0 +1,46 @@
+package fr.tournois.dao;
+
+import fr.tournois.model.ListeParesseuse;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Listes paresseuses ({@link ListeParesseuse}) liées à la connexion du DAO qui
+ * a lu l'entité.
+ *
+ * Le chargement utilise cette connexion : si elle est fermée au premier accès
+ * (entité conservée après la fin de la session), il échoue avec une
+ * {@link DAOException} explicite au lieu d'une erreur JDBC quelconque.
+ */
+final class ChargementDiffere {
+
+    /** Lecture d'une association, exécutée au premier accès à la liste. */
+    @FunctionalInterface
+    interface Lecture<T> {
+        List<T> lire() throws SQLException;
+    }
+
+    private ChargementDiffere() {
+    }
+
+    /**
+     * @param connection connexion du DAO d'origine
+     * @param association nom de l'association, pour le message d'erreur (ex : "joueurs de l'équipe 3")
+     * @param lecture requête de chargement
+     * @return une liste qui exécutera la lecture à son premier accès
+     */
+    static <T> ListeParesseuse<T> liste(Connection connection, String association, Lecture<T> lecture) {
+        return new ListeParesseuse<>(() -> {
+            try {
+                if (connection.isClosed()) {
+                    throw new DAOException("Chargement des " + association + " hors session : la connexion est fermée");
+                }
+                return lecture.lire();
+            } catch (SQLException e) {
+                throw new DAOException("Erreur lors du chargement des " + association + ": " + e.getMessage(), e);
+            }
+        });
+    }
+}
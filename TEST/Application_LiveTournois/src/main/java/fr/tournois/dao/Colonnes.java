@@ -0,0 +1,93 @@
+package fr.tournois.dao;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Position des colonnes d'un résultat, lue une fois dans ses métadonnées.
+ *
+ * Les mappeurs de lignes ({@link MappeurLigne}) résolvent leurs colonnes à leur
+ * création puis lisent chaque ligne par indice : pas de recherche par nom à chaque
+ * ligne, et une colonne absente de la requête est connue d'avance (indice 0)
+ * au lieu d'être détectée en interceptant une SQLException.
+ *
+ * Comme pour {@code ResultSet.getXxx(String)}, la recherche ignore la casse et,
+ * si plusieurs colonnes portent le même nom, la première l'emporte.
+ */
+final class Colonnes {
+
+    /** Indice renvoyé pour une colonne absente du résultat. */
+    static final int ABSENTE = 0;
+
+    private final Map<String, Integer> indices;
+
+    Colonnes(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int nombre = meta.getColumnCount();
+        indices = new HashMap<>(nombre * 2);
+        for (int i = 1; i <= nombre; i++) {
+            indices.putIfAbsent(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    /**
+     * @param nom nom ou alias de la colonne
+     * @return l'indice (à partir de 1) de la colonne, {@link #ABSENTE} si elle n'est pas dans le résultat
+     */
+    int indice(String nom) {
+        return indices.getOrDefault(nom.toLowerCase(Locale.ROOT), ABSENTE);
+    }
+
+    /**
+     * @param nom nom ou alias de la colonne
+     * @return l'indice de la colonne
+     * @throws SQLException si la colonne n'est pas dans le résultat
+     */
+    int requise(String nom) throws SQLException {
+        int indice = indice(nom);
+        if (indice == ABSENTE) {
+            throw new SQLException("Colonne absente du résultat : " + nom);
+        }
+        return indice;
+    }
+
+    /** @return l'entier de la colonne, null si elle est absente ou NULL */
+    static Integer entier(ResultSet rs, int indice) throws SQLException {
+        if (indice == ABSENTE) {
+            return null;
+        }
+        int valeur = rs.getInt(indice);
+        return rs.wasNull() ? null : valeur;
+    }
+
+    /** @return la chaîne de la colonne, null si elle est absente ou NULL */
+    static String texte(ResultSet rs, int indice) throws SQLException {
+        return indice == ABSENTE ? null : rs.getString(indice);
+    }
+
+    /** @return la date de la colonne, null si elle est absente ou NULL */
+    static LocalDate date(ResultSet rs, int indice) throws SQLException {
+        if (indice == ABSENTE) {
+            return null;
+        }
+        Date date = rs.getDate(indice);
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    /** @return l'horodatage de la colonne, null s'il est absent ou NULL */
+    static LocalDateTime horodatage(ResultSet rs, int indice) throws SQLException {
+        if (indice == ABSENTE) {
+            return null;
+        }
+        Timestamp horodatage = rs.getTimestamp(indice);
+        return horodatage != null ? horodatage.toLocalDateTime() : null;
+    }
+}
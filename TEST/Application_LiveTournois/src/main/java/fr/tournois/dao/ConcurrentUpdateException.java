@@ -0,0 +1,34 @@
+package fr.tournois.dao;
+
+/**
+ * Exception levée lorsqu'une mise à jour est rejetée par le contrôle de
+ * concurrence optimiste : la ligne a été modifiée (ou supprimée) par un autre
+ * poste depuis sa lecture. L'appelant doit recharger l'entité avant de
+ * retenter l'opération.
+ */
+public class ConcurrentUpdateException extends DAOException {
+
+    private final String entite;
+    private final Integer id;
+
+    public ConcurrentUpdateException(String entite, Integer id) {
+        super("Conflit de mise à jour : " + entite + " " + id
+                + " a été modifié(e) par un autre utilisateur. Veuillez recharger les données.");
+        this.entite = entite;
+        this.id = id;
+    }
+
+    /**
+     * @return le nom de l'entité en conflit (Tournoi, Equipe, Inscription...)
+     */
+    public String getEntite() {
+        return entite;
+    }
+
+    /**
+     * @return l'identifiant de la ligne en conflit
+     */
+    public Integer getId() {
+        return id;
+    }
+}
@@ -0,0 +1,32 @@
+package fr.tournois.dao;
+
+/**
+ * Exception levée lorsqu'une affectation chevauche, pour le même membre du
+ * staff, la période d'une affectation à un autre tournoi.
+ */
+public class ConflitAffectationException extends DAOException {
+
+    private final Integer idStaff;
+    private final Integer idTournoiEnConflit;
+
+    public ConflitAffectationException(Integer idStaff, Integer idTournoiEnConflit) {
+        super("Conflit de planning : ce membre du staff est déjà affecté au tournoi "
+                + idTournoiEnConflit + " sur cette période.");
+        this.idStaff = idStaff;
+        this.idTournoiEnConflit = idTournoiEnConflit;
+    }
+
+    /**
+     * @return l'identifiant du membre du staff concerné
+     */
+    public Integer getIdStaff() {
+        return idStaff;
+    }
+
+    /**
+     * @return l'identifiant du tournoi dont l'affectation chevauche la nouvelle
+     */
+    public Integer getIdTournoiEnConflit() {
+        return idTournoiEnConflit;
+    }
+}
@@ -20,6 +20,9 @@ import java.util.Properties;
  * - db.username : Le nom d'utilisateur
  * - db.password : Le mot de passe
  * - db.driver : La classe du driver JDBC
+ * et, optionnellement, les délais maximaux des requêtes en secondes
+ * (db.timeout.lecture, db.timeout.ecriture, db.timeout.rapport, voir {@link DelaisRequetes}).
+ * Les connexions fournies appliquent ces délais à toutes leurs requêtes ({@link ConnexionLimitee}).
  *
  * @author F. Pelleau &amp; A. Péninou
  * @since V0.0
@@ -29,6 +32,7 @@ public class ConnectionManager {
     private static ConnectionManager instance;
     private Connection connection;
     private Properties properties;
+    private DelaisRequetes delais;
 
     /**
      * Constructeur privé (pattern Singleton).
@@ -53,6 +57,7 @@ public class ConnectionManager {
         } catch (IOException e) {
             throw new RuntimeException("Erreur lors du chargement de la configuration", e);
         }
+        delais = new DelaisRequetes(properties);
     }
 
     /**
@@ -88,12 +93,37 @@ public class ConnectionManager {
                 throw new SQLException("Driver JDBC non trouvé", e);
             }
 
-            connection = DriverManager.getConnection(url, user, password);
+            connection = ConnexionLimitee.envelopper(DriverManager.getConnection(url, user, password), delais);
             connection.setAutoCommit(false);
         }
         return connection;
     }
 
+    /**
+     * Ouvre une nouvelle connexion, indépendante de la connexion partagée,
+     * avec les paramètres du fichier de configuration.
+     * Elle est en auto-commit et ne voit donc que les données validées :
+     * elle sert aux traitements de fond (scrutation des modifications) qui
+     * ne doivent pas lire les écritures en cours de l'utilisateur.
+     * L'appelant est responsable de sa fermeture.
+     *
+     * @return Une nouvelle connexion à la base de données
+     * @throws SQLException si la connexion échoue ou si le driver est introuvable
+     */
+    public Connection ouvrirConnexionDediee() throws SQLException {
+        try {
+            Class.forName(properties.getProperty("db.driver"));
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver JDBC non trouvé", e);
+        }
+        Connection dediee = DriverManager.getConnection(
+                properties.getProperty("db.url"),
+                properties.getProperty("db.username"),
+                properties.getProperty("db.password"));
+        dediee.setAutoCommit(true);
+        return ConnexionLimitee.envelopper(dediee, delais);
+    }
+
     /*
      * Annule la transaction en cours.
      * Effectue un rollback des modifications en attente et réactive l'auto-commit.
@@ -0,0 +1,137 @@
+package fr.tournois.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * Enveloppe d'une connexion qui borne la durée de toutes ses requêtes.
+ *
+ * Chaque statement créé par la connexion reçoit, avant chaque exécution, le
+ * délai de sa nature ({@link DelaisRequetes}) par {@code setQueryTimeout}, et est
+ * rattaché au {@link ContexteRequetes} du thread pour pouvoir être annulé. Une
+ * requête interrompue (délai dépassé ou annulation) lève une
+ * {@link DAOTimeoutException}, l'exception n'étant pas une SQLException elle
+ * traverse les blocs catch des DAO. Oracle annule de lui-même les effets de la
+ * requête interrompue ; si elle faisait partie d'une unité de travail du thread
+ * courant, celle-ci est en plus marquée à annuler. La connexion partagée n'est
+ * jamais annulée en entier : elle peut porter la transaction d'un autre thread.
+ */
+final class ConnexionLimitee {
+
+    /** ORA-01013 : « user requested cancel of current operation » (délai ou cancel()). */
+    static final int ORA_ANNULATION = 1013;
+
+    private ConnexionLimitee() {
+    }
+
+    /**
+     * @param connexion connexion physique
+     * @param delais délais par nature de requête
+     * @return la connexion enveloppée ; c'est elle que les DAO et les unités de travail doivent utiliser
+     */
+    static Connection envelopper(Connection connexion, DelaisRequetes delais) {
+        Connection[] enveloppe = new Connection[1];
+        enveloppe[0] = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, methode, args) -> {
+                    switch (methode.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "createStatement":
+                            return statement(Statement.class, (Statement) appeler(connexion, methode, args),
+                                    null, enveloppe[0], delais);
+                        case "prepareStatement":
+                            return statement(PreparedStatement.class, (Statement) appeler(connexion, methode, args),
+                                    (String) args[0], enveloppe[0], delais);
+                        case "prepareCall":
+                            return statement(CallableStatement.class, (Statement) appeler(connexion, methode, args),
+                                    (String) args[0], enveloppe[0], delais);
+                        default:
+                            return appeler(connexion, methode, args);
+                    }
+                });
+        return enveloppe[0];
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, Statement statement, String sql,
+                                                     Connection connexion, DelaisRequetes delais) {
+        InvocationHandler gestionnaire = (proxy, methode, args) -> {
+            String nom = methode.getName();
+            switch (nom) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connexion;
+                case "execute":
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    String texte = args != null && args.length > 0 && args[0] instanceof String
+                            ? (String) args[0] : sql;
+                    return executer(statement, methode, args, texte, nom.contains("Batch"), connexion, delais);
+                default:
+                    return appeler(statement, methode, args);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, gestionnaire));
+    }
+
+    private static Object executer(Statement statement, Method methode, Object[] args, String sql, boolean lot,
+                                   Connection connexion, DelaisRequetes delais) throws Throwable {
+        ContexteRequetes contexte = ContexteRequetes.courant();
+        TypeRequete type = lot ? TypeRequete.ECRITURE
+                : DelaisRequetes.typeDe(sql, contexte != null && contexte.isRapport());
+        int secondes = delais.secondes(type);
+        statement.setQueryTimeout(secondes);
+
+        if (contexte != null && !contexte.debut(statement)) {
+            throw interrompue(connexion, type, secondes, true, null);
+        }
+        try {
+            return appeler(statement, methode, args);
+        } catch (SQLException e) {
+            if (e instanceof SQLTimeoutException || e.getErrorCode() == ORA_ANNULATION) {
+                throw interrompue(connexion, type, secondes, contexte != null && contexte.estAnnule(), e);
+            }
+            throw e;
+        } finally {
+            if (contexte != null) {
+                contexte.fin(statement);
+            }
+        }
+    }
+
+    private static DAOTimeoutException interrompue(Connection connexion, TypeRequete type, int secondes,
+                                                   boolean annulee, SQLException cause) {
+        DAOTimeoutException exception = new DAOTimeoutException(type, secondes, annulee, cause);
+        if (UnitOfWork.isActive(connexion)) {
+            try {
+                UnitOfWork.rollback(connexion);
+            } catch (SQLException e) {
+                exception.addSuppressed(e);
+            }
+        }
+        return exception;
+    }
+
+    private static Object appeler(Object cible, Method methode, Object[] args) throws Throwable {
+        try {
+            return methode.invoke(cible, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package fr.tournois.dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Contexte d'exécution des requêtes d'une opération longue (export, import...),
+ * qui permet de l'annuler depuis un autre thread.
+ *
+ * Les requêtes exécutées par le thread courant pendant {@link #executer(Callable)}
+ * sont rattachées au contexte : {@link #annuler()} interrompt celles en cours par
+ * {@code Statement.cancel()} et fait échouer les suivantes, avec une
+ * {@link DAOTimeoutException} dont {@code isAnnulee()} est vrai. Une vue appelle
+ * {@code annuler()} à sa fermeture pour ne pas laisser tourner une requête dont
+ * plus personne n'attend le résultat.
+ *
+ * <pre>
+ * ContexteRequetes requetes = ContexteRequetes.rapport();
+ * fenetre.setOnHidden(e -&gt; requetes.annuler());
+ * // thread de travail
+ * requetes.executer(() -&gt; export.exporter(tournoi, fichier));
+ * </pre>
+ *
+ * Un contexte de {@link #rapport()} applique aux lectures le délai des rapports
+ * ({@code db.timeout.rapport}) au lieu de celui des lectures interactives.
+ */
+public final class ContexteRequetes {
+
+    private static final ThreadLocal<ContexteRequetes> COURANT = new ThreadLocal<>();
+
+    private final boolean rapport;
+    private final Set<Statement> enCours = new HashSet<>();
+    private boolean annule;
+
+    /**
+     * Contexte annulable, avec les délais habituels.
+     */
+    public ContexteRequetes() {
+        this(false);
+    }
+
+    private ContexteRequetes(boolean rapport) {
+        this.rapport = rapport;
+    }
+
+    /**
+     * @return un contexte annulable dont les lectures ont le délai des rapports
+     */
+    public static ContexteRequetes rapport() {
+        return new ContexteRequetes(true);
+    }
+
+    /**
+     * @return le contexte du thread courant, null en dehors de {@link #executer(Callable)}
+     */
+    public static ContexteRequetes courant() {
+        return COURANT.get();
+    }
+
+    /**
+     * Exécute une opération dans ce contexte (sur le thread courant).
+     * @param operation l'opération
+     * @return son résultat
+     * @throws Exception l'exception levée par l'opération
+     */
+    public <T> T executer(Callable<T> operation) throws Exception {
+        ContexteRequetes precedent = COURANT.get();
+        COURANT.set(this);
+        try {
+            return operation.call();
+        } finally {
+            if (precedent != null) {
+                COURANT.set(precedent);
+            } else {
+                COURANT.remove();
+            }
+        }
+    }
+
+    /**
+     * Annule les requêtes en cours du contexte et fait échouer les suivantes.
+     * Peut être appelée depuis n'importe quel thread, plusieurs fois.
+     */
+    public void annuler() {
+        List<Statement> aAnnuler;
+        synchronized (this) {
+            if (annule) {
+                return;
+            }
+            annule = true;
+            aAnnuler = new ArrayList<>(enCours);
+        }
+        for (Statement statement : aAnnuler) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // la requête vient de se terminer ou la connexion est fermée : rien à annuler
+            }
+        }
+    }
+
+    /** @return true si {@link #annuler()} a été appelée */
+    public synchronized boolean estAnnule() {
+        return annule;
+    }
+
+    boolean isRapport() {
+        return rapport;
+    }
+
+    /**
+     * Rattache une requête qui démarre.
+     * @return false si le contexte est déjà annulé (la requête ne doit pas être lancée)
+     */
+    synchronized boolean debut(Statement statement) {
+        if (annule) {
+            return false;
+        }
+        enCours.add(statement);
+        return true;
+    }
+
+    synchronized void fin(Statement statement) {
+        enCours.remove(statement);
+    }
+}
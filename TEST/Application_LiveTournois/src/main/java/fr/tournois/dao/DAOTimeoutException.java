@@ -0,0 +1,48 @@
+package fr.tournois.dao;
+
+/**
+ * Exception levée lorsqu'une requête est interrompue avant sa fin : son délai
+ * maximal ({@code db.timeout.*}) est dépassé (verrou, session bloquée...), ou
+ * elle a été annulée par {@link ContexteRequetes#annuler()} (vue fermée, export
+ * annulé). Oracle annule les effets de la requête interrompue et l'unité de
+ * travail du thread courant est marquée pour annulation ; les écritures des DAO
+ * en plusieurs requêtes se font dans une unité de travail, elles ne laissent
+ * donc rien en attente sur la connexion. L'opération peut être retentée.
+ */
+public class DAOTimeoutException extends DAOException {
+
+    private final TypeRequete type;
+    private final int delaiSecondes;
+    private final boolean annulee;
+
+    public DAOTimeoutException(TypeRequete type, int delaiSecondes, boolean annulee, Throwable cause) {
+        super(annulee
+                ? "Requête annulée"
+                : "Délai de " + delaiSecondes + " s dépassé (requête de type " + type.getCle()
+                        + "). La base est peut-être occupée, veuillez réessayer.", cause);
+        this.type = type;
+        this.delaiSecondes = delaiSecondes;
+        this.annulee = annulee;
+    }
+
+    /**
+     * @return la nature de la requête interrompue
+     */
+    public TypeRequete getType() {
+        return type;
+    }
+
+    /**
+     * @return le délai appliqué à la requête, en secondes (0 : sans limite)
+     */
+    public int getDelaiSecondes() {
+        return delaiSecondes;
+    }
+
+    /**
+     * @return true si la requête a été annulée, false si son délai est dépassé
+     */
+    public boolean isAnnulee() {
+        return annulee;
+    }
+}
@@ -0,0 +1,70 @@
+package fr.tournois.dao;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Délais maximaux d'exécution des requêtes, par {@link TypeRequete}, lus dans
+ * database.properties (en secondes, 0 pour aucune limite) :
+ * <pre>
+ * db.timeout.lecture=15
+ * db.timeout.ecriture=10
+ * db.timeout.rapport=120
+ * </pre>
+ * Une clé absente prend la valeur par défaut ci-dessus.
+ */
+final class DelaisRequetes {
+
+    static final String PREFIXE = "db.timeout.";
+
+    private final Map<TypeRequete, Integer> secondes = new EnumMap<>(TypeRequete.class);
+
+    DelaisRequetes(Properties properties) {
+        secondes.put(TypeRequete.LECTURE, lire(properties, TypeRequete.LECTURE, 15));
+        secondes.put(TypeRequete.ECRITURE, lire(properties, TypeRequete.ECRITURE, 10));
+        secondes.put(TypeRequete.RAPPORT, lire(properties, TypeRequete.RAPPORT, 120));
+    }
+
+    private static int lire(Properties properties, TypeRequete type, int defaut) {
+        String cle = PREFIXE + type.getCle();
+        String valeur = properties.getProperty(cle);
+        if (valeur == null || valeur.isBlank()) {
+            return defaut;
+        }
+        try {
+            int delai = Integer.parseInt(valeur.trim());
+            if (delai >= 0) {
+                return delai;
+            }
+        } catch (NumberFormatException e) {
+            // signalé ci-dessous
+        }
+        throw new RuntimeException("Valeur invalide pour " + cle + " : " + valeur + " (secondes attendues)");
+    }
+
+    /**
+     * @param type nature de la requête
+     * @return le délai en secondes, 0 pour aucune limite
+     */
+    int secondes(TypeRequete type) {
+        return secondes.get(type);
+    }
+
+    /**
+     * Nature d'une requête d'après son texte : lecture pour un SELECT (ou WITH),
+     * écriture sinon. Une lecture exécutée dans un {@link ContexteRequetes#rapport()}
+     * devient un rapport.
+     * @param sql texte de la requête
+     * @param rapport true si la requête est exécutée pour un rapport
+     * @return la nature de la requête
+     */
+    static TypeRequete typeDe(String sql, boolean rapport) {
+        String debut = sql == null ? "" : sql.stripLeading().toUpperCase(Locale.ROOT);
+        if (debut.startsWith("SELECT") || debut.startsWith("WITH") || debut.startsWith("(")) {
+            return rapport ? TypeRequete.RAPPORT : TypeRequete.LECTURE;
+        }
+        return TypeRequete.ECRITURE;
+    }
+}
@@ -2,10 +2,13 @@ package fr.tournois.dao;
 
 import fr.tournois.model.Equipe;
 import fr.tournois.model.Joueur;
+import fr.tournois.model.Resume;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class EquipeDAO {
 
@@ -50,17 +53,18 @@ public class EquipeDAO {
                 int result = pst.executeUpdate();
 
                 if (result != 1) {
-                    connection.rollback();
+                    UnitOfWork.rollback(connection);
                     throw new DAOException("Erreur lors de l'insertion de l'équipe");
                 }
 
                 equipe.setId(newId);
-                connection.commit();
+                UnitOfWork.commit(connection);
+                BusEvenements.getInstance().publier(connection, EvenementDAO.creation(Equipe.class, newId, equipe));
             }
 
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -68,14 +72,15 @@ public class EquipeDAO {
         }
     }
 
-    // UPDATE
+    // UPDATE (contrôle de concurrence optimiste : échoue si la version a changé en base)
     public void update(Equipe equipe) throws DAOException {
         if (equipe == null || equipe.getId() == null) {
             throw new DAOException("L'équipe et son ID ne peuvent pas être null");
         }
 
         // Mise à jour de toutes les colonnes
-        String query = "UPDATE Equipe SET nom = ?, tag = ?, logo = ?, description = ?, pays = ?, date_creation = ? WHERE id_equipe = ?";
+        String query = "UPDATE Equipe SET nom = ?, tag = ?, logo = ?, description = ?, pays = ?, date_creation = ?, version = version + 1 " +
+                       "WHERE id_equipe = ? AND version = ?";
 
         try (PreparedStatement pst = connection.prepareStatement(query)) {
             pst.setString(1, equipe.getNom());
@@ -85,19 +90,22 @@ public class EquipeDAO {
             pst.setString(5, equipe.getPays());
             pst.setDate(6, equipe.getDateCreation() != null ? Date.valueOf(equipe.getDateCreation()) : null);
             pst.setInt(7, equipe.getId());
+            pst.setInt(8, equipe.getVersion());
 
             int result = pst.executeUpdate();
 
             if (result != 1) {
-                connection.rollback();
-                throw new DAOException("Aucune équipe trouvée avec cet ID ou erreur lors de la mise à jour");
+                UnitOfWork.rollback(connection);
+                throw new ConcurrentUpdateException("Equipe", equipe.getId());
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            equipe.setVersion(equipe.getVersion() + 1);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.modification(Equipe.class, equipe.getId(), equipe));
 
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -105,6 +113,38 @@ public class EquipeDAO {
         }
     }
 
+    /**
+     * Retourne l'identifiant de chaque équipe, indexé par son nom
+     * (sans espaces superflus et en minuscules) : permet de rattacher
+     * des joueurs importés à leur équipe sans requête par ligne.
+     * @return les identifiants par nom d'équipe
+     * @throws SQLException si erreur lors de la lecture
+     */
+    public Map<String, Integer> getIdsParNom() throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        String sql = "SELECT id_equipe, nom FROM Equipe";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.putIfAbsent(rs.getString(2).trim().toLowerCase(), rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    // READ - Résumés des équipes (identifiant, nom, tag), sans les joueurs, pour les listes de choix
+    public List<Resume> getResumesEquipes() throws SQLException {
+        List<Resume> resumes = new ArrayList<>();
+        String sql = "SELECT id_equipe, nom, tag FROM equipe ORDER BY nom";
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                resumes.add(new Resume(rs.getInt("id_equipe"), rs.getString("nom"), rs.getString("tag")));
+            }
+        }
+        return resumes;
+    }
+
     // READ - Une équipe
     public Equipe getEquipeParId(int id) throws SQLException {
         String sql = "SELECT * FROM equipe WHERE id_equipe = ?";
@@ -112,7 +152,7 @@ public class EquipeDAO {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return construireEquipeDepuisResultSet(rs);
+                    return mappeurEquipe(rs).mapper(rs);
                 }
             }
         }
@@ -125,45 +165,79 @@ public class EquipeDAO {
         String sql = "SELECT * FROM equipe";
         try (Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            MappeurLigne<Equipe> mappeur = mappeurEquipe(rs);
             while (rs.next()) {
-                equipes.add(construireEquipeDepuisResultSet(rs));
+                equipes.add(mappeur.mapper(rs));
+            }
+        }
+        return equipes;
+    }
+
+    // READ - Équipes créées ou modifiées après un instant (rafraîchissement par delta)
+    public List<Equipe> getEquipesModifieesDepuis(Timestamp depuis) throws SQLException {
+        List<Equipe> equipes = new ArrayList<>();
+        String sql = "SELECT * FROM equipe WHERE last_modified >= ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setTimestamp(1, depuis);
+            try (ResultSet rs = stmt.executeQuery()) {
+                MappeurLigne<Equipe> mappeur = mappeurEquipe(rs);
+                while (rs.next()) {
+                    equipes.add(mappeur.mapper(rs));
+                }
             }
         }
         return equipes;
     }
 
     public void supprimerEquipe(int id) throws SQLException {
+        // Les inscriptions sont supprimées en cascade : on libère d'abord les places réservées
+        String libererPlaces = "UPDATE Tournoi SET nb_inscrits = nb_inscrits - 1 " +
+                               "WHERE id_tournoi IN (SELECT id_tournoi FROM Inscription WHERE id_equipe = ?)";
         String sql = "DELETE FROM equipe WHERE id_equipe = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (UnitOfWork uow = UnitOfWork.begin(connection);
+             PreparedStatement placesStmt = connection.prepareStatement(libererPlaces);
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            placesStmt.setInt(1, id);
+            placesStmt.executeUpdate();
             stmt.setInt(1, id);
             stmt.executeUpdate();
-            connection.commit(); // Forcer le commit
+            UnitOfWork.commit(connection); // Forcer le commit
+            BusEvenements.getInstance().publier(connection, EvenementDAO.suppression(Equipe.class, id));
+            uow.commit();
         } catch (SQLException e) {
-            connection.rollback(); // Annuler en cas d'erreur
+            UnitOfWork.rollback(connection); // Annuler en cas d'erreur
             throw e;
         }
     }
 
-    // Utilitaire : construction d'un objet Equipe
-    private Equipe construireEquipeDepuisResultSet(ResultSet rs) throws SQLException {
-        Equipe equipe = new Equipe();
-        equipe.setId(rs.getInt("id_equipe"));
-        equipe.setNom(rs.getString("nom"));
-        equipe.setTag(rs.getString("tag"));
-        equipe.setLogo(rs.getString("logo"));
-        equipe.setDescription(rs.getString("description"));
-        equipe.setPays(rs.getString("pays"));
-        
-        Date dateCreation = rs.getDate("date_creation");
-        if (dateCreation != null) {
-            equipe.setDateCreation(dateCreation.toLocalDate());
-        }
-
-        // Récupérer les joueurs associés à cette équipe
+    // Utilitaire : mappeur des lignes d'équipe d'un résultat (joueurs chargés au premier accès)
+    private MappeurLigne<Equipe> mappeurEquipe(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int id = colonnes.requise("id_equipe");
+        int nom = colonnes.requise("nom");
+        int tag = colonnes.requise("tag");
+        int logo = colonnes.requise("logo");
+        int description = colonnes.requise("description");
+        int pays = colonnes.requise("pays");
+        int version = colonnes.requise("version");
+        int dateCreation = colonnes.requise("date_creation");
         JoueurDAO joueurDAO = new JoueurDAO(connection);
-        List<Joueur> joueurs = joueurDAO.getJoueursParEquipeId(equipe.getId());
-        equipe.setJoueurs(joueurs);
 
-        return equipe;
+        return ligne -> {
+            Equipe equipe = new Equipe();
+            equipe.setId(ligne.getInt(id));
+            equipe.setNom(ligne.getString(nom));
+            equipe.setTag(ligne.getString(tag));
+            equipe.setLogo(ligne.getString(logo));
+            equipe.setDescription(ligne.getString(description));
+            equipe.setPays(ligne.getString(pays));
+            equipe.setVersion(ligne.getInt(version));
+            equipe.setDateCreation(Colonnes.date(ligne, dateCreation));
+
+            int idEquipe = equipe.getId();
+            equipe.setJoueurs(ChargementDiffere.liste(connection, "joueurs de l'équipe " + idEquipe,
+                    () -> joueurDAO.getJoueursParEquipeId(idEquipe)));
+            return equipe;
+        };
     }
 }
\ No newline at end of file
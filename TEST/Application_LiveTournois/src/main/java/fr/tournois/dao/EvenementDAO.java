@@ -0,0 +1,74 @@
+package fr.tournois.dao;
+
+/**
+ * Changement d'une entité enregistré par un DAO, diffusé par le {@link BusEvenements}
+ * une fois la transaction validée.
+ *
+ * L'événement porte l'identifiant de l'entité et, pour une création ou une
+ * modification, l'entité telle qu'écrite en base : les listes affichées
+ * peuvent être corrigées sans relire la table.
+ *
+ * @param <T> type de l'entité
+ */
+public final class EvenementDAO<T> {
+
+    /** Nature du changement. */
+    public enum Type {
+        CREATION,
+        MODIFICATION,
+        SUPPRESSION,
+        /** Changement en masse (identifiants inconnus) : les listes doivent être rechargées. */
+        RECHARGEMENT
+    }
+
+    private final Type type;
+    private final Class<T> entite;
+    private final int id;
+    private final T valeur;
+
+    private EvenementDAO(Type type, Class<T> entite, int id, T valeur) {
+        this.type = type;
+        this.entite = entite;
+        this.id = id;
+        this.valeur = valeur;
+    }
+
+    public static <T> EvenementDAO<T> creation(Class<T> entite, int id, T valeur) {
+        return new EvenementDAO<>(Type.CREATION, entite, id, valeur);
+    }
+
+    public static <T> EvenementDAO<T> modification(Class<T> entite, int id, T valeur) {
+        return new EvenementDAO<>(Type.MODIFICATION, entite, id, valeur);
+    }
+
+    public static <T> EvenementDAO<T> suppression(Class<T> entite, int id) {
+        return new EvenementDAO<>(Type.SUPPRESSION, entite, id, null);
+    }
+
+    public static <T> EvenementDAO<T> rechargement(Class<T> entite) {
+        return new EvenementDAO<>(Type.RECHARGEMENT, entite, 0, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<T> getEntite() {
+        return entite;
+    }
+
+    /** @return l'identifiant de l'entité (0 pour un rechargement) */
+    public int getId() {
+        return id;
+    }
+
+    /** @return l'entité créée ou modifiée, null pour une suppression ou un rechargement */
+    public T getValeur() {
+        return valeur;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entite.getSimpleName() + " #" + id;
+    }
+}
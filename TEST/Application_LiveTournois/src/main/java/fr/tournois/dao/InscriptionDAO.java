@@ -34,7 +34,7 @@ public class InscriptionDAO {
      * Crée une nouvelle inscription
      * @param inscription l'inscription à créer
      * @return l'inscription créée avec son ID
-     * @throws DAOException si erreur lors de la création
+     * @throws DAOException si le tournoi est complet ou erreur lors de la création
      */
     public Inscription create(Inscription inscription) throws DAOException {
         validateInscription(inscription);
@@ -42,14 +42,17 @@ public class InscriptionDAO {
         if (isEquipeInscrite(inscription.getTournoi().getId(), inscription.getEquipe().getId())) {
             throw new DAOException("L'équipe est déjà inscrite à ce tournoi");
         }
-        
-        if (getPlacesRestantes(inscription.getTournoi()) <= 0) {
-            throw new DAOException("Le tournoi est complet (16 équipes maximum)");
-        }
 
         String sql = "INSERT INTO Inscription (id_tournoi, id_equipe, date_inscription, statut, seed) VALUES (?, ?, ?, ?, ?)";
         
-        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+        // Réservation et insertion dans une même unité : une requête interrompue
+        // (DAOTimeoutException) ne laisse pas la place réservée en attente de commit
+        try (UnitOfWork uow = UnitOfWork.begin(connection);
+             PreparedStatement pst = connection.prepareStatement(sql)) {
+            // Réservation atomique d'une place : le contrôle de capacité et
+            // l'incrément du compteur se font dans la même instruction
+            reserverPlace(inscription.getTournoi().getId());
+
             pst.setInt(1, inscription.getTournoi().getId());
             pst.setInt(2, inscription.getEquipe().getId());
             pst.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
@@ -61,13 +64,15 @@ public class InscriptionDAO {
                 throw new DAOException("Erreur lors de la création de l'inscription");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            uow.commit();
             inscription.setDateInscription(LocalDateTime.now());
+            inscription.setVersion(0);
             return inscription;
 
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -76,33 +81,40 @@ public class InscriptionDAO {
     }
 
     /**
-     * Met à jour une inscription existante
+     * Met à jour une inscription existante.
+     * La mise à jour n'est appliquée que si la version en base est celle lue
+     * par l'appelant (contrôle de concurrence optimiste).
      * @param inscription l'inscription à mettre à jour
      * @return l'inscription mise à jour
+     * @throws ConcurrentUpdateException si l'inscription a été modifiée ou supprimée entre-temps
      * @throws DAOException si erreur lors de la mise à jour
      */
     public Inscription update(Inscription inscription) throws DAOException {
         validateInscription(inscription);
 
-        String sql = "UPDATE Inscription SET statut = ?, seed = ? WHERE id_tournoi = ? AND id_equipe = ?";
+        String sql = "UPDATE Inscription SET statut = ?, seed = ?, version = version + 1 " +
+                    "WHERE id_tournoi = ? AND id_equipe = ? AND version = ?";
         
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setString(1, inscription.getStatut());
-            pst.setInt(2, 0); // Seed toujours à 0
+            pst.setInt(2, inscription.getSeed());
             pst.setInt(3, inscription.getTournoi().getId());
             pst.setInt(4, inscription.getEquipe().getId());
+            pst.setInt(5, inscription.getVersion());
 
             int result = pst.executeUpdate();
             if (result != 1) {
-                throw new DAOException("Aucune inscription trouvée ou erreur lors de la mise à jour");
+                UnitOfWork.rollback(connection);
+                throw new ConcurrentUpdateException("Inscription", inscription.getEquipe().getId());
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            inscription.setVersion(inscription.getVersion() + 1);
             return inscription;
 
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -119,7 +131,8 @@ public class InscriptionDAO {
     public void delete(Integer tournoiId, Integer equipeId) throws DAOException {
         String sql = "DELETE FROM Inscription WHERE id_tournoi = ? AND id_equipe = ?";
         
-        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+        try (UnitOfWork uow = UnitOfWork.begin(connection);
+             PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setInt(1, tournoiId);
             pst.setInt(2, equipeId);
 
@@ -127,12 +140,14 @@ public class InscriptionDAO {
             if (result != 1) {
                 throw new DAOException("Aucune inscription trouvée à supprimer");
             }
+            libererPlace(tournoiId);
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            uow.commit();
 
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -162,7 +177,7 @@ public class InscriptionDAO {
             
             try (ResultSet rs = pst.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToEntity(rs));
+                    return Optional.of(mappeurInscription(rs).mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -190,8 +205,9 @@ public class InscriptionDAO {
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             
+            MappeurLigne<Inscription> mappeur = mappeurInscription(rs);
             while (rs.next()) {
-                inscriptions.add(mapResultSetToEntity(rs));
+                inscriptions.add(mappeur.mapper(rs));
             }
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la récupération des inscriptions: " + e.getMessage());
@@ -221,8 +237,9 @@ public class InscriptionDAO {
             pst.setInt(1, tournoiId);
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Inscription> mappeur = mappeurInscription(rs);
                 while (rs.next()) {
-                    inscriptions.add(mapResultSetToEntity(rs));
+                    inscriptions.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -253,8 +270,9 @@ public class InscriptionDAO {
             pst.setInt(1, equipeId);
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Inscription> mappeur = mappeurInscription(rs);
                 while (rs.next()) {
-                    inscriptions.add(mapResultSetToEntity(rs));
+                    inscriptions.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -290,6 +308,37 @@ public class InscriptionDAO {
         return false;
     }
 
+    /**
+     * Attribue les têtes de série d'un tournoi : la première équipe de la liste
+     * reçoit le seed 1, la suivante le seed 2, etc. Les mises à jour sont
+     * envoyées par lot et validées en une seule transaction.
+     * @param tournoiId ID du tournoi
+     * @param equipesParSeed les équipes inscrites, dans l'ordre des seeds
+     * @return le nombre d'inscriptions mises à jour
+     * @throws DAOException si erreur lors de la mise à jour (rien n'est alors modifié)
+     */
+    public int attribuerSeeds(Integer tournoiId, List<Equipe> equipesParSeed) throws DAOException {
+        String sql = "UPDATE Inscription SET seed = ?, version = version + 1 " +
+                    "WHERE id_tournoi = ? AND id_equipe = ?";
+
+        return new TransactionTemplate(connection).execute(uow -> {
+            try (PreparedStatement pst = connection.prepareStatement(sql)) {
+                int seed = 1;
+                for (Equipe equipe : equipesParSeed) {
+                    pst.setInt(1, seed++);
+                    pst.setInt(2, tournoiId);
+                    pst.setInt(3, equipe.getId());
+                    pst.addBatch();
+                }
+                int total = 0;
+                for (int nombre : pst.executeBatch()) {
+                    total += nombre == Statement.SUCCESS_NO_INFO ? 1 : nombre;
+                }
+                return total;
+            }
+        });
+    }
+
     /**
      * Calcule le nombre de places restantes dans un tournoi (16 max)
      * @param tournoi le tournoi
@@ -316,33 +365,79 @@ public class InscriptionDAO {
     }
 
     /**
-     * Convertit un ResultSet en objet Inscription
-     * @param rs le ResultSet
-     * @return l'inscription
-     * @throws SQLException si erreur lors de la conversion
+     * Réserve une place dans un tournoi en incrémentant son compteur d'inscrits,
+     * uniquement s'il reste de la place. L'UPDATE conditionnel verrouille la ligne
+     * du tournoi jusqu'à la fin de la transaction : deux inscriptions simultanées
+     * sont donc sérialisées et ne peuvent pas dépasser nb_equipes_max.
+     * Ne valide pas la transaction, l'appelant doit faire le commit.
+     * @param tournoiId ID du tournoi
+     * @throws DAOException si le tournoi est complet ou inexistant
+     * @throws SQLException si erreur lors de la mise à jour
      */
-    private Inscription mapResultSetToEntity(ResultSet rs) throws SQLException {
-        Inscription inscription = new Inscription();
-        
-        inscription.setStatut(rs.getString("statut"));
-        inscription.setSeed(rs.getInt("seed"));
-        
-        Timestamp dateInscription = rs.getTimestamp("date_inscription");
-        if (dateInscription != null) {
-            inscription.setDateInscription(dateInscription.toLocalDateTime());
+    void reserverPlace(Integer tournoiId) throws SQLException {
+        String sql = "UPDATE Tournoi SET nb_inscrits = nb_inscrits + 1 " +
+                    "WHERE id_tournoi = ? AND nb_inscrits < nb_equipes_max";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoiId);
+            if (pst.executeUpdate() == 0) {
+                throw new DAOException("Le tournoi est complet");
+            }
         }
-        
-        Tournoi tournoi = new Tournoi();
-        tournoi.setId(rs.getInt("id_tournoi"));
-        tournoi.setNom(rs.getString("tournoi_nom"));
-        inscription.setTournoi(tournoi);
-        
-        Equipe equipe = new Equipe();
-        equipe.setId(rs.getInt("id_equipe"));
-        equipe.setNom(rs.getString("equipe_nom"));
-        inscription.setEquipe(equipe);
-        
-        return inscription;
+    }
+
+    /**
+     * Libère une place dans un tournoi après une désinscription.
+     * Ne valide pas la transaction, l'appelant doit faire le commit.
+     * @param tournoiId ID du tournoi
+     * @throws SQLException si erreur lors de la mise à jour
+     */
+    void libererPlace(Integer tournoiId) throws SQLException {
+        String sql = "UPDATE Tournoi SET nb_inscrits = nb_inscrits - 1 " +
+                    "WHERE id_tournoi = ? AND nb_inscrits > 0";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoiId);
+            pst.executeUpdate();
+        }
+    }
+
+    /**
+     * Crée le mappeur des lignes d'inscription jointes au tournoi (tournoi_nom)
+     * et à l'équipe (equipe_nom)
+     * @param rs Résultat de la requête SQL
+     * @return le mappeur, à réutiliser pour toutes les lignes du résultat
+     * @throws SQLException si une colonne obligatoire manque
+     */
+    private MappeurLigne<Inscription> mappeurInscription(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int statut = colonnes.requise("statut");
+        int seed = colonnes.requise("seed");
+        int version = colonnes.requise("version");
+        int dateInscription = colonnes.requise("date_inscription");
+        int idTournoi = colonnes.requise("id_tournoi");
+        int tournoiNom = colonnes.requise("tournoi_nom");
+        int idEquipe = colonnes.requise("id_equipe");
+        int equipeNom = colonnes.requise("equipe_nom");
+
+        return ligne -> {
+            Inscription inscription = new Inscription();
+            inscription.setStatut(ligne.getString(statut));
+            inscription.setSeed(ligne.getInt(seed));
+            inscription.setVersion(ligne.getInt(version));
+            inscription.setDateInscription(Colonnes.horodatage(ligne, dateInscription));
+
+            Tournoi tournoi = new Tournoi();
+            tournoi.setId(ligne.getInt(idTournoi));
+            tournoi.setNom(ligne.getString(tournoiNom));
+            inscription.setTournoi(tournoi);
+
+            Equipe equipe = new Equipe();
+            equipe.setId(ligne.getInt(idEquipe));
+            equipe.setNom(ligne.getString(equipeNom));
+            inscription.setEquipe(equipe);
+            return inscription;
+        };
     }
 
     /**
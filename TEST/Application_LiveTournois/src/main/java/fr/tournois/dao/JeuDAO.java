@@ -1,6 +1,7 @@
 package fr.tournois.dao;
 
 import fr.tournois.model.Jeu;
+import fr.tournois.model.Resume;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +39,27 @@ public class JeuDAO {
         return jeux;
     }
 
+    /**
+     * Liste les jeux sous forme résumée (identifiant, nom, genre) pour les listes de choix
+     * @return les résumés des jeux, triés par nom
+     * @throws DAOException si erreur lors de la récupération
+     */
+    public List<Resume> findResumes() throws DAOException {
+        List<Resume> resumes = new ArrayList<>();
+
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id_jeu, nom, genre FROM Jeu ORDER BY nom")) {
+
+            while (rs.next()) {
+                resumes.add(new Resume(rs.getInt("id_jeu"), rs.getString("nom"), rs.getString("genre")));
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la récupération de la liste des jeux: " + e.getMessage());
+        }
+
+        return resumes;
+    }
+
     /**
      * Récupère un jeu par son identifiant
      * @param id Identifiant du jeu
@@ -105,17 +127,18 @@ public class JeuDAO {
                 int result = pst.executeUpdate();
                 
                 if (result != 1) {
-                    connection.rollback();
+                    UnitOfWork.rollback(connection);
                     throw new DAOException("Erreur lors de l'insertion du jeu");
                 }
                 
                 jeu.setId(newId);
-                connection.commit();
+                UnitOfWork.commit(connection);
+                BusEvenements.getInstance().publier(connection, EvenementDAO.creation(Jeu.class, newId, jeu));
             }
             
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -147,15 +170,16 @@ public class JeuDAO {
             int result = pst.executeUpdate();
             
             if (result != 1) {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
                 throw new DAOException("Aucun jeu trouvé avec cet ID ou erreur lors de la mise à jour");
             }
             
-            connection.commit();
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.modification(Jeu.class, jeu.getId(), jeu));
             
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
@@ -207,15 +231,16 @@ public class JeuDAO {
             int result = pst.executeUpdate();
             
             if (result != 1) {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
                 throw new DAOException("Aucun jeu trouvé avec cet ID");
             }
             
-            connection.commit();
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.suppression(Jeu.class, id));
             
         } catch (SQLException e) {
             try {
-                connection.rollback();
+                UnitOfWork.rollback(connection);
             } catch (SQLException rollbackEx) {
                 throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
             }
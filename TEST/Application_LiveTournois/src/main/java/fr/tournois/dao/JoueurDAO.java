@@ -15,6 +15,58 @@ public class JoueurDAO {
         this.connection = connection;
     }
 
+    /**
+     * Retourne la connexion utilisée par ce DAO
+     * @return la connexion à la base de données
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Ajoute des joueurs par lot : une seule requête préparée et un seul aller-retour
+     * pour tout le lot, identifiants tirés de la séquence dans l'INSERT.
+     * Les équipes des joueurs doivent déjà exister.
+     * Appelé dans une unité de travail, le lot est validé avec elle.
+     *
+     * @param joueurs Joueurs à ajouter (leurs identifiants ne sont pas renseignés)
+     * @return le nombre de joueurs ajoutés
+     * @throws SQLException si erreur lors de l'insertion
+     */
+    public int ajouterJoueursParLot(List<Joueur> joueurs) throws SQLException {
+        if (joueurs.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO joueur (id_joueur, nom, prenom, pseudo, date_naissance, nationalite, email, id_equipe, role) " +
+                     "VALUES (seq_joueur_id.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Joueur joueur : joueurs) {
+                stmt.setString(1, joueur.getNom());
+                stmt.setString(2, joueur.getPrenom());
+                stmt.setString(3, joueur.getPseudo());
+                if (joueur.getDateNaissance() != null) {
+                    stmt.setDate(4, new java.sql.Date(joueur.getDateNaissance().getTime()));
+                } else {
+                    stmt.setNull(4, Types.DATE);
+                }
+                stmt.setString(5, joueur.getNationalite());
+                stmt.setString(6, joueur.getEmail());
+                if (joueur.getEquipeId() != null) {
+                    stmt.setInt(7, joueur.getEquipeId());
+                } else {
+                    stmt.setNull(7, Types.INTEGER);
+                }
+                stmt.setString(8, joueur.getRole());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            UnitOfWork.commit(connection);
+            // Identifiants tirés dans l'INSERT : les listes affichées se rechargent
+            BusEvenements.getInstance().publier(connection, EvenementDAO.rechargement(Joueur.class));
+        }
+        return joueurs.size();
+    }
+
     /**
      * Ajoute un joueur dans la base de données
      * 
@@ -59,8 +111,8 @@ public class JoueurDAO {
             }
 
             stmt.executeUpdate();
-            connection.commit();
-
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.creation(Joueur.class, newId, joueur));
         }
     }
 
@@ -78,7 +130,7 @@ public class JoueurDAO {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return construireJoueurDepuisResultSet(rs);
+                    return mappeurJoueur(rs).mapper(rs);
                 }
             }
         }
@@ -94,11 +146,35 @@ public class JoueurDAO {
     // READ - Tous les joueurs
     public List<Joueur> getTousLesJoueurs() throws SQLException {
         List<Joueur> joueurs = new ArrayList<>();
-        String sql = "SELECT * FROM joueur";
+        String sql = "SELECT j.*, e.nom AS equipe_nom FROM joueur j " +
+                     "LEFT JOIN equipe e ON e.id_equipe = j.id_equipe";
         try (Statement stmt = connection.createStatement();
                 ResultSet rs = stmt.executeQuery(sql)) {
+            MappeurLigne<Joueur> mappeur = mappeurJoueur(rs);
             while (rs.next()) {
-                joueurs.add(construireJoueurAvecEquipeDepuisResultSet(rs));
+                joueurs.add(mappeur.mapper(rs));
+            }
+        }
+        return joueurs;
+    }
+
+    /**
+     * Récupère les joueurs créés ou modifiés après un instant (rafraîchissement par delta)
+     * 
+     * @param depuis instant de la dernière lecture
+     * @return les joueurs dont {@code last_modified} est postérieur ou égal
+     * @throws SQLException si erreur lors de la lecture
+     */
+    public List<Joueur> getJoueursModifiesDepuis(Timestamp depuis) throws SQLException {
+        List<Joueur> joueurs = new ArrayList<>();
+        String sql = "SELECT * FROM joueur WHERE last_modified >= ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setTimestamp(1, depuis);
+            try (ResultSet rs = stmt.executeQuery()) {
+                MappeurLigne<Joueur> mappeur = mappeurJoueur(rs);
+                while (rs.next()) {
+                    joueurs.add(mappeur.mapper(rs));
+                }
             }
         }
         return joueurs;
@@ -126,7 +202,8 @@ public class JoueurDAO {
             stmt.setInt(6, joueur.getId());
 
             stmt.executeUpdate();
-            connection.commit();
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.modification(Joueur.class, joueur.getId(), joueur));
         }
     }
 
@@ -142,46 +219,41 @@ public class JoueurDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, id);
             stmt.executeUpdate();
-            connection.commit();
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection, EvenementDAO.suppression(Joueur.class, id));
         }
     }
 
-    // Utilitaire pour construire un objet Joueur depuis un ResultSet
-    private Joueur construireJoueurDepuisResultSet(ResultSet rs) throws SQLException {
-        Joueur joueur = new Joueur();
-        joueur.setId(rs.getInt("id_joueur"));
-        joueur.setNom(rs.getString("nom"));
-        joueur.setPrenom(rs.getString("prenom"));
-        joueur.setPseudo(rs.getString("pseudo"));
-        joueur.setDateNaissance(rs.getDate("date_naissance"));
-
-        int equipeId = rs.getInt("id_equipe");
-        if (!rs.wasNull()) {
-            // Attention : éviter la récursion infinie
-            // Ne pas récupérer l'équipe complète avec ses joueurs ici
-            Equipe equipe = new Equipe();
-            equipe.setId(equipeId);
-            joueur.setEquipe(equipe);
-        }
+    // Utilitaire : mappeur des lignes de joueur d'un résultat.
+    // Le nom de l'équipe est lu s'il est joint sous l'alias equipe_nom ; sinon l'équipe
+    // n'a que son identifiant (ne pas récupérer l'équipe complète : récursion infinie)
+    private MappeurLigne<Joueur> mappeurJoueur(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int id = colonnes.requise("id_joueur");
+        int nom = colonnes.requise("nom");
+        int prenom = colonnes.requise("prenom");
+        int pseudo = colonnes.requise("pseudo");
+        int dateNaissance = colonnes.requise("date_naissance");
+        int idEquipe = colonnes.requise("id_equipe");
+        int equipeNom = colonnes.indice("equipe_nom");
 
-        return joueur;
-    }
-    private Joueur construireJoueurAvecEquipeDepuisResultSet(ResultSet rs) throws SQLException {
-        Joueur joueur = new Joueur();
-        joueur.setId(rs.getInt("id_joueur"));
-        joueur.setNom(rs.getString("nom"));
-        joueur.setPrenom(rs.getString("prenom"));
-        joueur.setPseudo(rs.getString("pseudo"));
-        joueur.setDateNaissance(rs.getDate("date_naissance"));
-
-        int equipeId = rs.getInt("id_equipe");
-        if (!rs.wasNull()) {
-            Equipe equipe = new Equipe();
-            equipe.setId(equipeId);
-            equipe.setNom(rs.getString("nom")); // ← AJOUT CRUCIAL !
-            joueur.setEquipe(equipe);
-        }
-        return joueur;
+        return ligne -> {
+            Joueur joueur = new Joueur();
+            joueur.setId(ligne.getInt(id));
+            joueur.setNom(ligne.getString(nom));
+            joueur.setPrenom(ligne.getString(prenom));
+            joueur.setPseudo(ligne.getString(pseudo));
+            joueur.setDateNaissance(ligne.getDate(dateNaissance));
+
+            Integer equipeId = Colonnes.entier(ligne, idEquipe);
+            if (equipeId != null) {
+                Equipe equipe = new Equipe();
+                equipe.setId(equipeId);
+                equipe.setNom(Colonnes.texte(ligne, equipeNom));
+                joueur.setEquipe(equipe);
+            }
+            return joueur;
+        };
     }
 
     /**
@@ -198,15 +270,11 @@ public class JoueurDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, equipeId);
             try (ResultSet rs = stmt.executeQuery()) {
+                MappeurLigne<Joueur> mappeur = mappeurJoueur(rs);
                 while (rs.next()) {
-                    // Ici on construit un joueur simplifié pour éviter la récursion
-                    Joueur joueur = new Joueur();
-                    joueur.setId(rs.getInt("id_joueur"));
-                    joueur.setNom(rs.getString("nom"));
-                    joueur.setPrenom(rs.getString("prenom"));
-                    joueur.setPseudo(rs.getString("pseudo"));
-                    joueur.setDateNaissance(rs.getDate("date_naissance"));
-                    // Ne pas définir l'équipe ici pour éviter la récursion
+                    // Joueur simplifié : ne pas lui rattacher l'équipe pour éviter la récursion
+                    Joueur joueur = mappeur.mapper(rs);
+                    joueur.setEquipe(null);
                     joueurs.add(joueur);
                 }
             }
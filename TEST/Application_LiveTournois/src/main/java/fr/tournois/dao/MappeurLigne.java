@@ -0,0 +1,25 @@
+package fr.tournois.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Convertit la ligne courante d'un résultat en entité.
+ *
+ * Un mappeur est créé pour un résultat donné (une forme de requête) : il y résout
+ * une fois les indices de ses colonnes ({@link Colonnes}), puis est appelé pour
+ * chaque ligne.
+ *
+ * <pre>
+ * MappeurLigne&lt;Tournoi&gt; mappeur = mappeurTournoi(rs);
+ * while (rs.next()) {
+ *     tournois.add(mappeur.mapper(rs));
+ * }
+ * </pre>
+ *
+ * @param <T> type de l'entité
+ */
+@FunctionalInterface
+interface MappeurLigne<T> {
+    T mapper(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,324 @@
+package fr.tournois.dao;
+
+import fr.tournois.classement.ServiceElo;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Rencontre;
+import fr.tournois.model.Tournoi;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classe d'accès aux données pour les rencontres (calendrier d'un tournoi).
+ */
+public class RencontreDAO {
+
+    /** Nombre de lignes ramenées par aller-retour lors d'un parcours en flux. */
+    private static final int TAILLE_LOT_LECTURE = 500;
+
+    /**
+     * Traitement appliqué à chaque résultat lors d'un parcours en flux.
+     */
+    @FunctionalInterface
+    public interface TraitementResultat {
+        void traiter(int equipeA, int equipeB, int scoreA, int scoreB);
+    }
+
+    private final Connection connection;
+
+    public RencontreDAO(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Enregistre le calendrier d'un tournoi en remplaçant le précédent.
+     * Toutes les rencontres sont insérées par lot, en une seule transaction.
+     * @param tournoi le tournoi
+     * @param rencontres les rencontres générées
+     * @return le nombre de rencontres enregistrées
+     * @throws DAOException si erreur lors de l'enregistrement (rien n'est alors modifié)
+     */
+    public int enregistrerCalendrier(Tournoi tournoi, List<Rencontre> rencontres) throws DAOException {
+        if (tournoi == null || tournoi.getId() == null) {
+            throw new DAOException("Le tournoi est obligatoire");
+        }
+        return new TransactionTemplate(connection).execute(uow -> {
+            deleteByTournoi(tournoi);
+            return ajouterRencontres(tournoi, rencontres);
+        });
+    }
+
+    /**
+     * Ajoute des rencontres au calendrier d'un tournoi (par exemple un tour
+     * de système suisse), insérées par lot en une seule transaction.
+     * @param tournoi le tournoi
+     * @param rencontres les rencontres à ajouter
+     * @return le nombre de rencontres ajoutées
+     * @throws DAOException si erreur lors de l'enregistrement (rien n'est alors ajouté)
+     */
+    public int ajouterRencontres(Tournoi tournoi, List<Rencontre> rencontres) throws DAOException {
+        String sql = "INSERT INTO Rencontre (id_rencontre, id_tournoi, groupe, tour, id_equipe_a, id_equipe_b) " +
+                    "VALUES (seq_rencontre_id.NEXTVAL, ?, ?, ?, ?, ?)";
+
+        return new TransactionTemplate(connection).execute(uow -> {
+            try (PreparedStatement pst = connection.prepareStatement(sql)) {
+                for (Rencontre rencontre : rencontres) {
+                    pst.setInt(1, tournoi.getId());
+                    pst.setString(2, rencontre.getGroupe());
+                    pst.setInt(3, rencontre.getTour());
+                    pst.setInt(4, rencontre.getEquipeA().getId());
+                    pst.setInt(5, rencontre.getEquipeB().getId());
+                    pst.addBatch();
+                }
+                pst.executeBatch();
+            }
+            return rencontres.size();
+        });
+    }
+
+    /**
+     * Récupère le calendrier d'un tournoi
+     * @param tournoi le tournoi
+     * @return les rencontres, par groupe puis par tour
+     * @throws DAOException si erreur lors de la récupération
+     */
+    public List<Rencontre> findByTournoi(Tournoi tournoi) throws DAOException {
+        String sql = "SELECT r.*, ea.nom AS equipe_a_nom, eb.nom AS equipe_b_nom " +
+                    "FROM Rencontre r " +
+                    "JOIN Equipe ea ON r.id_equipe_a = ea.id_equipe " +
+                    "JOIN Equipe eb ON r.id_equipe_b = eb.id_equipe " +
+                    "WHERE r.id_tournoi = ? " +
+                    "ORDER BY r.groupe NULLS FIRST, r.tour, r.id_rencontre";
+
+        List<Rencontre> rencontres = new ArrayList<>();
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoi.getId());
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    Rencontre rencontre = mapResultSetToEntity(rs);
+                    rencontre.setTournoi(tournoi);
+                    rencontres.add(rencontre);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la récupération du calendrier du tournoi: " + e.getMessage());
+        }
+        return rencontres;
+    }
+
+    /**
+     * Récupère les rencontres jouées (avec leurs deux scores) d'un tournoi,
+     * pour reconstruire son classement
+     * @param tournoi le tournoi
+     * @return les rencontres jouées, par groupe puis par tour
+     * @throws DAOException si erreur lors de la récupération
+     */
+    public List<Rencontre> findJoueesByTournoi(Tournoi tournoi) throws DAOException {
+        String sql = "SELECT r.*, ea.nom AS equipe_a_nom, eb.nom AS equipe_b_nom " +
+                    "FROM Rencontre r " +
+                    "JOIN Equipe ea ON r.id_equipe_a = ea.id_equipe " +
+                    "JOIN Equipe eb ON r.id_equipe_b = eb.id_equipe " +
+                    "WHERE r.id_tournoi = ? AND r.score_a IS NOT NULL AND r.score_b IS NOT NULL " +
+                    "ORDER BY r.groupe NULLS FIRST, r.tour, r.id_rencontre";
+
+        List<Rencontre> rencontres = new ArrayList<>();
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoi.getId());
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    Rencontre rencontre = mapResultSetToEntity(rs);
+                    rencontre.setTournoi(tournoi);
+                    rencontres.add(rencontre);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la récupération des résultats du tournoi: " + e.getMessage());
+        }
+        return rencontres;
+    }
+
+    /**
+     * Recherche une rencontre par son identifiant
+     * @param id identifiant de la rencontre
+     * @return la rencontre trouvée ou Optional.empty()
+     * @throws DAOException si erreur lors de la recherche
+     */
+    public Optional<Rencontre> findById(Integer id) throws DAOException {
+        String sql = "SELECT r.*, ea.nom AS equipe_a_nom, eb.nom AS equipe_b_nom " +
+                    "FROM Rencontre r " +
+                    "JOIN Equipe ea ON r.id_equipe_a = ea.id_equipe " +
+                    "JOIN Equipe eb ON r.id_equipe_b = eb.id_equipe " +
+                    "WHERE r.id_rencontre = ?";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, id);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                if (rs.next()) {
+                    Rencontre rencontre = mapResultSetToEntity(rs);
+                    Tournoi tournoi = new Tournoi();
+                    tournoi.setId(rs.getInt("id_tournoi"));
+                    rencontre.setTournoi(tournoi);
+                    return Optional.of(rencontre);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la recherche de la rencontre: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Enregistre (ou corrige) le résultat d'une rencontre.
+     * La mise à jour n'est appliquée que si la version en base est celle lue :
+     * deux arbitres ne peuvent pas saisir le même résultat en même temps sans le voir.
+     *
+     * Après le commit, les cotes Elo du jeu sont tenues à jour ({@link ServiceElo}) :
+     * un premier résultat y est ajouté, la correction d'un résultat déjà compté
+     * les fait recalculer (il ne doit pas compter deux fois).
+     * @param rencontre la rencontre avec ses scores
+     * @return la rencontre à jour (nouvelle version)
+     * @throws ConcurrentUpdateException si la rencontre a été modifiée entre-temps
+     * @throws DAOException si les scores sont invalides ou erreur lors de la mise à jour
+     */
+    public Rencontre enregistrerResultat(Rencontre rencontre) throws DAOException {
+        if (rencontre == null || rencontre.getId() == null) {
+            throw new DAOException("La rencontre est obligatoire");
+        }
+        if (!rencontre.isJouee() || rencontre.getScoreA() < 0 || rencontre.getScoreB() < 0) {
+            throw new DAOException("Les deux scores doivent être saisis et positifs");
+        }
+        // État précédent (déjà jouée ou non) et jeu du tournoi, pour les cotes Elo
+        String sqlPrecedent = "SELECT r.score_a, r.score_b, t.id_jeu " +
+                    "FROM Rencontre r JOIN Tournoi t ON r.id_tournoi = t.id_tournoi " +
+                    "WHERE r.id_rencontre = ? AND r.version = ?";
+        String sql = "UPDATE Rencontre SET score_a = ?, score_b = ?, statut = 'Terminée', version = version + 1 " +
+                    "WHERE id_rencontre = ? AND version = ?";
+
+        try (PreparedStatement precedent = connection.prepareStatement(sqlPrecedent);
+             PreparedStatement pst = connection.prepareStatement(sql)) {
+            precedent.setInt(1, rencontre.getId());
+            precedent.setInt(2, rencontre.getVersion());
+            boolean dejaJouee;
+            int idJeu;
+            try (ResultSet rs = precedent.executeQuery()) {
+                if (!rs.next()) {
+                    throw new ConcurrentUpdateException("Rencontre", rencontre.getId());
+                }
+                rs.getInt("score_a");
+                boolean scoreANull = rs.wasNull();
+                rs.getInt("score_b");
+                dejaJouee = !scoreANull && !rs.wasNull();
+                idJeu = rs.getInt("id_jeu");
+            }
+
+            pst.setInt(1, rencontre.getScoreA());
+            pst.setInt(2, rencontre.getScoreB());
+            pst.setInt(3, rencontre.getId());
+            pst.setInt(4, rencontre.getVersion());
+
+            if (pst.executeUpdate() == 0) {
+                UnitOfWork.rollback(connection);
+                throw new ConcurrentUpdateException("Rencontre", rencontre.getId());
+            }
+            UnitOfWork.commit(connection);
+            rencontre.setStatut("Terminée");
+            rencontre.setVersion(rencontre.getVersion() + 1);
+
+            ServiceElo elo = ServiceElo.getInstance();
+            if (dejaJouee) {
+                UnitOfWork.apresCommit(connection, () -> elo.invalider(idJeu));
+            } else {
+                int equipeA = rencontre.getEquipeA().getId();
+                int equipeB = rencontre.getEquipeB().getId();
+                int scoreA = rencontre.getScoreA();
+                int scoreB = rencontre.getScoreB();
+                UnitOfWork.apresCommit(connection, () -> elo.enregistrerResultat(equipeA, equipeB, scoreA, scoreB, idJeu));
+            }
+            return rencontre;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de l'enregistrement du résultat: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parcourt en flux tous les résultats des tournois d'un jeu, dans l'ordre
+     * chronologique. Aucune rencontre n'est conservée en mémoire : chaque ligne
+     * est transmise au traitement puis oubliée.
+     * @param idJeu identifiant du jeu
+     * @param traitement traitement appliqué à chaque résultat
+     * @return le nombre de résultats parcourus
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public int parcourirResultats(int idJeu, TraitementResultat traitement) throws DAOException {
+        String sql = "SELECT r.id_equipe_a, r.id_equipe_b, r.score_a, r.score_b " +
+                    "FROM Rencontre r " +
+                    "JOIN Tournoi t ON r.id_tournoi = t.id_tournoi " +
+                    "WHERE t.id_jeu = ? AND r.score_a IS NOT NULL AND r.score_b IS NOT NULL " +
+                    "ORDER BY t.date_debut, t.id_tournoi, r.tour, r.id_rencontre";
+
+        int nombre = 0;
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setFetchSize(TAILLE_LOT_LECTURE);
+            pst.setInt(1, idJeu);
+
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    traitement.traiter(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4));
+                    nombre++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors du parcours des résultats: " + e.getMessage());
+        }
+        return nombre;
+    }
+
+    /**
+     * Supprime le calendrier d'un tournoi
+     * @param tournoi le tournoi
+     * @return le nombre de rencontres supprimées
+     * @throws DAOException si erreur lors de la suppression
+     */
+    public int deleteByTournoi(Tournoi tournoi) throws DAOException {
+        String sql = "DELETE FROM Rencontre WHERE id_tournoi = ?";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoi.getId());
+            int supprimees = pst.executeUpdate();
+            UnitOfWork.commit(connection);
+            return supprimees;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la suppression du calendrier du tournoi: " + e.getMessage());
+        }
+    }
+
+    private Rencontre mapResultSetToEntity(ResultSet rs) throws SQLException {
+        Rencontre rencontre = new Rencontre();
+        rencontre.setId(rs.getInt("id_rencontre"));
+        rencontre.setGroupe(rs.getString("groupe"));
+        rencontre.setTour(rs.getInt("tour"));
+        int scoreA = rs.getInt("score_a");
+        rencontre.setScoreA(rs.wasNull() ? null : scoreA);
+        int scoreB = rs.getInt("score_b");
+        rencontre.setScoreB(rs.wasNull() ? null : scoreB);
+        rencontre.setStatut(rs.getString("statut"));
+        rencontre.setVersion(rs.getInt("version"));
+
+        Equipe equipeA = new Equipe();
+        equipeA.setId(rs.getInt("id_equipe_a"));
+        equipeA.setNom(rs.getString("equipe_a_nom"));
+        rencontre.setEquipeA(equipeA);
+
+        Equipe equipeB = new Equipe();
+        equipeB.setId(rs.getInt("id_equipe_b"));
+        equipeB.setNom(rs.getString("equipe_b_nom"));
+        rencontre.setEquipeB(equipeB);
+
+        return rencontre;
+    }
+}
@@ -0,0 +1,398 @@
+package fr.tournois.dao;
+
+import fr.tournois.model.Affectation;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Inscription;
+import fr.tournois.model.Joueur;
+import fr.tournois.model.Staff;
+import fr.tournois.model.Tournoi;
+import fr.tournois.planning.DetecteurConflits;
+import fr.tournois.util.IntHashSet;
+import fr.tournois.util.LongHashSet;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rafraîchissement par delta entre les postes des organisateurs.
+ *
+ * Interroge périodiquement la base, sur une connexion dédiée, pour trouver les lignes
+ * dont la colonne {@code last_modified} (tenue à jour par trigger) a changé depuis
+ * le dernier passage, ainsi que les suppressions journalisées dans la table
+ * {@code Suppression}. Seules ces lignes sont relues, puis diffusées sur le
+ * {@link BusEvenements} : les écrans abonnés se mettent à jour comme pour une
+ * écriture locale.
+ *
+ * Le repère de lecture recule d'une marge ({@link #MARGE_MS}) pour ne pas manquer
+ * une transaction validée après le passage mais horodatée avant ; les lignes déjà
+ * diffusées dans cette fenêtre sont reconnues par leur horodatage et ignorées.
+ * Les écritures du poste lui-même reviennent aussi par ce chemin : elles sont
+ * réappliquées à l'identique, sans effet visible.
+ */
+public class ScrutateurModifications {
+
+    /** Recul du repère pour couvrir les transactions encore en cours lors d'un passage. */
+    static final long MARGE_MS = 30_000;
+    private static final long PERIODE_DEFAUT_MS = 5_000;
+    private static final int RETENTION_SUPPRESSIONS_JOURS = 7;
+
+    private static final String HORLOGE_QUERY = "SELECT CAST(SYSTIMESTAMP AS TIMESTAMP) FROM dual";
+
+    private static final String JOURNAL_QUERY =
+        "SELECT 'TOURNOI' AS nom_table, id_tournoi AS id_1, CAST(NULL AS NUMBER(10)) AS id_2, " +
+        "last_modified AS date_changement, 0 AS supprime FROM Tournoi WHERE last_modified > ? " +
+        "UNION ALL SELECT 'EQUIPE', id_equipe, CAST(NULL AS NUMBER(10)), last_modified, 0 " +
+        "FROM Equipe WHERE last_modified > ? " +
+        "UNION ALL SELECT 'JOUEUR', id_joueur, CAST(NULL AS NUMBER(10)), last_modified, 0 " +
+        "FROM Joueur WHERE last_modified > ? " +
+        "UNION ALL SELECT 'STAFF', id_staff, CAST(NULL AS NUMBER(10)), last_modified, 0 " +
+        "FROM Staff WHERE last_modified > ? " +
+        "UNION ALL SELECT 'INSCRIPTION', id_tournoi, id_equipe, last_modified, 0 " +
+        "FROM Inscription WHERE last_modified > ? " +
+        "UNION ALL SELECT 'AFFECTATION', id_tournoi, id_staff, last_modified, 0 " +
+        "FROM Affectation WHERE last_modified > ? " +
+        "UNION ALL SELECT nom_table, id_1, id_2, date_suppression, 1 " +
+        "FROM Suppression WHERE date_suppression > ?";
+
+    private static final int NB_PARAMETRES_JOURNAL = 7;
+
+    private static final String PURGE_QUERY =
+        "DELETE FROM Suppression WHERE date_suppression < SYSTIMESTAMP - NUMTODSINTERVAL(?, 'DAY')";
+
+    /**
+     * Ligne du journal : une entité modifiée ou supprimée.
+     */
+    static final class Changement {
+        final String table;
+        final int id1;
+        final int id2;
+        final Timestamp date;
+        final boolean supprime;
+
+        Changement(String table, int id1, int id2, Timestamp date, boolean supprime) {
+            this.table = table;
+            this.id1 = id1;
+            this.id2 = id2;
+            this.date = date;
+            this.supprime = supprime;
+        }
+
+        String cle() {
+            return (supprime ? "S:" : "M:") + table + ":" + id1 + ":" + id2;
+        }
+    }
+
+    /**
+     * Repère de lecture et mémoire des changements déjà diffusés dans la marge.
+     */
+    static final class Repere {
+        private Timestamp depuis;
+        private final Map<String, Timestamp> dejaDiffuses = new HashMap<>();
+
+        Repere(Timestamp depuis) {
+            this.depuis = depuis;
+        }
+
+        Timestamp getDepuis() {
+            return depuis;
+        }
+
+        /**
+         * @return true si le changement n'a pas encore été diffusé
+         */
+        boolean estNouveau(Changement changement) {
+            Timestamp precedent = dejaDiffuses.get(changement.cle());
+            return precedent == null || changement.date.after(precedent);
+        }
+
+        /**
+         * Mémorise des changements comme diffusés. À n'appeler qu'une fois la
+         * diffusion réussie : en cas d'échec, ils doivent être repris au passage suivant.
+         * @param changements les changements diffusés
+         */
+        void memoriser(List<Changement> changements) {
+            for (Changement changement : changements) {
+                dejaDiffuses.merge(changement.cle(), changement.date,
+                        (ancienne, nouvelle) -> nouvelle.after(ancienne) ? nouvelle : ancienne);
+            }
+        }
+
+        /**
+         * Avance le repère jusqu'à l'instant du passage moins la marge,
+         * et oublie les changements qui ne peuvent plus être relus.
+         * @param instantPassage horloge de la base au début du passage
+         */
+        void avancer(Timestamp instantPassage) {
+            long limite = instantPassage.getTime() - MARGE_MS;
+            if (limite > depuis.getTime()) {
+                depuis = new Timestamp(limite);
+            }
+            dejaDiffuses.values().removeIf(date -> !date.after(depuis));
+        }
+
+        int getNombreMemorises() {
+            return dejaDiffuses.size();
+        }
+    }
+
+    private static ScrutateurModifications instance;
+
+    private final BusEvenements bus;
+    private Connection connexion;
+    private ScheduledExecutorService planificateur;
+    private Repere repere;
+
+    ScrutateurModifications(BusEvenements bus) {
+        this.bus = bus;
+    }
+
+    public static synchronized ScrutateurModifications getInstance() {
+        if (instance == null) {
+            instance = new ScrutateurModifications(BusEvenements.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre la scrutation sur une connexion dédiée. La période vaut 5 secondes,
+     * modifiable par la propriété système {@code tournois.scrutation.ms}.
+     * Sans effet si la scrutation est déjà démarrée.
+     * @throws SQLException si la connexion dédiée ne peut être ouverte
+     */
+    public synchronized void demarrer() throws SQLException {
+        if (planificateur != null) {
+            return;
+        }
+        connexion = ConnectionManager.getInstance().ouvrirConnexionDediee();
+        repere = new Repere(lireHorloge());
+        purgerSuppressions();
+
+        long periode = Long.getLong("tournois.scrutation.ms", PERIODE_DEFAUT_MS);
+        planificateur = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread thread = new Thread(tache, "scrutation-modifications");
+            thread.setDaemon(true);
+            return thread;
+        });
+        planificateur.scheduleWithFixedDelay(this::scruter, periode, periode, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Arrête la scrutation et ferme la connexion dédiée.
+     */
+    public synchronized void arreter() {
+        if (planificateur == null) {
+            return;
+        }
+        planificateur.shutdownNow();
+        planificateur = null;
+        try {
+            connexion.close();
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la fermeture de la connexion de scrutation : " + e.getMessage());
+        }
+        connexion = null;
+    }
+
+    /**
+     * Effectue un passage : lit le journal des changements et diffuse ceux
+     * qui n'ont pas encore été vus. Une erreur est signalée sans arrêter la scrutation.
+     */
+    synchronized void scruter() {
+        if (connexion == null) {
+            return;
+        }
+        try {
+            Timestamp instantPassage = lireHorloge();
+            List<Changement> changements = new ArrayList<>();
+            for (Changement changement : lireJournal(repere.getDepuis())) {
+                if (repere.estNouveau(changement)) {
+                    changements.add(changement);
+                }
+            }
+            diffuser(changements);
+            // Après la diffusion seulement : un passage en échec est repris en entier
+            repere.memoriser(changements);
+            repere.avancer(instantPassage);
+        } catch (SQLException | DAOException e) {
+            System.err.println("Erreur lors de la scrutation des modifications : " + e.getMessage());
+        }
+    }
+
+    private Timestamp lireHorloge() throws SQLException {
+        try (Statement st = connexion.createStatement();
+             ResultSet rs = st.executeQuery(HORLOGE_QUERY)) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    private List<Changement> lireJournal(Timestamp depuis) throws SQLException {
+        List<Changement> changements = new ArrayList<>();
+        try (PreparedStatement pst = connexion.prepareStatement(JOURNAL_QUERY)) {
+            for (int i = 1; i <= NB_PARAMETRES_JOURNAL; i++) {
+                pst.setTimestamp(i, depuis);
+            }
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    changements.add(new Changement(
+                        rs.getString("nom_table").trim(),
+                        rs.getInt("id_1"),
+                        rs.getInt("id_2"),
+                        rs.getTimestamp("date_changement"),
+                        rs.getInt("supprime") == 1));
+                }
+            }
+        }
+        return changements;
+    }
+
+    private void purgerSuppressions() {
+        try (PreparedStatement pst = connexion.prepareStatement(PURGE_QUERY)) {
+            pst.setInt(1, RETENTION_SUPPRESSIONS_JOURS);
+            pst.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la purge du journal des suppressions : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Relit les entités modifiées (une requête par table concernée) et diffuse
+     * les changements. Les suppressions sont traitées en premier : une ligne
+     * supprimée puis recréée dans la même fenêtre finit bien présente.
+     */
+    private void diffuser(List<Changement> changements) throws SQLException {
+        if (changements.isEmpty()) {
+            return;
+        }
+        DetecteurConflits detecteur = DetecteurConflits.getInstance();
+        IntHashSet tournoisInscriptions = new IntHashSet();
+        Map<String, List<Changement>> modifications = new HashMap<>();
+
+        for (Changement changement : changements) {
+            if (changement.supprime) {
+                diffuserSuppression(changement, detecteur, tournoisInscriptions);
+            } else {
+                modifications.computeIfAbsent(changement.table, t -> new ArrayList<>()).add(changement);
+            }
+        }
+
+        for (Map.Entry<String, List<Changement>> entree : modifications.entrySet()) {
+            List<Changement> lignes = entree.getValue();
+            Timestamp depuis = plusAncienne(lignes);
+            IntHashSet ids = new IntHashSet(lignes.size());
+            for (Changement ligne : lignes) {
+                ids.add(ligne.id1);
+            }
+            switch (entree.getKey()) {
+                case "TOURNOI":
+                    for (Tournoi tournoi : new TournoiDAO(connexion).findModifiesDepuis(depuis)) {
+                        if (ids.contains(tournoi.getId())) {
+                            bus.diffuser(EvenementDAO.modification(Tournoi.class, tournoi.getId(), tournoi));
+                        }
+                    }
+                    break;
+                case "EQUIPE":
+                    for (Equipe equipe : new EquipeDAO(connexion).getEquipesModifieesDepuis(depuis)) {
+                        if (ids.contains(equipe.getId())) {
+                            bus.diffuser(EvenementDAO.modification(Equipe.class, equipe.getId(), equipe));
+                        }
+                    }
+                    break;
+                case "JOUEUR":
+                    for (Joueur joueur : new JoueurDAO(connexion).getJoueursModifiesDepuis(depuis)) {
+                        if (ids.contains(joueur.getId())) {
+                            bus.diffuser(EvenementDAO.modification(Joueur.class, joueur.getId(), joueur));
+                        }
+                    }
+                    break;
+                case "STAFF":
+                    for (Staff staff : new StaffDAO(connexion).findModifiesDepuis(depuis)) {
+                        if (ids.contains(staff.getId())) {
+                            bus.diffuser(EvenementDAO.modification(Staff.class, staff.getId(), staff));
+                        }
+                    }
+                    break;
+                case "INSCRIPTION":
+                    for (Changement ligne : lignes) {
+                        if (tournoisInscriptions.add(ligne.id1)) {
+                            bus.diffuser(EvenementDAO.modification(Inscription.class, ligne.id1, null));
+                        }
+                    }
+                    break;
+                case "AFFECTATION":
+                    diffuserAffectations(lignes, depuis, detecteur);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void diffuserSuppression(Changement changement, DetecteurConflits detecteur,
+                                     IntHashSet tournoisInscriptions) {
+        switch (changement.table) {
+            case "TOURNOI":
+                bus.diffuser(EvenementDAO.suppression(Tournoi.class, changement.id1));
+                break;
+            case "EQUIPE":
+                bus.diffuser(EvenementDAO.suppression(Equipe.class, changement.id1));
+                break;
+            case "JOUEUR":
+                bus.diffuser(EvenementDAO.suppression(Joueur.class, changement.id1));
+                break;
+            case "STAFF":
+                bus.diffuser(EvenementDAO.suppression(Staff.class, changement.id1));
+                break;
+            case "INSCRIPTION":
+                if (tournoisInscriptions.add(changement.id1)) {
+                    bus.diffuser(EvenementDAO.modification(Inscription.class, changement.id1, null));
+                }
+                break;
+            case "AFFECTATION":
+                detecteur.retirer(changement.id2, changement.id1);
+                bus.diffuser(EvenementDAO.suppression(Affectation.class, changement.id1));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void diffuserAffectations(List<Changement> lignes, Timestamp depuis, DetecteurConflits detecteur) {
+        LongHashSet cles = new LongHashSet(lignes.size());
+        for (Changement ligne : lignes) {
+            cles.add(cle(ligne.id1, ligne.id2));
+        }
+        for (Affectation affectation : new AffectationDAO(connexion).findModifieesDepuis(depuis)) {
+            int idTournoi = affectation.getTournoi().getId();
+            if (cles.contains(cle(idTournoi, affectation.getStaff().getId()))) {
+                detecteur.remplacer(affectation);
+                bus.diffuser(EvenementDAO.modification(Affectation.class, idTournoi, affectation));
+            }
+        }
+    }
+
+    private static long cle(int idTournoi, int idStaff) {
+        return ((long) idTournoi << 32) | (idStaff & 0xFFFFFFFFL);
+    }
+
+    private static Timestamp plusAncienne(List<Changement> lignes) {
+        Timestamp min = lignes.get(0).date;
+        for (Changement ligne : lignes) {
+            if (ligne.date.before(min)) {
+                min = ligne.date;
+            }
+        }
+        return min;
+    }
+}
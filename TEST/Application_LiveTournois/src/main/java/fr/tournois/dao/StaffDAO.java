@@ -1,20 +1,30 @@
 package fr.tournois.dao;
 
 import fr.tournois.model.*;
+import fr.tournois.planning.DetecteurConflits;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class StaffDAO {
     private final Connection connection;
-    private final UtilisateurDAO utilisateurDAO;
+
+    /*
+     * Colonnes du staff et de son utilisateur, lues en une seule requête.
+     * Les colonnes de l'utilisateur sont préfixées (u_) ; le mot de passe n'est jamais lu.
+     */
+    private static final String SELECT_STAFF =
+        "SELECT s.id_staff, s.nom, s.prenom, s.email, s.fonction, s.telephone, s.id_utilisateur, " +
+        "u.pseudo AS u_pseudo, u.role AS u_role, u.date_creation AS u_date_creation, " +
+        "u.derniere_connexion AS u_derniere_connexion, u.actif AS u_actif " +
+        "FROM Staff s LEFT JOIN Utilisateur u ON u.id_utilisateur = s.id_utilisateur ";
 
     private static final String FIND_BY_TELEPHONE_QUERY = 
-        "SELECT * FROM Staff WHERE telephone = ?";
+        SELECT_STAFF + "WHERE s.telephone = ?";
     public StaffDAO(Connection connection) {
         this.connection = connection;
-        this.utilisateurDAO = new UtilisateurDAO(connection);
     }
 
     public Staff create(Staff staff) throws DAOException {
@@ -53,7 +63,7 @@ public class StaffDAO {
                     throw new DAOException("La création du staff a échoué");
                 }
 
-                connection.commit();
+                UnitOfWork.commit(connection);
 
                 staff.setId(newId);
             }
@@ -65,12 +75,12 @@ public class StaffDAO {
 
     public Optional<Staff> findById(Integer id) throws DAOException {
         try {
-            String sql = "SELECT * FROM Staff WHERE id_staff = ?";
+            String sql = SELECT_STAFF + "WHERE s.id_staff = ?";
             try (PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setInt(1, id);
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        return Optional.of(mapResultSetToEntity(rs));
+                        return Optional.of(mappeurStaff(rs).mapper(rs));
                     } else {
                         throw new DAOException("Le staff n'existe pas");
                     }
@@ -83,13 +93,14 @@ public class StaffDAO {
 
     public List<Staff> findAll() throws DAOException {
         List<Staff> staffs = new ArrayList<>();
-        String sql = "SELECT * FROM Staff";
+        String sql = SELECT_STAFF;
         
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             
+            MappeurLigne<Staff> mappeur = mappeurStaff(rs);
             while (rs.next()) {
-                staffs.add(mapResultSetToEntity(rs));
+                staffs.add(mappeur.mapper(rs));
             }
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la récupération de la liste du staff: " + e.getMessage());
@@ -98,6 +109,31 @@ public class StaffDAO {
         return staffs;
     }
 
+    /**
+     * Recherche le staff créé ou modifié après un instant (rafraîchissement par delta)
+     * @param depuis instant de la dernière lecture
+     * @return le staff dont {@code last_modified} est postérieur ou égal
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public List<Staff> findModifiesDepuis(Timestamp depuis) throws DAOException {
+        List<Staff> staffs = new ArrayList<>();
+        String sql = SELECT_STAFF + "WHERE s.last_modified >= ?";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setTimestamp(1, depuis);
+            try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Staff> mappeur = mappeurStaff(rs);
+                while (rs.next()) {
+                    staffs.add(mappeur.mapper(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la lecture du staff modifié: " + e.getMessage());
+        }
+
+        return staffs;
+    }
+
     public Staff update(Staff staff) throws DAOException {
         validateStaff(staff);
         
@@ -123,7 +159,7 @@ public class StaffDAO {
                 throw new DAOException("La mise à jour du staff a échoué");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
 
             return staff;
         } catch (SQLException e) {
@@ -142,19 +178,18 @@ public class StaffDAO {
                 throw new DAOException("Type d'entité non supporté pour la suppression");
             }
 
-            // Vérifier si le staff existe avant de le supprimer
-            if (!findById(id).isPresent()) {
-                throw new DAOException("Le staff n'existe pas");
-            }
-
             String sql = "DELETE FROM Staff WHERE id_staff = ?";
             try (PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setInt(1, id);
+                // Aucune ligne supprimée : le staff n'existe pas (ou plus)
                 int rowsDeleted = stmt.executeUpdate();
                 if (rowsDeleted == 0) {
-                    throw new DAOException("La suppression du staff a échoué");
+                    throw new DAOException("Le staff n'existe pas");
                 }
-                connection.commit();
+                UnitOfWork.commit(connection);
+                // Ses affectations sont supprimées en cascade (ON DELETE CASCADE)
+                Integer idStaff = id;
+                UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().retirerStaff(idStaff));
             }
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la suppression du staff", e);
@@ -179,39 +214,62 @@ public class StaffDAO {
         }
     }
 
-    protected Staff mapResultSetToEntity(ResultSet rs) throws SQLException {
-        Staff staff = new Staff();
-        staff.setId(rs.getInt("id_staff"));
-        staff.setNom(rs.getString("nom"));
-        staff.setPrenom(rs.getString("prenom"));
-        staff.setEmail(rs.getString("email"));
-        staff.setFonction(rs.getString("fonction"));
-        staff.setTelephone(rs.getString("telephone"));
-        
-        int idUtilisateur = rs.getInt("id_utilisateur");
-        if (!rs.wasNull()) {
-            try {
-                Optional<Utilisateur> utilisateur = utilisateurDAO.findById(idUtilisateur);
-                utilisateur.ifPresent(staff::setUtilisateur);
-            } catch (DAOException e) {
-                // Log l'erreur mais continue
-                System.err.println("Erreur lors de la récupération de l'utilisateur: " + e.getMessage());
+    /**
+     * Crée le mappeur des lignes de {@link #SELECT_STAFF} : le staff et son utilisateur,
+     * lu dans la même ligne (jointure), sans mot de passe.
+     */
+    private MappeurLigne<Staff> mappeurStaff(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int id = colonnes.requise("id_staff");
+        int nom = colonnes.requise("nom");
+        int prenom = colonnes.requise("prenom");
+        int email = colonnes.requise("email");
+        int fonction = colonnes.requise("fonction");
+        int telephone = colonnes.requise("telephone");
+        int idUtilisateur = colonnes.requise("id_utilisateur");
+        int pseudo = colonnes.requise("u_pseudo");
+        int role = colonnes.requise("u_role");
+        int dateCreation = colonnes.requise("u_date_creation");
+        int derniereConnexion = colonnes.requise("u_derniere_connexion");
+        int actif = colonnes.requise("u_actif");
+
+        return ligne -> {
+            Staff staff = new Staff();
+            staff.setId(ligne.getInt(id));
+            staff.setNom(ligne.getString(nom));
+            staff.setPrenom(ligne.getString(prenom));
+            staff.setEmail(ligne.getString(email));
+            staff.setFonction(ligne.getString(fonction));
+            staff.setTelephone(ligne.getString(telephone));
+
+            Integer utilisateurId = Colonnes.entier(ligne, idUtilisateur);
+            String utilisateurPseudo = ligne.getString(pseudo);
+            // u_pseudo est NOT NULL : null signifie que l'utilisateur référencé n'existe plus
+            if (utilisateurId != null && utilisateurPseudo != null) {
+                Utilisateur utilisateur = new Utilisateur();
+                utilisateur.setId(utilisateurId);
+                utilisateur.setPseudo(utilisateurPseudo);
+                utilisateur.setRole(Role.valueOf(ligne.getString(role)));
+                utilisateur.setDateCreation(ligne.getObject(dateCreation, LocalDateTime.class));
+                utilisateur.setDerniereConnexion(ligne.getObject(derniereConnexion, LocalDateTime.class));
+                utilisateur.setActif(ligne.getInt(actif) == 1);
+                staff.setUtilisateur(utilisateur);
             }
-        }
-        
-        return staff;
+            return staff;
+        };
     }
 
     public List<Staff> findByFonction(String fonction) throws DAOException {
         List<Staff> staffs = new ArrayList<>();
-        String sql = "SELECT * FROM Staff WHERE fonction = ?";
+        String sql = SELECT_STAFF + "WHERE s.fonction = ?";
         
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setString(1, fonction);
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Staff> mappeur = mappeurStaff(rs);
                 while (rs.next()) {
-                    staffs.add(mapResultSetToEntity(rs));
+                    staffs.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -223,7 +281,7 @@ public class StaffDAO {
 
     public List<Staff> findByTournoi(Tournoi tournoi) throws DAOException {
         List<Staff> staffs = new ArrayList<>();
-        String sql = "SELECT s.* FROM Staff s " +
+        String sql = SELECT_STAFF +
                     "JOIN Affectation a ON s.id_staff = a.id_staff " +
                     "WHERE a.id_tournoi = ?";
         
@@ -231,8 +289,9 @@ public class StaffDAO {
             pst.setInt(1, tournoi.getId());
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Staff> mappeur = mappeurStaff(rs);
                 while (rs.next()) {
-                    staffs.add(mapResultSetToEntity(rs));
+                    staffs.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -242,6 +301,34 @@ public class StaffDAO {
         return staffs;
     }
 
+    /**
+     * Liste le staff qui n'est pas encore affecté au tournoi (anti-jointure faite par la base).
+     * @param tournoi le tournoi
+     * @return le staff disponible pour une nouvelle affectation
+     * @throws DAOException si erreur lors de la recherche
+     */
+    public List<Staff> findNonAffectesAuTournoi(Tournoi tournoi) throws DAOException {
+        List<Staff> staffs = new ArrayList<>();
+        String sql = SELECT_STAFF +
+                    "WHERE NOT EXISTS (SELECT 1 FROM Affectation a " +
+                    "WHERE a.id_staff = s.id_staff AND a.id_tournoi = ?)";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setInt(1, tournoi.getId());
+
+            try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Staff> mappeur = mappeurStaff(rs);
+                while (rs.next()) {
+                    staffs.add(mappeur.mapper(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la recherche du staff disponible: " + e.getMessage());
+        }
+
+        return staffs;
+    }
+
     public List<Affectation> getAffectations(Staff staff) throws DAOException {
         AffectationDAO affectationDAO = new AffectationDAO(connection);
         return affectationDAO.findByStaff(staff);
@@ -251,7 +338,7 @@ public class StaffDAO {
 
     public List<Staff> rechercher(String critere) throws DAOException {
         List<Staff> staffs = new ArrayList<>();
-        String sql = "SELECT * FROM Staff WHERE LOWER(nom) LIKE ? OR LOWER(prenom) LIKE ? OR LOWER(email) LIKE ? OR LOWER(fonction) LIKE ?";
+        String sql = SELECT_STAFF + "WHERE LOWER(s.nom) LIKE ? OR LOWER(s.prenom) LIKE ? OR LOWER(s.email) LIKE ? OR LOWER(s.fonction) LIKE ?";
         
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             String pattern = "%" + critere.toLowerCase() + "%";
@@ -261,8 +348,9 @@ public class StaffDAO {
             pst.setString(4, pattern);
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Staff> mappeur = mappeurStaff(rs);
                 while (rs.next()) {
-                    staffs.add(mapResultSetToEntity(rs));
+                    staffs.add(mappeur.mapper(rs));
                 }
             }
         } catch (SQLException e) {
@@ -272,9 +360,16 @@ public class StaffDAO {
         return staffs;
     }
 
+    /**
+     * Affecte un membre du staff à un tournoi.
+     * @param affectation l'affectation à créer
+     * @throws ConflitAffectationException si le staff est déjà affecté ailleurs sur la période
+     * @throws DAOException si erreur lors de l'ajout
+     */
     public void addStaffToTournoi(Affectation affectation) throws DAOException {
         String sql = "INSERT INTO Affectation (id_staff, id_tournoi, role_specifique, date_debut, date_fin) VALUES (?, ?, ?, ?, ?)";
-        
+        DetecteurConflits.getInstance().verifier(connection, affectation);
+
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setInt(1, affectation.getStaff().getId());
             pst.setInt(2, affectation.getTournoi().getId());
@@ -287,7 +382,8 @@ public class StaffDAO {
                 throw new DAOException("L'ajout du staff au tournoi a échoué");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().enregistrer(affectation));
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de l'ajout du staff au tournoi: " + e.getMessage());
         }
@@ -305,7 +401,10 @@ public class StaffDAO {
                 throw new DAOException("La suppression du staff du tournoi a échoué");
             }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            Integer idStaff = staff.getId();
+            Integer idTournoi = tournoi.getId();
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().retirer(idStaff, idTournoi));
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la suppression du staff du tournoi: " + e.getMessage());
         }
@@ -341,7 +440,7 @@ public class StaffDAO {
             statement.setString(1, telephone);
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToEntity(rs);
+                    return mappeurStaff(rs).mapper(rs);
                 }
                 return null;
             }
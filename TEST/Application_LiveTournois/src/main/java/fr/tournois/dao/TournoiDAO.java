@@ -1,8 +1,10 @@
 package fr.tournois.dao;
 
 import fr.tournois.model.*;
+import fr.tournois.planning.DetecteurConflits;
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +18,37 @@ import java.util.Optional;
  */
 public class TournoiDAO {
 
+    /**
+     * Traitement appliqué à chaque équipe inscrite lors d'un parcours par pages.
+     */
+    @FunctionalInterface
+    public interface TraitementEquipe {
+        void traiter(int rang, Equipe equipe);
+    }
+
+    /**
+     * Détail d'un tournoi en un seul aller-retour : le tournoi et son jeu, plus deux
+     * expressions CURSOR imbriquées pour ses affectations (avec le staff) et ses
+     * inscriptions (avec les équipes, par ordre de tête de série).
+     */
+    private static final String FIND_DETAIL_QUERY =
+        "SELECT t.*, " +
+        "j.id_jeu AS jeu_id, j.nom AS jeu_nom, j.editeur AS jeu_editeur, j.annee_sortie AS jeu_annee_sortie, j.genre AS jeu_genre, " +
+        "CURSOR(SELECT s.id_staff, s.nom, s.prenom, s.email, s.fonction, s.telephone, " +
+        "a.role_specifique, a.date_debut, a.date_fin " +
+        "FROM Affectation a JOIN Staff s ON a.id_staff = s.id_staff " +
+        "WHERE a.id_tournoi = t.id_tournoi) AS affectations, " +
+        "CURSOR(SELECT e.id_equipe, e.nom, e.date_creation, i.statut AS insc_statut, i.seed AS insc_seed, " +
+        "i.date_inscription AS insc_date, i.version AS insc_version " +
+        "FROM Equipe e JOIN Inscription i ON e.id_equipe = i.id_equipe " +
+        "WHERE i.id_tournoi = t.id_tournoi " +
+        "ORDER BY NULLIF(i.seed, 0) NULLS LAST, i.date_inscription) AS inscriptions " +
+        "FROM Tournoi t " +
+        "LEFT JOIN Jeu j ON t.id_jeu = j.id_jeu " +
+        "WHERE t.id_tournoi = ?";
+
+    private static final DateTimeFormatter FORMAT_DATE_RESUME = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     private final Connection connection;
 
     /**
@@ -37,29 +70,30 @@ public class TournoiDAO {
     /**
      * Recherche un tournoi par son identifiant
      * @param id Identifiant du tournoi
-     * @return Optional contenant le tournoi si trouvé
+     * @return Optional contenant le tournoi si trouvé, vide s'il n'existe pas (ou plus)
      * @throws DAOException si erreur de base de données
      */
     public Optional<Tournoi> findById(Integer id) throws DAOException {
         try {
-            String sql = "SELECT t.*, " +
-                        "j.id_jeu AS jeu_id, j.nom AS jeu_nom, j.editeur AS jeu_editeur, j.annee_sortie AS jeu_annee_sortie, j.genre AS jeu_genre " +
-                        "FROM Tournoi t " +
-                        "LEFT JOIN Jeu j ON t.id_jeu = j.id_jeu " +
-                        "WHERE t.id_tournoi = ?";
-            
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            try (PreparedStatement stmt = connection.prepareStatement(FIND_DETAIL_QUERY)) {
                 stmt.setInt(1, id);
                 
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
-                        Tournoi tournoi = mapResultSetToEntity(rs);
-                        loadAffectations(tournoi);
-                        loadInscriptions(tournoi);
+                        Tournoi tournoi = mappeurTournoi(rs).mapper(rs);
+                        // Affectations et inscriptions arrivent avec la ligne du tournoi (expressions CURSOR)
+                        try (ResultSet affectations = (ResultSet) rs.getObject("affectations")) {
+                            MappeurLigne<Affectation> mappeur = mappeurAffectation(affectations, tournoi);
+                            while (affectations.next()) {
+                                tournoi.ajouterAffectation(mappeur.mapper(affectations));
+                            }
+                        }
+                        try (ResultSet inscriptions = (ResultSet) rs.getObject("inscriptions")) {
+                            mapInscriptions(inscriptions, tournoi);
+                        }
                         return Optional.of(tournoi);
-                    } else {
-                        throw new DAOException("Le tournoi n'existe pas");
                     }
+                    return Optional.empty();
                 }
             }
         } catch (SQLException e) {
@@ -68,38 +102,59 @@ public class TournoiDAO {
     }
 
     /**
-     * Convertit une ligne de résultat SQL en objet Tournoi
-     * @param rs Résultat de la requête SQL
-     * @return Objet Tournoi avec les données du ResultSet
-     * @throws SQLException si erreur lors de la lecture des données
+     * Crée le mappeur des lignes de tournoi d'un résultat. Le jeu est lu s'il est joint
+     * avec les alias {@code jeu_*} (jeu_id, jeu_nom, ...).
+     * @param rs résultat de la requête SQL
+     * @return le mappeur, à réutiliser pour toutes les lignes du résultat
+     * @throws SQLException si une colonne obligatoire manque
      */
-    private Tournoi mapResultSetToEntity(ResultSet rs) throws SQLException {
-        Tournoi tournoi = new Tournoi();
-        tournoi.setId(rs.getInt("id_tournoi"));
-        tournoi.setNom(rs.getString("nom"));
-        tournoi.setDateDebut(rs.getDate("date_debut").toLocalDate());  // Oracle DATE type
-        tournoi.setDateFin(rs.getDate("date_fin").toLocalDate());  // Oracle DATE type
-        tournoi.setLieu(rs.getString("lieu"));
-        tournoi.setFormat(rs.getString("format"));
-        tournoi.setNbEquipesMax(rs.getInt("nb_equipes_max"));
-        tournoi.setStatut(rs.getString("statut"));
-        tournoi.setPrixPool(rs.getDouble("prix_pool"));
-
-        // Mapping du jeu si présent
-        try {
-            int idJeu = rs.getInt("jeu_id");
-            if (!rs.wasNull()) {
+    private MappeurLigne<Tournoi> mappeurTournoi(ResultSet rs) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int id = colonnes.requise("id_tournoi");
+        int nom = colonnes.requise("nom");
+        int dateDebut = colonnes.requise("date_debut");
+        int dateFin = colonnes.requise("date_fin");
+        int lieu = colonnes.requise("lieu");
+        int format = colonnes.requise("format");
+        int nbEquipesMax = colonnes.requise("nb_equipes_max");
+        int statut = colonnes.requise("statut");
+        int prixPool = colonnes.requise("prix_pool");
+        int version = colonnes.requise("version");
+        int jeuId = colonnes.indice("jeu_id");
+        int jeuNom = colonnes.indice("jeu_nom");
+        int jeuEditeur = colonnes.indice("jeu_editeur");
+        int jeuAnneeSortie = colonnes.indice("jeu_annee_sortie");
+        int jeuGenre = colonnes.indice("jeu_genre");
+        int jeuDescription = colonnes.indice("jeu_description");
+
+        return ligne -> {
+            Tournoi tournoi = new Tournoi();
+            tournoi.setId(ligne.getInt(id));
+            tournoi.setNom(ligne.getString(nom));
+            tournoi.setDateDebut(Colonnes.date(ligne, dateDebut));  // Oracle DATE type
+            tournoi.setDateFin(Colonnes.date(ligne, dateFin));  // Oracle DATE type
+            tournoi.setLieu(ligne.getString(lieu));
+            tournoi.setFormat(ligne.getString(format));
+            tournoi.setNbEquipesMax(ligne.getInt(nbEquipesMax));
+            tournoi.setStatut(ligne.getString(statut));
+            tournoi.setPrixPool(ligne.getDouble(prixPool));
+            tournoi.setVersion(ligne.getInt(version));
+
+            // Mapping du jeu si présent
+            Integer idJeu = Colonnes.entier(ligne, jeuId);
+            if (idJeu != null) {
                 Jeu jeu = new Jeu();
                 jeu.setId(idJeu);
-                jeu.setNom(rs.getString("jeu_nom"));
-                jeu.setEditeur(rs.getString("jeu_editeur"));
-                jeu.setAnneeSortie(rs.getInt("jeu_annee_sortie"));
-                jeu.setGenre(rs.getString("jeu_genre"));
+                jeu.setNom(Colonnes.texte(ligne, jeuNom));
+                jeu.setEditeur(Colonnes.texte(ligne, jeuEditeur));
+                Integer anneeSortie = Colonnes.entier(ligne, jeuAnneeSortie);
+                jeu.setAnneeSortie(anneeSortie != null ? anneeSortie : 0);
+                jeu.setGenre(Colonnes.texte(ligne, jeuGenre));
+                jeu.setDescription(Colonnes.texte(ligne, jeuDescription));
                 tournoi.setJeu(jeu);
             }
-        } catch (SQLException ignored) {}
-
-        return tournoi;
+            return tournoi;
+        };
     }
 
     /**
@@ -122,9 +177,10 @@ public class TournoiDAO {
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             
+            MappeurLigne<Tournoi> mappeur = mappeurTournoi(rs);
             while (rs.next()) {
-                Tournoi tournoi = mapResultSetToEntity(rs);
-                loadInscriptions(tournoi);
+                Tournoi tournoi = mappeur.mapper(rs);
+                installerChargements(tournoi);
                 tournois.add(tournoi);
             }
         } catch (SQLException e) {
@@ -134,6 +190,66 @@ public class TournoiDAO {
         return tournois;
     }
 
+    /**
+     * Liste les tournois sous forme résumée (identifiant, nom, date de début),
+     * sans jeu ni inscriptions, pour les listes de choix
+     * @return les résumés des tournois, triés par nom
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public List<Resume> findResumes() throws DAOException {
+        List<Resume> resumes = new ArrayList<>();
+        String sql = "SELECT id_tournoi, nom, date_debut FROM Tournoi ORDER BY nom";
+
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                Date dateDebut = rs.getDate("date_debut");
+                resumes.add(new Resume(rs.getInt("id_tournoi"), rs.getString("nom"),
+                        dateDebut != null ? dateDebut.toLocalDate().format(FORMAT_DATE_RESUME) : null));
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la lecture des tournois: " + e.getMessage());
+        }
+
+        return resumes;
+    }
+
+    /**
+     * Recherche les tournois créés ou modifiés après un instant (rafraîchissement par delta)
+     * @param depuis instant de la dernière lecture
+     * @return les tournois dont {@code last_modified} est postérieur ou égal
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public List<Tournoi> findModifiesDepuis(Timestamp depuis) throws DAOException {
+        List<Tournoi> tournois = new ArrayList<>();
+        String sql = "SELECT t.*, " +
+                    "j.id_jeu AS jeu_id, " +
+                    "j.nom AS jeu_nom, " +
+                    "j.editeur AS jeu_editeur, " +
+                    "j.annee_sortie AS jeu_annee_sortie, " +
+                    "j.genre AS jeu_genre, " +
+                    "j.description AS jeu_description " +
+                    "FROM Tournoi t " +
+                    "LEFT JOIN Jeu j ON t.id_jeu = j.id_jeu " +
+                    "WHERE t.last_modified >= ?";
+
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            pst.setTimestamp(1, depuis);
+            try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Tournoi> mappeur = mappeurTournoi(rs);
+                while (rs.next()) {
+                    Tournoi tournoi = mappeur.mapper(rs);
+                    installerChargements(tournoi);
+                    tournois.add(tournoi);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la lecture des tournois modifiés: " + e.getMessage());
+        }
+
+        return tournois;
+    }
+
     /**
      * Crée un nouveau tournoi dans la base de données
      * @param tournoi Tournoi à créer
@@ -144,34 +260,23 @@ public class TournoiDAO {
         validateTournoi(tournoi);
         
         try {
-            // Obtenir d'abord le prochain ID de la séquence
-            int newId;
-            try (Statement stmt = connection.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT seq_tournoi_id.NEXTVAL FROM DUAL")) {
-                if (rs.next()) {
-                    newId = rs.getInt(1);
-                } else {
-                    throw new DAOException("Impossible d'obtenir un nouvel ID de la séquence");
-                }
-            }
-
+            // L'identifiant est pris dans la séquence par l'INSERT et renvoyé par le driver (RETURNING)
             String sql = "INSERT INTO Tournoi (id_tournoi, nom, date_debut, date_fin, lieu, format, nb_equipes_max, statut, prix_pool, id_jeu) " +
-                        "VALUES (?, ?, TO_DATE(?, 'DD/MM/YYYY'), TO_DATE(?, 'DD/MM/YYYY'), ?, ?, ?, ?, ?, ?)";
+                        "VALUES (seq_tournoi_id.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
             
-            try (PreparedStatement pst = connection.prepareStatement(sql)) {
-                pst.setInt(1, newId);
-                pst.setString(2, tournoi.getNom());
-                pst.setDate(3, Date.valueOf(tournoi.getDateDebut()));
-                pst.setDate(4, Date.valueOf(tournoi.getDateFin()));
-                pst.setString(5, tournoi.getLieu());
-                pst.setString(6, tournoi.getFormat());
-                pst.setInt(7, tournoi.getNbEquipesMax());
-                pst.setString(8, normalizeStatut(tournoi.getStatut()));
-                pst.setDouble(9, tournoi.getPrixPool());
+            try (PreparedStatement pst = connection.prepareStatement(sql, new String[] {"id_tournoi"})) {
+                pst.setString(1, tournoi.getNom());
+                pst.setDate(2, Date.valueOf(tournoi.getDateDebut()));
+                pst.setDate(3, Date.valueOf(tournoi.getDateFin()));
+                pst.setString(4, tournoi.getLieu());
+                pst.setString(5, tournoi.getFormat());
+                pst.setInt(6, tournoi.getNbEquipesMax());
+                pst.setString(7, normalizeStatut(tournoi.getStatut()));
+                pst.setDouble(8, tournoi.getPrixPool());
                 if (tournoi.getJeu() != null) {
-                    pst.setInt(10, tournoi.getJeu().getId());
+                    pst.setInt(9, tournoi.getJeu().getId());
                 } else {
-                    pst.setNull(10, Types.INTEGER);
+                    pst.setNull(9, Types.INTEGER);
                 }
 
                 int affectedRows = pst.executeUpdate();
@@ -180,9 +285,18 @@ public class TournoiDAO {
                     throw new DAOException("La création du tournoi a échoué");
                 }
 
-                connection.commit();
+                int newId;
+                try (ResultSet cles = pst.getGeneratedKeys()) {
+                    if (!cles.next()) {
+                        throw new DAOException("Impossible d'obtenir l'ID du tournoi créé");
+                    }
+                    newId = cles.getInt(1);
+                }
+
+                UnitOfWork.commit(connection);
 
                 tournoi.setId(newId);
+                BusEvenements.getInstance().publier(connection, EvenementDAO.creation(Tournoi.class, newId, tournoi));
                 return tournoi;
             }
         } catch (SQLException e) {
@@ -191,9 +305,40 @@ public class TournoiDAO {
     }
 
     /**
-     * Met à jour un tournoi existant dans la base de données
+     * Crée un tournoi et affecte son staff dans une seule transaction :
+     * un seul commit est effectué, et rien n'est enregistré si une des
+     * affectations échoue.
+     * @param tournoi Tournoi à créer
+     * @param affectations Affectations du staff au nouveau tournoi
+     * @return Tournoi créé avec son ID généré
+     * @throws DAOException si erreur lors de la création (la transaction est annulée)
+     */
+    public Tournoi createAvecAffectations(Tournoi tournoi, List<Affectation> affectations) throws DAOException {
+        StaffDAO staffDAO = new StaffDAO(connection);
+        try {
+            return new TransactionTemplate(connection).execute(uow -> {
+                Tournoi cree = create(tournoi);
+                for (Affectation affectation : affectations) {
+                    affectation.setTournoi(cree);
+                    staffDAO.addStaffToTournoi(affectation);
+                    cree.ajouterAffectation(affectation);
+                }
+                return cree;
+            });
+        } catch (DAOException e) {
+            // Transaction annulée : l'ID attribué par create() n'existe pas en base
+            tournoi.setId(null);
+            throw e;
+        }
+    }
+
+    /**
+     * Met à jour un tournoi existant dans la base de données.
+     * La mise à jour n'est appliquée que si la version en base est celle lue
+     * par l'appelant (contrôle de concurrence optimiste).
      * @param tournoi Tournoi à mettre à jour
      * @return Tournoi mis à jour
+     * @throws ConcurrentUpdateException si le tournoi a été modifié ou supprimé entre-temps
      * @throws DAOException si erreur lors de la mise à jour ou données invalides
      */
     public Tournoi update(Tournoi tournoi) throws DAOException {
@@ -211,8 +356,9 @@ public class TournoiDAO {
                     "nb_equipes_max = ?, " +
                     "statut = ?, " +
                     "prix_pool = ?, " +
-                    "id_jeu = ? " +
-                    "WHERE id_tournoi = ?";
+                    "id_jeu = ?, " +
+                    "version = version + 1 " +
+                    "WHERE id_tournoi = ? AND version = ?";
 
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setString(1, tournoi.getNom());
@@ -225,19 +371,18 @@ public class TournoiDAO {
             pst.setDouble(8, tournoi.getPrixPool());
             pst.setInt(9, tournoi.getJeu().getId());
             pst.setInt(10, tournoi.getId());
+            pst.setInt(11, tournoi.getVersion());
 
             if (pst.executeUpdate() == 0) {
-                throw new DAOException("La mise à jour du tournoi a échoué, aucune ligne modifiée.");
-            }
-
-            // Recharger le tournoi depuis la base pour avoir les données à jour
-            Optional<Tournoi> updated = findById(tournoi.getId());
-            if (updated.isPresent()) {
-                connection.commit();
-                return updated.get();
-            } else {
-                throw new DAOException("Impossible de recharger le tournoi après la mise à jour.");
+                UnitOfWork.rollback(connection);
+                throw new ConcurrentUpdateException("Tournoi", tournoi.getId());
             }
+            // Le nombre de lignes modifiées suffit : l'objet porte déjà l'état écrit
+            tournoi.setVersion(tournoi.getVersion() + 1);
+            UnitOfWork.commit(connection);
+            BusEvenements.getInstance().publier(connection,
+                    EvenementDAO.modification(Tournoi.class, tournoi.getId(), tournoi));
+            return tournoi;
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la mise à jour du tournoi: " + e.getMessage());
         }
@@ -252,19 +397,18 @@ public class TournoiDAO {
         try {
             Integer id = tournoi.getId();
 
-            // Vérifier si le tournoi existe avant de le supprimer
-            if (!findById(id).isPresent()) {
-                throw new DAOException("Le tournoi n'existe pas");
-            }
-
             String sql = "DELETE FROM Tournoi WHERE id_tournoi = ?";
             try (PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setInt(1, id);
+                // Aucune ligne supprimée : le tournoi n'existe pas (ou plus)
                 int rowsDeleted = stmt.executeUpdate();
                 if (rowsDeleted == 0) {
-                    throw new DAOException("La suppression du tournoi a échoué");
+                    throw new DAOException("Le tournoi n'existe pas");
                 }
-                connection.commit();
+                UnitOfWork.commit(connection);
+                // Ses affectations sont supprimées en cascade (ON DELETE CASCADE)
+                UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().retirerTournoi(id));
+                BusEvenements.getInstance().publier(connection, EvenementDAO.suppression(Tournoi.class, id));
             }
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la suppression du tournoi", e);
@@ -279,12 +423,12 @@ public class TournoiDAO {
     public List<Tournoi> findTournoisEnCours() throws DAOException {
         List<Tournoi> tournois = new ArrayList<>();
         String sql = "SELECT t.*, " +
-                    "j.id_jeu as j_id_jeu, " +
-                    "j.nom as j_nom, " +
-                    "j.editeur as j_editeur, " +
-                    "j.annee_sortie as j_annee_sortie, " +
-                    "j.genre as j_genre, " +
-                    "j.description as j_description " +
+                    "j.id_jeu AS jeu_id, " +
+                    "j.nom AS jeu_nom, " +
+                    "j.editeur AS jeu_editeur, " +
+                    "j.annee_sortie AS jeu_annee_sortie, " +
+                    "j.genre AS jeu_genre, " +
+                    "j.description AS jeu_description " +
                     "FROM Tournoi t " +
                     "LEFT JOIN Jeu j ON t.id_jeu = j.id_jeu " +
                     "WHERE t.statut = ?";
@@ -293,9 +437,10 @@ public class TournoiDAO {
             pst.setString(1, "En cours");
             
             try (ResultSet rs = pst.executeQuery()) {
+                MappeurLigne<Tournoi> mappeur = mappeurTournoi(rs);
                 while (rs.next()) {
-                    Tournoi tournoi = mapResultSetToEntity(rs);
-                    loadInscriptions(tournoi);
+                    Tournoi tournoi = mappeur.mapper(rs);
+                    installerChargements(tournoi);
                     tournois.add(tournoi);
                 }
             }
@@ -313,16 +458,24 @@ public class TournoiDAO {
      */
     public List<Tournoi> findTournoisAVenir() throws DAOException {
         List<Tournoi> tournois = new ArrayList<>();
-        String sql = "SELECT t.*, j.* FROM Tournoi t " +
+        String sql = "SELECT t.*, " +
+                    "j.id_jeu AS jeu_id, " +
+                    "j.nom AS jeu_nom, " +
+                    "j.editeur AS jeu_editeur, " +
+                    "j.annee_sortie AS jeu_annee_sortie, " +
+                    "j.genre AS jeu_genre, " +
+                    "j.description AS jeu_description " +
+                    "FROM Tournoi t " +
                     "LEFT JOIN Jeu j ON t.id_jeu = j.id_jeu " +
                     "WHERE t.date_debut > CURRENT_DATE";
         
         try (Statement st = connection.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
             
+            MappeurLigne<Tournoi> mappeur = mappeurTournoi(rs);
             while (rs.next()) {
-                Tournoi tournoi = mapResultSetToEntity(rs);
-                loadInscriptions(tournoi);
+                Tournoi tournoi = mappeur.mapper(rs);
+                installerChargements(tournoi);
                 tournois.add(tournoi);
             }
         } catch (SQLException e) {
@@ -359,6 +512,14 @@ public class TournoiDAO {
         }
 
         Tournoi tournoi = optTournoi.get();
+        Affectation nouvelleAffectation = new Affectation();
+        nouvelleAffectation.setTournoi(tournoi);
+        nouvelleAffectation.setStaff(staff);
+        nouvelleAffectation.setRoleSpecifique(roleSpecifique);
+        nouvelleAffectation.setDateDebut(dateDebut);
+        nouvelleAffectation.setDateFin(dateFin);
+        DetecteurConflits.getInstance().verifier(connection, nouvelleAffectation);
+
         String sql = "INSERT INTO Affectation (id_tournoi, id_staff, role_specifique, date_debut, date_fin) VALUES (?, ?, ?, TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'), TO_DATE(?, 'DD/MM/YYYY HH24:MI:SS'))";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, tournoiId);
@@ -368,15 +529,8 @@ public class TournoiDAO {
             stmt.setString(5, dateFin.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")));
             stmt.executeUpdate();
 
-            connection.commit();
-
-            // Créer l'affectation et l'ajouter au tournoi
-            Affectation nouvelleAffectation = new Affectation();
-            nouvelleAffectation.setTournoi(tournoi);
-            nouvelleAffectation.setStaff(staff);
-            nouvelleAffectation.setRoleSpecifique(roleSpecifique);
-            nouvelleAffectation.setDateDebut(dateDebut);
-            nouvelleAffectation.setDateFin(dateFin);
+            UnitOfWork.commit(connection);
+            UnitOfWork.apresCommit(connection, () -> DetecteurConflits.getInstance().enregistrer(nouvelleAffectation));
 
             // Ajouter l'affectation au tournoi
             tournoi.ajouterAffectation(nouvelleAffectation);
@@ -416,47 +570,106 @@ public class TournoiDAO {
     }
 
     /**
-     * Charge les inscriptions d'un tournoi
-     * 
-     * Cette méthode récupère les inscriptions d'un tournoi et les ajoute à l'objet Tournoi.
-     * 
-     * @param tournoi le tournoi pour lequel charger les inscriptions
-     * @throws DAOException si erreur lors de la récupération des inscriptions
+     * Rattache à un tournoi lu en liste ses inscriptions, équipes et affectations
+     * sous forme de listes paresseuses : rien n'est lu tant qu'un écran ne les
+     * parcourt pas. Les équipes sont celles des inscriptions (une seule requête
+     * pour les deux).
+     *
+     * @param tournoi le tournoi à compléter
      */
-    private void loadInscriptions(Tournoi tournoi) throws DAOException {
-        String sql = "SELECT e.* FROM Equipe e " +
+    private void installerChargements(Tournoi tournoi) {
+        Integer id = tournoi.getId();
+        List<Inscription> inscriptions = ChargementDiffere.liste(connection, "inscriptions du tournoi " + id,
+                () -> lireInscriptions(tournoi));
+        tournoi.setInscriptions(inscriptions);
+        tournoi.setEquipes(ChargementDiffere.liste(connection, "équipes du tournoi " + id,
+                () -> equipesDe(inscriptions)));
+        tournoi.setAffectations(ChargementDiffere.liste(connection, "affectations du tournoi " + id,
+                () -> getAffectations(tournoi)));
+    }
+
+    /**
+     * Lit les inscriptions d'un tournoi (avec leur seed et leur équipe), par ordre de tête de série
+     * @param tournoi le tournoi dont on lit les inscriptions
+     * @return les inscriptions du tournoi
+     * @throws SQLException si erreur lors de la lecture
+     */
+    private List<Inscription> lireInscriptions(Tournoi tournoi) throws SQLException {
+        String sql = "SELECT e.*, i.statut AS insc_statut, i.seed AS insc_seed, " +
+                    "i.date_inscription AS insc_date, i.version AS insc_version " +
+                    "FROM Equipe e " +
                     "JOIN Inscription i ON e.id_equipe = i.id_equipe " +
-                    "WHERE i.id_tournoi = ?";
+                    "WHERE i.id_tournoi = ? " +
+                    "ORDER BY NULLIF(i.seed, 0) NULLS LAST, i.date_inscription";
         
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setInt(1, tournoi.getId());
             
             try (ResultSet rs = pst.executeQuery()) {
-                List<Equipe> equipes = new ArrayList<>();
-                while (rs.next()) {
-                    Equipe equipe = new Equipe();
-                    equipe.setId(rs.getInt("id_equipe"));
-                    equipe.setNom(rs.getString("nom"));
-                    equipe.setDateCreation(rs.getDate("date_creation").toLocalDate());  // Oracle DATE type
-                    equipes.add(equipe);
-                }
-                tournoi.setEquipes(equipes);
+                return lireInscriptions(rs, tournoi);
             }
-        } catch (SQLException e) {
-            throw new DAOException("Erreur lors de la récupération des équipes du tournoi: " + e.getMessage());
         }
     }
 
+    // Utilitaire : équipes des inscriptions, dans le même ordre
+    private static List<Equipe> equipesDe(List<Inscription> inscriptions) {
+        List<Equipe> equipes = new ArrayList<>(inscriptions.size());
+        for (Inscription inscription : inscriptions) {
+            equipes.add(inscription.getEquipe());
+        }
+        return equipes;
+    }
+
+    /**
+     * Lit les inscriptions (équipe, statut, seed, date, version) et les affecte au tournoi
+     * @param rs résultat positionné avant la première inscription
+     * @param tournoi le tournoi à compléter
+     * @throws SQLException si erreur lors de la lecture des données
+     */
+    private void mapInscriptions(ResultSet rs, Tournoi tournoi) throws SQLException {
+        List<Inscription> inscriptions = lireInscriptions(rs, tournoi);
+        tournoi.setEquipes(equipesDe(inscriptions));
+        tournoi.setInscriptions(inscriptions);
+    }
+
+    // Utilitaire : inscriptions (avec leur équipe) d'un résultat positionné avant la première
+    private static List<Inscription> lireInscriptions(ResultSet rs, Tournoi tournoi) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int idEquipe = colonnes.requise("id_equipe");
+        int nom = colonnes.requise("nom");
+        int dateCreation = colonnes.requise("date_creation");
+        int statut = colonnes.requise("insc_statut");
+        int seed = colonnes.requise("insc_seed");
+        int date = colonnes.requise("insc_date");
+        int version = colonnes.requise("insc_version");
+
+        List<Inscription> inscriptions = new ArrayList<>();
+        while (rs.next()) {
+            Equipe equipe = new Equipe();
+            equipe.setId(rs.getInt(idEquipe));
+            equipe.setNom(rs.getString(nom));
+            equipe.setDateCreation(Colonnes.date(rs, dateCreation));  // Oracle DATE type
+
+            Inscription inscription = new Inscription(tournoi, equipe, rs.getString(statut), rs.getInt(seed));
+            inscription.setDateInscription(Colonnes.horodatage(rs, date));
+            inscription.setVersion(rs.getInt(version));
+            inscriptions.add(inscription);
+        }
+        return inscriptions;
+    }
+
     /**
      * Récupère la liste des équipes inscrites à un tournoi
      * @param tournoi Tournoi dont on veut les équipes
-     * @return Liste des équipes inscrites au tournoi
+     * @return Liste des équipes inscrites au tournoi, par ordre de tête de série
      * @throws DAOException si erreur lors de la récupération
      */
     public List<Equipe> findEquipesByTournoi(Tournoi tournoi) throws DAOException {
+        // Par ordre de tête de série (les équipes non classées, seed 0, en dernier)
         String sql = "SELECT e.* FROM Equipe e " +
                     "JOIN Inscription i ON e.id_equipe = i.id_equipe " +
-                    "WHERE i.id_tournoi = ?";
+                    "WHERE i.id_tournoi = ? " +
+                    "ORDER BY NULLIF(i.seed, 0) NULLS LAST, i.date_inscription";
         
         List<Equipe> equipes = new ArrayList<>();
         try (PreparedStatement pst = connection.prepareStatement(sql)) {
@@ -477,6 +690,72 @@ public class TournoiDAO {
         return equipes;
     }
 
+    /**
+     * Parcourt les équipes inscrites à un tournoi avec leurs joueurs.
+     * Une seule requête (équipes et joueurs) est lue en flux, par paquets de
+     * lignes ({@code setFetchSize}) : seule l'équipe courante est gardée en mémoire,
+     * quel que soit le nombre d'inscrits, et le parcours voit un état cohérent des
+     * inscriptions (lecture consistante d'Oracle) même si elles changent pendant ce temps.
+     * @param tournoi le tournoi
+     * @param taillePage nombre d'équipes lues par aller-retour avec la base (approximatif)
+     * @param traitement traitement appelé pour chaque équipe, par ordre de tête de série
+     * @return le nombre d'équipes parcourues
+     * @throws DAOException si erreur lors de la lecture
+     */
+    public int parcourirEquipesInscrites(Tournoi tournoi, int taillePage, TraitementEquipe traitement) throws DAOException {
+        String sql = "SELECT p.rang, p.id_equipe, p.nom, p.tag, p.pays, p.logo, " +
+                    "j.id_joueur, j.pseudo, j.nom AS joueur_nom, j.prenom " +
+                    "FROM (SELECT e.id_equipe, e.nom, e.tag, e.pays, e.logo, " +
+                    "ROW_NUMBER() OVER (ORDER BY NULLIF(i.seed, 0) NULLS LAST, i.date_inscription, e.id_equipe) AS rang " +
+                    "FROM Equipe e JOIN Inscription i ON e.id_equipe = i.id_equipe " +
+                    "WHERE i.id_tournoi = ?) p " +
+                    "LEFT JOIN Joueur j ON j.id_equipe = p.id_equipe " +
+                    "ORDER BY p.rang, j.pseudo";
+
+        int nombre = 0;
+        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+            // Environ 8 joueurs par équipe
+            pst.setFetchSize(Math.max(taillePage * 8, 100));
+            pst.setInt(1, tournoi.getId());
+            try (ResultSet rs = pst.executeQuery()) {
+                Equipe courante = null;
+                int rang = 0;
+                while (rs.next()) {
+                    int rangLigne = rs.getInt("rang");
+                    if (courante == null || rangLigne != rang) {
+                        if (courante != null) {
+                            traitement.traiter(rang, courante);
+                        }
+                        courante = new Equipe();
+                        courante.setId(rs.getInt("id_equipe"));
+                        courante.setNom(rs.getString("nom"));
+                        courante.setTag(rs.getString("tag"));
+                        courante.setPays(rs.getString("pays"));
+                        courante.setLogo(rs.getString("logo"));
+                        courante.setJoueurs(new ArrayList<>());
+                        rang = rangLigne;
+                        nombre++;
+                    }
+                    int idJoueur = rs.getInt("id_joueur");
+                    if (!rs.wasNull()) {
+                        Joueur joueur = new Joueur();
+                        joueur.setId(idJoueur);
+                        joueur.setPseudo(rs.getString("pseudo"));
+                        joueur.setNom(rs.getString("joueur_nom"));
+                        joueur.setPrenom(rs.getString("prenom"));
+                        courante.getJoueurs().add(joueur);
+                    }
+                }
+                if (courante != null) {
+                    traitement.traiter(rang, courante);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors du parcours des équipes du tournoi: " + e.getMessage());
+        }
+        return nombre;
+    }
+
     /**
      * Inscrit une équipe à un tournoi
      * @param tournoi Tournoi auquel inscrire l'équipe
@@ -484,19 +763,25 @@ public class TournoiDAO {
      * @throws DAOException si le tournoi est complet ou en cas d'erreur
      */
     public void inscrireEquipe(Tournoi tournoi, Equipe equipe) throws DAOException {
-        // Vérifier s'il reste des places
-        if (getPlacesRestantes(tournoi) <= 0) {
-            throw new DAOException("Le tournoi est complet");
-        }
-
+        InscriptionDAO inscriptionDAO = new InscriptionDAO(connection);
         String sql = "INSERT INTO Inscription (id_tournoi, id_equipe) VALUES (?, ?)";
-        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+        try (UnitOfWork uow = UnitOfWork.begin(connection);
+             PreparedStatement pst = connection.prepareStatement(sql)) {
+            // Réservation atomique d'une place (garde de capacité)
+            inscriptionDAO.reserverPlace(tournoi.getId());
+
             pst.setInt(1, tournoi.getId());
             pst.setInt(2, equipe.getId());
             pst.executeUpdate();
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            uow.commit();
         } catch (SQLException e) {
+            try {
+                UnitOfWork.rollback(connection);
+            } catch (SQLException rollbackEx) {
+                throw new DAOException("Erreur lors du rollback: " + rollbackEx.getMessage());
+            }
             throw new DAOException("Erreur lors de l'inscription de l'équipe: " + e.getMessage());
         }
     }
@@ -509,51 +794,57 @@ public class TournoiDAO {
      */
     public void desinscrireEquipe(Tournoi tournoi, Equipe equipe) throws DAOException {
         String sql = "DELETE FROM Inscription WHERE id_tournoi = ? AND id_equipe = ?";
-        try (PreparedStatement pst = connection.prepareStatement(sql)) {
+        try (UnitOfWork uow = UnitOfWork.begin(connection);
+             PreparedStatement pst = connection.prepareStatement(sql)) {
             pst.setInt(1, tournoi.getId());
             pst.setInt(2, equipe.getId());
-            pst.executeUpdate();
+            if (pst.executeUpdate() > 0) {
+                new InscriptionDAO(connection).libererPlace(tournoi.getId());
+            }
 
-            connection.commit();
+            UnitOfWork.commit(connection);
+            uow.commit();
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la désinscription de l'équipe: " + e.getMessage());
         }
     }
 
     /**
-     * Charge les affectations d'un tournoi depuis la base de données
-     * @param tournoi le tournoi pour lequel charger les affectations
-     * @throws DAOException si erreur lors de la récupération des affectations
+     * Crée le mappeur des lignes d'affectation (avec les colonnes du staff) d'un tournoi
+     * @param rs résultat de la requête SQL
+     * @param tournoi le tournoi des affectations
+     * @return le mappeur, à réutiliser pour toutes les lignes du résultat
+     * @throws SQLException si une colonne obligatoire manque
      */
-    private void loadAffectations(Tournoi tournoi) throws DAOException {
-        String sql = "SELECT a.*, s.* FROM Affectation a " +
-                    "JOIN Staff s ON a.id_staff = s.id_staff " +
-                    "WHERE a.id_tournoi = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, tournoi.getId());
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Staff staff = new Staff();
-                    staff.setId(rs.getInt("id_staff"));
-                    staff.setNom(rs.getString("nom"));
-                    staff.setPrenom(rs.getString("prenom"));
-                    staff.setEmail(rs.getString("email"));
-                    staff.setFonction(rs.getString("fonction"));
-                    staff.setTelephone(rs.getString("telephone"));
-
-                    Affectation affectation = new Affectation();
-                    affectation.setStaff(staff);
-                    affectation.setTournoi(tournoi);
-                    affectation.setRoleSpecifique(rs.getString("role_specifique"));
-                    affectation.setDateDebut(rs.getTimestamp("date_debut").toLocalDateTime());
-                    affectation.setDateFin(rs.getTimestamp("date_fin").toLocalDateTime());
-
-                    tournoi.ajouterAffectation(affectation);
-                }
-            }
-        } catch (SQLException e) {
-            throw new DAOException("Erreur lors du chargement des affectations", e);
-        }
+    private MappeurLigne<Affectation> mappeurAffectation(ResultSet rs, Tournoi tournoi) throws SQLException {
+        Colonnes colonnes = new Colonnes(rs);
+        int idStaff = colonnes.requise("id_staff");
+        int nom = colonnes.requise("nom");
+        int prenom = colonnes.requise("prenom");
+        int email = colonnes.requise("email");
+        int fonction = colonnes.requise("fonction");
+        int telephone = colonnes.requise("telephone");
+        int roleSpecifique = colonnes.requise("role_specifique");
+        int dateDebut = colonnes.requise("date_debut");
+        int dateFin = colonnes.requise("date_fin");
+
+        return ligne -> {
+            Staff staff = new Staff();
+            staff.setId(ligne.getInt(idStaff));
+            staff.setNom(ligne.getString(nom));
+            staff.setPrenom(ligne.getString(prenom));
+            staff.setEmail(ligne.getString(email));
+            staff.setFonction(ligne.getString(fonction));
+            staff.setTelephone(ligne.getString(telephone));
+
+            Affectation affectation = new Affectation();
+            affectation.setStaff(staff);
+            affectation.setTournoi(tournoi);
+            affectation.setRoleSpecifique(ligne.getString(roleSpecifique));
+            affectation.setDateDebut(Colonnes.horodatage(ligne, dateDebut));
+            affectation.setDateFin(Colonnes.horodatage(ligne, dateFin));
+            return affectation;
+        };
     }
 
     /**
@@ -0,0 +1,76 @@
+package fr.tournois.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Exécute un bloc de code dans une {@link UnitOfWork}.
+ * Le bloc est validé en un seul commit s'il se termine normalement,
+ * et annulé s'il lève une exception.
+ *
+ * <pre>
+ * new TransactionTemplate(connection).execute(uow -&gt; {
+ *     Tournoi cree = tournoiDAO.create(tournoi);
+ *     affectations.forEach(staffDAO::addStaffToTournoi);
+ *     return cree;
+ * });
+ * </pre>
+ */
+public class TransactionTemplate {
+
+    /**
+     * Bloc transactionnel retournant un résultat.
+     * @param <T> type du résultat
+     */
+    @FunctionalInterface
+    public interface TransactionCallback<T> {
+        T doInTransaction(UnitOfWork uow) throws SQLException;
+    }
+
+    /**
+     * Bloc transactionnel sans résultat.
+     */
+    @FunctionalInterface
+    public interface TransactionAction {
+        void doInTransaction(UnitOfWork uow) throws SQLException;
+    }
+
+    private final Connection connection;
+
+    /**
+     * Constructeur
+     * @param connection connexion sur laquelle ouvrir les transactions
+     */
+    public TransactionTemplate(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Exécute le bloc dans une transaction et retourne son résultat.
+     * @param callback le bloc à exécuter
+     * @param <T> type du résultat
+     * @return le résultat du bloc
+     * @throws DAOException si le bloc échoue (la transaction est alors annulée)
+     */
+    public <T> T execute(TransactionCallback<T> callback) throws DAOException {
+        try (UnitOfWork uow = UnitOfWork.begin(connection)) {
+            T resultat = callback.doInTransaction(uow);
+            uow.commit();
+            return resultat;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de l'exécution de la transaction: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Exécute le bloc dans une transaction.
+     * @param action le bloc à exécuter
+     * @throws DAOException si le bloc échoue (la transaction est alors annulée)
+     */
+    public void executeWithoutResult(TransactionAction action) throws DAOException {
+        execute(uow -> {
+            action.doInTransaction(uow);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package fr.tournois.dao;
+
+/**
+ * Nature d'une requête, qui détermine son délai maximal d'exécution
+ * (clés {@code db.timeout.*} de database.properties).
+ */
+public enum TypeRequete {
+    /** Lecture interactive (listes, fiches, recherches). */
+    LECTURE("lecture"),
+    /** Insertion, mise à jour, suppression ou appel de procédure. */
+    ECRITURE("ecriture"),
+    /** Lecture d'un export ou d'un rapport, plus longue par nature. */
+    RAPPORT("rapport");
+
+    private final String cle;
+
+    TypeRequete(String cle) {
+        this.cle = cle;
+    }
+
+    /** @return le suffixe de la clé de configuration ({@code db.timeout.<cle>}) */
+    public String getCle() {
+        return cle;
+    }
+}
@@ -0,0 +1,258 @@
+package fr.tournois.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unité de travail transactionnelle.
+ *
+ * Regroupe plusieurs opérations DAO dans une seule transaction : tant qu'une
+ * unité est ouverte sur une connexion (pour le thread courant), les appels
+ * {@link #commit(Connection)} et {@link #rollback(Connection)} faits par les DAO
+ * sont absorbés, et un seul commit physique est effectué à la fin.
+ *
+ * Utilisation :
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin(connection)) {
+ *     tournoiDAO.create(tournoi);
+ *     staffDAO.addStaffToTournoi(affectation);
+ *     uow.commit();
+ * } // rollback automatique si commit() n'a pas été appelé
+ * </pre>
+ *
+ * Les unités peuvent être imbriquées : une unité ouverte alors qu'une autre est
+ * active sur la même connexion la rejoint, et seule l'unité la plus externe
+ * valide réellement. Si une unité interne se termine sans commit, toute la
+ * transaction est marquée pour annulation. Une unité ouverte sur une autre
+ * connexion est indépendante : chaque connexion a sa propre unité active.
+ *
+ * Les actions enregistrées par {@link #apresCommit(Connection, Runnable)} pendant
+ * l'unité (notifications du {@link BusEvenements}) sont exécutées après le commit
+ * physique, et abandonnées si la transaction est annulée.
+ *
+ * @see TransactionTemplate
+ */
+public class UnitOfWork implements AutoCloseable {
+
+    /** Unités actives du thread, par connexion (comparées par identité). */
+    private static final ThreadLocal<Map<Connection, UnitOfWork>> ACTIVES =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+    private static final AtomicLong NOMBRE_COMMITS = new AtomicLong();
+
+    private final Connection connection;
+    /** Un booléen par niveau d'imbrication : vrai si le niveau a appelé commit(). */
+    private final Deque<Boolean> niveaux = new ArrayDeque<>();
+    private final List<Runnable> actionsApresCommit = new ArrayList<>();
+    private boolean rollbackOnly;
+    private boolean terminee;
+
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Ouvre une unité de travail sur la connexion, ou rejoint celle déjà active
+     * pour le thread courant.
+     * @param connection connexion à utiliser (en mode auto-commit désactivé)
+     * @return l'unité de travail à fermer avec try-with-resources
+     */
+    public static UnitOfWork begin(Connection connection) {
+        UnitOfWork courante = active(connection);
+        if (courante != null) {
+            courante.niveaux.push(Boolean.FALSE);
+            return courante;
+        }
+        UnitOfWork uow = new UnitOfWork(connection);
+        uow.niveaux.push(Boolean.FALSE);
+        ACTIVES.get().put(connection, uow);
+        return uow;
+    }
+
+    private static UnitOfWork active(Connection connection) {
+        UnitOfWork courante = ACTIVES.get().get(connection);
+        return courante != null && !courante.terminee ? courante : null;
+    }
+
+    /**
+     * Indique si une unité de travail est active sur cette connexion pour le thread courant.
+     * @param connection la connexion
+     * @return true si les commits DAO sont différés
+     */
+    public static boolean isActive(Connection connection) {
+        return active(connection) != null;
+    }
+
+    /**
+     * Point de validation utilisé par les DAO à la place de {@code connection.commit()}.
+     * Ne fait rien si une unité de travail est active : le commit aura lieu à sa fin.
+     * @param connection la connexion
+     * @throws SQLException si erreur lors du commit
+     */
+    public static void commit(Connection connection) throws SQLException {
+        if (!isActive(connection)) {
+            connection.commit();
+            NOMBRE_COMMITS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Point d'annulation utilisé par les DAO à la place de {@code connection.rollback()}.
+     * Si une unité de travail est active, la transaction est seulement marquée pour
+     * annulation : l'appelant peut revenir à un point de sauvegarde ou laisser
+     * l'unité annuler l'ensemble à sa fermeture.
+     * @param connection la connexion
+     * @throws SQLException si erreur lors du rollback
+     */
+    public static void rollback(Connection connection) throws SQLException {
+        UnitOfWork courante = active(connection);
+        if (courante != null) {
+            courante.rollbackOnly = true;
+        } else {
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Exécute une action une fois les écritures courantes validées : à la fin de
+     * l'unité de travail active (jamais si elle est annulée), ou immédiatement
+     * s'il n'y en a pas (le DAO vient alors de faire son propre commit).
+     * @param connection la connexion
+     * @param action l'action à exécuter
+     */
+    public static void apresCommit(Connection connection, Runnable action) {
+        UnitOfWork courante = active(connection);
+        if (courante != null) {
+            courante.actionsApresCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Nombre de commits physiques effectués depuis le démarrage (diagnostic).
+     * @return le nombre de commits
+     */
+    public static long getNombreCommits() {
+        return NOMBRE_COMMITS.get();
+    }
+
+    /**
+     * Retourne la connexion de l'unité de travail
+     * @return la connexion
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Pose un point de sauvegarde dans la transaction.
+     * @param nom nom du point de sauvegarde
+     * @return le point de sauvegarde
+     * @throws DAOException si le driver refuse le point de sauvegarde
+     */
+    public Savepoint savepoint(String nom) throws DAOException {
+        verifierOuverte();
+        try {
+            return connection.setSavepoint(nom);
+        } catch (SQLException e) {
+            throw new DAOException("Impossible de poser le point de sauvegarde " + nom, e);
+        }
+    }
+
+    /**
+     * Annule les opérations effectuées depuis le point de sauvegarde.
+     * La transaction redevient validable.
+     * @param savepoint point de sauvegarde obtenu par {@link #savepoint(String)}
+     * @throws DAOException si erreur lors du retour au point de sauvegarde
+     */
+    public void rollbackTo(Savepoint savepoint) throws DAOException {
+        verifierOuverte();
+        try {
+            connection.rollback(savepoint);
+            rollbackOnly = false;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors du retour au point de sauvegarde", e);
+        }
+    }
+
+    /**
+     * Marque la transaction pour annulation : elle ne sera pas validée.
+     */
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    /**
+     * Valide le niveau courant. Pour l'unité la plus externe, effectue le commit physique.
+     * @throws DAOException si la transaction a été marquée pour annulation ou si le commit échoue
+     */
+    public void commit() throws DAOException {
+        verifierOuverte();
+        niveaux.pop();
+        niveaux.push(Boolean.TRUE);
+        if (niveaux.size() > 1) {
+            return;
+        }
+        if (rollbackOnly) {
+            throw new DAOException("La transaction a été annulée suite à une erreur précédente");
+        }
+        try {
+            connection.commit();
+            NOMBRE_COMMITS.incrementAndGet();
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la validation de la transaction", e);
+        }
+        List<Runnable> actions = new ArrayList<>(actionsApresCommit);
+        actionsApresCommit.clear();
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * Ferme le niveau courant. Si c'est l'unité la plus externe et qu'elle n'a pas
+     * été validée, la transaction est annulée.
+     * @throws DAOException si erreur lors du rollback
+     */
+    @Override
+    public void close() throws DAOException {
+        if (terminee) {
+            return;
+        }
+        boolean valide = niveaux.pop();
+        if (!valide) {
+            rollbackOnly = true;
+        }
+        if (!niveaux.isEmpty()) {
+            return;
+        }
+        terminee = true;
+        Map<Connection, UnitOfWork> actives = ACTIVES.get();
+        actives.remove(connection);
+        if (actives.isEmpty()) {
+            ACTIVES.remove();
+        }
+        actionsApresCommit.clear();
+        if (!valide || rollbackOnly) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                throw new DAOException("Erreur lors de l'annulation de la transaction", e);
+            }
+        }
+    }
+
+    private void verifierOuverte() {
+        if (terminee) {
+            throw new DAOException("L'unité de travail est déjà terminée");
+        }
+    }
+}
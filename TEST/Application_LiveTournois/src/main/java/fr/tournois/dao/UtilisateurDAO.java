@@ -26,13 +26,13 @@ public class UtilisateurDAO {
      * Les ? sont des paramètres qui seront remplacés par PreparedStatement pour éviter les injections SQL
      * SYSDATE est utilisé pour la date de création (fonction Oracle)
      */
+    /** ORA-00001 : violation de contrainte unique. */
+    private static final int ORA_VIOLATION_UNICITE = 1;
+
     private static final String INSERT_QUERY = 
         "INSERT INTO Utilisateur (id_utilisateur, pseudo, passwd, role, date_creation, derniere_connexion, actif) " +
         "VALUES (seq_utilisateur_id.NEXTVAL, ?, ?, ?, SYSDATE, NULL, ?)";
     
-    private static final String GET_ID_BY_PSEUDO_QUERY = 
-        "SELECT id_utilisateur FROM Utilisateur WHERE pseudo = ?";
-
     private static final String UPDATE_QUERY = 
         "UPDATE Utilisateur SET pseudo = ?, " +
         "passwd = ?, role = ?, derniere_connexion = ?, actif = ? WHERE id_utilisateur = ?";
@@ -52,6 +52,13 @@ public class UtilisateurDAO {
     private static final String FIND_BY_ROLE_QUERY = 
         "SELECT * FROM Utilisateur WHERE role = ?";
 
+    /*
+     * Anti-jointure : utilisateurs qu'aucun staff ne référence
+     */
+    private static final String FIND_SANS_STAFF_QUERY = 
+        "SELECT * FROM Utilisateur u WHERE NOT EXISTS " +
+        "(SELECT 1 FROM Staff s WHERE s.id_utilisateur = u.id_utilisateur)";
+
     private static final String FIND_BY_EMAIL_QUERY = 
         "SELECT * FROM Utilisateur WHERE email = ?";
 
@@ -165,18 +172,13 @@ public class UtilisateurDAO {
         * 1. Validation des données de l'utilisateur
         * 2. Vérification de l'unicité du pseudo
         * 3. Préparation de la requête avec PreparedStatement (sécurité contre les injections SQL)
-        * 4. Exécution de la requête INSERT
-        * 5. Récupération de l'ID généré par Oracle
+        * 4. Exécution de la requête INSERT (l'unicité du pseudo est garantie par la contrainte UNIQUE)
+        * 5. Récupération de l'ID généré par Oracle, renvoyé par l'INSERT lui-même
         * 6. Mise à jour de l'objet Utilisateur avec l'ID
         */
         validateUtilisateur(utilisateur);
-        
-        // Vérifier si le pseudo existe déjà
-        if (findByPseudo(utilisateur.getPseudo()).isPresent()) {
-            throw new DAOException("Le pseudo existe déjà");
-        }
 
-        try (PreparedStatement insertStmt = connection.prepareStatement(INSERT_QUERY)) {
+        try (PreparedStatement insertStmt = connection.prepareStatement(INSERT_QUERY, new String[] {"id_utilisateur"})) {
             insertStmt.setString(1, utilisateur.getPseudo());
             insertStmt.setString(2, utilisateur.getPassword());
             insertStmt.setString(3, utilisateur.getRole().name());
@@ -188,21 +190,21 @@ public class UtilisateurDAO {
                 throw new DAOException("La création de l'utilisateur a échoué, aucune ligne affectée.");
             }
             
-            // Récupérer l'ID généré via une requête SELECT
-            try (PreparedStatement selectStmt = connection.prepareStatement(GET_ID_BY_PSEUDO_QUERY)) {
-                selectStmt.setString(1, utilisateur.getPseudo());
-                try (ResultSet rs = selectStmt.executeQuery()) {
-                    if (rs.next()) {
-                        connection.commit();
-                        utilisateur.setId(rs.getInt("id_utilisateur"));
-                        return utilisateur;
-                    } else {
-                        connection.rollback();
-                        throw new DAOException("La création de l'utilisateur a échoué, impossible de récupérer l'ID.");
-                    }
+            // Récupérer l'ID généré (clause RETURNING ajoutée par le driver)
+            try (ResultSet rs = insertStmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    UnitOfWork.commit(connection);
+                    utilisateur.setId(rs.getInt(1));
+                    return utilisateur;
+                } else {
+                    UnitOfWork.rollback(connection);
+                    throw new DAOException("La création de l'utilisateur a échoué, impossible de récupérer l'ID.");
                 }
             }
         } catch (SQLException e) {
+            if (e.getErrorCode() == ORA_VIOLATION_UNICITE) {
+                throw new DAOException("Le pseudo existe déjà", e);
+            }
 
             throw new DAOException("Erreur lors de la création de l'utilisateur (Code: " + e.getErrorCode() + ")", e);
         }
@@ -284,6 +286,25 @@ public class UtilisateurDAO {
         }
     }
 
+    /**
+     * Trouve les utilisateurs qui ne sont associés à aucun membre du staff
+     * @return Liste des utilisateurs disponibles pour une association
+     * @throws DAOException si erreur lors de l'accès à la base
+     */
+    public List<Utilisateur> findSansStaff() throws DAOException {
+        try (PreparedStatement statement = connection.prepareStatement(FIND_SANS_STAFF_QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            List<Utilisateur> utilisateurs = new ArrayList<>();
+            while (resultSet.next()) {
+                utilisateurs.add(mapResultSetToEntity(resultSet));
+            }
+            return utilisateurs;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de la recherche des utilisateurs sans staff", e);
+        }
+    }
+
     /**
      * Met à jour un utilisateur dans la base de données
      * @param utilisateur L'utilisateur avec les nouvelles valeurs
@@ -331,7 +352,7 @@ public class UtilisateurDAO {
                 throw new DAOException("La mise à jour de l'utilisateur a échoué, aucune ligne affectée.");
             }
 
-            connection.commit();    
+            UnitOfWork.commit(connection);    
             
             return utilisateur;
         } catch (SQLException e) {
@@ -355,7 +376,7 @@ public class UtilisateurDAO {
 
             int affectedRows = statement.executeUpdate();
 
-            connection.commit();
+            UnitOfWork.commit(connection);
 
             return affectedRows > 0;
         } catch (SQLException e) {
@@ -414,7 +435,7 @@ public class UtilisateurDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, idUtilisateur);
             stmt.executeUpdate();
-            connection.commit();
+            UnitOfWork.commit(connection);
         } catch (SQLException e) {
             throw new DAOException("Erreur lors de la mise à jour de la dernière connexion", e);
         }
@@ -0,0 +1,199 @@
+package fr.tournois.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache disque des PDF déjà générés, indexés par l'empreinte de leurs données
+ * ({@link EmpreinteExport}).
+ *
+ * Les fichiers sont stockés dans un répertoire local dont la taille totale est
+ * bornée : au-delà, les documents les moins récemment utilisés sont supprimés.
+ * La date de modification des fichiers sert de date de dernier accès, ce qui
+ * conserve l'ordre LRU d'une exécution à l'autre.
+ *
+ * Le répertoire est donné par la propriété système {@code tournois.cache.exports}
+ * ({@code .tournois/cache-exports} dans le répertoire de l'utilisateur par défaut).
+ */
+public class CacheExports {
+
+    /** Taille maximale par défaut du cache : 200 Mo. */
+    public static final long TAILLE_MAX_DEFAUT = 200L * 1024 * 1024;
+    private static final String EXTENSION = ".pdf";
+
+    private static CacheExports instance;
+
+    private final Path repertoire;
+    private final long tailleMax;
+    /** Taille de chaque document, du moins récemment utilisé au plus récent. */
+    private final LinkedHashMap<String, Long> documents = new LinkedHashMap<>(64, 0.75f, true);
+    private long tailleTotale;
+    private boolean charge;
+
+    /**
+     * Constructeur
+     * @param repertoire répertoire du cache (créé si besoin)
+     * @param tailleMax taille totale maximale des documents, en octets
+     */
+    CacheExports(Path repertoire, long tailleMax) {
+        this.repertoire = repertoire;
+        this.tailleMax = tailleMax;
+    }
+
+    /**
+     * Retourne l'instance unique du cache
+     * @return le cache des exports
+     */
+    public static synchronized CacheExports getInstance() {
+        if (instance == null) {
+            String defaut = Paths.get(System.getProperty("user.home"), ".tournois", "cache-exports").toString();
+            instance = new CacheExports(Paths.get(System.getProperty("tournois.cache.exports", defaut)),
+                    TAILLE_MAX_DEFAUT);
+        }
+        return instance;
+    }
+
+    /**
+     * Copie le document en cache dans le flux, s'il existe.
+     * @param empreinte l'empreinte des données du document
+     * @param out le flux de destination (non fermé)
+     * @return true si le document était en cache
+     * @throws IOException si erreur de lecture du cache ou d'écriture du flux
+     */
+    public synchronized boolean copierVers(String empreinte, OutputStream out) throws IOException {
+        charger();
+        // get() (et non containsKey) pour marquer le document comme récemment utilisé
+        if (documents.get(empreinte) == null) {
+            return false;
+        }
+        Path fichier = fichier(empreinte);
+        if (!Files.isRegularFile(fichier)) {
+            // Supprimé hors de l'application
+            tailleTotale -= documents.remove(empreinte);
+            return false;
+        }
+        Files.copy(fichier, out);
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(System.currentTimeMillis()));
+        return true;
+    }
+
+    /**
+     * Crée un fichier temporaire dans le répertoire du cache, destiné à
+     * {@link #stocker(String, Path)} (le déplacement est alors immédiat).
+     * @return le fichier temporaire créé
+     * @throws IOException si le répertoire du cache n'est pas accessible
+     */
+    public synchronized Path fichierTemporaire() throws IOException {
+        charger();
+        Files.createDirectories(repertoire);
+        return Files.createTempFile(repertoire, "export", ".tmp");
+    }
+
+    /**
+     * Place un document généré dans le cache, puis supprime les documents les
+     * moins récemment utilisés si la taille maximale est dépassée.
+     * @param empreinte l'empreinte des données du document
+     * @param document le fichier généré, déplacé dans le cache
+     * @return le fichier dans le cache
+     * @throws IOException si erreur lors du déplacement
+     */
+    public synchronized Path stocker(String empreinte, Path document) throws IOException {
+        charger();
+        Path fichier = fichier(empreinte);
+        Files.move(document, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        long taille = Files.size(fichier);
+        Long ancienne = documents.put(empreinte, taille);
+        tailleTotale += taille - (ancienne == null ? 0 : ancienne);
+        evincer(empreinte);
+        return fichier;
+    }
+
+    /**
+     * @return la taille totale des documents en cache, en octets
+     */
+    public synchronized long getTailleTotale() {
+        charger();
+        return tailleTotale;
+    }
+
+    /**
+     * @param empreinte une empreinte
+     * @return true si un document de cette empreinte est en cache
+     */
+    public synchronized boolean contient(String empreinte) {
+        charger();
+        return documents.containsKey(empreinte);
+    }
+
+    private void evincer(String conserve) throws IOException {
+        Iterator<Map.Entry<String, Long>> it = documents.entrySet().iterator();
+        while (tailleTotale > tailleMax && it.hasNext()) {
+            Map.Entry<String, Long> plusAncien = it.next();
+            if (plusAncien.getKey().equals(conserve)) {
+                continue;
+            }
+            Files.deleteIfExists(fichier(plusAncien.getKey()));
+            tailleTotale -= plusAncien.getValue();
+            it.remove();
+        }
+    }
+
+    /**
+     * Relit le contenu du répertoire au premier accès, du document le moins
+     * récemment utilisé au plus récent. Les fichiers temporaires abandonnés sont supprimés.
+     */
+    private void charger() {
+        if (charge) {
+            return;
+        }
+        charge = true;
+        if (!Files.isDirectory(repertoire)) {
+            return;
+        }
+        List<Path> fichiers = new ArrayList<>();
+        try (DirectoryStream<Path> contenu = Files.newDirectoryStream(repertoire)) {
+            for (Path fichier : contenu) {
+                String nom = fichier.getFileName().toString();
+                if (nom.endsWith(EXTENSION)) {
+                    fichiers.add(fichier);
+                } else if (nom.endsWith(".tmp")) {
+                    Files.deleteIfExists(fichier);
+                }
+            }
+            fichiers.sort(Comparator.comparing(CacheExports::dateModification));
+            for (Path fichier : fichiers) {
+                String nom = fichier.getFileName().toString();
+                long taille = Files.size(fichier);
+                documents.put(nom.substring(0, nom.length() - EXTENSION.length()), taille);
+                tailleTotale += taille;
+            }
+            evincer(null);
+        } catch (IOException e) {
+            System.err.println("Cache des exports illisible " + repertoire + " : " + e.getMessage());
+        }
+    }
+
+    private static FileTime dateModification(Path fichier) {
+        try {
+            return Files.getLastModifiedTime(fichier);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path fichier(String empreinte) {
+        return repertoire.resolve(empreinte + EXTENSION);
+    }
+}
@@ -0,0 +1,158 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.Image;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache des logos d'équipe ({@code Equipe.logo}) prêts à être insérés dans un PDF.
+ *
+ * Chaque logo est lu, décodé et mis à l'échelle une seule fois ; la même
+ * instance d'{@link Image} est ensuite réutilisée, ce qui permet aussi à iText
+ * de ne stocker qu'une fois l'image dans un document où elle apparaît plusieurs fois.
+ * Les logos absents ou illisibles sont mémorisés comme tels pour ne pas être
+ * recherchés à chaque ligne. Le cache est borné (les logos les moins récemment
+ * utilisés sont oubliés). Un fichier remplacé ou ajouté sous le même nom est
+ * relu : chaque logo est gardé avec sa {@link #getVersion(String) version}.
+ *
+ * Les logos sont cherchés dans le répertoire donné par la propriété système
+ * {@code tournois.logos} ({@code logos} par défaut).
+ */
+public class CacheLogos {
+
+    /** Taille (en points) du carré dans lequel les logos sont inscrits. */
+    public static final float TAILLE_LOGO = 14f;
+    private static final int CAPACITE_DEFAUT = 256;
+    /** Marque un logo absent dans le cache. */
+    private static final Image ABSENT = null;
+
+    /** Logo en cache et version du fichier dont il a été lu. */
+    private static final class Entree {
+        final String version;
+        final Image image;
+
+        Entree(String version, Image image) {
+            this.version = version;
+            this.image = image;
+        }
+    }
+
+    private static CacheLogos instance;
+
+    private final Path repertoire;
+    private final Map<String, Entree> logos;
+    private int nombreChargements;
+
+    /**
+     * Constructeur
+     * @param repertoire répertoire contenant les fichiers de logo
+     * @param capacite nombre maximal de logos gardés en mémoire
+     */
+    CacheLogos(Path repertoire, int capacite) {
+        this.repertoire = repertoire;
+        this.logos = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entree> plusAncien) {
+                return size() > capacite;
+            }
+        };
+    }
+
+    /**
+     * Retourne l'instance unique du cache
+     * @return le cache des logos
+     */
+    public static synchronized CacheLogos getInstance() {
+        if (instance == null) {
+            instance = new CacheLogos(Paths.get(System.getProperty("tournois.logos", "logos")), CAPACITE_DEFAUT);
+        }
+        return instance;
+    }
+
+    /**
+     * Retourne le logo mis à l'échelle. L'image retournée est partagée :
+     * elle ne doit pas être modifiée (l'insérer via un {@code Chunk}, qui en fait une copie).
+     * @param fichier nom du fichier de logo (relatif au répertoire des logos)
+     * @return l'image, null si le logo est absent ou illisible
+     */
+    public synchronized Image getLogo(String fichier) {
+        if (fichier == null || fichier.trim().isEmpty()) {
+            return null;
+        }
+        String version = getVersion(fichier);
+        Entree entree = logos.get(fichier);
+        if (entree != null && Objects.equals(entree.version, version)) {
+            return entree.image;
+        }
+        Image logo = charger(fichier.trim());
+        logos.put(fichier, new Entree(version, logo));
+        return logo;
+    }
+
+    /**
+     * Version du fichier de logo (taille et date de modification), sans le lire :
+     * elle change quand le fichier est remplacé, ajouté ou supprimé.
+     * @param fichier nom du fichier de logo (relatif au répertoire des logos)
+     * @return la version, null si le logo est absent
+     */
+    public String getVersion(String fichier) {
+        if (fichier == null || fichier.trim().isEmpty()) {
+            return null;
+        }
+        Path chemin = chemin(fichier.trim());
+        if (chemin == null) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributs = Files.readAttributes(chemin, BasicFileAttributes.class);
+            return attributs.isRegularFile()
+                    ? attributs.size() + ":" + attributs.lastModifiedTime().toMillis() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Image charger(String fichier) {
+        nombreChargements++;
+        Path chemin = chemin(fichier);
+        if (chemin == null || !Files.isRegularFile(chemin)) {
+            return ABSENT;
+        }
+        try {
+            Image logo = Image.getInstance(Files.readAllBytes(chemin));
+            logo.scaleToFit(TAILLE_LOGO, TAILLE_LOGO);
+            return logo;
+        } catch (Exception e) {
+            System.err.println("Logo illisible " + chemin + " : " + e.getMessage());
+            return ABSENT;
+        }
+    }
+
+    /** @return le chemin du logo, null s'il sort du répertoire des logos */
+    private Path chemin(String fichier) {
+        Path chemin = repertoire.resolve(fichier).normalize();
+        return chemin.startsWith(repertoire.normalize()) ? chemin : null;
+    }
+
+    /**
+     * Nombre de lectures de fichiers effectuées (diagnostic).
+     * @return le nombre de logos chargés depuis le disque, absents compris
+     */
+    public synchronized int getNombreChargements() {
+        return nombreChargements;
+    }
+
+    /**
+     * Vide le cache (après modification des fichiers de logo).
+     */
+    public synchronized void vider() {
+        logos.clear();
+    }
+}
@@ -0,0 +1,84 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.DocumentException;
+import fr.tournois.model.Joueur;
+import fr.tournois.model.Tournoi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Normalizer;
+
+/**
+ * Document à produire lors d'un export groupé : un nom de fichier et
+ * la manière d'écrire son contenu.
+ */
+public interface ElementExport {
+
+    /**
+     * @return le nom du fichier (unique dans l'export, sans répertoire)
+     */
+    String getNomFichier();
+
+    /**
+     * Écrit le document dans le flux, sans le fermer.
+     * @param out le flux de destination
+     * @throws IOException si erreur d'écriture
+     * @throws DocumentException si erreur de construction du PDF
+     */
+    void ecrire(OutputStream out) throws IOException, DocumentException;
+
+    /**
+     * Fiche PDF d'un tournoi, exportée en flux (ou reprise du cache si ses données n'ont pas changé).
+     * @param export l'export en flux à utiliser (partagé entre les éléments)
+     * @param tournoi le tournoi
+     * @return l'élément à exporter
+     */
+    static ElementExport tournoi(ExportPdfTournoi export, Tournoi tournoi) {
+        String nom = "tournoi_" + tournoi.getId() + "_" + nettoyer(tournoi.getNom()) + ".pdf";
+        return new ElementExport() {
+            @Override
+            public String getNomFichier() {
+                return nom;
+            }
+
+            @Override
+            public void ecrire(OutputStream out) throws IOException, DocumentException {
+                export.exporterAvecCache(tournoi, out, null);
+            }
+        };
+    }
+
+    /**
+     * Fiche PDF d'un joueur.
+     * @param joueur le joueur
+     * @return l'élément à exporter
+     */
+    static ElementExport ficheJoueur(Joueur joueur) {
+        String nom = "joueur_" + joueur.getId() + "_" + nettoyer(joueur.getPseudo()) + ".pdf";
+        return new ElementExport() {
+            @Override
+            public String getNomFichier() {
+                return nom;
+            }
+
+            @Override
+            public void ecrire(OutputStream out) throws DocumentException {
+                FicheJoueurPdf.ecrire(joueur, out);
+            }
+        };
+    }
+
+    /**
+     * Rend un libellé utilisable dans un nom de fichier (sans accents ni caractères spéciaux).
+     * @param libelle le libellé
+     * @return le libellé nettoyé, "sans_nom" s'il est vide
+     */
+    static String nettoyer(String libelle) {
+        if (libelle == null || libelle.trim().isEmpty()) {
+            return "sans_nom";
+        }
+        return Normalizer.normalize(libelle.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[^a-zA-Z0-9.-]+", "_");
+    }
+}
@@ -0,0 +1,117 @@
+package fr.tournois.export;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Joueur;
+import fr.tournois.model.Tournoi;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreinte (SHA-256) des données affichées dans le PDF d'un tournoi : les champs
+ * du tournoi, puis les équipes inscrites dans l'ordre des têtes de série avec leur
+ * effectif et la version du fichier de leur logo ({@link CacheLogos#getVersion(String)}).
+ * Deux exports de même empreinte produisent le même document.
+ *
+ * Chaque valeur est précédée de sa longueur, pour que ("ab", "c") et ("a", "bc")
+ * donnent des empreintes différentes.
+ */
+public class EmpreinteExport {
+
+    /** Version de la mise en page : à incrémenter quand le rendu du PDF change. */
+    static final int VERSION_RENDU = 1;
+
+    private final MessageDigest digest;
+    private final CacheLogos logos;
+    private int nbEquipes;
+    private String valeur;
+
+    /**
+     * Commence l'empreinte d'un tournoi
+     * @param tournoi le tournoi (seuls ses champs sont lus)
+     */
+    public EmpreinteExport(Tournoi tournoi) {
+        this(tournoi, CacheLogos.getInstance());
+    }
+
+    EmpreinteExport(Tournoi tournoi, CacheLogos logos) {
+        this.logos = logos;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+        ajouter(VERSION_RENDU);
+        ajouter(tournoi.getId() == null ? 0 : tournoi.getId());
+        ajouter(tournoi.getNom());
+        ajouter(tournoi.getLieu());
+        ajouter(String.valueOf(tournoi.getDateDebut()));
+        ajouter(String.valueOf(tournoi.getDateFin()));
+        ajouter(tournoi.getFormat());
+        ajouter(tournoi.getStatut());
+        ajouter(Double.toString(tournoi.getPrixPool()));
+    }
+
+    /**
+     * Ajoute une équipe inscrite et son effectif (appelé dans l'ordre du document).
+     * @param rang rang de l'équipe dans le document
+     * @param equipe l'équipe avec ses joueurs
+     */
+    public void ajouterEquipe(int rang, Equipe equipe) {
+        if (valeur != null) {
+            throw new IllegalStateException("L'empreinte est déjà calculée");
+        }
+        nbEquipes++;
+        ajouter(rang);
+        ajouter(equipe.getId() == null ? 0 : equipe.getId());
+        ajouter(equipe.getNom());
+        ajouter(equipe.getTag());
+        ajouter(equipe.getPays());
+        ajouter(equipe.getLogo());
+        // Le PDF contient l'image : un fichier remplacé sous le même nom change le document
+        ajouter(logos.getVersion(equipe.getLogo()));
+        ajouter(equipe.getJoueurs().size());
+        for (Joueur joueur : equipe.getJoueurs()) {
+            ajouter(joueur.getId() == null ? 0 : joueur.getId());
+            ajouter(joueur.getPseudo());
+            ajouter(joueur.getNom());
+            ajouter(joueur.getPrenom());
+        }
+    }
+
+    /**
+     * @return l'empreinte en hexadécimal (le calcul est terminé au premier appel)
+     */
+    public String getValeur() {
+        if (valeur == null) {
+            valeur = HexFormat.of().formatHex(digest.digest());
+        }
+        return valeur;
+    }
+
+    /**
+     * @return le nombre d'équipes ajoutées
+     */
+    public int getNbEquipes() {
+        return nbEquipes;
+    }
+
+    private void ajouter(int entier) {
+        digest.update((byte) (entier >>> 24));
+        digest.update((byte) (entier >>> 16));
+        digest.update((byte) (entier >>> 8));
+        digest.update((byte) entier);
+    }
+
+    private void ajouter(String texte) {
+        if (texte == null) {
+            ajouter(-1);
+            return;
+        }
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        ajouter(octets.length);
+        digest.update(octets);
+    }
+}
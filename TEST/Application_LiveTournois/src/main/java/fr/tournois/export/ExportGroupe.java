@@ -0,0 +1,258 @@
+package fr.tournois.export;
+
+import fr.tournois.dao.ContexteRequetes;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export groupé de documents PDF (fiches de tournois ou de joueurs).
+ *
+ * Les documents sont générés en parallèle par un nombre borné de threads
+ * (au plus un par cœur), et au plus deux documents par thread sont en cours à
+ * un instant donné : la mémoire reste bornée quelle que soit la sélection.
+ * Le résultat est soit un répertoire (un fichier par document, écrit
+ * directement par le thread qui le génère), soit une archive ZIP unique
+ * écrite par le thread appelant à travers un {@link FileChannel}.
+ *
+ * L'export est interrompu si le thread appelant est interrompu. Le
+ * {@link ContexteRequetes} de l'appelant s'applique aussi aux requêtes des
+ * threads de génération.
+ * L'échec d'un document n'arrête pas l'export : il est signalé dans le {@link Rapport}.
+ */
+public class ExportGroupe {
+
+    /**
+     * Suivi de l'avancement, appelé par le thread appelant après chaque document.
+     */
+    @FunctionalInterface
+    public interface Progression {
+        void avancer(int termines, int total);
+    }
+
+    /**
+     * Bilan d'un export groupé.
+     */
+    public static final class Rapport {
+        private final Path destination;
+        private final int generes;
+        private final List<String> erreurs;
+
+        Rapport(Path destination, int generes, List<String> erreurs) {
+            this.destination = destination;
+            this.generes = generes;
+            this.erreurs = Collections.unmodifiableList(erreurs);
+        }
+
+        /** @return le répertoire ou l'archive produits */
+        public Path getDestination() {
+            return destination;
+        }
+
+        /** @return le nombre de documents générés */
+        public int getGeneres() {
+            return generes;
+        }
+
+        /** @return un message par document en échec ("fichier : cause") */
+        public List<String> getErreurs() {
+            return erreurs;
+        }
+    }
+
+    /** Rendu d'un document : son contenu en mode archive, null en mode répertoire. */
+    private static final class Rendu {
+        final ElementExport element;
+        final byte[] contenu;
+
+        Rendu(ElementExport element, byte[] contenu) {
+            this.element = element;
+            this.contenu = contenu;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Generation {
+        Rendu generer(ElementExport element) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Collecte {
+        void collecter(Rendu rendu) throws IOException;
+    }
+
+    private static final AtomicInteger NUMERO_THREAD = new AtomicInteger();
+
+    private final List<ElementExport> elements;
+    private final int parallelisme;
+
+    /**
+     * Constructeur (un thread par cœur disponible)
+     * @param elements les documents à générer
+     */
+    public ExportGroupe(List<ElementExport> elements) {
+        this(elements, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructeur
+     * @param elements les documents à générer
+     * @param parallelisme nombre maximal de threads de génération
+     */
+    public ExportGroupe(List<ElementExport> elements, int parallelisme) {
+        if (parallelisme < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être positif");
+        }
+        this.elements = new ArrayList<>(elements);
+        this.parallelisme = Math.max(1, Math.min(parallelisme, this.elements.size()));
+    }
+
+    /**
+     * @return le nombre de documents à générer
+     */
+    public int getTotal() {
+        return elements.size();
+    }
+
+    /**
+     * Génère un fichier par document dans le répertoire (créé s'il n'existe pas).
+     * @param repertoire le répertoire de destination
+     * @param progression suivi de l'avancement (peut être null)
+     * @return le bilan de l'export
+     * @throws IOException si le répertoire ne peut pas être créé
+     * @throws InterruptedException si l'export a été interrompu
+     */
+    public Rapport versRepertoire(Path repertoire, Progression progression) throws IOException, InterruptedException {
+        Files.createDirectories(repertoire);
+        return executer(repertoire, element -> {
+            Path fichier = repertoire.resolve(element.getNomFichier());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(fichier))) {
+                element.ecrire(out);
+            } catch (Exception e) {
+                Files.deleteIfExists(fichier);
+                throw e;
+            }
+            return new Rendu(element, null);
+        }, rendu -> { }, progression);
+    }
+
+    /**
+     * Génère tous les documents dans une archive ZIP unique.
+     * Les PDF étant déjà compressés, ils sont stockés sans recompression.
+     * L'archive incomplète est supprimée en cas d'interruption.
+     * @param archive le fichier ZIP à créer ou remplacer
+     * @param progression suivi de l'avancement (peut être null)
+     * @return le bilan de l'export
+     * @throws IOException si erreur d'écriture de l'archive
+     * @throws InterruptedException si l'export a été interrompu
+     */
+    public Rapport versZip(Path archive, Progression progression) throws IOException, InterruptedException {
+        boolean termine = false;
+        try (FileChannel canal = FileChannel.open(archive, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal)))) {
+            Rapport rapport = executer(archive, element -> {
+                ByteArrayOutputStream tampon = new ByteArrayOutputStream(16 * 1024);
+                element.ecrire(tampon);
+                return new Rendu(element, tampon.toByteArray());
+            }, rendu -> {
+                CRC32 crc = new CRC32();
+                crc.update(rendu.contenu);
+                ZipEntry entree = new ZipEntry(rendu.element.getNomFichier());
+                entree.setMethod(ZipEntry.STORED);
+                entree.setSize(rendu.contenu.length);
+                entree.setCompressedSize(rendu.contenu.length);
+                entree.setCrc(crc.getValue());
+                zip.putNextEntry(entree);
+                zip.write(rendu.contenu);
+                zip.closeEntry();
+            }, progression);
+            termine = true;
+            return rapport;
+        } finally {
+            if (!termine) {
+                Files.deleteIfExists(archive);
+            }
+        }
+    }
+
+    /**
+     * Soumet les documents au pool en limitant le nombre de documents en cours,
+     * et collecte les rendus dans l'ordre où ils se terminent.
+     */
+    private Rapport executer(Path destination, Generation generation, Collecte collecte, Progression progression)
+            throws IOException, InterruptedException {
+        int total = elements.size();
+        List<String> erreurs = new ArrayList<>();
+        if (total == 0) {
+            return new Rapport(destination, 0, erreurs);
+        }
+        // Les threads du pool reprennent le contexte de requêtes de l'appelant (délais, annulation)
+        ContexteRequetes contexte = ContexteRequetes.courant();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelisme, fabriqueThreads());
+        CompletionService<Rendu> completion = new ExecutorCompletionService<>(pool);
+        int maxEnCours = 2 * parallelisme;
+        int soumis = 0;
+        int termines = 0;
+        int generes = 0;
+        try {
+            while (termines < total) {
+                while (soumis < total && soumis - termines < maxEnCours) {
+                    ElementExport element = elements.get(soumis++);
+                    completion.submit(() -> {
+                        try {
+                            return contexte != null
+                                    ? contexte.executer(() -> generation.generer(element))
+                                    : generation.generer(element);
+                        } catch (Exception e) {
+                            throw new IOException(element.getNomFichier() + " : " + e.getMessage(), e);
+                        }
+                    });
+                }
+                Future<Rendu> future = completion.take();
+                termines++;
+                try {
+                    collecte.collecter(future.get());
+                    generes++;
+                } catch (ExecutionException e) {
+                    erreurs.add(e.getCause().getMessage());
+                }
+                if (progression != null) {
+                    progression.avancer(termines, total);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Rapport(destination, generes, erreurs);
+    }
+
+    private static ThreadFactory fabriqueThreads() {
+        return tache -> {
+            Thread thread = new Thread(tache, "export-pdf-" + NUMERO_THREAD.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
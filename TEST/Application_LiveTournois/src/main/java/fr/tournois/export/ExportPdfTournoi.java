@@ -0,0 +1,352 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.ExceptionConverter;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import fr.tournois.dao.ConnectionManager;
+import fr.tournois.dao.DAOException;
+import fr.tournois.dao.TournoiDAO;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Joueur;
+import fr.tournois.model.Tournoi;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Export PDF d'un tournoi en flux, pour les tournois de grande taille.
+ *
+ * Contrairement à {@link fr.tournois.ui.util.PdfTournoiGenerator}, le tournoi n'a pas
+ * besoin d'être chargé avec ses équipes : elles sont lues en flux
+ * ({@link TournoiDAO#parcourirEquipesInscrites}) et écrites dans un seul tableau
+ * « large » (iText), vidé vers le {@link PdfWriter} toutes les {@code taillePage} équipes.
+ * Les pages PDF terminées sont écrites au fur et à mesure : la mémoire utilisée
+ * ne dépend pas du nombre d'équipes.
+ *
+ * Les méthodes {@code exporterAvecCache} réutilisent le document précédent
+ * lorsque l'empreinte des données ({@link EmpreinteExport}) n'a pas changé.
+ *
+ * Un export lancé en arrière-plan utilise {@link #surConnexionDediee()} : lire sur la
+ * connexion partagée verrait les écritures non validées d'une fenêtre (qui peuvent
+ * être annulées ensuite), et le document serait gardé dans le cache.
+ */
+public class ExportPdfTournoi implements AutoCloseable {
+
+    /** Nombre d'équipes lues par aller-retour (et écrites entre deux vidages du tableau). */
+    public static final int TAILLE_PAGE_DEFAUT = 64;
+
+    private static final DateTimeFormatter FORMAT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final int taillePage;
+    private TournoiDAO tournoiDAO;
+    /** Connexion ouverte par l'export lui-même, fermée par {@link #close()}. */
+    private Connection dediee;
+
+    /**
+     * Constructeur
+     * @param connection connexion à la base de données à utiliser
+     */
+    public ExportPdfTournoi(Connection connection) {
+        this(connection, TAILLE_PAGE_DEFAUT);
+    }
+
+    /**
+     * Constructeur
+     * @param connection connexion à la base de données à utiliser
+     * @param taillePage nombre d'équipes lues par aller-retour et écrites entre deux vidages
+     */
+    public ExportPdfTournoi(Connection connection, int taillePage) {
+        if (taillePage < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        this.tournoiDAO = new TournoiDAO(connection);
+        this.taillePage = taillePage;
+    }
+
+    private ExportPdfTournoi() {
+        this.taillePage = TAILLE_PAGE_DEFAUT;
+    }
+
+    /**
+     * Export sur sa propre connexion ({@link ConnectionManager#ouvrirConnexionDediee()}),
+     * qui ne voit que les données validées. Elle est ouverte au premier export et
+     * doit être fermée par {@link #close()}.
+     * @return l'export
+     */
+    public static ExportPdfTournoi surConnexionDediee() {
+        return new ExportPdfTournoi();
+    }
+
+    private synchronized TournoiDAO dao() throws DAOException {
+        if (tournoiDAO == null) {
+            try {
+                dediee = ConnectionManager.getInstance().ouvrirConnexionDediee();
+            } catch (SQLException e) {
+                throw new DAOException("Impossible d'ouvrir la connexion de l'export", e);
+            }
+            tournoiDAO = new TournoiDAO(dediee);
+        }
+        return tournoiDAO;
+    }
+
+    /**
+     * Ferme la connexion dédiée de l'export, s'il en a ouvert une.
+     */
+    @Override
+    public synchronized void close() {
+        if (dediee == null) {
+            return;
+        }
+        try {
+            dediee.close();
+        } catch (SQLException e) {
+            System.err.println("Erreur lors de la fermeture de la connexion de l'export : " + e.getMessage());
+        }
+        dediee = null;
+        tournoiDAO = null;
+    }
+
+    /**
+     * Exporte le tournoi dans un fichier PDF.
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param fichier le fichier à créer ou remplacer
+     * @return le nombre d'équipes exportées
+     * @throws IOException si erreur d'écriture du fichier
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     */
+    public int exporter(Tournoi tournoi, Path fichier) throws IOException, DocumentException {
+        return exporter(tournoi, fichier, null);
+    }
+
+    /**
+     * Exporte le tournoi dans un fichier PDF, en signalant l'avancement.
+     * Le fichier incomplet est supprimé si l'export échoue ou est annulé.
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param fichier le fichier à créer ou remplacer
+     * @param progression reçoit le nombre d'équipes écrites après chaque page (peut être null)
+     * @return le nombre d'équipes exportées
+     * @throws IOException si erreur d'écriture du fichier
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     * @throws CancellationException si le thread a été interrompu
+     */
+    public int exporter(Tournoi tournoi, Path fichier, IntConsumer progression) throws IOException, DocumentException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(fichier))) {
+            return exporter(tournoi, out, progression);
+        } catch (IOException | DocumentException | RuntimeException e) {
+            Files.deleteIfExists(fichier);
+            throw e;
+        }
+    }
+
+    /**
+     * Exporte le tournoi dans un flux. Le flux n'est pas fermé.
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param out le flux de destination
+     * @return le nombre d'équipes exportées
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     */
+    public int exporter(Tournoi tournoi, OutputStream out) throws DocumentException {
+        return exporter(tournoi, out, null);
+    }
+
+    /**
+     * Exporte le tournoi dans un flux, en signalant l'avancement. Le flux n'est pas fermé.
+     * L'export s'arrête entre deux pages si le thread est interrompu.
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param out le flux de destination
+     * @param progression reçoit le nombre d'équipes écrites après chaque page (peut être null)
+     * @return le nombre d'équipes exportées
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     * @throws CancellationException si le thread a été interrompu
+     */
+    public int exporter(Tournoi tournoi, OutputStream out, IntConsumer progression) throws DocumentException {
+        return ecrire(tournoi, out, progression, null);
+    }
+
+    /**
+     * Calcule l'empreinte des données du PDF du tournoi, sans le générer.
+     * @param tournoi le tournoi
+     * @return l'empreinte, avec le nombre d'équipes inscrites
+     * @throws DAOException si erreur lors de la lecture des équipes
+     */
+    public EmpreinteExport empreinte(Tournoi tournoi) {
+        EmpreinteExport empreinte = new EmpreinteExport(tournoi);
+        dao().parcourirEquipesInscrites(tournoi, taillePage, empreinte::ajouterEquipe);
+        return empreinte;
+    }
+
+    /**
+     * Exporte le tournoi dans un fichier PDF en réutilisant le document déjà
+     * généré si ses données n'ont pas changé ({@link CacheExports}).
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param fichier le fichier à créer ou remplacer
+     * @param progression reçoit le nombre d'équipes écrites après chaque page (peut être null)
+     * @return le nombre d'équipes exportées
+     * @throws IOException si erreur d'écriture du fichier ou du cache
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     * @throws CancellationException si le thread a été interrompu
+     */
+    public int exporterAvecCache(Tournoi tournoi, Path fichier, IntConsumer progression)
+            throws IOException, DocumentException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(fichier))) {
+            return exporterAvecCache(tournoi, out, progression);
+        } catch (IOException | DocumentException | RuntimeException e) {
+            Files.deleteIfExists(fichier);
+            throw e;
+        }
+    }
+
+    /**
+     * Exporte le tournoi dans un flux en réutilisant le document déjà généré si
+     * ses données n'ont pas changé. Sinon, le document est généré dans le cache
+     * puis copié dans le flux. Le flux n'est pas fermé.
+     * Le calcul préalable de l'empreinte parcourt les équipes inscrites et leurs
+     * effectifs : un document absent du cache lit donc ces données deux fois
+     * (empreinte, puis génération).
+     * @param tournoi le tournoi (ses équipes n'ont pas besoin d'être chargées)
+     * @param out le flux de destination
+     * @param progression reçoit le nombre d'équipes écrites après chaque page (peut être null)
+     * @return le nombre d'équipes exportées
+     * @throws IOException si erreur d'écriture du flux ou du cache
+     * @throws DocumentException si erreur de construction du document
+     * @throws DAOException si erreur lors de la lecture des équipes
+     * @throws CancellationException si le thread a été interrompu
+     */
+    public int exporterAvecCache(Tournoi tournoi, OutputStream out, IntConsumer progression)
+            throws IOException, DocumentException {
+        CacheExports cache = CacheExports.getInstance();
+        EmpreinteExport avant = empreinte(tournoi);
+        if (cache.copierVers(avant.getValeur(), out)) {
+            if (progression != null) {
+                progression.accept(avant.getNbEquipes());
+            }
+            return avant.getNbEquipes();
+        }
+
+        // Le document est rangé sous l'empreinte des données effectivement écrites,
+        // qui peuvent avoir changé depuis le premier calcul
+        EmpreinteExport pendant = new EmpreinteExport(tournoi);
+        Path temporaire = cache.fichierTemporaire();
+        try {
+            int nombre;
+            try (OutputStream tampon = new BufferedOutputStream(Files.newOutputStream(temporaire))) {
+                nombre = ecrire(tournoi, tampon, progression, pendant);
+            }
+            Path document = cache.stocker(pendant.getValeur(), temporaire);
+            Files.copy(document, out);
+            return nombre;
+        } finally {
+            Files.deleteIfExists(temporaire);
+        }
+    }
+
+    private int ecrire(Tournoi tournoi, OutputStream out, IntConsumer progression, EmpreinteExport empreinte)
+            throws DocumentException {
+        Document document = new Document(PageSize.A4);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+        try {
+            ecrireEntete(document, tournoi);
+
+            PdfPTable tableau = ModelesPdf.tableauEquipes();
+            int nombre;
+            try {
+                nombre = dao().parcourirEquipesInscrites(tournoi, taillePage, (rang, equipe) -> {
+                    ajouterEquipe(tableau, rang, equipe);
+                    if (empreinte != null) {
+                        empreinte.ajouterEquipe(rang, equipe);
+                    }
+                    if (rang % taillePage == 0) {
+                        ajouter(document, tableau);
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new CancellationException("Export du tournoi " + tournoi.getNom() + " annulé");
+                        }
+                        if (progression != null) {
+                            progression.accept(rang);
+                        }
+                    }
+                });
+            } catch (ExceptionConverter e) {
+                if (e.getException() instanceof DocumentException) {
+                    throw (DocumentException) e.getException();
+                }
+                throw e;
+            }
+            tableau.setComplete(true);
+            document.add(tableau);
+            if (progression != null) {
+                progression.accept(nombre);
+            }
+            if (nombre == 0) {
+                document.add(new Paragraph("Aucune équipe inscrite.", StylesPdf.NORMAL));
+            }
+            return nombre;
+        } finally {
+            document.close();
+        }
+    }
+
+    private void ecrireEntete(Document document, Tournoi tournoi) throws DocumentException {
+        Paragraph titre = new Paragraph("Tournoi : " + tournoi.getNom(), StylesPdf.TITRE);
+        titre.setSpacingAfter(20f);
+        document.add(titre);
+
+        Paragraph lieu = new Paragraph("Lieu : " + tournoi.getLieu(), StylesPdf.NORMAL);
+        lieu.setSpacingAfter(10f);
+        document.add(lieu);
+
+        if (tournoi.getDateDebut() != null && tournoi.getDateFin() != null) {
+            Paragraph dates = new Paragraph("Dates : " + tournoi.getDateDebut().format(FORMAT_DATE)
+                    + " - " + tournoi.getDateFin().format(FORMAT_DATE), StylesPdf.NORMAL);
+            dates.setSpacingAfter(10f);
+            document.add(dates);
+        }
+
+        Paragraph infos = new Paragraph("Format : " + tournoi.getFormat() + " | Statut : " + tournoi.getStatut()
+                + " | Prize Pool : " + tournoi.getPrixPool() + "€", StylesPdf.NORMAL);
+        infos.setSpacingAfter(20f);
+        document.add(infos);
+    }
+
+    private static void ajouterEquipe(PdfPTable tableau, int rang, Equipe equipe) {
+        tableau.addCell(ModelesPdf.celluleEquipe(rang, equipe));
+
+        for (Joueur joueur : equipe.getJoueurs()) {
+            tableau.addCell("");
+            tableau.addCell(new Phrase(joueur.getPseudo(), StylesPdf.CELLULE));
+            tableau.addCell(new Phrase(joueur.getNom(), StylesPdf.CELLULE));
+            tableau.addCell(new Phrase(joueur.getPrenom(), StylesPdf.CELLULE));
+        }
+    }
+
+    /**
+     * Ajoute le tableau incomplet au document, ce qui écrit ses lignes terminées.
+     * Appelé depuis le parcours DAO, qui n'accepte pas d'exception vérifiée.
+     */
+    private static void ajouter(Document document, PdfPTable tableau) {
+        try {
+            document.add(tableau);
+        } catch (DocumentException e) {
+            throw new ExceptionConverter(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfWriter;
+import fr.tournois.model.Joueur;
+
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Fiche PDF d'un joueur (une ligne avec ses informations principales).
+ */
+public final class FicheJoueurPdf {
+
+    private FicheJoueurPdf() {
+    }
+
+    /**
+     * Écrit la fiche du joueur dans le flux, sans le fermer.
+     * @param joueur le joueur
+     * @param out le flux de destination
+     * @throws DocumentException si erreur de construction du PDF
+     */
+    public static void ecrire(Joueur joueur, OutputStream out) throws DocumentException {
+        if (joueur == null) {
+            throw new IllegalArgumentException("Le joueur ne peut pas être null.");
+        }
+        Document document = new Document();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+        try {
+            document.addTitle("Fiche Joueur : " + joueur.getPseudo());
+            document.newPage();
+
+            StringBuilder joueurInfo = new StringBuilder();
+            joueurInfo.append("Pseudo : ").append(joueur.getPseudo());
+            joueurInfo.append(", Nom : ").append(joueur.getNom());
+            joueurInfo.append(", Prénom : ").append(joueur.getPrenom());
+            joueurInfo.append(", Date Naissance : ").append(formaterDate(joueur.getDateNaissance()));
+            if (joueur.getEquipe() != null && joueur.getEquipe().getNom() != null) {
+                joueurInfo.append(", Équipe : ").append(joueur.getEquipe().getNom());
+            } else {
+                joueurInfo.append(", Équipe : Aucune");
+            }
+            document.add(new Paragraph(joueurInfo.toString(), StylesPdf.NORMAL));
+        } finally {
+            document.close();
+        }
+    }
+
+    private static String formaterDate(Date date) {
+        if (date == null) {
+            return "N/A";
+        }
+        if (date instanceof java.sql.Date) {
+            return ((java.sql.Date) date).toLocalDate().toString();
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toString();
+    }
+}
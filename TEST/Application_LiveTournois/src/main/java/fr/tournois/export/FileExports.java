@@ -0,0 +1,108 @@
+package fr.tournois.export;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File des exports lancés depuis l'interface.
+ *
+ * Les exports sont exécutés en arrière-plan par un nombre borné de threads :
+ * les suivants attendent dans la file. Chaque tâche expose son état et son
+ * avancement, et peut être annulée ; les écouteurs (le panneau des exports de
+ * la fenêtre principale) sont prévenus de chaque changement, depuis le thread
+ * qui l'a provoqué.
+ */
+public class FileExports {
+
+    /** Nombre d'exports exécutés simultanément. */
+    public static final int NB_TRAVAILLEURS = 2;
+
+    /**
+     * Écouteur des changements des tâches.
+     */
+    @FunctionalInterface
+    public interface Ecouteur {
+        void tacheModifiee(TacheExport tache);
+    }
+
+    private static FileExports instance;
+
+    private final ExecutorService travailleurs;
+    private final List<TacheExport> taches = new CopyOnWriteArrayList<>();
+    private final List<Ecouteur> ecouteurs = new CopyOnWriteArrayList<>();
+    private final AtomicInteger prochainId = new AtomicInteger();
+
+    /**
+     * Constructeur
+     * @param nbTravailleurs nombre d'exports exécutés simultanément
+     */
+    FileExports(int nbTravailleurs) {
+        AtomicInteger numero = new AtomicInteger();
+        this.travailleurs = Executors.newFixedThreadPool(nbTravailleurs, tache -> {
+            Thread thread = new Thread(tache, "file-exports-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retourne l'instance unique de la file
+     * @return la file des exports
+     */
+    public static synchronized FileExports getInstance() {
+        if (instance == null) {
+            instance = new FileExports(NB_TRAVAILLEURS);
+        }
+        return instance;
+    }
+
+    /**
+     * Ajoute un export à la file.
+     * @param libelle libellé affiché dans le panneau des exports
+     * @param travail l'export à exécuter
+     * @return la tâche créée
+     */
+    public TacheExport soumettre(String libelle, TacheExport.Travail travail) {
+        TacheExport tache = new TacheExport(prochainId.incrementAndGet(), libelle, travail, this);
+        taches.add(tache);
+        notifier(tache);
+        // La tâche connaît son Future avant de démarrer, pour pouvoir être interrompue
+        FutureTask<Void> future = new FutureTask<>(tache::executer, null);
+        tache.setFuture(future);
+        travailleurs.execute(future);
+        return tache;
+    }
+
+    /**
+     * @return les tâches de la file, dans l'ordre de soumission
+     */
+    public List<TacheExport> getTaches() {
+        return new ArrayList<>(taches);
+    }
+
+    /**
+     * Retire de la liste les tâches terminées, en échec ou annulées.
+     */
+    public void retirerTerminees() {
+        taches.removeIf(tache -> tache.getEtat().isFinal());
+    }
+
+    public void ajouterEcouteur(Ecouteur ecouteur) {
+        ecouteurs.add(ecouteur);
+    }
+
+    public void retirerEcouteur(Ecouteur ecouteur) {
+        ecouteurs.remove(ecouteur);
+    }
+
+    void notifier(TacheExport tache) {
+        for (Ecouteur ecouteur : ecouteurs) {
+            ecouteur.tacheModifiee(tache);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.ExceptionConverter;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import fr.tournois.model.Equipe;
+
+/**
+ * Éléments de mise en page précalculés des exports PDF.
+ *
+ * Le tableau des équipes (largeurs, ligne d'en-tête) et le modèle de cellule
+ * d'équipe sont construits une seule fois ; chaque document en utilise une
+ * copie ({@code PdfPTable} et {@code PdfPCell} ont des constructeurs de copie),
+ * sans refaire la mise en forme.
+ */
+public final class ModelesPdf {
+
+    /** Largeurs relatives des colonnes du tableau des équipes : rang, pseudo, nom, prénom. */
+    static final float[] LARGEURS_EQUIPES = {1f, 4f, 4f, 4f};
+
+    private static final PdfPTable TABLEAU_EQUIPES = creerTableauEquipes();
+    private static final PdfPCell CELLULE_EQUIPE = creerCelluleEquipe();
+
+    private ModelesPdf() {
+    }
+
+    /**
+     * Crée le tableau des équipes en mode « large » : les lignes déjà ajoutées au
+     * document sont libérées, et l'en-tête est répété sur chaque page.
+     * @return une copie du modèle, prête à recevoir les lignes
+     */
+    public static PdfPTable tableauEquipes() {
+        PdfPTable tableau = new PdfPTable(TABLEAU_EQUIPES);
+        tableau.setComplete(false);
+        return tableau;
+    }
+
+    /**
+     * Crée la ligne de titre d'une équipe (logo s'il est disponible, rang, nom, tag et pays).
+     * @param rang rang de l'équipe dans le document
+     * @param equipe l'équipe
+     * @return la cellule, sur toute la largeur du tableau
+     */
+    public static PdfPCell celluleEquipe(int rang, Equipe equipe) {
+        Phrase titre = new Phrase();
+        Image logo = CacheLogos.getInstance().getLogo(equipe.getLogo());
+        if (logo != null) {
+            // Le Chunk copie l'image partagée (les données décodées restent communes)
+            titre.add(new Chunk(logo, 0, -3, true));
+            titre.add(new Chunk("  ", StylesPdf.CELLULE_EQUIPE));
+        }
+        titre.add(new Chunk(rang + ". " + equipe.getNom() + " [" + equipe.getTag() + "] - " + equipe.getPays(),
+                StylesPdf.CELLULE_EQUIPE));
+        PdfPCell cellule = new PdfPCell(CELLULE_EQUIPE);
+        cellule.setPhrase(titre);
+        return cellule;
+    }
+
+    private static PdfPTable creerTableauEquipes() {
+        PdfPTable tableau = new PdfPTable(LARGEURS_EQUIPES.length);
+        tableau.setWidthPercentage(100f);
+        try {
+            tableau.setWidths(LARGEURS_EQUIPES);
+        } catch (DocumentException e) {
+            throw new ExceptionConverter(e);
+        }
+        tableau.setHeaderRows(1);
+        for (String titre : new String[] {"#", "Pseudo", "Nom", "Prénom"}) {
+            PdfPCell cellule = new PdfPCell(new Phrase(titre, StylesPdf.ENTETE_TABLEAU));
+            cellule.setBackgroundColor(StylesPdf.FOND_ENTETE);
+            cellule.setPadding(4f);
+            tableau.addCell(cellule);
+        }
+        tableau.getDefaultCell().setPadding(3f);
+        return tableau;
+    }
+
+    private static PdfPCell creerCelluleEquipe() {
+        PdfPCell cellule = new PdfPCell();
+        cellule.setColspan(LARGEURS_EQUIPES.length);
+        cellule.setBackgroundColor(StylesPdf.FOND_EQUIPE);
+        cellule.setPadding(4f);
+        return cellule;
+    }
+}
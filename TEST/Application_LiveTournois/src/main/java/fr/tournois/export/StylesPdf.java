@@ -0,0 +1,42 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.ExceptionConverter;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.BaseFont;
+
+import java.io.IOException;
+
+/**
+ * Polices et couleurs partagées par les exports PDF.
+ * Les polices de base sont chargées une seule fois, et les {@link Font} qui en
+ * dérivent sont créées au chargement de la classe puis réutilisées pour toutes
+ * les lignes de tous les documents (elles ne doivent pas être modifiées).
+ */
+public final class StylesPdf {
+
+    public static final BaseFont HELVETICA = policeDeBase(BaseFont.HELVETICA);
+    public static final BaseFont HELVETICA_GRAS = policeDeBase(BaseFont.HELVETICA_BOLD);
+
+    public static final Font TITRE = new Font(HELVETICA_GRAS, 20);
+    public static final Font NORMAL = new Font(HELVETICA, 12);
+    public static final Font EQUIPE = new Font(HELVETICA_GRAS, 14);
+    public static final Font ENTETE_TABLEAU = new Font(HELVETICA_GRAS, 10, Font.NORMAL, BaseColor.WHITE);
+    public static final Font CELLULE = new Font(HELVETICA, 10);
+    public static final Font CELLULE_EQUIPE = new Font(HELVETICA_GRAS, 11);
+
+    public static final BaseColor FOND_ENTETE = new BaseColor(52, 73, 94);
+    public static final BaseColor FOND_EQUIPE = new BaseColor(230, 234, 238);
+
+    private StylesPdf() {
+    }
+
+    private static BaseFont policeDeBase(String nom) {
+        try {
+            return BaseFont.createFont(nom, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        } catch (DocumentException | IOException e) {
+            throw new ExceptionConverter(e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package fr.tournois.export;
+
+import fr.tournois.dao.ContexteRequetes;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * Tâche d'export placée dans la {@link FileExports}.
+ *
+ * L'état, l'avancement et le message sont mis à jour par le thread de travail
+ * et lus par l'interface : chaque changement est signalé aux écouteurs de la file.
+ * Les requêtes du travail ont le délai des rapports et sont interrompues
+ * ({@code Statement.cancel()}) par l'annulation de la tâche.
+ */
+public class TacheExport {
+
+    /**
+     * État d'une tâche d'export.
+     */
+    public enum Etat {
+        EN_ATTENTE("En attente"),
+        EN_COURS("En cours"),
+        TERMINEE("Terminée"),
+        ECHOUEE("Échec"),
+        ANNULEE("Annulée");
+
+        private final String libelle;
+
+        Etat(String libelle) {
+            this.libelle = libelle;
+        }
+
+        public String getLibelle() {
+            return libelle;
+        }
+
+        /** @return true si la tâche ne changera plus d'état */
+        public boolean isFinal() {
+            return this == TERMINEE || this == ECHOUEE || this == ANNULEE;
+        }
+    }
+
+    /**
+     * Suivi de l'avancement transmis au travail.
+     */
+    @FunctionalInterface
+    public interface Suivi {
+        /**
+         * @param avancement fraction réalisée (0 à 1), négative si inconnue
+         * @param message description de l'étape en cours
+         */
+        void avancer(double avancement, String message);
+    }
+
+    /**
+     * Travail d'export exécuté par un thread de la file.
+     * Le travail doit s'arrêter lorsque son thread est interrompu.
+     */
+    @FunctionalInterface
+    public interface Travail {
+        /**
+         * @param suivi suivi de l'avancement
+         * @return le message affiché à la fin de l'export
+         * @throws Exception si l'export échoue
+         */
+        String executer(Suivi suivi) throws Exception;
+    }
+
+    private final int id;
+    private final String libelle;
+    private final Travail travail;
+    private final FileExports file;
+    private final ContexteRequetes requetes = ContexteRequetes.rapport();
+
+    private volatile Etat etat = Etat.EN_ATTENTE;
+    private volatile double avancement = -1;
+    private volatile String message = "";
+    private volatile boolean annulationDemandee;
+    private Future<?> future;
+
+    TacheExport(int id, String libelle, Travail travail, FileExports file) {
+        this.id = id;
+        this.libelle = libelle;
+        this.travail = travail;
+        this.file = file;
+    }
+
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Exécute le travail (appelé par un thread de la file).
+     */
+    void executer() {
+        synchronized (this) {
+            if (etat != Etat.EN_ATTENTE) {
+                return;
+            }
+            etat = Etat.EN_COURS;
+        }
+        file.notifier(this);
+        Etat fin;
+        String resultat;
+        try {
+            resultat = requetes.executer(() -> travail.executer(this::avancer));
+            fin = annulationDemandee ? Etat.ANNULEE : Etat.TERMINEE;
+        } catch (InterruptedException | CancellationException e) {
+            fin = Etat.ANNULEE;
+            resultat = "";
+        } catch (Exception e) {
+            fin = annulationDemandee ? Etat.ANNULEE : Etat.ECHOUEE;
+            resultat = e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+        synchronized (this) {
+            etat = fin;
+            message = fin == Etat.ANNULEE ? "Export annulé" : resultat;
+            if (fin == Etat.TERMINEE) {
+                avancement = 1;
+            }
+        }
+        file.notifier(this);
+    }
+
+    private void avancer(double avancement, String message) {
+        this.avancement = avancement;
+        this.message = message;
+        file.notifier(this);
+    }
+
+    /**
+     * Annule la tâche : retirée de la file si elle n'a pas commencé,
+     * interrompue sinon.
+     * @return true si l'annulation a été prise en compte
+     */
+    public boolean annuler() {
+        synchronized (this) {
+            if (etat == Etat.EN_ATTENTE) {
+                etat = Etat.ANNULEE;
+                message = "Export annulé";
+                if (future != null) {
+                    future.cancel(false);
+                }
+            } else if (etat == Etat.EN_COURS) {
+                annulationDemandee = true;
+                message = "Annulation...";
+                if (future != null) {
+                    future.cancel(true);
+                }
+            } else {
+                return false;
+            }
+        }
+        if (annulationDemandee) {
+            // Hors du verrou : cancel() dialogue avec la base
+            requetes.annuler();
+        }
+        file.notifier(this);
+        return true;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLibelle() {
+        return libelle;
+    }
+
+    public Etat getEtat() {
+        return etat;
+    }
+
+    /** @return la fraction réalisée (0 à 1), négative si inconnue */
+    public double getAvancement() {
+        return avancement;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
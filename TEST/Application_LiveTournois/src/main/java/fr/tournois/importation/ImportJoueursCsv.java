@@ -0,0 +1,305 @@
+package fr.tournois.importation;
+
+import fr.tournois.dao.DAOException;
+import fr.tournois.dao.EquipeDAO;
+import fr.tournois.dao.JoueurDAO;
+import fr.tournois.dao.UnitOfWork;
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Joueur;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Import en flux des effectifs envoyés par les équipes (fichier CSV, une ligne par joueur).
+ *
+ * Colonnes reconnues (en-tête obligatoire, ordre libre, casse et accents ignorés) :
+ * {@code equipe}, {@code pseudo}, {@code nom}, {@code prenom} (obligatoires),
+ * {@code tag}, {@code pays}, {@code date_naissance} (ou « date de naissance »), {@code nationalite},
+ * {@code email}, {@code role}.
+ *
+ * Le fichier est lu ligne par ligne ; chaque ligne est validée, son équipe est
+ * retrouvée par son nom (ou créée), puis les joueurs sont insérés par lots de
+ * {@link #TAILLE_LOT} dans une seule transaction. Les lignes invalides sont
+ * signalées dans le {@link RapportImport} : selon le mode choisi, elles sont
+ * ignorées ou annulent tout l'import.
+ */
+public class ImportJoueursCsv {
+
+    /** Nombre de joueurs insérés par aller-retour avec la base. */
+    public static final int TAILLE_LOT = 1000;
+
+    private static final DateTimeFormatter[] FORMATS_DATE = {
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT),
+            DateTimeFormatter.ISO_LOCAL_DATE
+    };
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    /**
+     * Suivi de l'avancement, appelé après chaque lot.
+     */
+    @FunctionalInterface
+    public interface Progression {
+        void avancer(int lignesLues);
+    }
+
+    /**
+     * Position des colonnes dans le fichier (-1 si absente).
+     */
+    static final class Entete {
+        final int equipe;
+        final int tag;
+        final int pays;
+        final int pseudo;
+        final int nom;
+        final int prenom;
+        final int dateNaissance;
+        final int nationalite;
+        final int email;
+        final int role;
+
+        Entete(String[] colonnes) {
+            String[] noms = new String[colonnes.length];
+            for (int i = 0; i < colonnes.length; i++) {
+                noms[i] = normaliser(colonnes[i]);
+            }
+            equipe = position(noms, "equipe");
+            tag = position(noms, "tag");
+            pays = position(noms, "pays");
+            pseudo = position(noms, "pseudo");
+            nom = position(noms, "nom");
+            prenom = position(noms, "prenom");
+            dateNaissance = position(noms, "date_naissance", "date_de_naissance", "naissance");
+            nationalite = position(noms, "nationalite");
+            email = position(noms, "email");
+            role = position(noms, "role");
+
+            List<String> manquantes = new ArrayList<>();
+            if (equipe < 0) manquantes.add("equipe");
+            if (pseudo < 0) manquantes.add("pseudo");
+            if (nom < 0) manquantes.add("nom");
+            if (prenom < 0) manquantes.add("prenom");
+            if (!manquantes.isEmpty()) {
+                throw new IllegalArgumentException("Colonnes obligatoires absentes de l'en-tête : " + manquantes);
+            }
+        }
+
+        private static int position(String[] noms, String... colonnes) {
+            for (String colonne : colonnes) {
+                for (int i = 0; i < noms.length; i++) {
+                    if (noms[i].equals(colonne)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static String normaliser(String colonne) {
+            return Normalizer.normalize(colonne.trim(), Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toLowerCase()
+                    .replaceAll("[\\s-]+", "_");
+        }
+    }
+
+    private final Connection connection;
+    private final JoueurDAO joueurDAO;
+    private final EquipeDAO equipeDAO;
+
+    /**
+     * Constructeur
+     * @param connection connexion à la base de données à utiliser, hors auto-commit ; depuis un
+     *                   thread de fond, une connexion dédiée (l'import y garde sa transaction ouverte)
+     */
+    public ImportJoueursCsv(Connection connection) {
+        this.connection = connection;
+        this.joueurDAO = new JoueurDAO(connection);
+        this.equipeDAO = new EquipeDAO(connection);
+    }
+
+    /**
+     * Importe le fichier.
+     * @param source le contenu CSV (fermé à la fin de l'import)
+     * @param ignorerLignesInvalides true pour importer les lignes valides malgré les erreurs,
+     *                               false pour ne rien enregistrer s'il y a au moins une erreur
+     * @param progression suivi de l'avancement (peut être null)
+     * @return le bilan de l'import
+     * @throws IOException si erreur de lecture du fichier
+     * @throws IllegalArgumentException si l'en-tête est absent ou incomplet
+     * @throws DAOException si erreur d'accès à la base (rien n'est alors enregistré)
+     */
+    public RapportImport importer(Reader source, boolean ignorerLignesInvalides, Progression progression)
+            throws IOException {
+        RapportImport rapport = new RapportImport();
+        try (LecteurCsv lecteur = new LecteurCsv(source);
+             UnitOfWork uow = UnitOfWork.begin(connection)) {
+            String[] colonnes = lecteur.lire();
+            if (colonnes == null) {
+                throw new IllegalArgumentException("Le fichier est vide");
+            }
+            Entete entete = new Entete(colonnes);
+            Map<String, Integer> equipes = equipeDAO.getIdsParNom();
+            Set<String> pseudosVus = new HashSet<>();
+            List<Joueur> lot = new ArrayList<>(TAILLE_LOT);
+
+            String[] champs;
+            while ((champs = lecteur.lire()) != null) {
+                rapport.ligneLue();
+                int ligne = lecteur.getNumeroLigne();
+                Joueur joueur;
+                try {
+                    joueur = convertir(entete, champs);
+                } catch (IllegalArgumentException e) {
+                    rapport.ajouterErreur(ligne, e.getMessage());
+                    continue;
+                }
+                String cleEquipe = joueur.getEquipe().getNom().toLowerCase();
+                if (!pseudosVus.add(cleEquipe + '\n' + joueur.getPseudo().toLowerCase())) {
+                    rapport.ajouterErreur(ligne, "Pseudo '" + joueur.getPseudo() + "' en double dans l'équipe "
+                            + joueur.getEquipe().getNom());
+                    continue;
+                }
+                if (rapport.getNbErreurs() > 0 && !ignorerLignesInvalides) {
+                    // L'import sera annulé : on continue seulement pour signaler toutes les erreurs
+                    continue;
+                }
+                Integer idEquipe = equipes.get(cleEquipe);
+                if (idEquipe == null) {
+                    equipeDAO.create(joueur.getEquipe());
+                    idEquipe = joueur.getEquipe().getId();
+                    equipes.put(cleEquipe, idEquipe);
+                    rapport.equipeCreee();
+                }
+                joueur.setEquipeId(idEquipe);
+                lot.add(joueur);
+                if (lot.size() == TAILLE_LOT) {
+                    rapport.joueursImportes(joueurDAO.ajouterJoueursParLot(lot));
+                    lot.clear();
+                    if (progression != null) {
+                        progression.avancer(rapport.getLignesLues());
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        // Fermeture de l'unité de travail sans commit : tout est annulé
+                        rapport.setAnnule(true);
+                        return rapport;
+                    }
+                }
+            }
+
+            if (rapport.getNbErreurs() > 0 && !ignorerLignesInvalides) {
+                rapport.setAnnule(true);
+                return rapport;
+            }
+            rapport.joueursImportes(joueurDAO.ajouterJoueursParLot(lot));
+            uow.commit();
+            if (progression != null) {
+                progression.avancer(rapport.getLignesLues());
+            }
+            return rapport;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors de l'import des joueurs: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Valide une ligne et la convertit en joueur. L'équipe du joueur n'a
+     * qu'un nom (et éventuellement tag et pays) : elle reste à rattacher.
+     * @param entete position des colonnes
+     * @param champs les champs de la ligne
+     * @return le joueur
+     * @throws IllegalArgumentException avec la liste des problèmes si la ligne est invalide
+     */
+    static Joueur convertir(Entete entete, String[] champs) {
+        List<String> problemes = new ArrayList<>();
+        String nomEquipe = obligatoire(champs, entete.equipe, "equipe", 100, problemes);
+        String pseudo = obligatoire(champs, entete.pseudo, "pseudo", 50, problemes);
+        String nom = obligatoire(champs, entete.nom, "nom", 50, problemes);
+        String prenom = obligatoire(champs, entete.prenom, "prenom", 50, problemes);
+        String tag = facultatif(champs, entete.tag, "tag", 10, problemes);
+        String pays = facultatif(champs, entete.pays, "pays", 50, problemes);
+        String nationalite = facultatif(champs, entete.nationalite, "nationalite", 50, problemes);
+        String email = facultatif(champs, entete.email, "email", 100, problemes);
+        String role = facultatif(champs, entete.role, "role", 50, problemes);
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            problemes.add("email invalide '" + email + "'");
+        }
+        Date dateNaissance = null;
+        String date = facultatif(champs, entete.dateNaissance, "date_naissance", 10, problemes);
+        if (date != null) {
+            LocalDate jour = lireDate(date);
+            if (jour == null || jour.isAfter(LocalDate.now())) {
+                problemes.add("date de naissance invalide '" + date + "' (attendu jj/mm/aaaa)");
+            } else {
+                dateNaissance = Date.from(jour.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            }
+        }
+        if (!problemes.isEmpty()) {
+            throw new IllegalArgumentException(String.join(", ", problemes));
+        }
+
+        Equipe equipe = new Equipe();
+        equipe.setNom(nomEquipe);
+        equipe.setTag(tag);
+        equipe.setPays(pays);
+        equipe.setDateCreation(LocalDate.now());
+        Joueur joueur = new Joueur();
+        joueur.setPseudo(pseudo);
+        joueur.setNom(nom);
+        joueur.setPrenom(prenom);
+        joueur.setDateNaissance(dateNaissance);
+        joueur.setNationalite(nationalite);
+        joueur.setEmail(email);
+        joueur.setRole(role);
+        joueur.setEquipe(equipe);
+        return joueur;
+    }
+
+    private static String obligatoire(String[] champs, int colonne, String nom, int longueurMax, List<String> problemes) {
+        String valeur = facultatif(champs, colonne, nom, longueurMax, problemes);
+        if (valeur == null) {
+            problemes.add(nom + " obligatoire");
+        }
+        return valeur;
+    }
+
+    private static String facultatif(String[] champs, int colonne, String nom, int longueurMax, List<String> problemes) {
+        if (colonne < 0 || colonne >= champs.length) {
+            return null;
+        }
+        String valeur = champs[colonne].trim();
+        if (valeur.isEmpty()) {
+            return null;
+        }
+        if (valeur.length() > longueurMax) {
+            problemes.add(nom + " trop long (" + longueurMax + " caractères maximum)");
+        }
+        return valeur;
+    }
+
+    private static LocalDate lireDate(String texte) {
+        for (DateTimeFormatter format : FORMATS_DATE) {
+            try {
+                return LocalDate.parse(texte, format);
+            } catch (DateTimeParseException e) {
+                // format suivant
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+package fr.tournois.importation;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture en flux d'un fichier CSV, enregistrement par enregistrement.
+ *
+ * Le séparateur (virgule, point-virgule comme dans les exports Excel français,
+ * ou tabulation) est déduit de la première ligne. Les champs entre guillemets
+ * peuvent contenir le séparateur, des guillemets doublés ({@code ""}) et des
+ * retours à la ligne. Une seule ligne est gardée en mémoire à la fois.
+ */
+public class LecteurCsv implements Closeable {
+
+    private final BufferedReader lecteur;
+    private char separateur;
+    private int ligneCourante;
+    private int debutEnregistrement;
+
+    /**
+     * Constructeur
+     * @param source le contenu CSV
+     */
+    public LecteurCsv(Reader source) {
+        this.lecteur = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+    }
+
+    /**
+     * Lit l'enregistrement suivant. Les lignes vides sont ignorées.
+     * @return les champs de l'enregistrement, null à la fin du fichier
+     * @throws IOException si erreur de lecture, ou guillemet non fermé en fin de fichier
+     */
+    public String[] lire() throws IOException {
+        String ligne;
+        do {
+            ligne = lecteur.readLine();
+            if (ligne == null) {
+                return null;
+            }
+            ligneCourante++;
+        } while (ligne.trim().isEmpty());
+
+        if (separateur == 0) {
+            if (!ligne.isEmpty() && ligne.charAt(0) == '\uFEFF') {
+                ligne = ligne.substring(1);
+            }
+            separateur = deduireSeparateur(ligne);
+        }
+        debutEnregistrement = ligneCourante;
+
+        List<String> champs = new ArrayList<>();
+        StringBuilder champ = new StringBuilder();
+        boolean entreGuillemets = false;
+        int i = 0;
+        while (true) {
+            if (i == ligne.length()) {
+                if (!entreGuillemets) {
+                    break;
+                }
+                // Retour à la ligne dans un champ entre guillemets
+                ligne = lecteur.readLine();
+                if (ligne == null) {
+                    throw new IOException("Guillemet non fermé (enregistrement commençant ligne " + debutEnregistrement + ")");
+                }
+                ligneCourante++;
+                champ.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = ligne.charAt(i++);
+            if (entreGuillemets) {
+                if (c == '"') {
+                    if (i < ligne.length() && ligne.charAt(i) == '"') {
+                        champ.append('"');
+                        i++;
+                    } else {
+                        entreGuillemets = false;
+                    }
+                } else {
+                    champ.append(c);
+                }
+            } else if (c == '"' && champ.length() == 0) {
+                entreGuillemets = true;
+            } else if (c == separateur) {
+                champs.add(champ.toString());
+                champ.setLength(0);
+            } else {
+                champ.append(c);
+            }
+        }
+        champs.add(champ.toString());
+        return champs.toArray(new String[0]);
+    }
+
+    /**
+     * @return le numéro (à partir de 1) de la première ligne du dernier enregistrement lu
+     */
+    public int getNumeroLigne() {
+        return debutEnregistrement;
+    }
+
+    /**
+     * @return le séparateur utilisé (0 tant que rien n'a été lu)
+     */
+    public char getSeparateur() {
+        return separateur;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lecteur.close();
+    }
+
+    /**
+     * Choisit le séparateur le plus fréquent hors guillemets parmi ';', ',' et tabulation.
+     */
+    static char deduireSeparateur(String ligne) {
+        int pointsVirgules = 0;
+        int virgules = 0;
+        int tabulations = 0;
+        boolean entreGuillemets = false;
+        for (int i = 0; i < ligne.length(); i++) {
+            char c = ligne.charAt(i);
+            if (c == '"') {
+                entreGuillemets = !entreGuillemets;
+            } else if (!entreGuillemets) {
+                if (c == ';') {
+                    pointsVirgules++;
+                } else if (c == ',') {
+                    virgules++;
+                } else if (c == '\t') {
+                    tabulations++;
+                }
+            }
+        }
+        if (tabulations > pointsVirgules && tabulations > virgules) {
+            return '\t';
+        }
+        return pointsVirgules >= virgules && pointsVirgules > 0 ? ';' : ',';
+    }
+}
@@ -0,0 +1,102 @@
+package fr.tournois.importation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'un import : compteurs et erreurs ligne par ligne.
+ * Seules les {@link #MAX_ERREURS_DETAILLEES} premières erreurs sont détaillées,
+ * mais toutes sont comptées.
+ */
+public class RapportImport {
+
+    /** Nombre maximal d'erreurs gardées avec leur message. */
+    public static final int MAX_ERREURS_DETAILLEES = 1000;
+
+    /**
+     * Erreur sur une ligne du fichier.
+     */
+    public static final class ErreurLigne {
+        private final int ligne;
+        private final String message;
+
+        ErreurLigne(int ligne, String message) {
+            this.ligne = ligne;
+            this.message = message;
+        }
+
+        public int getLigne() {
+            return ligne;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Ligne " + ligne + " : " + message;
+        }
+    }
+
+    private final List<ErreurLigne> erreurs = new ArrayList<>();
+    private int nbErreurs;
+    private int lignesLues;
+    private int joueursImportes;
+    private int equipesCreees;
+    private boolean annule;
+
+    void ajouterErreur(int ligne, String message) {
+        nbErreurs++;
+        if (erreurs.size() < MAX_ERREURS_DETAILLEES) {
+            erreurs.add(new ErreurLigne(ligne, message));
+        }
+    }
+
+    void ligneLue() {
+        lignesLues++;
+    }
+
+    void joueursImportes(int nombre) {
+        joueursImportes += nombre;
+    }
+
+    void equipeCreee() {
+        equipesCreees++;
+    }
+
+    void setAnnule(boolean annule) {
+        this.annule = annule;
+    }
+
+    /** @return le nombre de lignes de données lues (en-tête exclu) */
+    public int getLignesLues() {
+        return lignesLues;
+    }
+
+    /** @return le nombre de joueurs enregistrés (0 si l'import a été annulé) */
+    public int getJoueursImportes() {
+        return annule ? 0 : joueursImportes;
+    }
+
+    /** @return le nombre d'équipes créées (0 si l'import a été annulé) */
+    public int getEquipesCreees() {
+        return annule ? 0 : equipesCreees;
+    }
+
+    /** @return le nombre total de lignes en erreur */
+    public int getNbErreurs() {
+        return nbErreurs;
+    }
+
+    /** @return les premières erreurs, dans l'ordre du fichier */
+    public List<ErreurLigne> getErreurs() {
+        return Collections.unmodifiableList(erreurs);
+    }
+
+    /** @return true si rien n'a été enregistré (erreurs en mode tout ou rien) */
+    public boolean isAnnule() {
+        return annule;
+    }
+}
@@ -1,6 +1,7 @@
 package fr.tournois.model;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 /**
  * Représente une affectation d'un membre du staff à un tournoi.
@@ -53,4 +54,17 @@ public class Affectation {
     public void setDateFin(LocalDateTime dateFin) {
         this.dateFin = dateFin;
     }
+
+    /**
+     * Fin exclusive de la période, pour les calculs de chevauchement. Les écrans
+     * saisissent des dates sans heure (enregistrées à minuit) : une telle fin
+     * couvre toute la journée et vaut donc le lendemain à minuit.
+     * @return la fin exclusive, null si la date de fin n'est pas renseignée
+     */
+    public LocalDateTime getFinEffective() {
+        if (dateFin == null) {
+            return null;
+        }
+        return dateFin.toLocalTime().equals(LocalTime.MIDNIGHT) ? dateFin.plusDays(1) : dateFin;
+    }
 }
\ No newline at end of file
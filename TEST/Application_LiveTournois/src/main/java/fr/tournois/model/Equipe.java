@@ -18,9 +18,9 @@ public class Equipe {
     private String pays;
     private LocalDate dateCreation;
     private List<Joueur> joueurs;
+    private int version;
 
     public Equipe() {
-        this.joueurs = new ArrayList<>();
     }
 
     public Integer getId() {
@@ -48,6 +48,9 @@ public class Equipe {
     }
 
     public List<Joueur> getJoueurs() {
+        if (joueurs == null) {
+            joueurs = new ArrayList<>();
+        }
         return joueurs;
     }
 
@@ -56,13 +59,13 @@ public class Equipe {
     }
 
     public void addJoueur(Joueur joueur) {
-        if (!this.joueurs.contains(joueur)) {
-            this.joueurs.add(joueur);
+        if (!getJoueurs().contains(joueur)) {
+            getJoueurs().add(joueur);
         }
     }
 
     public void removeJoueur(Joueur joueur) {
-        this.joueurs.remove(joueur);
+        getJoueurs().remove(joueur);
     }
 
     public String getJoueursAsString() {
@@ -97,4 +100,10 @@ public class Equipe {
     public void setLogo(String logo) {
         this.logo = logo;
     }
+    public int getVersion() {
+        return version;
+    }
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ public class Inscription {
     private LocalDateTime dateInscription;
     private String statut;  // Confirmé, En attente, Annulé, etc.
     private int seed;       // Position de tête de série
+    private int version;    // Version de la ligne (contrôle de concurrence optimiste)
 
     // Constructeurs
     /**
@@ -139,6 +140,22 @@ public class Inscription {
         this.seed = seed;
     }
 
+    /**
+     * Retourne la version de la ligne lue en base
+     * @return la version utilisée pour le contrôle de concurrence optimiste
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de la ligne lue en base
+     * @param version la version à définir
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Retourne une représentation textuelle de l'inscription
      * @return une chaîne contenant les informations de l'inscription
@@ -13,6 +13,9 @@ public class Joueur {
     private String pseudo;
     private Date dateNaissance;
     private Equipe equipe;
+    private String nationalite;
+    private String email;
+    private String role;
 
     public Joueur() {}
 
@@ -73,6 +76,30 @@ public class Joueur {
         this.equipe = equipe;
     }
 
+    public String getNationalite() {
+        return nationalite;
+    }
+
+    public void setNationalite(String nationalite) {
+        this.nationalite = nationalite;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
     // ➕ Ajout de méthodes utilitaires
 
     public Integer getEquipeId() {
@@ -0,0 +1,85 @@
+package fr.tournois.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liste d'une association (inscriptions d'un tournoi, joueurs d'une équipe...)
+ * chargée au premier accès.
+ *
+ * Tant qu'elle n'est pas lue, la liste ne contient que son chargeur : aucune
+ * requête, aucune collection allouée. Le premier accès (taille, parcours, ajout...)
+ * appelle le chargeur une seule fois ; la liste se comporte ensuite comme une
+ * {@code ArrayList} modifiable. Le chargeur est fourni par le DAO d'origine, qui
+ * signale lui-même un accès hors session (connexion fermée).
+ *
+ * Comme une {@code ArrayList}, elle n'est pas synchronisée.
+ *
+ * @param <T> type des éléments
+ */
+public final class ListeParesseuse<T> extends AbstractList<T> {
+
+    /**
+     * Lecture des éléments de la liste, appelée au premier accès.
+     * @param <T> type des éléments
+     */
+    @FunctionalInterface
+    public interface Chargeur<T> {
+        List<T> charger();
+    }
+
+    private Chargeur<T> chargeur;
+    private List<T> elements;
+
+    public ListeParesseuse(Chargeur<T> chargeur) {
+        this.chargeur = chargeur;
+    }
+
+    /** @return true si les éléments ont déjà été lus */
+    public boolean estChargee() {
+        return chargeur == null;
+    }
+
+    private List<T> elements() {
+        if (chargeur != null) {
+            // Si le chargement échoue, la liste reste non chargée : un accès ultérieur le retentera
+            elements = new ArrayList<>(chargeur.charger());
+            chargeur = null;
+        }
+        return elements;
+    }
+
+    @Override
+    public T get(int index) {
+        return elements().get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements().size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return elements().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        elements().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T retire = elements().remove(index);
+        modCount++;
+        return retire;
+    }
+
+    @Override
+    public String toString() {
+        return estChargee() ? elements.toString() : "[non chargée]";
+    }
+}
@@ -0,0 +1,128 @@
+package fr.tournois.model;
+
+/**
+ * Représente une rencontre (match) entre deux équipes d'un tournoi.
+ * En phase de groupes, la rencontre appartient à un groupe (A, B, ...) et
+ * à un tour (journée) du calendrier. Les scores restent null tant que
+ * le résultat n'est pas saisi.
+ */
+public class Rencontre {
+    private Integer id;
+    private Tournoi tournoi;
+    private String groupe;
+    private int tour;
+    private Equipe equipeA;
+    private Equipe equipeB;
+    private Integer scoreA;
+    private Integer scoreB;
+    private String statut;  // Planifiée, Terminée
+    private int version;    // Version de la ligne (contrôle de concurrence optimiste)
+
+    public Rencontre() {
+        this.id = null;
+    }
+
+    public Rencontre(Tournoi tournoi, String groupe, int tour, Equipe equipeA, Equipe equipeB) {
+        this.tournoi = tournoi;
+        this.groupe = groupe;
+        this.tour = tour;
+        this.equipeA = equipeA;
+        this.equipeB = equipeB;
+        this.statut = "Planifiée";
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Tournoi getTournoi() {
+        return tournoi;
+    }
+
+    public void setTournoi(Tournoi tournoi) {
+        this.tournoi = tournoi;
+    }
+
+    public String getGroupe() {
+        return groupe;
+    }
+
+    public void setGroupe(String groupe) {
+        this.groupe = groupe;
+    }
+
+    public int getTour() {
+        return tour;
+    }
+
+    public void setTour(int tour) {
+        this.tour = tour;
+    }
+
+    public Equipe getEquipeA() {
+        return equipeA;
+    }
+
+    public void setEquipeA(Equipe equipeA) {
+        this.equipeA = equipeA;
+    }
+
+    public Equipe getEquipeB() {
+        return equipeB;
+    }
+
+    public void setEquipeB(Equipe equipeB) {
+        this.equipeB = equipeB;
+    }
+
+    public Integer getScoreA() {
+        return scoreA;
+    }
+
+    public void setScoreA(Integer scoreA) {
+        this.scoreA = scoreA;
+    }
+
+    public Integer getScoreB() {
+        return scoreB;
+    }
+
+    public void setScoreB(Integer scoreB) {
+        this.scoreB = scoreB;
+    }
+
+    public String getStatut() {
+        return statut;
+    }
+
+    public void setStatut(String statut) {
+        this.statut = statut;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * @return true si le résultat de la rencontre a été saisi
+     */
+    public boolean isJouee() {
+        return scoreA != null && scoreB != null;
+    }
+
+    @Override
+    public String toString() {
+        String nomA = equipeA != null ? equipeA.getNom() : "?";
+        String nomB = equipeB != null ? equipeB.getNom() : "?";
+        String resultat = isJouee() ? " (" + scoreA + " - " + scoreB + ")" : "";
+        return (groupe != null ? "Groupe " + groupe + " - " : "") + "Tour " + tour + " : " + nomA + " vs " + nomB + resultat;
+    }
+}
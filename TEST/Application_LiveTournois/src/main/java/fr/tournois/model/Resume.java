@@ -0,0 +1,49 @@
+package fr.tournois.model;
+
+/**
+ * Résumé d'une entité pour les listes de choix (ComboBox, listes) :
+ * son identifiant, son nom et un détail d'affichage.
+ * L'entité complète n'est chargée qu'une fois l'élément choisi.
+ */
+public class Resume {
+    private final Integer id;
+    private final String nom;
+    private final String detail;
+
+    public Resume(Integer id, String nom, String detail) {
+        this.id = id;
+        this.nom = nom;
+        this.detail = detail;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    /** @return le détail affiché après le nom (tag, genre, date...), null s'il n'y en a pas */
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String toString() {
+        return detail == null || detail.isEmpty() ? nom : nom + " (" + detail + ")";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Resume resume = (Resume) o;
+        return id != null && id.equals(resume.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+}
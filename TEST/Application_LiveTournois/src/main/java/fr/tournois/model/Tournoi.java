@@ -29,17 +29,15 @@ public class Tournoi {
     private List<Inscription> inscriptions;
     private List<Affectation> affectations;
     private List<Equipe> equipes;
+    private int version;    // Version de la ligne (contrôle de concurrence optimiste)
 
     // Constructeurs
     /**
      * Constructeur par défaut.
-     * Initialise les listes d'inscriptions, d'affectations et d'équipes.
-     * Le statut par défaut est "En préparation".
+     * Les listes d'inscriptions, d'affectations et d'équipes ne sont créées
+     * qu'au premier accès. Le statut par défaut est "En préparation".
      */
     public Tournoi() {
-        this.inscriptions = new ArrayList<>();
-        this.affectations = new ArrayList<>();
-        this.equipes = new ArrayList<>();
         this.statut = "En préparation";
     }
 
@@ -248,6 +246,9 @@ public class Tournoi {
      * @return la liste des inscriptions
      */
     public List<Inscription> getInscriptions() {
+        if (inscriptions == null) {
+            inscriptions = new ArrayList<>();
+        }
         return inscriptions;
     }
 
@@ -256,7 +257,7 @@ public class Tournoi {
      * @param inscriptions la liste des inscriptions à définir
      */
     public void setInscriptions(List<Inscription> inscriptions) {
-        this.inscriptions = inscriptions != null ? inscriptions : new ArrayList<>();
+        this.inscriptions = inscriptions;
     }
 
     /**
@@ -264,6 +265,9 @@ public class Tournoi {
      * @return la liste des affectations
      */
     public List<Affectation> getAffectations() {
+        if (affectations == null) {
+            affectations = new ArrayList<>();
+        }
         return affectations;
     }
 
@@ -272,7 +276,7 @@ public class Tournoi {
      * @param affectations la liste des affectations à définir
      */
     public void setAffectations(List<Affectation> affectations) {
-        this.affectations = affectations != null ? affectations : new ArrayList<>();
+        this.affectations = affectations;
     }
 
     /**
@@ -280,6 +284,9 @@ public class Tournoi {
      * @return la liste des équipes
      */
     public List<Equipe> getEquipes() {
+        if (equipes == null) {
+            equipes = new ArrayList<>();
+        }
         return equipes;
     }
 
@@ -288,7 +295,7 @@ public class Tournoi {
      * @param equipes la liste des équipes à définir
      */
     public void setEquipes(List<Equipe> equipes) {
-        this.equipes = equipes != null ? equipes : new ArrayList<>();
+        this.equipes = equipes;
     }
 
     // Méthodes métier
@@ -297,7 +304,7 @@ public class Tournoi {
      * @return true si le nombre maximum d'équipes n'est pas atteint, false sinon
      */
     public boolean peutAjouterEquipe() {
-        return inscriptions.size() < nbEquipesMax;
+        return getInscriptions().size() < nbEquipesMax;
     }
 
     /**
@@ -306,11 +313,11 @@ public class Tournoi {
      * @throws IllegalStateException si le nombre maximum d'équipes est atteint
      */
     public void ajouterInscription(Inscription inscription) {
-        if (inscription != null && !inscriptions.contains(inscription)) {
+        if (inscription != null && !getInscriptions().contains(inscription)) {
             if (!peutAjouterEquipe()) {
                 throw new IllegalStateException("Le nombre maximum d'équipes est atteint");
             }
-            inscriptions.add(inscription);
+            getInscriptions().add(inscription);
         }
     }
 
@@ -319,8 +326,8 @@ public class Tournoi {
      * @param affectation l'affectation à ajouter
      */
     public void ajouterAffectation(Affectation affectation) {
-        if (affectation != null && !affectations.contains(affectation)) {
-            affectations.add(affectation);
+        if (affectation != null && !getAffectations().contains(affectation)) {
+            getAffectations().add(affectation);
         }
     }
 
@@ -340,6 +347,22 @@ public class Tournoi {
         this.id = id;
     }
 
+    /**
+     * Retourne la version de la ligne lue en base
+     * @return la version utilisée pour le contrôle de concurrence optimiste
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Définit la version de la ligne lue en base
+     * @param version la version à définir
+     */
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Retourne une représentation textuelle du tournoi
      * @return une chaîne contenant le nom et les dates du tournoi
@@ -0,0 +1,240 @@
+package fr.tournois.planning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arbre d'intervalles (arbre AVL trié sur le début, augmenté de la fin maximale
+ * de chaque sous-arbre).
+ *
+ * Les intervalles sont semi-ouverts [debut, fin) et exprimés en minutes :
+ * deux affectations qui se suivent (fin de l'une = début de l'autre) ne se
+ * chevauchent pas. Chaque intervalle porte l'identifiant du tournoi concerné.
+ *
+ * Insertion, suppression et recherche d'un chevauchement en O(log n).
+ */
+public class ArbreIntervalles {
+
+    private static final class Noeud {
+        final long debut;
+        final long fin;
+        final int idTournoi;
+        long finMax;
+        int hauteur = 1;
+        Noeud gauche;
+        Noeud droite;
+
+        Noeud(long debut, long fin, int idTournoi) {
+            this.debut = debut;
+            this.fin = fin;
+            this.idTournoi = idTournoi;
+            this.finMax = fin;
+        }
+    }
+
+    private Noeud racine;
+    private int taille;
+
+    /**
+     * Ajoute un intervalle
+     * @param debut début (inclus)
+     * @param fin fin (exclue)
+     * @param idTournoi tournoi concerné
+     */
+    public void ajouter(long debut, long fin, int idTournoi) {
+        racine = inserer(racine, new Noeud(debut, fin, idTournoi));
+        taille++;
+    }
+
+    /**
+     * Retire l'intervalle d'un tournoi
+     * @param debut début de l'intervalle
+     * @param idTournoi tournoi concerné
+     * @return true si l'intervalle a été trouvé et retiré
+     */
+    public boolean retirer(long debut, int idTournoi) {
+        int avant = taille;
+        racine = supprimer(racine, debut, idTournoi);
+        return taille < avant;
+    }
+
+    /**
+     * Cherche un intervalle qui chevauche [debut, fin), en ignorant un tournoi.
+     * @param debut début (inclus)
+     * @param fin fin (exclue)
+     * @param tournoiIgnore tournoi à ignorer (celui qu'on modifie), -1 pour aucun
+     * @return l'identifiant du tournoi en conflit, -1 s'il n'y en a pas
+     */
+    public int chercherChevauchement(long debut, long fin, int tournoiIgnore) {
+        return chercher(racine, debut, fin, tournoiIgnore);
+    }
+
+    private int chercher(Noeud noeud, long debut, long fin, int tournoiIgnore) {
+        while (noeud != null) {
+            if (noeud.finMax <= debut) {
+                // Tout ce sous-arbre se termine avant le début recherché
+                return -1;
+            }
+            if (noeud.debut < fin && debut < noeud.fin && noeud.idTournoi != tournoiIgnore) {
+                return noeud.idTournoi;
+            }
+            if (noeud.gauche != null && noeud.gauche.finMax > debut) {
+                int trouve = chercher(noeud.gauche, debut, fin, tournoiIgnore);
+                if (trouve >= 0) {
+                    return trouve;
+                }
+                // Le seul intervalle à gauche était le tournoi ignoré : on continue à droite
+            }
+            if (noeud.debut >= fin) {
+                // Les nœuds de droite commencent encore plus tard
+                return -1;
+            }
+            noeud = noeud.droite;
+        }
+        return -1;
+    }
+
+    /**
+     * Liste tous les tournois dont l'intervalle chevauche [debut, fin).
+     * @param debut début (inclus)
+     * @param fin fin (exclue)
+     * @return les identifiants des tournois en conflit
+     */
+    public List<Integer> chevauchements(long debut, long fin) {
+        List<Integer> resultat = new ArrayList<>();
+        collecter(racine, debut, fin, resultat);
+        return resultat;
+    }
+
+    private void collecter(Noeud noeud, long debut, long fin, List<Integer> resultat) {
+        if (noeud == null || noeud.finMax <= debut) {
+            return;
+        }
+        collecter(noeud.gauche, debut, fin, resultat);
+        if (noeud.debut < fin && debut < noeud.fin) {
+            resultat.add(noeud.idTournoi);
+        }
+        if (noeud.debut < fin) {
+            collecter(noeud.droite, debut, fin, resultat);
+        }
+    }
+
+    /** @return le nombre d'intervalles */
+    public int getTaille() {
+        return taille;
+    }
+
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    private static int hauteur(Noeud n) {
+        return n == null ? 0 : n.hauteur;
+    }
+
+    private static void mettreAJour(Noeud n) {
+        n.hauteur = 1 + Math.max(hauteur(n.gauche), hauteur(n.droite));
+        long finMax = n.fin;
+        if (n.gauche != null && n.gauche.finMax > finMax) {
+            finMax = n.gauche.finMax;
+        }
+        if (n.droite != null && n.droite.finMax > finMax) {
+            finMax = n.droite.finMax;
+        }
+        n.finMax = finMax;
+    }
+
+    private static Noeud rotationDroite(Noeud n) {
+        Noeud g = n.gauche;
+        n.gauche = g.droite;
+        g.droite = n;
+        mettreAJour(n);
+        mettreAJour(g);
+        return g;
+    }
+
+    private static Noeud rotationGauche(Noeud n) {
+        Noeud d = n.droite;
+        n.droite = d.gauche;
+        d.gauche = n;
+        mettreAJour(n);
+        mettreAJour(d);
+        return d;
+    }
+
+    private static Noeud equilibrer(Noeud n) {
+        mettreAJour(n);
+        int facteur = hauteur(n.gauche) - hauteur(n.droite);
+        if (facteur > 1) {
+            if (hauteur(n.gauche.gauche) < hauteur(n.gauche.droite)) {
+                n.gauche = rotationGauche(n.gauche);
+            }
+            return rotationDroite(n);
+        }
+        if (facteur < -1) {
+            if (hauteur(n.droite.droite) < hauteur(n.droite.gauche)) {
+                n.droite = rotationDroite(n.droite);
+            }
+            return rotationGauche(n);
+        }
+        return n;
+    }
+
+    /**
+     * Ordre des nœuds : par début, puis par tournoi (un membre du staff n'a
+     * qu'une affectation par tournoi, la clé est donc unique).
+     */
+    private static int comparer(long debut, int idTournoi, Noeud noeud) {
+        int c = Long.compare(debut, noeud.debut);
+        return c != 0 ? c : Integer.compare(idTournoi, noeud.idTournoi);
+    }
+
+    private static Noeud inserer(Noeud noeud, Noeud nouveau) {
+        if (noeud == null) {
+            return nouveau;
+        }
+        if (comparer(nouveau.debut, nouveau.idTournoi, noeud) < 0) {
+            noeud.gauche = inserer(noeud.gauche, nouveau);
+        } else {
+            noeud.droite = inserer(noeud.droite, nouveau);
+        }
+        return equilibrer(noeud);
+    }
+
+    private Noeud supprimer(Noeud noeud, long debut, int idTournoi) {
+        if (noeud == null) {
+            return null;
+        }
+        int c = comparer(debut, idTournoi, noeud);
+        if (c < 0) {
+            noeud.gauche = supprimer(noeud.gauche, debut, idTournoi);
+        } else if (c > 0) {
+            noeud.droite = supprimer(noeud.droite, debut, idTournoi);
+        } else {
+            taille--;
+            if (noeud.gauche == null) {
+                return noeud.droite;
+            }
+            if (noeud.droite == null) {
+                return noeud.gauche;
+            }
+            // Remplacement par le successeur (le plus petit du sous-arbre droit)
+            Noeud successeur = noeud.droite;
+            while (successeur.gauche != null) {
+                successeur = successeur.gauche;
+            }
+            successeur.droite = retirerMinimum(noeud.droite);
+            successeur.gauche = noeud.gauche;
+            return equilibrer(successeur);
+        }
+        return equilibrer(noeud);
+    }
+
+    private static Noeud retirerMinimum(Noeud noeud) {
+        if (noeud.gauche == null) {
+            return noeud.droite;
+        }
+        noeud.gauche = retirerMinimum(noeud.gauche);
+        return equilibrer(noeud);
+    }
+}
@@ -0,0 +1,67 @@
+package fr.tournois.planning;
+
+import fr.tournois.model.Tournoi;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Poste à pourvoir sur un tournoi : une fonction (Arbitre, Technicien...),
+ * le rôle spécifique qui sera inscrit dans l'affectation et le créneau.
+ */
+public class BesoinStaff {
+    private final String fonction;
+    private final String roleSpecifique;
+    private final LocalDateTime debut;
+    private final LocalDateTime fin;
+
+    public BesoinStaff(String fonction, String roleSpecifique, LocalDateTime debut, LocalDateTime fin) {
+        this.fonction = fonction;
+        this.roleSpecifique = roleSpecifique;
+        this.debut = debut;
+        this.fin = fin;
+    }
+
+    /**
+     * Postes habituels d'un tournoi, sur toute sa durée (8h le premier jour - 20h le dernier) :
+     * un responsable, un arbitre pour 8 équipes (au moins un), un technicien et un commentateur.
+     * @param tournoi le tournoi (avec ses dates)
+     * @return les postes à pourvoir
+     */
+    public static List<BesoinStaff> parDefaut(Tournoi tournoi) {
+        LocalDateTime debut = tournoi.getDateDebut().atTime(LocalTime.of(8, 0));
+        LocalDateTime fin = tournoi.getDateFin().atTime(LocalTime.of(20, 0));
+        List<BesoinStaff> besoins = new ArrayList<>();
+        besoins.add(new BesoinStaff("Organisateur", "Responsable tournoi", debut, fin));
+        int nbArbitres = Math.max(1, tournoi.getNbEquipesMax() / 8);
+        for (int i = 0; i < nbArbitres; i++) {
+            besoins.add(new BesoinStaff("Arbitre", i == 0 ? "Arbitre principal" : "Arbitre", debut, fin));
+        }
+        besoins.add(new BesoinStaff("Technicien", "Support technique", debut, fin));
+        besoins.add(new BesoinStaff("Commentateur", "Commentateur officiel", debut, fin));
+        return besoins;
+    }
+
+    public String getFonction() {
+        return fonction;
+    }
+
+    public String getRoleSpecifique() {
+        return roleSpecifique;
+    }
+
+    public LocalDateTime getDebut() {
+        return debut;
+    }
+
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    @Override
+    public String toString() {
+        return roleSpecifique + " (" + fonction + ")";
+    }
+}
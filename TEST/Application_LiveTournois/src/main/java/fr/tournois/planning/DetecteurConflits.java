@@ -0,0 +1,208 @@
+package fr.tournois.planning;
+
+import fr.tournois.dao.AffectationDAO;
+import fr.tournois.dao.ConflitAffectationException;
+import fr.tournois.dao.DAOException;
+import fr.tournois.model.Affectation;
+
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Singleton détectant les doubles réservations du staff.
+ *
+ * Les affectations sont indexées dans un {@link ArbreIntervalles} par membre du
+ * staff, construit une seule fois à partir de {@link AffectationDAO#findAll()}
+ * puis tenu à jour à chaque ajout, modification ou suppression faite par les DAO.
+ * La vérification d'une nouvelle affectation coûte O(log n) au lieu d'un
+ * parcours de toutes les affectations.
+ *
+ * Les affectations sans date de début ou de fin ne sont pas indexées.
+ */
+public class DetecteurConflits {
+    private static DetecteurConflits instance;
+    private Map<Integer, ArbreIntervalles> parStaff;
+    /** Début indexé de chaque affectation, par clé (staff, tournoi), pour pouvoir la retirer. */
+    private Map<Long, Long> debuts;
+
+    private DetecteurConflits() {
+        // Constructeur privé pour empêcher l'instanciation directe
+    }
+
+    /**
+     * Obtient l'instance unique de DetecteurConflits.
+     * @return l'instance de DetecteurConflits
+     */
+    public static synchronized DetecteurConflits getInstance() {
+        if (instance == null) {
+            instance = new DetecteurConflits();
+        }
+        return instance;
+    }
+
+    /**
+     * Vérifie qu'une affectation ne chevauche aucune autre affectation du même staff.
+     * @param connection connexion utilisée pour construire l'index au premier appel
+     * @param affectation l'affectation à ajouter ou modifier
+     * @throws ConflitAffectationException si l'affectation chevauche une autre
+     * @throws DAOException si erreur lors de la construction de l'index
+     */
+    public synchronized void verifier(Connection connection, Affectation affectation) throws DAOException {
+        int conflit = chercherConflit(connection, affectation);
+        if (conflit >= 0) {
+            throw new ConflitAffectationException(affectation.getStaff().getId(), conflit);
+        }
+    }
+
+    /**
+     * Cherche une affectation du même staff qui chevauche celle-ci
+     * (l'affectation existante au même tournoi est ignorée).
+     * @param connection connexion utilisée pour construire l'index au premier appel
+     * @param affectation l'affectation à tester
+     * @return l'identifiant du tournoi en conflit, -1 s'il n'y en a pas
+     * @throws DAOException si erreur lors de la construction de l'index
+     */
+    public synchronized int chercherConflit(Connection connection, Affectation affectation) throws DAOException {
+        if (!estIndexable(affectation)) {
+            return -1;
+        }
+        ArbreIntervalles arbre = index(connection).get(affectation.getStaff().getId());
+        if (arbre == null) {
+            return -1;
+        }
+        return arbre.chercherChevauchement(minutes(affectation.getDateDebut()), minutes(affectation.getFinEffective()),
+                affectation.getTournoi().getId());
+    }
+
+    /**
+     * Ajoute une affectation à l'index (après le commit de son insertion en base,
+     * voir {@code UnitOfWork.apresCommit} : une transaction annulée ne doit rien y laisser).
+     * Sans effet si l'index n'est pas encore construit : il la lira en base.
+     * @param affectation l'affectation enregistrée
+     */
+    public synchronized void enregistrer(Affectation affectation) {
+        if (parStaff != null && estIndexable(affectation)) {
+            indexer(parStaff, debuts, affectation);
+        }
+    }
+
+    /**
+     * Retire une affectation de l'index (après sa suppression en base).
+     * @param idStaff identifiant du membre du staff
+     * @param idTournoi identifiant du tournoi
+     */
+    public synchronized void retirer(Integer idStaff, Integer idTournoi) {
+        if (parStaff == null || idStaff == null || idTournoi == null) {
+            return;
+        }
+        Long debut = debuts.remove(cle(idStaff, idTournoi));
+        ArbreIntervalles arbre = parStaff.get(idStaff);
+        if (debut != null && arbre != null) {
+            arbre.retirer(debut, idTournoi);
+        }
+    }
+
+    /**
+     * Retire de l'index toutes les affectations d'un tournoi
+     * (après sa suppression en base, qui les supprime en cascade).
+     * @param idTournoi identifiant du tournoi
+     */
+    public synchronized void retirerTournoi(Integer idTournoi) {
+        if (parStaff == null || idTournoi == null) {
+            return;
+        }
+        debuts.entrySet().removeIf(entree -> {
+            long cle = entree.getKey();
+            if ((int) cle != idTournoi) {
+                return false;
+            }
+            ArbreIntervalles arbre = parStaff.get((int) (cle >>> 32));
+            if (arbre != null) {
+                arbre.retirer(entree.getValue(), idTournoi);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Retire de l'index toutes les affectations d'un membre du staff
+     * (après sa suppression en base, qui les supprime en cascade).
+     * @param idStaff identifiant du membre du staff
+     */
+    public synchronized void retirerStaff(Integer idStaff) {
+        if (parStaff == null || idStaff == null) {
+            return;
+        }
+        parStaff.remove(idStaff);
+        debuts.keySet().removeIf(cle -> (int) (cle >>> 32) == idStaff);
+    }
+
+    /**
+     * Remplace une affectation dans l'index (après sa mise à jour en base).
+     * @param affectation l'affectation avec ses nouvelles dates
+     */
+    public synchronized void remplacer(Affectation affectation) {
+        if (affectation.getStaff() != null && affectation.getTournoi() != null) {
+            retirer(affectation.getStaff().getId(), affectation.getTournoi().getId());
+        }
+        enregistrer(affectation);
+    }
+
+    /**
+     * Oublie l'index : il sera reconstruit depuis la base à la prochaine vérification
+     * (à appeler après une modification faite hors des DAO ou une transaction annulée).
+     */
+    public synchronized void reinitialiser() {
+        parStaff = null;
+        debuts = null;
+    }
+
+    private Map<Integer, ArbreIntervalles> index(Connection connection) throws DAOException {
+        if (parStaff == null) {
+            charger(new AffectationDAO(connection).findAll());
+        }
+        return parStaff;
+    }
+
+    /**
+     * Construit l'index à partir des affectations données.
+     * @param affectations toutes les affectations enregistrées
+     */
+    synchronized void charger(List<Affectation> affectations) {
+        Map<Integer, ArbreIntervalles> index = new HashMap<>();
+        Map<Long, Long> debutsIndexes = new HashMap<>();
+        for (Affectation affectation : affectations) {
+            if (estIndexable(affectation)) {
+                indexer(index, debutsIndexes, affectation);
+            }
+        }
+        parStaff = index;
+        debuts = debutsIndexes;
+    }
+
+    private static void indexer(Map<Integer, ArbreIntervalles> index, Map<Long, Long> debutsIndexes,
+                                Affectation affectation) {
+        long debut = minutes(affectation.getDateDebut());
+        index.computeIfAbsent(affectation.getStaff().getId(), id -> new ArbreIntervalles())
+                .ajouter(debut, minutes(affectation.getFinEffective()), affectation.getTournoi().getId());
+        debutsIndexes.put(cle(affectation.getStaff().getId(), affectation.getTournoi().getId()), debut);
+    }
+
+    private static long cle(int idStaff, int idTournoi) {
+        return ((long) idStaff << 32) | (idTournoi & 0xFFFFFFFFL);
+    }
+
+    private static boolean estIndexable(Affectation affectation) {
+        return affectation != null && affectation.getStaff() != null && affectation.getStaff().getId() != null
+                && affectation.getTournoi() != null && affectation.getTournoi().getId() != null
+                && affectation.getDateDebut() != null && affectation.getDateFin() != null;
+    }
+
+    private static long minutes(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
@@ -0,0 +1,310 @@
+package fr.tournois.planning;
+
+import fr.tournois.model.Affectation;
+import fr.tournois.model.Staff;
+import fr.tournois.model.Tournoi;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Solveur d'affectation automatique du staff à un tournoi.
+ *
+ * Chaque poste ({@link BesoinStaff}) reçoit au plus un membre du staff de la bonne
+ * fonction, et un membre du staff ne peut occuper qu'un poste par tournoi (clé
+ * de la table Affectation). Un membre n'est candidat que si le créneau ne
+ * chevauche aucune de ses affectations existantes.
+ *
+ * Le coût d'un choix pénalise le temps mort entre le poste et l'affectation
+ * voisine la plus proche du membre (dans les 48h) et le déplacement si cette
+ * affectation a lieu dans une autre ville. Un poste non pourvu coûte beaucoup plus
+ * que n'importe quel choix.
+ *
+ * La recherche part d'une solution gloutonne puis applique des mouvements
+ * aléatoires (changement de titulaire ou échange entre deux postes) acceptés
+ * selon un recuit simulé, jusqu'à la durée maximale ou à l'interruption du thread.
+ */
+public class SolveurAffectations {
+
+    /**
+     * Suivi de l'avancement de la recherche.
+     */
+    @FunctionalInterface
+    public interface Progression {
+        /**
+         * @param avancement fraction du temps alloué déjà écoulée (0 à 1)
+         * @param meilleurCout coût de la meilleure solution trouvée
+         */
+        void progression(double avancement, double meilleurCout);
+    }
+
+    /**
+     * Résultat de la recherche.
+     */
+    public static class Resultat {
+        private final List<Affectation> affectations;
+        private final List<BesoinStaff> nonPourvus;
+        private final double cout;
+        private final long iterations;
+
+        Resultat(List<Affectation> affectations, List<BesoinStaff> nonPourvus, double cout, long iterations) {
+            this.affectations = affectations;
+            this.nonPourvus = nonPourvus;
+            this.cout = cout;
+            this.iterations = iterations;
+        }
+
+        /** @return les affectations proposées, à enregistrer */
+        public List<Affectation> getAffectations() {
+            return affectations;
+        }
+
+        /** @return les postes qu'aucun membre disponible ne peut occuper */
+        public List<BesoinStaff> getNonPourvus() {
+            return nonPourvus;
+        }
+
+        public double getCout() {
+            return cout;
+        }
+
+        public long getIterations() {
+            return iterations;
+        }
+    }
+
+    /** Coût d'un poste non pourvu (supérieur à tout coût d'affectation). */
+    static final double COUT_NON_POURVU = 10_000.0;
+    /** Au-delà de cet écart, une affectation voisine est ignorée (heures). */
+    private static final double VOISINAGE_HEURES = 48.0;
+    /** Coût d'un changement de ville, en équivalent heures de temps mort. */
+    private static final double COUT_DEPLACEMENT = 24.0;
+    private static final int ITERATIONS_PAR_RAPPORT = 4096;
+
+    private final Tournoi tournoi;
+    private final List<BesoinStaff> besoins;
+    private final List<Staff> staffs;
+    /** cout[b][s] : coût du membre s au poste b, négatif si impossible. */
+    private final double[][] cout;
+    /** candidats[b] : membres pouvant occuper le poste b. */
+    private final int[][] candidats;
+    private final Random aleatoire;
+
+    /**
+     * Prépare le problème.
+     * @param tournoi le tournoi à staffer (avec son lieu)
+     * @param besoins les postes à pourvoir
+     * @param staffs le staff disponible
+     * @param existantes toutes les affectations déjà enregistrées (tous tournois)
+     */
+    public SolveurAffectations(Tournoi tournoi, List<BesoinStaff> besoins, List<Staff> staffs,
+                               List<Affectation> existantes) {
+        this(tournoi, besoins, staffs, existantes, new Random());
+    }
+
+    SolveurAffectations(Tournoi tournoi, List<BesoinStaff> besoins, List<Staff> staffs,
+                        List<Affectation> existantes, Random aleatoire) {
+        this.tournoi = tournoi;
+        this.besoins = besoins;
+        this.staffs = staffs;
+        this.aleatoire = aleatoire;
+
+        Map<Integer, List<Affectation>> parStaff = new HashMap<>();
+        for (Affectation affectation : existantes) {
+            if (affectation.getStaff() != null && affectation.getDateDebut() != null && affectation.getDateFin() != null) {
+                parStaff.computeIfAbsent(affectation.getStaff().getId(), id -> new ArrayList<>()).add(affectation);
+            }
+        }
+
+        this.cout = new double[besoins.size()][staffs.size()];
+        this.candidats = new int[besoins.size()][];
+        for (int b = 0; b < besoins.size(); b++) {
+            BesoinStaff besoin = besoins.get(b);
+            int[] liste = new int[staffs.size()];
+            int n = 0;
+            for (int s = 0; s < staffs.size(); s++) {
+                Staff staff = staffs.get(s);
+                cout[b][s] = coutAffectation(besoin, staff, parStaff.getOrDefault(staff.getId(), List.of()));
+                if (cout[b][s] >= 0) {
+                    liste[n++] = s;
+                }
+            }
+            candidats[b] = Arrays.copyOf(liste, n);
+        }
+    }
+
+    /**
+     * Calcule le coût d'un membre du staff sur un poste, -1 s'il ne peut pas l'occuper.
+     */
+    private double coutAffectation(BesoinStaff besoin, Staff staff, List<Affectation> siennes) {
+        if (staff.getFonction() == null || !staff.getFonction().equalsIgnoreCase(besoin.getFonction())) {
+            return -1;
+        }
+        double ecartMin = VOISINAGE_HEURES;
+        Affectation voisine = null;
+        for (Affectation affectation : siennes) {
+            if (tournoi.getId() != null && tournoi.getId().equals(affectation.getTournoi().getId())) {
+                return -1; // déjà affecté à ce tournoi
+            }
+            LocalDateTime fin = affectation.getFinEffective();
+            if (affectation.getDateDebut().isBefore(besoin.getFin()) && besoin.getDebut().isBefore(fin)) {
+                return -1; // chevauchement
+            }
+            double ecart = fin.isAfter(besoin.getDebut())
+                    ? heures(besoin.getFin(), affectation.getDateDebut())
+                    : heures(fin, besoin.getDebut());
+            if (ecart < ecartMin) {
+                ecartMin = ecart;
+                voisine = affectation;
+            }
+        }
+        double total = ecartMin;
+        if (voisine != null && tournoi.getLieu() != null && voisine.getTournoi().getLieu() != null
+                && !tournoi.getLieu().equalsIgnoreCase(voisine.getTournoi().getLieu())) {
+            total += COUT_DEPLACEMENT;
+        }
+        return total;
+    }
+
+    private static double heures(LocalDateTime de, LocalDateTime a) {
+        return Duration.between(de, a).toMinutes() / 60.0;
+    }
+
+    /**
+     * Lance la recherche.
+     * @param dureeMaxMillis durée maximale de la recherche
+     * @param progression suivi de l'avancement (peut être null)
+     * @return la meilleure solution trouvée
+     */
+    public Resultat resoudre(long dureeMaxMillis, Progression progression) {
+        int nbBesoins = besoins.size();
+        int[] titulaire = new int[nbBesoins];
+        int[] posteDuStaff = new int[staffs.size()];
+        Arrays.fill(posteDuStaff, -1);
+        solutionGloutonne(titulaire, posteDuStaff);
+
+        double courant = coutTotal(titulaire);
+        double meilleur = courant;
+        int[] meilleureSolution = titulaire.clone();
+
+        long debut = System.nanoTime();
+        long duree = Math.max(1, dureeMaxMillis) * 1_000_000L;
+        double temperatureInitiale = COUT_DEPLACEMENT;
+        long iterations = 0;
+
+        while (!Thread.currentThread().isInterrupted() && nbBesoins > 0) {
+            if (iterations % ITERATIONS_PAR_RAPPORT == 0) {
+                double avancement = (System.nanoTime() - debut) / (double) duree;
+                if (avancement >= 1.0) {
+                    break;
+                }
+                if (progression != null) {
+                    progression.progression(avancement, meilleur);
+                }
+            }
+            iterations++;
+            double avancement = (System.nanoTime() - debut) / (double) duree;
+            double temperature = temperatureInitiale * Math.max(0.001, 1.0 - avancement);
+
+            int b = aleatoire.nextInt(nbBesoins);
+            if (candidats[b].length == 0) {
+                continue;
+            }
+            int s = candidats[b][aleatoire.nextInt(candidats[b].length)];
+            int ancien = titulaire[b];
+            if (s == ancien) {
+                continue;
+            }
+            int autrePoste = posteDuStaff[s];
+            double delta = coutPoste(b, s) - coutPoste(b, ancien);
+            if (autrePoste >= 0) {
+                // Échange : l'ancien titulaire de b prend le poste libéré par s (ou le laisse vacant)
+                if (ancien >= 0 && cout[autrePoste][ancien] < 0) {
+                    continue;
+                }
+                delta += coutPoste(autrePoste, ancien) - coutPoste(autrePoste, s);
+            }
+            if (delta <= 0 || aleatoire.nextDouble() < Math.exp(-delta / temperature)) {
+                titulaire[b] = s;
+                posteDuStaff[s] = b;
+                if (ancien >= 0) {
+                    posteDuStaff[ancien] = autrePoste;
+                }
+                if (autrePoste >= 0) {
+                    titulaire[autrePoste] = ancien;
+                }
+                courant += delta;
+                if (courant < meilleur - 1e-9) {
+                    meilleur = courant;
+                    meilleureSolution = titulaire.clone();
+                }
+            }
+        }
+        if (progression != null) {
+            progression.progression(1.0, meilleur);
+        }
+        return construireResultat(meilleureSolution, meilleur, iterations);
+    }
+
+    /**
+     * Solution de départ : les postes ayant le moins de candidats sont pourvus
+     * en premier, chacun par son candidat libre le moins coûteux.
+     */
+    private void solutionGloutonne(int[] titulaire, int[] posteDuStaff) {
+        Integer[] ordre = new Integer[besoins.size()];
+        for (int b = 0; b < ordre.length; b++) {
+            ordre[b] = b;
+        }
+        Arrays.sort(ordre, (b1, b2) -> Integer.compare(candidats[b1].length, candidats[b2].length));
+        for (int b : ordre) {
+            int choix = -1;
+            for (int s : candidats[b]) {
+                if (posteDuStaff[s] < 0 && (choix < 0 || cout[b][s] < cout[b][choix])) {
+                    choix = s;
+                }
+            }
+            titulaire[b] = choix;
+            if (choix >= 0) {
+                posteDuStaff[choix] = b;
+            }
+        }
+    }
+
+    private double coutPoste(int b, int s) {
+        return s < 0 ? COUT_NON_POURVU : cout[b][s];
+    }
+
+    private double coutTotal(int[] titulaire) {
+        double total = 0;
+        for (int b = 0; b < titulaire.length; b++) {
+            total += coutPoste(b, titulaire[b]);
+        }
+        return total;
+    }
+
+    private Resultat construireResultat(int[] titulaire, double coutTotal, long iterations) {
+        List<Affectation> affectations = new ArrayList<>();
+        List<BesoinStaff> nonPourvus = new ArrayList<>();
+        for (int b = 0; b < titulaire.length; b++) {
+            BesoinStaff besoin = besoins.get(b);
+            if (titulaire[b] < 0) {
+                nonPourvus.add(besoin);
+                continue;
+            }
+            Affectation affectation = new Affectation();
+            affectation.setTournoi(tournoi);
+            affectation.setStaff(staffs.get(titulaire[b]));
+            affectation.setRoleSpecifique(besoin.getRoleSpecifique());
+            affectation.setDateDebut(besoin.getDebut());
+            affectation.setDateFin(besoin.getFin());
+            affectations.add(affectation);
+        }
+        return new Resultat(affectations, nonPourvus, coutTotal, iterations);
+    }
+}
@@ -18,6 +18,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Optional;
 import fr.tournois.dao.ConnectionManager;
+import fr.tournois.dao.ScrutateurModifications;
 
 public class TournoisManagerApp extends Application {
 
@@ -63,6 +64,13 @@ public class TournoisManagerApp extends Application {
             return;
         }
 
+        // Rafraîchissement des écrans avec les modifications faites sur les autres postes
+        try {
+            ScrutateurModifications.getInstance().demarrer();
+        } catch (SQLException e) {
+            System.err.println("Scrutation des modifications indisponible : " + e.getMessage());
+        }
+
         // Initialisation de la fenêtre principale
         try {
             // Chargement du style global
@@ -119,6 +127,7 @@ public class TournoisManagerApp extends Application {
 
     @Override
     public void stop() {
+        ScrutateurModifications.getInstance().arreter();
         // Fermer la connexion à la base de données
         try {
             ConnectionManager.getInstance().close();
@@ -5,7 +5,6 @@ import fr.tournois.dao.StaffDAO;
 import fr.tournois.model.Affectation;
 import fr.tournois.model.Staff;
 
-import java.util.ArrayList;
 import java.util.List;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -76,26 +75,8 @@ public class AffectationEditorController {
         this.staffDAO = staffDAO;
         if (affectation != null && affectation.getTournoi() != null) {
             try {
-                // Récupérer tous les staff
-                List<Staff> allStaff = this.staffDAO.findAll();
-                // Récupérer les staff déjà affectés au tournoi
-                List<Staff> staffAffectes = this.staffDAO.findByTournoi(affectation.getTournoi());
-                // Filtrer pour ne garder que les staff non affectés
-
-                List<Staff> staffDisponibles = new ArrayList<>();
-                boolean trouve;
-
-                for (Staff staff : allStaff) {
-                    trouve = false;
-                    for (Staff staffAffecte : staffAffectes) {
-                        if (staff.getId().equals(staffAffecte.getId())) {
-                            trouve = true;
-                        }
-                    }
-                    if (!trouve) {
-                        staffDisponibles.add(staff);
-                    }
-                }
+                // Staff non encore affecté au tournoi (filtré par la base)
+                List<Staff> staffDisponibles = this.staffDAO.findNonAffectesAuTournoi(affectation.getTournoi());
                 // Mettre à jour la combobox
                 staffComboBox.getItems().setAll(staffDisponibles);
             } catch (DAOException e) {
@@ -2,6 +2,7 @@ package fr.tournois.ui.controller;
 
 import fr.tournois.dao.EquipeDAO;
 import fr.tournois.model.Equipe;
+import fr.tournois.ui.util.ListeSynchronisee;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -45,12 +46,15 @@ public class AjoutEquipeController {
     private EquipeDAO equipeDAO;
     private EquipeController parentController;
     private ObservableList<Equipe> equipesList = FXCollections.observableArrayList();
+    /** Applique les écritures d'EquipeDAO à la table, sans la recharger */
+    private ListeSynchronisee<Equipe> synchronisation;
 
     /**
      * Injecte le DAO utilisé pour les opérations d'équipe.
      */
     public void setEquipeDAO(EquipeDAO equipeDAO) {
         this.equipeDAO = equipeDAO;
+        this.synchronisation = ListeSynchronisee.lier(equipesList, Equipe.class, Equipe::getId, this::chargerEquipes);
         // Charger les équipes dès que le DAO est disponible
         chargerEquipes();
     }
@@ -104,8 +108,7 @@ public class AjoutEquipeController {
         
         try {
             List<Equipe> equipes = equipeDAO.getToutesLesEquipes();
-            equipesList.clear();
-            equipesList.addAll(equipes);
+            equipesList.setAll(equipes);
         } catch (SQLException e) {
             showAlert("Erreur lors du chargement des équipes : " + e.getMessage());
             e.printStackTrace();
@@ -135,7 +138,6 @@ public class AjoutEquipeController {
             // Utilisation de la méthode du contrôleur parent si possible
             if (parentController != null) {
                 parentController.ajouterEquipe(nom);
-                parentController.rafraichirEquipes();
             } else {
                 // Fallback direct au DAO
                 Equipe equipe = new Equipe();
@@ -143,9 +145,6 @@ public class AjoutEquipeController {
                 equipeDAO.create(equipe); // Utiliser create au lieu d'update
             }
             
-            // Rafraîchir la liste locale
-            rafraichirEquipes();
-            
             // Vider le champ après ajout réussi
             nomEquipeField.clear();
             
@@ -197,15 +196,8 @@ public class AjoutEquipeController {
                 }
             });
         
+            // Les listes sont mises à jour par les événements d'EquipeDAO
             stage.showAndWait();
-
-            // Rafraîchir après fermeture
-            if (controller.isOkClicked()) {
-                rafraichirEquipes();
-                if (parentController != null) {
-                    parentController.rafraichirEquipes();
-                }
-            }
         } catch (Exception e) {
             showAlert("Erreur lors de l'ouverture de la fenêtre d'ajout : " + e.getMessage());
             e.printStackTrace();
@@ -251,16 +243,8 @@ public class AjoutEquipeController {
                 }
             });
         
+            // Les listes sont mises à jour par les événements d'EquipeDAO
             stage.showAndWait();
-        
-            // Actualiser les listes après modification
-            if (controller.isOkClicked()) {
-                rafraichirEquipes();
-                if (parentController != null) {
-                    parentController.rafraichirEquipes();
-                
-            }
-        }
         } catch (Exception e) {
         showAlert("Erreur lors de l'ouverture de la fenêtre de modification : " + e.getMessage());
         e.printStackTrace();
@@ -277,10 +261,6 @@ public class AjoutEquipeController {
         
         try {
             equipeDAO.supprimerEquipe(selected.getId());
-            rafraichirEquipes();
-            if (parentController != null) {
-                parentController.rafraichirEquipes();
-            }
             showSuccessAlert("Équipe supprimée avec succès !");
         } catch (SQLException e) {
             showAlert("Erreur lors de la suppression : " + e.getMessage());
@@ -4,6 +4,7 @@ import fr.tournois.dao.EquipeDAO;
 import fr.tournois.dao.JoueurDAO;
 import fr.tournois.model.Equipe;
 import fr.tournois.model.Joueur;
+import fr.tournois.ui.util.ListeSynchronisee;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -43,11 +44,14 @@ public class EquipeController {
     private EquipeDAO equipeDAO;
     private JoueurDAO joueurDAO;
     private Stage parentStage;
+    /** Applique les écritures d'EquipeDAO à la table, sans la recharger */
+    private ListeSynchronisee<Equipe> synchronisation;
 
     private AppMainFrameController appMainFrameController;
 
     public void setEquipeDAO(EquipeDAO equipeDAO) {
         this.equipeDAO = equipeDAO;
+        this.synchronisation = ListeSynchronisee.lier(equipes, Equipe.class, Equipe::getId, this::doRechercheEquipe);
         rafraichirEquipes();
     }
 
@@ -66,8 +70,8 @@ public class EquipeController {
 
     public void rafraichirEquipes() {
         if (equipeDAO != null) {
-            equipes.clear();
-            equipes.addAll(this.getToutesLesEquipes());
+            equipes.setAll(this.getToutesLesEquipes());
+            synchronisation.setFiltre(null);
         }
     }
 
@@ -76,7 +80,6 @@ public class EquipeController {
         Equipe selected = teamTable.getSelectionModel().getSelectedItem();
         if (selected != null) {
             this.doSupprimerEquipe(selected.getId());
-            rafraichirEquipes();
         } else {
             showAlert("Sélectionnez une équipe à supprimer.");
         }
@@ -178,7 +181,6 @@ public class EquipeController {
             stage.initModality(Modality.APPLICATION_MODAL);
             stage.setScene(new Scene(root));
             stage.showAndWait();
-            rafraichirEquipes();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -238,6 +240,7 @@ public class EquipeController {
                         toutes.stream()
                                 .filter(eq -> eq.getNom().toLowerCase().contains(filtre))
                                 .toList());
+                synchronisation.setFiltre(eq -> eq.getNom() != null && eq.getNom().toLowerCase().contains(filtre));
             } catch (SQLException e) {
                 showAlert("Erreur lors de la recherche : " + e.getMessage());
             }
@@ -1,12 +1,16 @@
 package fr.tournois.ui.controller;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import fr.tournois.dao.TournoiDAO;
+import fr.tournois.export.ElementExport;
+import fr.tournois.export.ExportPdfTournoi;
+import fr.tournois.export.FileExports;
+import fr.tournois.model.Resume;
 import fr.tournois.model.Tournoi;
-import fr.tournois.ui.util.PdfTournoiGenerator;
+import fr.tournois.ui.util.ExportGroupeDialog;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
@@ -16,7 +20,7 @@ import javafx.stage.Stage;
 public class ExportTournoiController {
     
     @FXML
-    private ComboBox<Tournoi> comboTournois;
+    private ComboBox<Resume> comboTournois;
     
     private TournoiDAO tournoiDAO;
     private Stage parentStage;
@@ -46,7 +50,8 @@ public class ExportTournoiController {
         
         try {
             System.out.println("DEBUG: Chargement des tournois...");
-            List<Tournoi> tournoisList = tournoiDAO.findAll();
+            // Résumés seulement : le tournoi complet n'est chargé qu'au moment de l'export
+            List<Resume> tournoisList = tournoiDAO.findResumes();
             comboTournois.getItems().clear();
             comboTournois.getItems().addAll(tournoisList);
             System.out.println("DEBUG: " + tournoisList.size() + " tournois chargés");
@@ -59,11 +64,17 @@ public class ExportTournoiController {
     
     @FXML
     public void handleExporterPDF() {
-        Tournoi tournoi = comboTournois.getValue();
-        if (tournoi == null) {
+        Resume resume = comboTournois.getValue();
+        if (resume == null) {
             showAlert("Veuillez sélectionner un tournoi.");
             return;
         }
+        Tournoi tournoi = tournoiDAO.findById(resume.getId()).orElse(null);
+        if (tournoi == null) {
+            showAlert("Ce tournoi n'existe plus.");
+            loadTournois();
+            return;
+        }
         
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Enregistrer le PDF");
@@ -73,14 +84,31 @@ public class ExportTournoiController {
         File file = fileChooser.showSaveDialog(parentStage);
         
         if (file != null) {
-            try {
-                PdfTournoiGenerator.genererPDFTournoi(tournoi, file.getAbsolutePath());
-                showAlert("PDF généré avec succès !");
-            } catch (IOException | com.itextpdf.text.DocumentException e) {
-                e.printStackTrace();
-                showAlert("Erreur lors de la génération du PDF : " + e.getMessage());
-            }
+            // Export en flux dans la file des exports : la fenêtre reste utilisable pendant la génération,
+            // et un tournoi inchangé depuis le dernier export est repris du cache
+            FileExports.getInstance().soumettre("PDF " + tournoi.getNom(), suivi -> {
+                // Connexion propre : pas de lecture des écritures en cours des autres fenêtres
+                try (ExportPdfTournoi export = ExportPdfTournoi.surConnexionDediee()) {
+                    int nbEquipes = export.exporterAvecCache(tournoi, file.toPath(),
+                            equipes -> suivi.avancer(-1, equipes + " équipes écrites"));
+                    return "PDF généré (" + nbEquipes + " équipes) : " + file.getAbsolutePath();
+                }
+            });
+        }
+    }
+    
+    /**
+     * Exporte la fiche de tous les tournois, générées en parallèle,
+     * dans un répertoire ou une archive ZIP.
+     */
+    @FXML
+    public void handleExporterTous() {
+        ExportPdfTournoi export = ExportPdfTournoi.surConnexionDediee();
+        List<ElementExport> elements = new ArrayList<>();
+        for (Tournoi tournoi : tournoiDAO.findAll()) {
+            elements.add(ElementExport.tournoi(export, tournoi));
         }
+        ExportGroupeDialog.lancer(parentStage, "Export des tournois", "tournois", elements, export);
     }
     
     private void showAlert(String message) {
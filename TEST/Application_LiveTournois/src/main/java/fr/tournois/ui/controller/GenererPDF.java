@@ -1,5 +1,7 @@
 package fr.tournois.ui.controller; // Ensure this package is correct, it should be fr.tournois.ui for GenererPDF
 
+import fr.tournois.export.FicheJoueurPdf;
+import fr.tournois.export.StylesPdf;
 import fr.tournois.model.Joueur;
 import fr.tournois.model.Equipe;
 import com.itextpdf.text.Document;
@@ -25,40 +27,10 @@ public class GenererPDF {
             throw new IllegalArgumentException("Le joueur ne peut pas être null.");
         }
 
-        Document document = new Document();
-        // Nettoyer le pseudo pour le nom de fichier afin d'éviter les caractères invalides
         String nomFichier = joueur.getPseudo() + ".pdf";
-        
-        PdfWriter.getInstance(document, new FileOutputStream(nomFichier));
-        document.open();
-
-        document.addTitle("Fiche Joueur : " + joueur.getPseudo());
-        document.newPage(); // Crée une nouvelle page pour le contenu
-
-        // --- Contenu principal du PDF pour un joueur (une seule ligne) ---
-        StringBuilder joueurInfo = new StringBuilder();
-        joueurInfo.append("Pseudo : ").append(joueur.getPseudo());
-        joueurInfo.append(", Nom : ").append(joueur.getNom());
-        joueurInfo.append(", Prénom : ").append(joueur.getPrenom());
-        
-         String dateNais;
-        if (joueur.getDateNaissance() != null) {
-            dateNais = convertSqlDateToLocalDate((Date) joueur.getDateNaissance()).toString();
-        } else {
-            dateNais = "N/A";
+        try (FileOutputStream out = new FileOutputStream(nomFichier)) {
+            FicheJoueurPdf.ecrire(joueur, out);
         }
-        joueurInfo.append(", Date Naissance : ").append(dateNais);
-
-        // Information sur l'équipe (si le joueur est associé à une équipe)
-        if (joueur.getEquipe() != null && joueur.getEquipe().getNom() != null) {
-            joueurInfo.append(", Équipe : ").append(joueur.getEquipe().getNom());
-        } else {
-            joueurInfo.append(", Équipe : Aucune");
-        }
-
-        document.add(new Paragraph(joueurInfo.toString())); // Ajoute la ligne unique d'informations
-
-        document.close();
     }
 
     /**
@@ -83,7 +55,7 @@ public class GenererPDF {
         document.open();
 
         document.addTitle(titre);
-        document.add(new Paragraph(titre)); // Ajoute le titre principal du document
+        document.add(new Paragraph(titre, StylesPdf.NORMAL)); // Ajoute le titre principal du document
         document.add(new Paragraph(" ")); // Espace
 
         // Pour chaque joueur dans la liste, on crée une ligne de texte
@@ -108,7 +80,7 @@ public class GenererPDF {
                 joueurLigne.append(" / Équipe: Aucune");
             }
             
-            document.add(new Paragraph(joueurLigne.toString()));
+            document.add(new Paragraph(joueurLigne.toString(), StylesPdf.NORMAL));
             document.add(new Paragraph(" ")); // Une ligne vide pour séparer chaque joueur
         }
         document.close();
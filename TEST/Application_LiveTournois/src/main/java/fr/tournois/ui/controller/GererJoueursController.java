@@ -1,19 +1,43 @@
 package fr.tournois.ui.controller;
 
+import fr.tournois.dao.ConnectionManager;
+import fr.tournois.dao.ContexteRequetes;
 import fr.tournois.dao.JoueurDAO;
+import fr.tournois.export.ElementExport;
+import fr.tournois.importation.ImportJoueursCsv;
+import fr.tournois.importation.RapportImport;
 import fr.tournois.model.Equipe;
 import fr.tournois.model.Joueur;
+import fr.tournois.ui.util.ExportGroupeDialog;
+import fr.tournois.ui.util.ListeSynchronisee;
 
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.scene.control.cell.PropertyValueFactory;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import fr.tournois.ui.controller.GenererPDF;
 
@@ -49,9 +73,12 @@ public class GererJoueursController {
     private TableColumn<Joueur, Date> dateNaissanceColumn;
 
     private ObservableList<Joueur> joueurs = FXCollections.observableArrayList();
-    private ObservableList<Joueur> filteredJoueurs = FXCollections.observableArrayList();
+    // Vue filtrée de joueurs : les mises à jour de la liste s'y propagent élément par élément
+    private FilteredList<Joueur> filteredJoueurs = new FilteredList<>(joueurs);
     private JoueurDAO joueurDAO;
     private Equipe equipeActuelle;
+    /** Applique les écritures de JoueurDAO à la liste, sans la recharger */
+    private ListeSynchronisee<Joueur> synchronisation;
     
 
     @FXML
@@ -67,7 +94,10 @@ public class GererJoueursController {
             return null;
         });
 
-        joueursTable.setItems(filteredJoueurs);
+        SortedList<Joueur> joueursTries = new SortedList<>(filteredJoueurs);
+        joueursTries.comparatorProperty().bind(joueursTable.comparatorProperty());
+        joueursTable.setItems(joueursTries);
+        joueursTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         joueursTable.getSelectionModel().selectedItemProperty().addListener(
                 (observable, oldValue, newValue) -> {
@@ -91,6 +121,9 @@ public class GererJoueursController {
      */
     public void setEquipe(Equipe equipe) { // <<< RENOMMÉ EN setEquipe
         this.equipeActuelle = equipe; // On stocke toujours dans equipeActuelle
+        if (synchronisation != null) {
+            synchronisation.setFiltre(this::appartientALEquipeActuelle);
+        }
         if (equipeLabel != null) {
             if (equipe != null) {
                 equipeLabel.setText("Gestion des joueurs de l'équipe : " + equipe.getNom());
@@ -139,6 +172,8 @@ public class GererJoueursController {
      */
     public void setJoueurDAO(JoueurDAO joueurDAO) {
         this.joueurDAO = joueurDAO;
+        this.synchronisation = ListeSynchronisee.lier(joueurs, Joueur.class, Joueur::getId, this::recharger);
+        synchronisation.setFiltre(this::appartientALEquipeActuelle);
         rafraichirJoueurs(); // Charger les joueurs dès que le DAO est configuré
     }
 
@@ -163,16 +198,30 @@ public class GererJoueursController {
         }
     }
 
+    /**
+     * Recharge les joueurs affichés (équipe actuelle ou tous les joueurs)
+     */
+    private void recharger() {
+        if (equipeActuelle != null) {
+            rafraichirJoueursParEquipe();
+        } else {
+            rafraichirTousLesJoueurs();
+        }
+    }
+
+    private boolean appartientALEquipeActuelle(Joueur joueur) {
+        return equipeActuelle == null
+                || (joueur.getEquipe() != null && equipeActuelle.getId().equals(joueur.getEquipe().getId()));
+    }
+
     private void filterJoueurs(String searchText) {
         if (searchText == null || searchText.isEmpty()) {
-            filteredJoueurs.setAll(joueurs);
+            filteredJoueurs.setPredicate(null);
         } else {
             String lowerCaseFilter = searchText.toLowerCase();
-            filteredJoueurs.setAll(joueurs.stream()
-                    .filter(joueur -> joueur.getPseudo().toLowerCase().contains(lowerCaseFilter) ||
+            filteredJoueurs.setPredicate(joueur -> joueur.getPseudo().toLowerCase().contains(lowerCaseFilter) ||
                             joueur.getNom().toLowerCase().contains(lowerCaseFilter) ||
-                            joueur.getPrenom().toLowerCase().contains(lowerCaseFilter))
-                    .toList());
+                            joueur.getPrenom().toLowerCase().contains(lowerCaseFilter));
         }
     }
 
@@ -219,7 +268,6 @@ public class GererJoueursController {
 
             joueurDAO.ajouterJoueur(nouveauJoueur); // La méthode ajouterJoueur dans JoueurDAO gérera le NULL
             showAlert("Succès", "Joueur créé avec l'ID: " + nouveauJoueur.getId());
-            rafraichirJoueurs();
             viderChamps();
         } catch (SQLException e) {
             showError("Erreur création", "Problème DB lors de la création du joueur : " + e.getMessage());
@@ -258,7 +306,6 @@ public class GererJoueursController {
 
                 joueurDAO.mettreAJourJoueur(joueurSelectionne);
                 showAlert("Succès", "Joueur modifié avec l'ID: " + joueurSelectionne.getId());
-                rafraichirJoueurs();
                 viderChamps();
             } catch (SQLException e) {
                 showError("Erreur modification", "Problème DB lors de la modification du joueur : " + e.getMessage());
@@ -286,7 +333,6 @@ public class GererJoueursController {
                 try {
                     joueurDAO.supprimerJoueur(joueurSelectionne.getId());
                     showAlert("Succès", "Joueur supprimé.");
-                    rafraichirJoueurs();
                     viderChamps();
                 } catch (SQLException e) {
                     showError("Erreur suppression", "Problème DB lors de la suppression du joueur : " + e.getMessage());
@@ -397,4 +443,129 @@ public class GererJoueursController {
         }
     }
 
+    /**
+     * Exporte une fiche PDF par joueur (les joueurs sélectionnés, ou tous ceux
+     * affichés), générées en parallèle dans un répertoire ou une archive ZIP.
+     */
+    @FXML
+    private void exporterFichesJoueurs() {
+        List<Joueur> selection = joueursTable.getSelectionModel().getSelectedItems();
+        List<ElementExport> elements = new ArrayList<>();
+        for (Joueur joueur : selection.isEmpty() ? joueursTable.getItems() : selection) {
+            elements.add(ElementExport.ficheJoueur(joueur));
+        }
+        ExportGroupeDialog.lancer(joueursTable.getScene().getWindow(), "Export des fiches joueurs",
+                "fiches_joueurs", elements);
+    }
+
+    /**
+     * Importe un fichier CSV d'effectifs (une ligne par joueur), en tâche de fond.
+     * Les équipes inconnues sont créées ; les joueurs sont insérés par lots
+     * dans une seule transaction.
+     */
+    @FXML
+    private void importerCsv() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importer des joueurs");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Fichiers CSV", "*.csv", "*.txt"));
+        File fichier = chooser.showOpenDialog(joueursTable.getScene().getWindow());
+        if (fichier == null) {
+            return;
+        }
+
+        ButtonType ignorer = new ButtonType("Ignorer les lignes invalides");
+        ButtonType toutOuRien = new ButtonType("Tout ou rien");
+        Alert mode = new Alert(Alert.AlertType.CONFIRMATION,
+                "En mode « tout ou rien », aucune ligne n'est enregistrée si une seule est invalide.",
+                ignorer, toutOuRien, ButtonType.CANCEL);
+        mode.setHeaderText("Que faire des lignes invalides ?");
+        ButtonType choix = mode.showAndWait().orElse(ButtonType.CANCEL);
+        if (choix == ButtonType.CANCEL) {
+            return;
+        }
+        boolean ignorerLignesInvalides = choix == ignorer;
+
+        ContexteRequetes requetes = new ContexteRequetes();
+        Task<RapportImport> tache = new Task<>() {
+            @Override
+            protected RapportImport call() throws Exception {
+                // Connexion propre à l'import : les validations et annulations des autres
+                // fenêtres sur la connexion partagée ne touchent pas l'import en cours
+                try (Connection dediee = ConnectionManager.getInstance().ouvrirConnexionDediee()) {
+                    dediee.setAutoCommit(false);
+                    ImportJoueursCsv importJoueurs = new ImportJoueursCsv(dediee);
+                    return requetes.executer(() -> {
+                        try {
+                            return importer(importJoueurs, StandardCharsets.UTF_8);
+                        } catch (CharacterCodingException e) {
+                            // Fichier enregistré par Excel sous Windows
+                            return importer(importJoueurs, Charset.forName("windows-1252"));
+                        }
+                    });
+                }
+            }
+
+            private RapportImport importer(ImportJoueursCsv importJoueurs, Charset encodage) throws IOException {
+                return importJoueurs.importer(Files.newBufferedReader(fichier.toPath(), encodage),
+                        ignorerLignesInvalides, lignes -> updateMessage(lignes + " lignes lues"));
+            }
+        };
+
+        ProgressIndicator indicateur = new ProgressIndicator();
+        Label message = new Label();
+        message.textProperty().bind(tache.messageProperty());
+        VBox contenu = new VBox(10, new Label("Import de " + fichier.getName()), indicateur, message);
+        contenu.setPadding(new Insets(15));
+        Stage attente = new Stage();
+        attente.setTitle("Import CSV");
+        attente.initModality(Modality.WINDOW_MODAL);
+        attente.initOwner(joueursTable.getScene().getWindow());
+        attente.setScene(new Scene(contenu));
+        // Fermer la fenêtre d'attente interrompt la requête en cours ; l'import est annulé
+        attente.setOnCloseRequest(e -> requetes.annuler());
+
+        tache.setOnSucceeded(e -> {
+            attente.close();
+            // Les joueurs importés arrivent par l'événement de rechargement de JoueurDAO
+            afficherRapportImport(tache.getValue());
+        });
+        tache.setOnFailed(e -> {
+            attente.close();
+            showError("Erreur d'import", "L'import a échoué : " + tache.getException().getMessage());
+        });
+
+        Thread thread = new Thread(tache, "import-joueurs");
+        thread.setDaemon(true);
+        attente.show();
+        thread.start();
+    }
+
+    private void afficherRapportImport(RapportImport rapport) {
+        StringBuilder detail = new StringBuilder();
+        detail.append(rapport.getLignesLues()).append(" ligne(s) lue(s), ")
+              .append(rapport.getJoueursImportes()).append(" joueur(s) importé(s), ")
+              .append(rapport.getEquipesCreees()).append(" équipe(s) créée(s).");
+        if (rapport.isAnnule()) {
+            detail.append("\nAucune ligne n'a été enregistrée.");
+        }
+        if (rapport.getNbErreurs() > 0) {
+            detail.append("\n").append(rapport.getNbErreurs()).append(" ligne(s) en erreur :");
+            List<RapportImport.ErreurLigne> erreurs = rapport.getErreurs();
+            for (RapportImport.ErreurLigne erreur : erreurs.subList(0, Math.min(20, erreurs.size()))) {
+                detail.append("\n - ").append(erreur);
+            }
+            if (rapport.getNbErreurs() > 20) {
+                detail.append("\n ...");
+            }
+        }
+        Alert alert = new Alert(rapport.getNbErreurs() > 0 ? Alert.AlertType.WARNING : Alert.AlertType.INFORMATION);
+        alert.setTitle("Import CSV");
+        alert.setHeaderText(null);
+        TextArea texte = new TextArea(detail.toString());
+        texte.setEditable(false);
+        texte.setWrapText(true);
+        alert.getDialogPane().setContent(texte);
+        alert.showAndWait();
+    }
+
 }
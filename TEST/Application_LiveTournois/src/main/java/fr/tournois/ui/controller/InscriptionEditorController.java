@@ -1,8 +1,11 @@
 package fr.tournois.ui.controller;
 
+import fr.tournois.classement.ClassementElo;
+import fr.tournois.classement.ServiceElo;
 import fr.tournois.dao.*;
 import fr.tournois.model.*;
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -23,7 +26,7 @@ public class InscriptionEditorController implements Initializable {
 
     @FXML private Label labelTitre;
     @FXML private Label labelTournoiInfo;
-    @FXML private ComboBox<Equipe> comboEquipe;
+    @FXML private ComboBox<Resume> comboEquipe;
     @FXML private ComboBox<String> comboStatut;
     @FXML private Label labelInfoTournoi;
     @FXML private Label labelPlacesDisponibles;
@@ -40,6 +43,8 @@ public class InscriptionEditorController implements Initializable {
     private boolean inscriptionCreee = false;
     private boolean inscriptionModifiee = false;
     private boolean chargerDonneesTermine = false;
+    /** Calcul de cote Elo en cours (tâche de fond), null s'il n'y en a pas */
+    private Task<String> calculElo;
     
     private Stage dialogStage;
 
@@ -139,20 +144,20 @@ public class InscriptionEditorController implements Initializable {
      */
     private void chargerDonnees() {
         try {            
-            // Charger les équipes
-            List<Equipe> equipes = equipeDAO.getToutesLesEquipes();
-            ObservableList<Equipe> equipeItems = FXCollections.observableArrayList(equipes);
+            // Charger les équipes (résumés sans joueurs : l'équipe complète est lue à la validation)
+            List<Resume> equipes = equipeDAO.getResumesEquipes();
+            ObservableList<Resume> equipeItems = FXCollections.observableArrayList(equipes);
             comboEquipe.setItems(equipeItems);
             
             // Configurer l'affichage de la ComboBox équipes
-            comboEquipe.setConverter(new javafx.util.StringConverter<Equipe>() {
+            comboEquipe.setConverter(new javafx.util.StringConverter<Resume>() {
                 @Override
-                public String toString(Equipe equipe) {
-                    return equipe == null ? "" : equipe.getNom() + " (" + equipe.getTag() + ")";
+                public String toString(Resume equipe) {
+                    return equipe == null ? "" : equipe.getNom() + " (" + equipe.getDetail() + ")";
                 }
                 
                 @Override
-                public Equipe fromString(String string) {
+                public Resume fromString(String string) {
                     return null;
                 }
             });
@@ -247,7 +252,7 @@ public class InscriptionEditorController implements Initializable {
         afficherInfoTournoi(inscriptionEnCours.getTournoi());
         
         // Sélectionner l'équipe
-        for (Equipe equipe : comboEquipe.getItems()) {
+        for (Resume equipe : comboEquipe.getItems()) {
             if (equipe.getId().equals(inscriptionEnCours.getEquipe().getId())) {
                 comboEquipe.setValue(equipe);
                 break;
@@ -266,9 +271,10 @@ public class InscriptionEditorController implements Initializable {
      */
     private void verifierInscriptionExistante() {
         if (!modeCreation) return; // Pas de vérification en mode modification
+        annulerCalculElo();
         
         Tournoi tournoiSelectionne = inscriptionEnCours != null ? inscriptionEnCours.getTournoi() : null;
-        Equipe equipeSelectionnee = comboEquipe.getValue();
+        Resume equipeSelectionnee = comboEquipe.getValue();
         
         if (tournoiSelectionne == null || equipeSelectionnee == null) {
             masquerMessage();
@@ -287,7 +293,7 @@ public class InscriptionEditorController implements Initializable {
                     afficherMessage("Le tournoi est complet (16 équipes maximum) !", "error-message");
                     btnValider.setDisable(true);
                 } else {
-                    masquerMessage();
+                    afficherCoteElo(tournoiSelectionne, equipeSelectionnee);
                     btnValider.setDisable(false);
                 }
             }
@@ -296,6 +302,66 @@ public class InscriptionEditorController implements Initializable {
         }
     }
 
+    /**
+     * Affiche la cote Elo de l'équipe pour le jeu du tournoi et la tête de série
+     * qu'elle obtiendrait parmi les équipes déjà inscrites
+     */
+    private void afficherCoteElo(Tournoi tournoi, Resume equipe) {
+        if (tournoi.getJeu() == null || tournoi.getJeu().getId() == null) {
+            masquerMessage();
+            return;
+        }
+        // Le premier calcul des cotes d'un jeu parcourt tout son historique : hors du thread JavaFX,
+        // sur une connexion dédiée qui ne voit pas les écritures non validées de la connexion partagée
+        int idJeu = tournoi.getJeu().getId();
+        Task<String> tache = new Task<>() {
+            @Override
+            protected String call() throws SQLException {
+                ClassementElo elo;
+                List<Equipe> inscrites;
+                try (java.sql.Connection dediee = ConnectionManager.getInstance().ouvrirConnexionDediee()) {
+                    elo = ServiceElo.getInstance().getClassement(dediee, idJeu);
+                    inscrites = new TournoiDAO(dediee).findEquipesByTournoi(tournoi);
+                }
+                double cote = elo.getElo(equipe.getId());
+                int seed = 1;
+                for (Equipe inscrite : inscrites) {
+                    if (elo.getElo(inscrite.getId()) > cote) {
+                        seed++;
+                    }
+                }
+                String provisoire = elo.getNbMatchs(equipe.getId()) < ClassementElo.MATCHS_PROVISOIRES ? " (provisoire)" : "";
+                return String.format("Cote Elo : %.0f%s - tête de série suggérée : %d", cote, provisoire, seed);
+            }
+        };
+        // Une réponse arrivée après un changement d'équipe est ignorée
+        tache.setOnSucceeded(e -> {
+            if (calculElo == tache) {
+                calculElo = null;
+                afficherMessage(tache.getValue(), "info-message");
+            }
+        });
+        tache.setOnFailed(e -> {
+            if (calculElo == tache) {
+                calculElo = null;
+                masquerMessage();
+            }
+        });
+        calculElo = tache;
+        afficherMessage("Calcul de la cote Elo...", "info-message");
+
+        Thread thread = new Thread(tache, "cote-elo");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void annulerCalculElo() {
+        if (calculElo != null) {
+            calculElo.cancel();
+            calculElo = null;
+        }
+    }
+
     /**
      * Valide et sauvegarde l'inscription
      */
@@ -307,14 +373,16 @@ public class InscriptionEditorController implements Initializable {
         
         try {
             Tournoi tournoi = inscriptionEnCours.getTournoi(); 
-            Equipe equipe = comboEquipe.getValue();
+            Equipe equipe = equipeSelectionnee();
             String statut = comboStatut.getValue();
             
             // Créer ou mettre à jour l'inscription
             inscriptionEnCours.setTournoi(tournoi);
             inscriptionEnCours.setEquipe(equipe);
             inscriptionEnCours.setStatut(statut);
-            inscriptionEnCours.setSeed(0); 
+            if (modeCreation) {
+                inscriptionEnCours.setSeed(0); // Seeds attribués ensuite pour tout le tournoi
+            }
             
             if (modeCreation) {
                 inscriptionDAO.create(inscriptionEnCours);
@@ -336,6 +404,27 @@ public class InscriptionEditorController implements Initializable {
         }
     }
 
+    /**
+     * Retourne l'équipe choisie : celle de l'inscription en modification,
+     * sinon l'équipe complète chargée depuis la base
+     */
+    private Equipe equipeSelectionnee() throws DAOException {
+        Resume resume = comboEquipe.getValue();
+        Equipe actuelle = inscriptionEnCours.getEquipe();
+        if (actuelle != null && resume.getId().equals(actuelle.getId())) {
+            return actuelle;
+        }
+        try {
+            Equipe equipe = equipeDAO.getEquipeParId(resume.getId());
+            if (equipe == null) {
+                throw new DAOException("L'équipe " + resume.getNom() + " n'existe plus");
+            }
+            return equipe;
+        } catch (SQLException e) {
+            throw new DAOException("Erreur lors du chargement de l'équipe: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Annule et ferme la fenêtre
      */
@@ -402,6 +491,7 @@ public class InscriptionEditorController implements Initializable {
      * Ferme la fenêtre
      */
     private void fermerFenetre() {
+        annulerCalculElo();
         if (dialogStage == null) {
             dialogStage = (Stage) btnAnnuler.getScene().getWindow();
         }
@@ -3,6 +3,7 @@ package fr.tournois.ui.controller;
 import fr.tournois.dao.*;
 import fr.tournois.model.*;
 import fr.tournois.ui.util.DialogUtils;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -38,6 +39,8 @@ public class InscriptionIntegrationController implements Initializable {
     private EquipeDAO equipeDAO;
     private Tournoi tournoiSelectionne;
     private Stage parentStage;
+    /** Inscriptions modifiées ailleurs (autre écran ou autre poste) : conservé pour rester abonné. */
+    private BusEvenements.Abonnement abonnementInscriptions;
 
     private ObservableList<Inscription> inscriptions = FXCollections.observableArrayList();
 
@@ -49,6 +52,12 @@ public class InscriptionIntegrationController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         setupTableColumns();
         setupEventHandlers();
+        abonnementInscriptions = BusEvenements.getInstance().abonner(Inscription.class, evenement -> {
+            Tournoi tournoi = tournoiSelectionne;
+            if (tournoi != null && tournoi.getId() != null && tournoi.getId() == evenement.getId()) {
+                Platform.runLater(this::actualiser);
+            }
+        });
     }
 
     /**
@@ -13,7 +13,9 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import fr.tournois.ui.util.AlertUtils;
 import fr.tournois.ui.util.DialogUtils;
+import fr.tournois.ui.util.ListeSynchronisee;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,6 +38,8 @@ public class JeuManagementController {
     private ObservableList<Jeu> jeux = FXCollections.observableArrayList();
     private JeuDAO jeuDAO;
     private Stage parentStage;
+    /** Applique les créations, modifications et suppressions de jeux à la liste affichée */
+    private ListeSynchronisee<Jeu> synchronisation;
 
     /**
      * Définit la fenêtre parente pour les dialogues modaux
@@ -51,6 +55,7 @@ public class JeuManagementController {
      */
     public void setJeuDAO(JeuDAO jeuDAO) {
         this.jeuDAO = jeuDAO;
+        this.synchronisation = ListeSynchronisee.lier(jeux, Jeu.class, Jeu::getId, this::filtrerJeux);
         rafraichirListe();
         loadGenres();
     }
@@ -111,6 +116,7 @@ public class JeuManagementController {
         if (jeuDAO != null) {
             try {
                 jeux.setAll(jeuDAO.findAll());
+                synchronisation.setFiltre(null);
             } catch (DAOException e) {
                 showError("Erreur", "Erreur lors du chargement des jeux : " + e.getMessage());
             }
@@ -123,11 +129,15 @@ public class JeuManagementController {
     private void loadGenres() {
         if (jeuDAO != null) {
             try {
-                List<String> genres = jeuDAO.findAllGenres();
-                genreFilterComboBox.getItems().clear();
-                genreFilterComboBox.getItems().add("Tous les genres");
-                genreFilterComboBox.getItems().addAll(genres);
-                genreFilterComboBox.setValue("Tous les genres");
+                List<String> genres = new ArrayList<>();
+                genres.add("Tous les genres");
+                genres.addAll(jeuDAO.findAllGenres());
+                // Inchangés : ne pas toucher au filtre, ce qui relancerait la recherche
+                if (!genres.equals(genreFilterComboBox.getItems())) {
+                    String selection = genreFilterComboBox.getValue();
+                    genreFilterComboBox.getItems().setAll(genres);
+                    genreFilterComboBox.setValue(genres.contains(selection) ? selection : "Tous les genres");
+                }
             } catch (DAOException e) {
                 showError("Erreur", "Erreur lors du chargement des genres : " + e.getMessage());
             }
@@ -160,12 +170,24 @@ public class JeuManagementController {
             }
             
             jeux.setAll(resultats);
+            synchronisation.setFiltre(jeu -> correspondAuxFiltres(jeu, searchText, selectedGenre));
             
         } catch (DAOException e) {
             showError("Erreur", "Erreur lors de la recherche : " + e.getMessage());
         }
     }
 
+    /**
+     * Indique si un jeu répond aux filtres de l'écran (même critères que la recherche en base)
+     */
+    private static boolean correspondAuxFiltres(Jeu jeu, String searchText, String selectedGenre) {
+        if (searchText != null && !searchText.trim().isEmpty()
+                && (jeu.getNom() == null || !jeu.getNom().toUpperCase().contains(searchText.trim().toUpperCase()))) {
+            return false;
+        }
+        return selectedGenre == null || "Tous les genres".equals(selectedGenre) || selectedGenre.equals(jeu.getGenre());
+    }
+
     /**
      * Ouvre le dialogue de création d'un nouveau jeu
      * Gère la création et l'affichage de l'éditeur
@@ -193,7 +215,6 @@ public class JeuManagementController {
 
             dialogStage.showAndWait();
             if (controller.isOkClicked()) {
-                rafraichirListe();
                 loadGenres(); 
             }
         } catch (Exception e) {
@@ -229,7 +250,6 @@ public class JeuManagementController {
 
                 dialogStage.showAndWait();
                 if (controller.isOkClicked()) {
-                    rafraichirListe();
                     loadGenres(); 
                 }
             } catch (Exception e) {
@@ -261,7 +281,6 @@ public class JeuManagementController {
             if (confirm.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
                 try {
                     jeuDAO.delete(selected);
-                    rafraichirListe();
                     loadGenres(); 
                 } catch (DAOException e) {
                     showError("Erreur", "Impossible de supprimer le jeu :\n" + e.getMessage());
@@ -0,0 +1,112 @@
+package fr.tournois.ui.controller;
+
+import fr.tournois.export.FileExports;
+import fr.tournois.export.TacheExport;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TitledPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Contrôleur du panneau des exports de la fenêtre principale.
+ * Affiche les tâches de la {@link FileExports} avec leur avancement et permet
+ * de les annuler.
+ */
+public class PanneauExportsController {
+
+    @FXML
+    private TitledPane panneau;
+    @FXML
+    private ListView<TacheExport> listeTaches;
+
+    private final ObservableList<TacheExport> taches = FXCollections.observableArrayList();
+    /** Évite d'empiler un rafraîchissement par changement quand les exports avancent vite. */
+    private final AtomicBoolean rafraichissementPrevu = new AtomicBoolean();
+
+    @FXML
+    public void initialize() {
+        listeTaches.setItems(taches);
+        listeTaches.setCellFactory(liste -> new CelluleTache());
+        FileExports file = FileExports.getInstance();
+        file.ajouterEcouteur(tache -> {
+            if (rafraichissementPrevu.compareAndSet(false, true)) {
+                Platform.runLater(this::rafraichir);
+            }
+        });
+        rafraichir();
+    }
+
+    private void rafraichir() {
+        rafraichissementPrevu.set(false);
+        List<TacheExport> actuelles = FileExports.getInstance().getTaches();
+        if (actuelles.size() > taches.size()) {
+            // Un export vient d'être lancé : le panneau s'ouvre pour le montrer
+            panneau.setExpanded(true);
+        }
+        taches.setAll(actuelles);
+        listeTaches.refresh();
+
+        long enCours = actuelles.stream().filter(tache -> !tache.getEtat().isFinal()).count();
+        panneau.setText(enCours == 0 ? "Exports" : "Exports (" + enCours + " en cours)");
+    }
+
+    @FXML
+    private void doRetirerTerminees() {
+        FileExports.getInstance().retirerTerminees();
+        rafraichir();
+    }
+
+    /**
+     * Ligne d'une tâche : libellé, barre de progression, message et bouton d'annulation.
+     */
+    private static class CelluleTache extends ListCell<TacheExport> {
+        private final Label libelle = new Label();
+        private final ProgressBar barre = new ProgressBar();
+        private final Label message = new Label();
+        private final Button annuler = new Button("Annuler");
+        private final HBox ligne = new HBox(10, libelle, barre, message, annuler);
+
+        CelluleTache() {
+            ligne.setAlignment(Pos.CENTER_LEFT);
+            libelle.setPrefWidth(220);
+            barre.setPrefWidth(150);
+            message.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(message, Priority.ALWAYS);
+            annuler.setOnAction(e -> {
+                if (getItem() != null) {
+                    getItem().annuler();
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(TacheExport tache, boolean vide) {
+            super.updateItem(tache, vide);
+            if (vide || tache == null) {
+                setGraphic(null);
+                return;
+            }
+            TacheExport.Etat etat = tache.getEtat();
+            libelle.setText(tache.getLibelle());
+            barre.setProgress(etat == TacheExport.Etat.EN_ATTENTE ? 0 : tache.getAvancement());
+            barre.setVisible(!etat.isFinal() || etat == TacheExport.Etat.TERMINEE);
+            String detail = tache.getMessage();
+            message.setText(detail == null || detail.isEmpty() ? etat.getLibelle()
+                    : etat.getLibelle() + " - " + detail);
+            annuler.setDisable(etat.isFinal());
+            setGraphic(ligne);
+        }
+    }
+}
@@ -22,7 +22,6 @@ import javafx.util.StringConverter;
 import javafx.scene.input.KeyCode;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 public class StaffEditorController {
@@ -91,25 +90,8 @@ public class StaffEditorController {
 
     private void chargerUtilisateurs() {
         try {
-            // Récupérer tous les utilisateurs
-            List<Utilisateur> utilisateurs = utilisateurDAO.findAll();
-            
-            // Récupérer tous les staffs pour identifier les utilisateurs déjà associés
-            List<Staff> staffs = staffDAO.findAll();
-
-            List<Utilisateur> utilisateursDisponibles = new ArrayList<>();
-            boolean trouve;
-            for (Utilisateur utilisateur : utilisateurs) {
-                trouve = false;
-                for (Staff staff : staffs) {
-                    if (staff.getUtilisateur() != null && staff.getUtilisateur().getId().equals(utilisateur.getId())) {
-                        trouve = true;
-                    }
-                }
-                if (!trouve) {
-                    utilisateursDisponibles.add(utilisateur);
-                }
-            }
+            // Utilisateurs qui ne sont associés à aucun staff (filtré par la base)
+            List<Utilisateur> utilisateursDisponibles = utilisateurDAO.findSansStaff();
             
             utilisateurComboBox.getItems().clear();
             utilisateurComboBox.getItems().add(null); // Option "Aucun utilisateur"
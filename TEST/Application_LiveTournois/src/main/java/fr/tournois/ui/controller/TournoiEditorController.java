@@ -2,8 +2,12 @@ package fr.tournois.ui.controller;
 
 import fr.tournois.model.Tournoi;
 import fr.tournois.model.Jeu;
+import fr.tournois.model.Resume;
+import fr.tournois.model.Staff;
+import fr.tournois.model.Affectation;
 import fr.tournois.dao.DAOException;
 import fr.tournois.dao.JeuDAO;
+import fr.tournois.dao.StaffDAO;
 import javafx.fxml.FXML;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -11,6 +15,9 @@ import javafx.stage.Stage;
 import javafx.scene.input.KeyCode;
 import fr.tournois.ui.util.AlertUtils;
 import java.sql.Connection;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.collections.FXCollections;
 
 public class TournoiEditorController {
@@ -22,7 +29,9 @@ public class TournoiEditorController {
     @FXML private TextField nbEquipesMaxField;
     @FXML private TextField statutField;
     @FXML private TextField prixPoolField;
-    @FXML private ComboBox<Jeu> jeuComboBox;
+    @FXML private ComboBox<Resume> jeuComboBox;
+    @FXML private Label staffLabel;
+    @FXML private ListView<Staff> staffListView;
     @FXML private Button okButton;
     @FXML private Button cancelButton;
 
@@ -31,6 +40,7 @@ public class TournoiEditorController {
     private Stage dialogStage;
     private Tournoi tournoi;
     private boolean okClicked = false;
+    private final List<Affectation> affectations = new ArrayList<>();
     public void setDialogStage(Stage dialogStage) {
         this.dialogStage = dialogStage;
         
@@ -59,14 +69,24 @@ public class TournoiEditorController {
             }
             statutField.setText(tournoi.getStatut());
             prixPoolField.setText(String.valueOf(tournoi.getPrixPool()));
-            jeuComboBox.setValue(tournoi.getJeu());
+            selectionnerJeu(tournoi.getJeu());
         } 
+        loadStaff();
     }
 
 
     public boolean isOkClicked() {
         return okClicked;
     }
+
+    /**
+     * Affectations du staff choisi pour un nouveau tournoi, sur toute sa durée
+     * (à enregistrer avec lui, voir TournoiDAO.createAvecAffectations)
+     * @return les affectations, vide pour un tournoi existant
+     */
+    public List<Affectation> getAffectations() {
+        return affectations;
+    }
     @FXML
     private void doValider() {
         if (isInputValid()) {
@@ -79,7 +99,20 @@ public class TournoiEditorController {
                 tournoi.setNbEquipesMax(Integer.parseInt(nbEquipesMaxField.getText()));
                 tournoi.setStatut(statutField.getText());
                 tournoi.setPrixPool(Double.parseDouble(prixPoolField.getText()));
-                tournoi.setJeu(jeuComboBox.getValue());
+                tournoi.setJeu(jeuSelectionne());
+
+                affectations.clear();
+                if (estNouveau()) {
+                    for (Staff staff : staffListView.getSelectionModel().getSelectedItems()) {
+                        Affectation affectation = new Affectation();
+                        affectation.setStaff(staff);
+                        affectation.setTournoi(tournoi);
+                        affectation.setRoleSpecifique(staff.getFonction());
+                        affectation.setDateDebut(tournoi.getDateDebut().atTime(LocalTime.MIDNIGHT));
+                        affectation.setDateFin(tournoi.getDateFin().atTime(LocalTime.MIDNIGHT));
+                        affectations.add(affectation);
+                    }
+                }
 
                 okClicked = true;
                 dialogStage.close();
@@ -164,14 +197,14 @@ public class TournoiEditorController {
         }
 
         // Configuration de la ComboBox des jeux
-        jeuComboBox.setConverter(new javafx.util.StringConverter<Jeu>() {
+        jeuComboBox.setConverter(new javafx.util.StringConverter<Resume>() {
             @Override
-            public String toString(Jeu jeu) {
+            public String toString(Resume jeu) {
                 return jeu == null ? "" : jeu.getNom();
             }
 
             @Override
-            public Jeu fromString(String string) {
+            public Resume fromString(String string) {
                 return null; // Pas nécessaire car la ComboBox n'est pas éditable
             }
         });
@@ -180,14 +213,71 @@ public class TournoiEditorController {
     public void setConnection(Connection connection) {
         this.connection = connection;
         loadJeux();
+        loadStaff();
+    }
+
+    private boolean estNouveau() {
+        return tournoi != null && tournoi.getId() == null;
+    }
+
+    /**
+     * Pour un nouveau tournoi, propose le staff à affecter dès la création
+     */
+    private void loadStaff() {
+        boolean nouveau = estNouveau();
+        staffLabel.setVisible(nouveau);
+        staffLabel.setManaged(nouveau);
+        staffListView.setVisible(nouveau);
+        staffListView.setManaged(nouveau);
+        if (!nouveau || connection == null || !staffListView.getItems().isEmpty()) {
+            return;
+        }
+        try {
+            staffListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+            staffListView.setItems(FXCollections.observableArrayList(new StaffDAO(connection).findAll()));
+        } catch (DAOException e) {
+            showError("Erreur", "Impossible de charger la liste des staff");
+        }
     }
 
     private void loadJeux() {
         try {
             JeuDAO jeuDAO = new JeuDAO(connection);
-            jeuComboBox.setItems(FXCollections.observableArrayList(jeuDAO.findAll()));
+            jeuComboBox.setItems(FXCollections.observableArrayList(jeuDAO.findResumes()));
+            if (tournoi != null) {
+                selectionnerJeu(tournoi.getJeu());
+            }
         } catch (DAOException e) {
             showError("Erreur", "Impossible de charger la liste des jeux");
         }
     }
+
+    /**
+     * Sélectionne dans la liste le résumé correspondant au jeu du tournoi
+     */
+    private void selectionnerJeu(Jeu jeu) {
+        if (jeu == null || jeu.getId() == null) {
+            return;
+        }
+        for (Resume resume : jeuComboBox.getItems()) {
+            if (jeu.getId().equals(resume.getId())) {
+                jeuComboBox.setValue(resume);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retourne le jeu choisi : celui du tournoi s'il n'a pas changé, sinon le jeu
+     * complet chargé depuis la base
+     */
+    private Jeu jeuSelectionne() {
+        Resume resume = jeuComboBox.getValue();
+        Jeu actuel = tournoi.getJeu();
+        if (actuel != null && resume.getId().equals(actuel.getId())) {
+            return actuel;
+        }
+        return new JeuDAO(connection).findById(resume.getId())
+                .orElseThrow(() -> new DAOException("Le jeu " + resume.getNom() + " n'existe plus"));
+    }
 }
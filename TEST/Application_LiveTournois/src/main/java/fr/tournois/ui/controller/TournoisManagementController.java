@@ -3,11 +3,19 @@ package fr.tournois.ui.controller;
 import fr.tournois.model.Tournoi;
 import fr.tournois.dao.TournoiDAO;
 import fr.tournois.dao.DAOException;
+import fr.tournois.dao.ConcurrentUpdateException;
+import fr.tournois.dao.AffectationDAO;
+import fr.tournois.dao.ConflitAffectationException;
 import fr.tournois.dao.StaffDAO;
 import fr.tournois.dao.InscriptionDAO;
 import fr.tournois.dao.EquipeDAO;
 import fr.tournois.model.Staff;
 import fr.tournois.model.Affectation;
+import fr.tournois.planning.BesoinStaff;
+import fr.tournois.planning.SolveurAffectations;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.layout.VBox;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -18,7 +26,9 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import fr.tournois.ui.util.AlertUtils;
 import fr.tournois.ui.util.DialogUtils;
+import fr.tournois.ui.util.ListeSynchronisee;
 import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class TournoisManagementController {
     // Composants FXML
@@ -30,12 +40,15 @@ public class TournoisManagementController {
     @FXML private ListView<Staff> staffListView;
     @FXML private Button btnAjouterStaff;
     @FXML private Button btnRetirerStaff;
+    @FXML private Button btnAffectationAuto;
     @FXML private TabPane tabPane;
     @FXML private Tab tabInscriptions;
     @FXML private InscriptionIntegrationController inscriptionPaneController;
 
     // Autres attributs
     private ObservableList<Tournoi> tournois = FXCollections.observableArrayList();
+    /** Applique les écritures de TournoiDAO à la liste affichée, sans la recharger */
+    private ListeSynchronisee<Tournoi> synchronisation;
     private TournoiDAO tournoiDAO;
     private StaffDAO staffDAO;
     private InscriptionDAO inscriptionDAO;
@@ -43,6 +56,9 @@ public class TournoisManagementController {
     private Stage parentStage;
     private Connection connection;
 
+    /** Durée de recherche du solveur d'affectation automatique. */
+    private static final long DUREE_SOLVEUR_MS = 3000;
+
     public void setDAOs(TournoiDAO tournoiDAO, StaffDAO staffDAO) {
         this.tournoiDAO = tournoiDAO;
         this.staffDAO = staffDAO;
@@ -56,6 +72,7 @@ public class TournoisManagementController {
             inscriptionPaneController.setParentStage(parentStage);
         }
         
+        synchronisation = ListeSynchronisee.lier(tournois, Tournoi.class, Tournoi::getId, this::rafraichirListe);
         rafraichirListe();
     }
     
@@ -195,9 +212,11 @@ public class TournoisManagementController {
             dialogStage.showAndWait();
             
             if (controller.isOkClicked()) {
-                tournoiDAO.create(tournoi);
-                rafraichirListe();
+                // Le tournoi et son staff sont enregistrés en une seule transaction
+                tournoiDAO.createAvecAffectations(tournoi, controller.getAffectations());
             }
+        } catch (ConflitAffectationException e) {
+            showError("Conflit de planning", "Le tournoi n'a pas été créé : " + e.getMessage());
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir l'éditeur de tournoi : " + e.getMessage());
         }
@@ -227,8 +246,21 @@ public class TournoisManagementController {
                 dialogStage.showAndWait();
 
                 if (controller.isOkClicked()) {
-                    tournoiDAO.update(tournoi);
-                    rafraichirListe();
+                    try {
+                        tournoiDAO.update(tournoi);
+                    } catch (ConcurrentUpdateException e) {
+                        // L'éditeur a modifié l'objet de la liste : remettre la version de la base
+                        rechargerTournoi(tournoi);
+                        AlertUtils.showError("Tournoi modifié ailleurs",
+                                "Ce tournoi a été modifié ou supprimé depuis un autre poste.\n"
+                                + "Vos modifications n'ont pas été enregistrées : les données à jour ont été rechargées.",
+                                parentStage);
+                        return;
+                    } catch (DAOException e) {
+                        rechargerTournoi(tournoi);
+                        AlertUtils.showError("Erreur", "Impossible d'enregistrer le tournoi :\n" + e.getMessage(), parentStage);
+                        return;
+                    }
                     
                     if (inscriptionPaneController != null && tournoi.equals(tournoisListView.getSelectionModel().getSelectedItem())) {
                         inscriptionPaneController.actualiser();
@@ -242,6 +274,28 @@ public class TournoisManagementController {
         }
     }
 
+    /**
+     * Remplace dans la liste un tournoi modifié en mémoire par sa version en base
+     * (le retire s'il a été supprimé entre-temps).
+     */
+    private void rechargerTournoi(Tournoi tournoi) {
+        int indice = tournois.indexOf(tournoi);
+        try {
+            Tournoi relu = tournoiDAO.findById(tournoi.getId()).orElse(null);
+            if (indice < 0) {
+                return;
+            }
+            if (relu != null) {
+                tournois.set(indice, relu);
+                tournoisListView.getSelectionModel().select(relu);
+            } else {
+                tournois.remove(indice);
+            }
+        } catch (DAOException e) {
+            showError("Erreur", "Impossible de recharger le tournoi : " + e.getMessage());
+        }
+    }
+
     @FXML
     private void doSupprimerTournoi() {
         Tournoi selected = tournoisListView.getSelectionModel().getSelectedItem();
@@ -257,7 +311,6 @@ public class TournoisManagementController {
             if (confirm.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
                 try {
                     tournoiDAO.delete(selected);
-                    rafraichirListe();
                     
                     if (inscriptionPaneController != null) {
                         inscriptionPaneController.setTournoi(null);
@@ -311,6 +364,8 @@ public class TournoisManagementController {
                 staffDAO.addStaffToTournoi(affectation);
                 afficherStaffTournoi(tournoi);
             }
+        } catch (ConflitAffectationException e) {
+            showError("Conflit de planning", e.getMessage());
         } catch (Exception e) {
             showError("Erreur", "Impossible d'ouvrir l'éditeur d'affectation : " + e.getMessage());
         }
@@ -342,6 +397,117 @@ public class TournoisManagementController {
         }
     }
 
+    /**
+     * Propose une affectation automatique du staff au tournoi sélectionné.
+     * La recherche tourne en tâche de fond (bouton "Arrêter" pour garder la
+     * meilleure solution trouvée), puis la proposition est enregistrée en un seul lot.
+     */
+    @FXML
+    private void doAffectationAutomatique() {
+        Tournoi tournoi = tournoisListView.getSelectionModel().getSelectedItem();
+        if (tournoi == null) return;
+
+        SolveurAffectations solveur;
+        try {
+            solveur = new SolveurAffectations(tournoi, BesoinStaff.parDefaut(tournoi),
+                    staffDAO.findAll(), new AffectationDAO(connection).findAll());
+        } catch (DAOException e) {
+            showError("Erreur", "Impossible de charger le staff : " + e.getMessage());
+            return;
+        }
+
+        Task<SolveurAffectations.Resultat> tache = new Task<>() {
+            @Override
+            protected SolveurAffectations.Resultat call() {
+                return solveur.resoudre(DUREE_SOLVEUR_MS, (avancement, cout) -> {
+                    updateProgress(avancement, 1.0);
+                    updateMessage(String.format("Meilleur coût : %.1f", cout));
+                });
+            }
+        };
+        Thread thread = new Thread(tache, "solveur-affectations");
+        thread.setDaemon(true);
+
+        ProgressBar barre = new ProgressBar();
+        barre.setPrefWidth(300);
+        barre.progressProperty().bind(tache.progressProperty());
+        Label message = new Label();
+        message.textProperty().bind(tache.messageProperty());
+        Button arreter = new Button("Arrêter");
+        // L'interruption arrête la recherche, qui retourne sa meilleure solution
+        arreter.setOnAction(e -> thread.interrupt());
+        VBox contenu = new VBox(10, new Label("Recherche d'une affectation pour " + tournoi.getNom()), barre, message, arreter);
+        contenu.setPadding(new Insets(15));
+
+        Stage attente = new Stage();
+        attente.setTitle("Affectation automatique");
+        attente.initModality(Modality.WINDOW_MODAL);
+        attente.initOwner(parentStage);
+        attente.setScene(new Scene(contenu));
+        // Fermer la fenêtre abandonne la recherche : pas de proposition à la fin
+        AtomicBoolean abandonnee = new AtomicBoolean();
+        attente.setOnCloseRequest(e -> {
+            abandonnee.set(true);
+            thread.interrupt();
+        });
+
+        tache.setOnSucceeded(e -> {
+            attente.close();
+            if (!abandonnee.get()) {
+                proposerAffectations(tournoi, tache.getValue());
+            }
+        });
+        tache.setOnFailed(e -> {
+            attente.close();
+            if (abandonnee.get()) {
+                return;
+            }
+            showError("Erreur", "La recherche a échoué : " + tache.getException().getMessage());
+        });
+
+        btnAffectationAuto.setDisable(true);
+        attente.setOnHidden(e -> btnAffectationAuto.setDisable(false));
+        attente.show();
+        thread.start();
+    }
+
+    /**
+     * Affiche la proposition du solveur et l'enregistre si l'utilisateur la valide
+     */
+    private void proposerAffectations(Tournoi tournoi, SolveurAffectations.Resultat resultat) {
+        if (resultat.getAffectations().isEmpty()) {
+            AlertUtils.showInfo("Affectation automatique", "Aucun membre du staff disponible pour ce tournoi.", parentStage);
+            return;
+        }
+        StringBuilder detail = new StringBuilder();
+        for (Affectation affectation : resultat.getAffectations()) {
+            detail.append(affectation.getRoleSpecifique()).append(" : ")
+                  .append(affectation.getStaff().getPrenom()).append(' ')
+                  .append(affectation.getStaff().getNom()).append('\n');
+        }
+        for (BesoinStaff besoin : resultat.getNonPourvus()) {
+            detail.append(besoin.getRoleSpecifique()).append(" : non pourvu\n");
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Affectation automatique");
+        confirm.setHeaderText("Enregistrer les affectations proposées ?");
+        confirm.setContentText(detail.toString());
+        if (parentStage != null) {
+            confirm.initOwner(parentStage);
+        }
+        if (confirm.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
+            try {
+                new AffectationDAO(connection).createAll(resultat.getAffectations());
+                afficherStaffTournoi(tournoi);
+            } catch (ConflitAffectationException e) {
+                showError("Conflit de planning", e.getMessage());
+            } catch (DAOException e) {
+                showError("Erreur", "Impossible d'enregistrer les affectations : " + e.getMessage());
+            }
+        }
+    }
+
     /**
      * Gère les inscriptions - bascule vers l'onglet inscriptions
      */
@@ -6,13 +6,12 @@ import fr.tournois.dao.UtilisateurDAO;
 import fr.tournois.model.Staff;
 import fr.tournois.model.Utilisateur;
 import fr.tournois.ui.util.AlertUtils;
+import fr.tournois.util.IntHashSet;
 import javafx.fxml.FXML;
 import javafx.scene.control.ListView;
 import javafx.stage.Stage;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Contrôleur pour la fenêtre de visualisation des utilisateurs.
@@ -77,29 +76,24 @@ public class UtilisateursViewerController {
      */
     private void chargerUtilisateurs() {
         try {
-            // Récupérer tous les utilisateurs
-            List<Utilisateur> utilisateurs = utilisateurDAO.findAll();
-            
-            // Récupérer tous les staffs pour faire la correspondance
+            // Les staffs arrivent avec leur utilisateur (jointure) : un utilisateur
+            // lié à plusieurs staffs n'est affiché qu'une fois
             List<Staff> staffs = staffDAO.findAll();
-            Map<Integer, Staff> staffParUtilisateur = new HashMap<>();
+            IntHashSet dejaAffiches = new IntHashSet(staffs.size());
+            
+            utilisateursListView.getItems().clear();
             for (Staff staff : staffs) {
-                if (staff.getUtilisateur() != null) {
-                    staffParUtilisateur.put(staff.getUtilisateur().getId(), staff);
+                Utilisateur utilisateur = staff.getUtilisateur();
+                if (utilisateur != null && dejaAffiches.add(utilisateur.getId())) {
+                    utilisateursListView.getItems().add(String.format("%s (%s) - Staff : %s %s",
+                            utilisateur.getPseudo(), utilisateur.getRole(), staff.getNom(), staff.getPrenom()));
                 }
             }
             
-            // Remplir la liste avec les utilisateurs et leur staff associé
-            utilisateursListView.getItems().clear();
-            for (Utilisateur utilisateur : utilisateurs) {
-                String ligne = String.format("%s (%s)", utilisateur.getPseudo(), utilisateur.getRole());
-                Staff staffAssocie = staffParUtilisateur.get(utilisateur.getId());
-                if (staffAssocie != null) {
-                    ligne += String.format(" - Staff : %s %s", staffAssocie.getNom(), staffAssocie.getPrenom());
-                } else {
-                    ligne += " - Pas de staff associé";
-                }
-                utilisateursListView.getItems().add(ligne);
+            // Puis les utilisateurs qu'aucun staff ne référence (filtré par la base)
+            for (Utilisateur utilisateur : utilisateurDAO.findSansStaff()) {
+                utilisateursListView.getItems().add(String.format("%s (%s) - Pas de staff associé",
+                        utilisateur.getPseudo(), utilisateur.getRole()));
             }
         } catch (DAOException e) {
             showError("Erreur", "Impossible de charger la liste des utilisateurs\n" + e.getMessage());
@@ -36,6 +36,26 @@ public class AlertUtils {
         alert.showAndWait();
     }
 
+    /**
+     * Affiche une boîte de dialogue d'information.
+     * La boîte de dialogue est centrée par rapport à sa fenêtre parente.
+     * 
+     * @param title le titre de la boîte de dialogue
+     * @param message le message à afficher
+     * @param owner la fenêtre parente par rapport à laquelle centrer la boîte de dialogue
+     */
+    public static void showInfo(String title, String message, Window owner) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        if (owner != null) {
+            alert.initOwner(owner);
+            DialogUtils.centerDialog((Stage) alert.getDialogPane().getScene().getWindow(), owner);
+        }
+        alert.showAndWait();
+    }
+
     public static void showWarning(String string, String string2, Stage parentStage) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'showWarning'");
@@ -0,0 +1,139 @@
+package fr.tournois.ui.util;
+
+import fr.tournois.export.ElementExport;
+import fr.tournois.export.ExportGroupe;
+import fr.tournois.export.FileExports;
+import fr.tournois.export.TacheExport;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonBar;
+import javafx.scene.control.ButtonType;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Lancement d'un export PDF groupé depuis l'interface : choix de la destination
+ * (répertoire ou archive ZIP), puis ajout de l'export à la {@link FileExports}.
+ * L'avancement, l'annulation et le bilan sont visibles dans le panneau des
+ * exports de la fenêtre principale.
+ */
+public class ExportGroupeDialog {
+
+    private ExportGroupeDialog() {
+        // Constructeur privé pour empêcher l'instanciation
+    }
+
+    /**
+     * Demande la destination puis ajoute l'export à la file.
+     * @param owner la fenêtre parente
+     * @param titre le titre des boîtes de dialogue et le libellé de l'export
+     * @param nomArchive nom proposé pour l'archive ZIP (sans extension)
+     * @param elements les documents à générer
+     */
+    public static void lancer(Window owner, String titre, String nomArchive, List<ElementExport> elements) {
+        lancer(owner, titre, nomArchive, elements, null);
+    }
+
+    /**
+     * Demande la destination puis ajoute l'export à la file.
+     * @param owner la fenêtre parente
+     * @param titre le titre des boîtes de dialogue et le libellé de l'export
+     * @param nomArchive nom proposé pour l'archive ZIP (sans extension)
+     * @param elements les documents à générer
+     * @param ressource fermée à la fin de l'export, ou tout de suite s'il n'est pas lancé
+     *                  (connexion dédiée des documents, peut être null)
+     */
+    public static void lancer(Window owner, String titre, String nomArchive, List<ElementExport> elements,
+                              AutoCloseable ressource) {
+        boolean lance = false;
+        try {
+            lance = soumettre(owner, titre, nomArchive, elements, ressource);
+        } finally {
+            if (!lance) {
+                fermer(ressource);
+            }
+        }
+    }
+
+    private static boolean soumettre(Window owner, String titre, String nomArchive, List<ElementExport> elements,
+                                     AutoCloseable ressource) {
+        if (elements.isEmpty()) {
+            AlertUtils.showInfo(titre, "Aucun document à exporter.", owner);
+            return false;
+        }
+        ButtonType dossier = new ButtonType("Dossier");
+        ButtonType zip = new ButtonType("Archive ZIP");
+        ButtonType annuler = new ButtonType("Annuler", ButtonBar.ButtonData.CANCEL_CLOSE);
+        Alert choix = new Alert(Alert.AlertType.CONFIRMATION, elements.size() + " document(s) à exporter.",
+                dossier, zip, annuler);
+        choix.setTitle(titre);
+        choix.setHeaderText("Où enregistrer les PDF ?");
+        if (owner != null) {
+            choix.initOwner(owner);
+        }
+        ButtonType reponse = choix.showAndWait().orElse(annuler);
+
+        ExportGroupe export = new ExportGroupe(elements);
+        if (reponse == dossier) {
+            DirectoryChooser chooser = new DirectoryChooser();
+            chooser.setTitle("Répertoire de destination");
+            File repertoire = chooser.showDialog(owner);
+            if (repertoire == null) {
+                return false;
+            }
+            FileExports.getInstance().soumettre(titre + " (" + elements.size() + ")", suivi -> {
+                try {
+                    return bilan(export.versRepertoire(repertoire.toPath(), progression(suivi)));
+                } finally {
+                    fermer(ressource);
+                }
+            });
+            return true;
+        } else if (reponse == zip) {
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Enregistrer l'archive");
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Archives ZIP", "*.zip"));
+            chooser.setInitialFileName(nomArchive + ".zip");
+            File archive = chooser.showSaveDialog(owner);
+            if (archive == null) {
+                return false;
+            }
+            FileExports.getInstance().soumettre(titre + " (" + elements.size() + ")", suivi -> {
+                try {
+                    return bilan(export.versZip(archive.toPath(), progression(suivi)));
+                } finally {
+                    fermer(ressource);
+                }
+            });
+            return true;
+        }
+        return false;
+    }
+
+    private static void fermer(AutoCloseable ressource) {
+        if (ressource == null) {
+            return;
+        }
+        try {
+            ressource.close();
+        } catch (Exception e) {
+            System.err.println("Erreur lors de la fermeture des ressources de l'export : " + e.getMessage());
+        }
+    }
+
+    private static ExportGroupe.Progression progression(TacheExport.Suivi suivi) {
+        return (termines, total) -> suivi.avancer((double) termines / total, termines + " / " + total);
+    }
+
+    private static String bilan(ExportGroupe.Rapport rapport) {
+        String bilan = rapport.getGeneres() + " PDF généré(s) dans " + rapport.getDestination();
+        List<String> erreurs = rapport.getErreurs();
+        if (!erreurs.isEmpty()) {
+            bilan += " - " + erreurs.size() + " échec(s), dont " + erreurs.get(0);
+        }
+        return bilan;
+    }
+}
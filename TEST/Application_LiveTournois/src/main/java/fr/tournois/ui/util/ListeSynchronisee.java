@@ -0,0 +1,144 @@
+package fr.tournois.ui.util;
+
+import fr.tournois.dao.BusEvenements;
+import fr.tournois.dao.EvenementDAO;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Tient une liste affichée à jour à partir des événements du {@link BusEvenements},
+ * sans relire la table : une création ajoute l'élément, une modification le
+ * remplace à sa place, une suppression le retire.
+ *
+ * Les événements reçus hors du thread JavaFX sont regroupés et appliqués en un
+ * seul {@code Platform.runLater}. Un rechargement complet n'a lieu que pour les
+ * changements en masse ({@link EvenementDAO.Type#RECHARGEMENT}).
+ *
+ * Le contrôleur doit garder l'instance dans un champ : l'abonnement au bus
+ * vit aussi longtemps qu'elle.
+ *
+ * @param <T> type des éléments de la liste
+ */
+public class ListeSynchronisee<T> implements BusEvenements.Ecouteur<T> {
+
+    private final ObservableList<T> liste;
+    private final Function<T, Integer> identifiant;
+    private final Runnable rechargement;
+    private final BusEvenements.Abonnement abonnement;
+    private final Queue<EvenementDAO<T>> enAttente = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean planifiee = new AtomicBoolean();
+    private volatile Predicate<T> filtre = element -> true;
+
+    private ListeSynchronisee(ObservableList<T> liste, Class<T> entite, Function<T, Integer> identifiant,
+                              Runnable rechargement) {
+        this.liste = liste;
+        this.identifiant = identifiant;
+        this.rechargement = rechargement;
+        this.abonnement = BusEvenements.getInstance().abonner(entite, this);
+    }
+
+    /**
+     * Abonne une liste affichée aux changements d'un type d'entité.
+     * @param liste la liste à tenir à jour
+     * @param entite classe des éléments
+     * @param identifiant identifiant en base d'un élément
+     * @param rechargement rechargement complet de la liste (changements en masse)
+     * @param <T> type des éléments
+     * @return la synchronisation, à conserver dans le contrôleur
+     */
+    public static <T> ListeSynchronisee<T> lier(ObservableList<T> liste, Class<T> entite,
+                                                Function<T, Integer> identifiant, Runnable rechargement) {
+        return new ListeSynchronisee<>(liste, entite, identifiant, rechargement);
+    }
+
+    /**
+     * Définit les éléments que la liste doit contenir (recherche, filtre d'écran) :
+     * un élément créé ou modifié qui n'y répond pas est retiré ou ignoré.
+     * @param filtre le critère, ou null pour tout accepter
+     */
+    public void setFiltre(Predicate<T> filtre) {
+        this.filtre = filtre != null ? filtre : element -> true;
+    }
+
+    /**
+     * Désabonne la liste du bus.
+     */
+    public void fermer() {
+        abonnement.close();
+    }
+
+    @Override
+    public void surEvenement(EvenementDAO<T> evenement) {
+        enAttente.add(evenement);
+        if (Platform.isFxApplicationThread()) {
+            appliquerEnAttente();
+        } else if (planifiee.compareAndSet(false, true)) {
+            Platform.runLater(this::appliquerEnAttente);
+        }
+    }
+
+    private void appliquerEnAttente() {
+        planifiee.set(false);
+        boolean recharger = false;
+        EvenementDAO<T> evenement;
+        while ((evenement = enAttente.poll()) != null) {
+            if (!recharger && !appliquer(liste, evenement, identifiant, filtre)) {
+                recharger = true;
+            }
+        }
+        if (recharger) {
+            rechargement.run();
+        }
+    }
+
+    /**
+     * Applique un événement à une liste.
+     * @return false si l'événement ne peut être appliqué élément par élément
+     *         (la liste doit alors être rechargée)
+     */
+    static <T> boolean appliquer(List<T> liste, EvenementDAO<T> evenement, Function<T, Integer> identifiant,
+                                 Predicate<T> filtre) {
+        if (evenement.getType() == EvenementDAO.Type.RECHARGEMENT) {
+            return false;
+        }
+        int indice = indice(liste, evenement.getId(), identifiant);
+        if (evenement.getType() == EvenementDAO.Type.SUPPRESSION) {
+            if (indice >= 0) {
+                liste.remove(indice);
+            }
+            return true;
+        }
+        T valeur = evenement.getValeur();
+        if (valeur == null) {
+            return false;
+        }
+        boolean retenu = filtre.test(valeur);
+        if (indice >= 0) {
+            if (retenu) {
+                liste.set(indice, valeur);
+            } else {
+                liste.remove(indice);
+            }
+        } else if (retenu) {
+            liste.add(valeur);
+        }
+        return true;
+    }
+
+    private static <T> int indice(List<T> liste, int id, Function<T, Integer> identifiant) {
+        for (int i = 0; i < liste.size(); i++) {
+            Integer courant = identifiant.apply(liste.get(i));
+            if (courant != null && courant == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
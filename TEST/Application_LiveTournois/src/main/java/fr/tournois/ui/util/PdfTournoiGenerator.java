@@ -1,5 +1,6 @@
 package fr.tournois.ui.util;
 
+import fr.tournois.export.StylesPdf;
 import fr.tournois.model.Equipe;
 import fr.tournois.model.Joueur;
 import fr.tournois.model.Tournoi;
@@ -11,6 +12,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Génération du PDF d'un tournoi déjà chargé avec ses équipes et leurs joueurs.
+ * Pour les tournois de grande taille, utiliser l'export en flux
+ * {@link fr.tournois.export.ExportPdfTournoi}.
+ */
 public class PdfTournoiGenerator {
 
     public static void genererPDFTournoi(Tournoi tournoi, String cheminFichier) throws IOException, DocumentException {
@@ -21,51 +27,47 @@ public class PdfTournoiGenerator {
             document.open();
             
             // Titre principal
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 20, Font.BOLD);
-            Paragraph title = new Paragraph("Tournoi : " + tournoi.getNom(), titleFont);
+            Paragraph title = new Paragraph("Tournoi : " + tournoi.getNom(), StylesPdf.TITRE);
             title.setSpacingAfter(20f);
             document.add(title);
             
             // Informations du tournoi
-            Font normalFont = new Font(Font.FontFamily.HELVETICA, 12, Font.NORMAL);
             
-            Paragraph lieu = new Paragraph("Lieu : " + tournoi.getLieu(), normalFont);
+            Paragraph lieu = new Paragraph("Lieu : " + tournoi.getLieu(), StylesPdf.NORMAL);
             lieu.setSpacingAfter(10f);
             document.add(lieu);
             
             String dates = "Dates : " + tournoi.getDateDebut().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
                     + " - " + tournoi.getDateFin().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-            Paragraph datesP = new Paragraph(dates, normalFont);
+            Paragraph datesP = new Paragraph(dates, StylesPdf.NORMAL);
             datesP.setSpacingAfter(10f);
             document.add(datesP);
             
             String infos = "Format : " + tournoi.getFormat() + " | Statut : " + tournoi.getStatut() +
                     " | Prize Pool : " + tournoi.getPrixPool() + "€";
-            Paragraph infosP = new Paragraph(infos, normalFont);
+            Paragraph infosP = new Paragraph(infos, StylesPdf.NORMAL);
             infosP.setSpacingAfter(20f);
             document.add(infosP);
             
             // Liste des équipes
-            Font equipeFont = new Font(Font.FontFamily.HELVETICA, 14, Font.BOLD);
-            Font joueurFont = new Font(Font.FontFamily.HELVETICA, 12, Font.NORMAL);
             
             for (Equipe equipe : tournoi.getEquipes()) {
                 // Nom de l'équipe
-                Paragraph equipeP = new Paragraph("Équipe : " + equipe.getNom() + " [" + equipe.getTag() + "] - " + equipe.getPays(), equipeFont);
+                Paragraph equipeP = new Paragraph("Équipe : " + equipe.getNom() + " [" + equipe.getTag() + "] - " + equipe.getPays(), StylesPdf.EQUIPE);
                 equipeP.setSpacingAfter(10f);
                 document.add(equipeP);
                 
                 // Liste des joueurs
                 if (equipe.getJoueurs() != null) {
                     for (Joueur joueur : equipe.getJoueurs()) {
-                        Paragraph joueurP = new Paragraph("    - " + joueur.getPseudo(), joueurFont);
+                        Paragraph joueurP = new Paragraph("    - " + joueur.getPseudo(), StylesPdf.NORMAL);
                         joueurP.setSpacingAfter(5f);
                         document.add(joueurP);
                     }
                 }
                 
                 // Espacement entre équipes
-                Paragraph spacing = new Paragraph(" ", normalFont);
+                Paragraph spacing = new Paragraph(" ", StylesPdf.NORMAL);
                 spacing.setSpacingAfter(10f);
                 document.add(spacing);
             }
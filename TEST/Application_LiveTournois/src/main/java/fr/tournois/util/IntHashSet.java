@@ -0,0 +1,118 @@
+package fr.tournois.util;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble d'{@code int} à adressage ouvert (sondage linéaire), pendant de
+ * {@link LongHashSet} pour les identifiants de la base.
+ *
+ * Sert aux filtres faits côté client (« déjà vu », « déjà affecté ») :
+ * ajout et recherche en temps constant, sans {@code Integer} alloué par élément.
+ */
+public class IntHashSet {
+
+    private static final int VIDE = 0;
+    private static final int CAPACITE_MIN = 16;
+
+    private int[] cles;
+    private int masque;
+    private int taille;
+    private boolean contientZero;
+
+    public IntHashSet() {
+        this(CAPACITE_MIN);
+    }
+
+    /**
+     * @param capaciteAttendue nombre d'éléments prévu (évite les agrandissements)
+     */
+    public IntHashSet(int capaciteAttendue) {
+        int capacite = CAPACITE_MIN;
+        while (capacite * 3 / 4 < capaciteAttendue) {
+            capacite <<= 1;
+        }
+        cles = new int[capacite];
+        masque = capacite - 1;
+    }
+
+    /**
+     * Ajoute une valeur
+     * @param valeur la valeur
+     * @return true si la valeur n'était pas déjà présente
+     */
+    public boolean add(int valeur) {
+        if (valeur == VIDE) {
+            if (contientZero) {
+                return false;
+            }
+            contientZero = true;
+            taille++;
+            return true;
+        }
+        int i = indice(valeur);
+        while (cles[i] != VIDE) {
+            if (cles[i] == valeur) {
+                return false;
+            }
+            i = (i + 1) & masque;
+        }
+        cles[i] = valeur;
+        if (++taille > (masque + 1) * 3 / 4) {
+            agrandir();
+        }
+        return true;
+    }
+
+    /**
+     * @param valeur la valeur cherchée
+     * @return true si la valeur est présente
+     */
+    public boolean contains(int valeur) {
+        if (valeur == VIDE) {
+            return contientZero;
+        }
+        int i = indice(valeur);
+        while (cles[i] != VIDE) {
+            if (cles[i] == valeur) {
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    public int size() {
+        return taille;
+    }
+
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(cles, VIDE);
+        contientZero = false;
+        taille = 0;
+    }
+
+    private int indice(int valeur) {
+        // Mélange de Fibonacci : les identifiants de séquence sont consécutifs
+        int h = valeur * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & masque;
+    }
+
+    private void agrandir() {
+        int[] anciennes = cles;
+        cles = new int[anciennes.length << 1];
+        masque = cles.length - 1;
+        for (int cle : anciennes) {
+            if (cle != VIDE) {
+                int i = indice(cle);
+                while (cles[i] != VIDE) {
+                    i = (i + 1) & masque;
+                }
+                cles[i] = cle;
+            }
+        }
+    }
+}
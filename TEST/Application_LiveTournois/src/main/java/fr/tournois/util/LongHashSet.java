@@ -0,0 +1,118 @@
+package fr.tournois.util;
+
+import java.util.Arrays;
+
+/**
+ * Ensemble de {@code long} à adressage ouvert (sondage linéaire).
+ *
+ * Évite l'allocation d'un {@code Long} par élément et la table de hachage
+ * chaînée de {@code HashSet<Long>} : les clés sont rangées directement dans
+ * un tableau primitif, agrandi quand il est rempli aux trois quarts.
+ */
+public class LongHashSet {
+
+    private static final long VIDE = 0L;
+    private static final int CAPACITE_MIN = 16;
+
+    private long[] cles;
+    private int masque;
+    private int taille;
+    private boolean contientZero;
+
+    public LongHashSet() {
+        this(CAPACITE_MIN);
+    }
+
+    /**
+     * @param capaciteAttendue nombre d'éléments prévu (évite les agrandissements)
+     */
+    public LongHashSet(int capaciteAttendue) {
+        int capacite = CAPACITE_MIN;
+        while (capacite * 3 / 4 < capaciteAttendue) {
+            capacite <<= 1;
+        }
+        cles = new long[capacite];
+        masque = capacite - 1;
+    }
+
+    /**
+     * Ajoute une valeur
+     * @param valeur la valeur
+     * @return true si la valeur n'était pas déjà présente
+     */
+    public boolean add(long valeur) {
+        if (valeur == VIDE) {
+            if (contientZero) {
+                return false;
+            }
+            contientZero = true;
+            taille++;
+            return true;
+        }
+        int i = indice(valeur);
+        while (cles[i] != VIDE) {
+            if (cles[i] == valeur) {
+                return false;
+            }
+            i = (i + 1) & masque;
+        }
+        cles[i] = valeur;
+        if (++taille > (masque + 1) * 3 / 4) {
+            agrandir();
+        }
+        return true;
+    }
+
+    /**
+     * @param valeur la valeur cherchée
+     * @return true si la valeur est présente
+     */
+    public boolean contains(long valeur) {
+        if (valeur == VIDE) {
+            return contientZero;
+        }
+        int i = indice(valeur);
+        while (cles[i] != VIDE) {
+            if (cles[i] == valeur) {
+                return true;
+            }
+            i = (i + 1) & masque;
+        }
+        return false;
+    }
+
+    public int size() {
+        return taille;
+    }
+
+    public boolean isEmpty() {
+        return taille == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(cles, VIDE);
+        contientZero = false;
+        taille = 0;
+    }
+
+    private int indice(long valeur) {
+        // Mélange de Fibonacci : répartit aussi les clés composées (a << 32 | b)
+        long h = valeur * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & masque;
+    }
+
+    private void agrandir() {
+        long[] anciennes = cles;
+        cles = new long[anciennes.length << 1];
+        masque = cles.length - 1;
+        for (long cle : anciennes) {
+            if (cle != VIDE) {
+                int i = indice(cle);
+                while (cles[i] != VIDE) {
+                    i = (i + 1) & masque;
+                }
+                cles[i] = cle;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Inscription;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class AppariementSuisseTest {
+
+    private static List<Inscription> inscriptions(int n) {
+        List<Inscription> liste = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            Equipe equipe = new Equipe();
+            equipe.setId(i);
+            liste.add(new Inscription(null, equipe, "Confirmée", i));
+        }
+        return liste;
+    }
+
+    /** Joue un tour complet : la meilleure tête de série gagne toujours. */
+    private static int[] jouerTour(AppariementSuisse suisse) {
+        int[] paires = suisse.apparierTour();
+        for (int k = 0; k < paires.length; k += 2) {
+            if (paires[k + 1] != Bracket.BYE) {
+                boolean aGagne = paires[k] < paires[k + 1];
+                suisse.enregistrerResultat(paires[k], paires[k + 1], aGagne ? 1 : 0, aGagne ? 0 : 1);
+            }
+        }
+        return paires;
+    }
+
+    @Test
+    void testPremierTour() {
+        AppariementSuisse suisse = new AppariementSuisse(inscriptions(4));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, suisse.apparierTour());
+        assertTrue(suisse.dejaRencontrees(2, 1));
+        assertFalse(suisse.dejaRencontrees(1, 3));
+    }
+
+    @Test
+    void testExemptionNombreImpair() {
+        AppariementSuisse suisse = new AppariementSuisse(inscriptions(5));
+        int[] paires = jouerTour(suisse);
+        assertEquals(5, paires[4]);
+        assertEquals(Bracket.BYE, paires[5]);
+        assertEquals(AppariementSuisse.POINTS_VICTOIRE, suisse.getPoints(5));
+        // L'équipe 5 ne peut pas être exemptée deux fois de suite
+        assertNotEquals(5, jouerTour(suisse)[4]);
+    }
+
+    @Test
+    void testSansRevancheSurMilleEquipes() {
+        int n = 1000;
+        AppariementSuisse suisse = new AppariementSuisse(inscriptions(n));
+        Set<Long> rencontres = new HashSet<>();
+        for (int tour = 0; tour < 10; tour++) {
+            int[] paires = jouerTour(suisse);
+            assertEquals(n, paires.length);
+            boolean[] vues = new boolean[n + 1];
+            for (int k = 0; k < paires.length; k += 2) {
+                int a = Math.min(paires[k], paires[k + 1]);
+                int b = Math.max(paires[k], paires[k + 1]);
+                assertFalse(vues[a] || vues[b], "Équipe appariée deux fois");
+                vues[a] = vues[b] = true;
+                assertTrue(rencontres.add((long) a << 32 | b), "Revanche " + a + " - " + b);
+            }
+        }
+        assertEquals(10, suisse.getTour());
+    }
+}
@@ -0,0 +1,85 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Inscription;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class BracketGeneratorTest {
+
+    private static List<Inscription> inscriptions(int n) {
+        List<Inscription> liste = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            Equipe equipe = new Equipe();
+            equipe.setId(100 + i);
+            liste.add(new Inscription(null, equipe, "Confirmée", i));
+        }
+        return liste;
+    }
+
+    @Test
+    void testOrdreDesSeeds() {
+        assertArrayEquals(new int[]{1, 8, 4, 5, 2, 7, 3, 6}, BracketGenerator.ordreDesSeeds(8));
+    }
+
+    @Test
+    void testExemptions() {
+        Bracket bracket = BracketGenerator.eliminationDirecte(inscriptions(5));
+        assertEquals(8, bracket.getTaille());
+        assertEquals(7, bracket.getNbMatchs());
+        // Les seeds 1 à 3 sont exemptés et déjà qualifiés pour le deuxième tour
+        assertEquals(101, bracket.getVainqueur(0));
+        assertEquals(Bracket.A_DETERMINER, bracket.getVainqueur(1));
+        assertEquals(104, bracket.getEquipeA(1));
+        assertEquals(105, bracket.getEquipeB(1));
+        assertEquals(101, bracket.getEquipeA(4));
+    }
+
+    @Test
+    void testEliminationDirecteJusquALaFinale() {
+        Bracket bracket = BracketGenerator.eliminationDirecte(inscriptions(4));
+        bracket.enregistrerVainqueur(0, 101);
+        bracket.enregistrerVainqueur(1, 102);
+        assertEquals(101, bracket.getEquipeA(2));
+        assertEquals(102, bracket.getEquipeB(2));
+        bracket.enregistrerVainqueur(2, 102);
+        assertEquals(102, bracket.getVainqueur(bracket.getFinale()));
+    }
+
+    @Test
+    void testDoubleElimination() {
+        Bracket bracket = BracketGenerator.doubleElimination(inscriptions(8));
+        assertEquals(14, bracket.getNbMatchs());
+        assertEquals(Bracket.SECTION_GRANDE_FINALE, bracket.getSection(bracket.getFinale()));
+
+        // Joue tous les matchs en faisant gagner l'équipe placée en A
+        for (int m = 0; m < bracket.getNbMatchs(); m++) {
+            bracket.enregistrerVainqueur(m, bracket.getEquipeA(m));
+        }
+        assertEquals(101, bracket.getVainqueur(bracket.getFinale()));
+    }
+
+    @Test
+    void testGrandTableau() {
+        Bracket bracket = BracketGenerator.doubleElimination(inscriptions(1000));
+        assertEquals(1024, bracket.getTaille());
+        assertEquals(2046, bracket.getNbMatchs());
+        for (int m = 0; m < bracket.getNbMatchs(); m++) {
+            if (bracket.getVainqueur(m) == Bracket.A_DETERMINER) {
+                bracket.enregistrerVainqueur(m, bracket.getEquipeA(m));
+            }
+        }
+        assertEquals(101, bracket.getVainqueur(bracket.getFinale()));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals(FormatTournoi.DOUBLE_ELIMINATION, FormatTournoi.depuis("Double Élimination"));
+        assertEquals(FormatTournoi.GROUPES, FormatTournoi.depuis("Groupes + Élimination directe"));
+        assertEquals(FormatTournoi.ELIMINATION_DIRECTE, FormatTournoi.depuis("élimination directe"));
+        assertEquals(FormatTournoi.INCONNU, FormatTournoi.depuis("5v5"));
+    }
+}
@@ -0,0 +1,65 @@
+package fr.tournois.bracket;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Rencontre;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class CalendrierGeneratorTest {
+
+    private static List<Equipe> equipes(int n) {
+        List<Equipe> liste = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            Equipe equipe = new Equipe();
+            equipe.setId(i);
+            liste.add(equipe);
+        }
+        return liste;
+    }
+
+    @Test
+    void testRepartitionEnSerpentin() {
+        int[][] groupes = CalendrierGenerator.repartirEnGroupes(8, 2);
+        assertArrayEquals(new int[]{0, 3, 4, 7}, groupes[0]);
+        assertArrayEquals(new int[]{1, 2, 5, 6}, groupes[1]);
+    }
+
+    @Test
+    void testChaqueEquipeRencontreToutesLesAutres() {
+        for (int n : new int[]{4, 5, 7}) {
+            List<Rencontre> rencontres = CalendrierGenerator.phaseDeGroupes(null, equipes(n), 1);
+            assertEquals(n * (n - 1) / 2, rencontres.size());
+            Set<String> paires = new HashSet<>();
+            for (Rencontre r : rencontres) {
+                int a = Math.min(r.getEquipeA().getId(), r.getEquipeB().getId());
+                int b = Math.max(r.getEquipeA().getId(), r.getEquipeB().getId());
+                assertTrue(paires.add(a + "-" + b));
+            }
+        }
+    }
+
+    @Test
+    void testUneRencontreParTourAuPlus() {
+        List<Rencontre> rencontres = CalendrierGenerator.phaseDeGroupes(null, equipes(7), 1);
+        Set<String> occupees = new HashSet<>();
+        for (Rencontre r : rencontres) {
+            assertTrue(occupees.add(r.getTour() + ":" + r.getEquipeA().getId()));
+            assertTrue(occupees.add(r.getTour() + ":" + r.getEquipeB().getId()));
+        }
+        assertEquals(7, rencontres.get(rencontres.size() - 1).getTour());
+    }
+
+    @Test
+    void testGroupesDesequilibres() {
+        List<Rencontre> rencontres = CalendrierGenerator.phaseDeGroupes(null, equipes(10), 3);
+        // Groupes de 4, 3 et 3 équipes
+        assertEquals(6 + 3 + 3, rencontres.size());
+        assertEquals("C", rencontres.get(rencontres.size() - 1).getGroupe());
+        assertThrows(IllegalArgumentException.class, () -> CalendrierGenerator.phaseDeGroupes(null, equipes(3), 2));
+    }
+}
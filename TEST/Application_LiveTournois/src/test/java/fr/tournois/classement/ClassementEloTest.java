@@ -0,0 +1,60 @@
+package fr.tournois.classement;
+
+import fr.tournois.model.Equipe;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ClassementEloTest {
+
+    @Test
+    void testMiseAJour() {
+        ClassementElo elo = new ClassementElo(1);
+        assertEquals(ClassementElo.ELO_INITIAL, elo.getElo(3));
+
+        elo.enregistrer(3, 5, 2, 0);
+        // Cotes égales : le vainqueur gagne K/2 et le perdant perd autant
+        assertEquals(1520.0, elo.getElo(3), 1e-9);
+        assertEquals(1480.0, elo.getElo(5), 1e-9);
+        assertEquals(1, elo.getNbMatchs(3));
+
+        elo.enregistrer(3, 5, 1, 1);
+        assertTrue(elo.getElo(3) < 1520.0);
+    }
+
+    @Test
+    void testAgrandissementEtSeeds() {
+        ClassementElo elo = new ClassementElo(1);
+        elo.enregistrer(1000, 2, 3, 0);
+        elo.enregistrer(2, 7, 3, 0);
+
+        List<Equipe> equipes = new ArrayList<>();
+        for (int id : new int[]{2, 7, 42, 1000}) {
+            Equipe equipe = new Equipe();
+            equipe.setId(id);
+            equipes.add(equipe);
+        }
+        List<Equipe> ordre = elo.suggererOrdre(equipes);
+        assertEquals(1000, ordre.get(0).getId());
+        assertEquals(42, ordre.get(2).getId());
+        assertEquals(7, ordre.get(3).getId());
+    }
+
+    @Test
+    void testInstantane_independantEtEnLectureSeule() {
+        ClassementElo elo = new ClassementElo(1);
+        elo.enregistrer(1, 2, 3, 0);
+        ClassementElo instantane = elo.instantane();
+        double cote = instantane.getElo(1);
+
+        elo.enregistrer(1, 2, 3, 0);
+        elo.enregistrer(200, 1, 1, 0);
+
+        assertEquals(cote, instantane.getElo(1));
+        assertEquals(1, instantane.getNbMatchs(1));
+        assertEquals(ClassementElo.ELO_INITIAL, instantane.getElo(200));
+        assertThrows(IllegalStateException.class, () -> instantane.enregistrer(1, 2, 1, 0));
+    }
+}
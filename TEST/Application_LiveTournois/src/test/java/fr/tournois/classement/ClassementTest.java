@@ -0,0 +1,78 @@
+package fr.tournois.classement;
+
+import fr.tournois.model.Equipe;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class ClassementTest {
+
+    private static List<Equipe> equipes(int n) {
+        List<Equipe> liste = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            Equipe equipe = new Equipe();
+            equipe.setId(i);
+            liste.add(equipe);
+        }
+        return liste;
+    }
+
+    @Test
+    void testResultatsEtDepartage() {
+        Classement classement = new Classement(equipes(4));
+        assertEquals(1, classement.getEquipeAuRang(1));
+
+        classement.ajouterResultat(4, 1, 2, 0);
+        classement.ajouterResultat(3, 2, 1, 1);
+        assertEquals(4, classement.getEquipeAuRang(1));
+        assertEquals(3, classement.getPoints(4));
+        // Égalité de points entre 2 et 3 : départagées par la tête de série
+        assertEquals(2, classement.getRang(2));
+        assertEquals(3, classement.getRang(3));
+        assertEquals(4, classement.getRang(1));
+        assertEquals(-2, classement.getDifference(1));
+
+        classement.retirerResultat(4, 1, 2, 0);
+        assertEquals(2, classement.getEquipeAuRang(1));
+        assertEquals(3, classement.getRang(1));
+        assertEquals(0, classement.getJoues(4));
+    }
+
+    @Test
+    void testIncrementalIdentiqueAuRecalcul() {
+        int n = 256;
+        Random aleatoire = new Random(42);
+        Classement incremental = new Classement(equipes(n));
+        int[][] resultats = new int[2000][];
+        for (int k = 0; k < resultats.length; k++) {
+            int a = 1 + aleatoire.nextInt(n);
+            int b = 1 + (a + aleatoire.nextInt(n - 1)) % n;
+            resultats[k] = new int[]{a, b, aleatoire.nextInt(4), aleatoire.nextInt(4)};
+            incremental.ajouterResultat(a, b, resultats[k][2], resultats[k][3]);
+        }
+
+        // Classement attendu : tri complet sur les mêmes critères
+        List<Integer> attendu = new ArrayList<>();
+        for (int i = 1; i <= n; i++) {
+            attendu.add(i);
+        }
+        attendu.sort((i, j) -> {
+            if (incremental.getPoints(i) != incremental.getPoints(j)) {
+                return incremental.getPoints(j) - incremental.getPoints(i);
+            }
+            if (incremental.getDifference(i) != incremental.getDifference(j)) {
+                return incremental.getDifference(j) - incremental.getDifference(i);
+            }
+            if (incremental.getMarques(i) != incremental.getMarques(j)) {
+                return incremental.getMarques(j) - incremental.getMarques(i);
+            }
+            return i - j;
+        });
+        for (int r = 1; r <= n; r++) {
+            assertEquals(attendu.get(r - 1), incremental.getEquipeAuRang(r));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fr.tournois.dao;
+
+import fr.tournois.model.Jeu;
+import fr.tournois.model.Joueur;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusEvenementsTest {
+
+    /** Connexion factice : commit et rollback ne font rien. */
+    private static Connection connexionFactice() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, methode, args) -> null);
+    }
+
+    @Test
+    void testDiffusionDiffereeJusquauCommit() {
+        BusEvenements bus = BusEvenements.getInstance();
+        Connection connexion = connexionFactice();
+        List<String> recus = new ArrayList<>();
+        BusEvenements.Abonnement abonnement = bus.abonner(Jeu.class, e -> recus.add(e.getType() + ":" + e.getId()));
+        try {
+            try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+                bus.publier(connexion, EvenementDAO.creation(Jeu.class, 1, new Jeu()));
+                bus.publier(connexion, EvenementDAO.suppression(Jeu.class, 2));
+                bus.publier(connexion, EvenementDAO.suppression(Joueur.class, 3));
+                assertTrue(recus.isEmpty());
+                uow.commit();
+            }
+            assertEquals(List.of("CREATION:1", "SUPPRESSION:2"), recus);
+
+            // Hors unité de travail : diffusion immédiate
+            bus.publier(connexion, EvenementDAO.suppression(Jeu.class, 4));
+            assertEquals("SUPPRESSION:4", recus.get(2));
+        } finally {
+            abonnement.close();
+        }
+    }
+
+    @Test
+    void testAucuneDiffusionSiAnnulation() {
+        BusEvenements bus = BusEvenements.getInstance();
+        Connection connexion = connexionFactice();
+        List<EvenementDAO<Jeu>> recus = new ArrayList<>();
+        try (BusEvenements.Abonnement abonnement = bus.abonner(Jeu.class, recus::add)) {
+            try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+                bus.publier(uow.getConnection(), EvenementDAO.creation(Jeu.class, 1, new Jeu()));
+            }
+            assertTrue(recus.isEmpty());
+        }
+
+        // Après désabonnement, plus rien n'est reçu
+        bus.publier(connexion, EvenementDAO.suppression(Jeu.class, 1));
+        assertTrue(recus.isEmpty());
+    }
+}
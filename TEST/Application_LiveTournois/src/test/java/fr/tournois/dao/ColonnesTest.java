@@ -0,0 +1,93 @@
+package fr.tournois.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColonnesTest {
+
+    /**
+     * Résultat factice d'une seule ligne : seules les métadonnées et la lecture
+     * par indice sont implémentées (une lecture par nom échoue).
+     */
+    private static ResultSet resultatFactice(String[] labels, Object[] valeurs) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[]{ResultSetMetaData.class}, (proxy, methode, args) -> {
+                    switch (methode.getName()) {
+                        case "getColumnCount":
+                            return labels.length;
+                        case "getColumnLabel":
+                            return labels[(Integer) args[0] - 1];
+                        default:
+                            throw new UnsupportedOperationException(methode.getName());
+                    }
+                });
+        Object[] derniere = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, methode, args) -> {
+                    switch (methode.getName()) {
+                        case "getMetaData":
+                            return meta;
+                        case "wasNull":
+                            return derniere[0] == null;
+                        case "getInt":
+                        case "getString":
+                            if (!(args[0] instanceof Integer)) {
+                                throw new SQLException("Lecture par nom non attendue : " + args[0]);
+                            }
+                            derniere[0] = valeurs[(Integer) args[0] - 1];
+                            if (methode.getName().equals("getInt")) {
+                                return derniere[0] == null ? 0 : derniere[0];
+                            }
+                            return derniere[0];
+                        default:
+                            throw new UnsupportedOperationException(methode.getName());
+                    }
+                });
+    }
+
+    @Test
+    void testIndicesSansDistinctionDeCasse() throws SQLException {
+        ResultSet rs = resultatFactice(new String[]{"ID_TOURNOI", "NOM", "JEU_ID"}, new Object[]{7, "Finale", null});
+        Colonnes colonnes = new Colonnes(rs);
+
+        assertEquals(1, colonnes.indice("id_tournoi"));
+        assertEquals(2, colonnes.requise("Nom"));
+        assertEquals(3, colonnes.indice("jeu_id"));
+    }
+
+    @Test
+    void testColonneAbsente() throws SQLException {
+        ResultSet rs = resultatFactice(new String[]{"ID_TOURNOI"}, new Object[]{7});
+        Colonnes colonnes = new Colonnes(rs);
+
+        assertEquals(Colonnes.ABSENTE, colonnes.indice("jeu_id"));
+        assertNull(Colonnes.entier(rs, colonnes.indice("jeu_id")));
+        assertNull(Colonnes.texte(rs, colonnes.indice("jeu_nom")));
+        assertThrows(SQLException.class, () -> colonnes.requise("jeu_id"));
+    }
+
+    @Test
+    void testPremiereColonneDuMemeNomLEmporte() throws SQLException {
+        // SELECT t.*, j.* : "nom" désigne la colonne du tournoi, comme avec getString("nom")
+        ResultSet rs = resultatFactice(new String[]{"ID_TOURNOI", "NOM", "ID_JEU", "NOM"},
+                new Object[]{7, "Finale", 3, "Tetris"});
+        Colonnes colonnes = new Colonnes(rs);
+
+        assertEquals("Finale", Colonnes.texte(rs, colonnes.indice("nom")));
+    }
+
+    @Test
+    void testEntierNullDistingueDeZero() throws SQLException {
+        ResultSet rs = resultatFactice(new String[]{"ID_EQUIPE", "SEED"}, new Object[]{null, 0});
+        Colonnes colonnes = new Colonnes(rs);
+
+        assertNull(Colonnes.entier(rs, colonnes.indice("id_equipe")));
+        assertEquals(0, Colonnes.entier(rs, colonnes.indice("seed")));
+    }
+}
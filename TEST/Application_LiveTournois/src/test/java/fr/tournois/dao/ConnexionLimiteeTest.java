@@ -0,0 +1,218 @@
+package fr.tournois.dao;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Tournoi;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnexionLimiteeTest {
+
+    /**
+     * Connexion factice : ses statements notent les délais reçus et leurs
+     * exécutions appellent {@code execution} (qui peut lever une SQLException).
+     */
+    private static Connection connexionFactice(List<Integer> delais, AtomicInteger rollbacks, Execution execution) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, methode, args) -> {
+                    switch (methode.getName()) {
+                        case "prepareStatement":
+                            return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                                    new Class<?>[]{PreparedStatement.class}, (st, m, a) -> {
+                                        switch (m.getName()) {
+                                            case "hashCode":
+                                                return System.identityHashCode(st);
+                                            case "equals":
+                                                return st == a[0];
+                                            case "setQueryTimeout":
+                                                delais.add((Integer) a[0]);
+                                                return null;
+                                            case "executeQuery":
+                                            case "executeUpdate":
+                                                execution.executer((PreparedStatement) st);
+                                                return m.getName().equals("executeUpdate") ? 1 : null;
+                                            default:
+                                                return null;
+                                        }
+                                    });
+                        case "getAutoCommit":
+                            return false;
+                        case "rollback":
+                            rollbacks.incrementAndGet();
+                            return null;
+                        case "commit":
+                            throw new AssertionError("commit inattendu");
+                        default:
+                            throw new UnsupportedOperationException(methode.getName());
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Execution {
+        void executer(PreparedStatement statement) throws SQLException;
+    }
+
+    private static DelaisRequetes delais() {
+        Properties properties = new Properties();
+        properties.setProperty("db.timeout.lecture", "5");
+        properties.setProperty("db.timeout.ecriture", "3");
+        properties.setProperty("db.timeout.rapport", "60");
+        return new DelaisRequetes(properties);
+    }
+
+    @Test
+    void testDelaiSelonLaNatureDeLaRequete() throws Exception {
+        List<Integer> delais = new ArrayList<>();
+        Connection connexion = ConnexionLimitee.envelopper(
+                connexionFactice(delais, new AtomicInteger(), st -> { }), delais());
+
+        connexion.prepareStatement("SELECT * FROM Tournoi").executeQuery();
+        connexion.prepareStatement("UPDATE Tournoi SET nom = ?").executeUpdate();
+        ContexteRequetes.rapport().executer(() -> connexion.prepareStatement("  select 1 from dual").executeQuery());
+
+        assertEquals(List.of(5, 3, 60), delais);
+    }
+
+    @Test
+    void testDelaisParDefautEtValeurInvalide() {
+        DelaisRequetes parDefaut = new DelaisRequetes(new Properties());
+        assertEquals(15, parDefaut.secondes(TypeRequete.LECTURE));
+        assertEquals(10, parDefaut.secondes(TypeRequete.ECRITURE));
+        assertEquals(120, parDefaut.secondes(TypeRequete.RAPPORT));
+
+        Properties invalide = new Properties();
+        invalide.setProperty("db.timeout.lecture", "-1");
+        assertThrows(RuntimeException.class, () -> new DelaisRequetes(invalide));
+    }
+
+    @Test
+    void testDelaiDepasse_leveDAOTimeoutExceptionEtAnnuleLUniteDeTravail() throws SQLException {
+        AtomicInteger rollbacks = new AtomicInteger();
+        Connection connexion = ConnexionLimitee.envelopper(connexionFactice(new ArrayList<>(), rollbacks, st -> {
+            throw new SQLTimeoutException("ORA-01013", "72000", ConnexionLimitee.ORA_ANNULATION);
+        }), delais());
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            PreparedStatement st = connexion.prepareStatement("INSERT INTO Inscription VALUES (?, ?)");
+            DAOTimeoutException e = assertThrows(DAOTimeoutException.class, st::executeUpdate);
+
+            assertEquals(TypeRequete.ECRITURE, e.getType());
+            assertEquals(3, e.getDelaiSecondes());
+            assertFalse(e.isAnnulee());
+            // marquée à annuler : le commit est refusé
+            assertThrows(DAOException.class, uow::commit);
+        }
+        assertEquals(1, rollbacks.get());
+    }
+
+    @Test
+    void testDelaiDepasseHorsUniteDeTravail_transactionPartageeIntacte() throws SQLException {
+        AtomicInteger rollbacks = new AtomicInteger();
+        Connection connexion = ConnexionLimitee.envelopper(connexionFactice(new ArrayList<>(), rollbacks, st -> {
+            throw new SQLTimeoutException("ORA-01013", "72000", ConnexionLimitee.ORA_ANNULATION);
+        }), delais());
+
+        PreparedStatement st = connexion.prepareStatement("SELECT * FROM Tournoi");
+        assertThrows(DAOTimeoutException.class, st::executeQuery);
+
+        assertEquals(0, rollbacks.get());
+    }
+
+    /** Exécution dont la n-ième requête dépasse son délai. */
+    private static Execution delaiDepasseALaRequete(int numero) {
+        AtomicInteger executions = new AtomicInteger();
+        return st -> {
+            if (executions.incrementAndGet() == numero) {
+                throw new SQLTimeoutException("ORA-01013", "72000", ConnexionLimitee.ORA_ANNULATION);
+            }
+        };
+    }
+
+    @Test
+    void testInscriptionInterrompueApresReservation_placeRendue() {
+        AtomicInteger rollbacks = new AtomicInteger();
+        Connection connexion = ConnexionLimitee.envelopper(
+                connexionFactice(new ArrayList<>(), rollbacks, delaiDepasseALaRequete(2)), delais());
+        Tournoi tournoi = new Tournoi();
+        tournoi.setId(1);
+        Equipe equipe = new Equipe();
+        equipe.setId(2);
+
+        // 1 : réservation de la place (nb_inscrits + 1), 2 : INSERT interrompu
+        assertThrows(DAOTimeoutException.class, () -> new TournoiDAO(connexion).inscrireEquipe(tournoi, equipe));
+
+        assertEquals(1, rollbacks.get());
+        assertFalse(UnitOfWork.isActive(connexion));
+    }
+
+    @Test
+    void testSuppressionEquipeInterrompueApresLiberation_placesRestaurees() {
+        AtomicInteger rollbacks = new AtomicInteger();
+        Connection connexion = ConnexionLimitee.envelopper(
+                connexionFactice(new ArrayList<>(), rollbacks, delaiDepasseALaRequete(2)), delais());
+
+        // 1 : libération des places, 2 : DELETE interrompu
+        assertThrows(DAOTimeoutException.class, () -> new EquipeDAO(connexion).supprimerEquipe(3));
+
+        assertEquals(1, rollbacks.get());
+    }
+
+    @Test
+    void testAutreErreurSQL_inchangee() throws SQLException {
+        Connection connexion = ConnexionLimitee.envelopper(connexionFactice(new ArrayList<>(), new AtomicInteger(), st -> {
+            throw new SQLException("ORA-00001", "23000", 1);
+        }), delais());
+
+        assertThrows(SQLException.class, () -> connexion.prepareStatement("INSERT INTO Jeu VALUES (?)").executeUpdate());
+    }
+
+    @Test
+    void testContexteAnnule_requetesSuivantesRefusees() throws SQLException {
+        AtomicInteger executions = new AtomicInteger();
+        Connection connexion = ConnexionLimitee.envelopper(
+                connexionFactice(new ArrayList<>(), new AtomicInteger(), st -> executions.incrementAndGet()), delais());
+        ContexteRequetes contexte = new ContexteRequetes();
+        contexte.annuler();
+
+        PreparedStatement st = connexion.prepareStatement("SELECT * FROM Equipe");
+        DAOTimeoutException e = assertThrows(DAOTimeoutException.class, () -> contexte.executer(st::executeQuery));
+
+        assertTrue(e.isAnnulee());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void testAnnulationPendantLaRequete_estSignaleeCommeAnnulee() throws SQLException {
+        ContexteRequetes contexte = new ContexteRequetes();
+        Connection connexion = ConnexionLimitee.envelopper(connexionFactice(new ArrayList<>(), new AtomicInteger(), st -> {
+            // annulation depuis la vue pendant l'exécution
+            contexte.annuler();
+            throw new SQLException("ORA-01013", "72000", ConnexionLimitee.ORA_ANNULATION);
+        }), delais());
+
+        PreparedStatement st = connexion.prepareStatement("SELECT * FROM Joueur");
+        DAOTimeoutException e = assertThrows(DAOTimeoutException.class, () -> contexte.executer(st::executeQuery));
+
+        assertTrue(e.isAnnulee());
+        assertEquals(TypeRequete.LECTURE, e.getType());
+    }
+
+    @Test
+    void testStatementRenvoieLaConnexionEnveloppee() throws SQLException {
+        Connection connexion = ConnexionLimitee.envelopper(
+                connexionFactice(new ArrayList<>(), new AtomicInteger(), st -> { }), delais());
+
+        assertSame(connexion, connexion.prepareStatement("SELECT 1 FROM dual").getConnection());
+    }
+}
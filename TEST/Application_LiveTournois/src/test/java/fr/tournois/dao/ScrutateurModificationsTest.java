@@ -0,0 +1,87 @@
+package fr.tournois.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScrutateurModificationsTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private static ScrutateurModifications.Changement modification(int id, long date) {
+        return new ScrutateurModifications.Changement("TOURNOI", id, 0, new Timestamp(date), false);
+    }
+
+    /** Un passage réussi : le changement est diffusé s'il est nouveau, puis mémorisé. */
+    private static boolean diffuse(ScrutateurModifications.Repere repere, ScrutateurModifications.Changement changement) {
+        if (!repere.estNouveau(changement)) {
+            return false;
+        }
+        repere.memoriser(List.of(changement));
+        return true;
+    }
+
+    @Test
+    void unChangementRelu_dansLaMarge_nEstDiffuseQuUneFois() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+
+        assertTrue(diffuse(repere, modification(1, T0 + 1_000)));
+        assertFalse(diffuse(repere, modification(1, T0 + 1_000)));
+    }
+
+    @Test
+    void uneNouvelleModificationDeLaMemeLigne_estDiffusee() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+
+        assertTrue(diffuse(repere, modification(1, T0 + 1_000)));
+        assertTrue(diffuse(repere, modification(1, T0 + 2_000)));
+    }
+
+    @Test
+    void suppressionEtModification_sontDistinguees() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+
+        assertTrue(diffuse(repere, modification(1, T0 + 1_000)));
+        assertTrue(diffuse(repere,
+                new ScrutateurModifications.Changement("TOURNOI", 1, 0, new Timestamp(T0 + 1_000), true)));
+    }
+
+    @Test
+    void avancer_reculeDeLaMarge_etOublieLesChangementsHorsFenetre() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+        diffuse(repere, modification(1, T0 + 1_000));
+        diffuse(repere, modification(2, T0 + 50_000));
+
+        repere.avancer(new Timestamp(T0 + 60_000));
+
+        assertEquals(T0 + 60_000 - ScrutateurModifications.MARGE_MS, repere.getDepuis().getTime());
+        assertEquals(1, repere.getNombreMemorises());
+        assertFalse(repere.estNouveau(modification(2, T0 + 50_000)));
+    }
+
+    @Test
+    void unPassageEnEchec_estReprisAuPassageSuivant() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+        ScrutateurModifications.Changement changement = modification(1, T0 + 1_000);
+
+        // Passage 1 : la diffusion échoue (délai dépassé), rien n'est mémorisé ni avancé
+        assertTrue(repere.estNouveau(changement));
+
+        // Passage 2 : le même changement est toujours à diffuser
+        assertTrue(repere.estNouveau(changement));
+        repere.memoriser(List.of(changement));
+        assertFalse(repere.estNouveau(changement));
+    }
+
+    @Test
+    void avancer_neRecule_jamaisLeRepere() {
+        ScrutateurModifications.Repere repere = new ScrutateurModifications.Repere(new Timestamp(T0));
+
+        repere.avancer(new Timestamp(T0 + 10_000));
+
+        assertEquals(T0, repere.getDepuis().getTime());
+    }
+}
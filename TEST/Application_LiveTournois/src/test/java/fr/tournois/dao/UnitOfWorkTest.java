@@ -0,0 +1,240 @@
+package fr.tournois.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnitOfWorkTest {
+
+    /** Connexion factice qui compte les commits, rollbacks et points de sauvegarde. */
+    private static final class Compteurs {
+        int commits;
+        int rollbacks;
+        int rollbacksSavepoint;
+        int savepoints;
+
+        Connection connexion() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, methode, args) -> {
+                        switch (methode.getName()) {
+                            case "commit":
+                                commits++;
+                                return null;
+                            case "rollback":
+                                if (args == null) {
+                                    rollbacks++;
+                                } else {
+                                    rollbacksSavepoint++;
+                                }
+                                return null;
+                            case "setSavepoint":
+                                savepoints++;
+                                return Proxy.newProxyInstance(Savepoint.class.getClassLoader(),
+                                        new Class<?>[]{Savepoint.class}, (sp, m, a) -> null);
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return null;
+                        }
+                    });
+        }
+    }
+
+    @Test
+    void testCommitsDesDAOAbsorbes_unSeulCommitPhysique() throws SQLException {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            UnitOfWork.commit(connexion);
+            UnitOfWork.commit(connexion);
+            assertEquals(0, compteurs.commits);
+            uow.commit();
+        }
+
+        assertEquals(1, compteurs.commits);
+        assertEquals(0, compteurs.rollbacks);
+        assertFalse(UnitOfWork.isActive(connexion));
+    }
+
+    @Test
+    void testHorsUniteDeTravail_commitImmediat() throws SQLException {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        UnitOfWork.commit(connexion);
+        UnitOfWork.rollback(connexion);
+
+        assertEquals(1, compteurs.commits);
+        assertEquals(1, compteurs.rollbacks);
+    }
+
+    @Test
+    void testFermetureSansCommit_annule() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            assertSame(connexion, uow.getConnection());
+            assertTrue(UnitOfWork.isActive(connexion));
+        }
+
+        assertEquals(0, compteurs.commits);
+        assertEquals(1, compteurs.rollbacks);
+    }
+
+    @Test
+    void testImbrication_seuleLUniteExterneValide() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork externe = UnitOfWork.begin(connexion)) {
+            try (UnitOfWork interne = UnitOfWork.begin(connexion)) {
+                assertSame(externe, interne);
+                interne.commit();
+            }
+            assertEquals(0, compteurs.commits);
+            externe.commit();
+        }
+
+        assertEquals(1, compteurs.commits);
+        assertEquals(0, compteurs.rollbacks);
+    }
+
+    @Test
+    void testUniteInterneSansCommit_annuleToutLaTransaction() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork externe = UnitOfWork.begin(connexion)) {
+            try (UnitOfWork interne = UnitOfWork.begin(connexion)) {
+                // pas de commit : échec du niveau interne
+                assertSame(externe, interne);
+            }
+            assertThrows(DAOException.class, externe::commit);
+        }
+
+        assertEquals(0, compteurs.commits);
+        assertEquals(1, compteurs.rollbacks);
+    }
+
+    @Test
+    void testUniteSurUneAutreConnexion_nAffectePasLUniteExterne() throws SQLException {
+        Compteurs principale = new Compteurs();
+        Compteurs dediee = new Compteurs();
+        Connection connexion = principale.connexion();
+        Connection autre = dediee.connexion();
+
+        try (UnitOfWork externe = UnitOfWork.begin(connexion)) {
+            try (UnitOfWork interne = UnitOfWork.begin(autre)) {
+                assertNotSame(externe, interne);
+                UnitOfWork.commit(autre);
+                interne.commit();
+            }
+            assertEquals(1, dediee.commits);
+            assertTrue(UnitOfWork.isActive(connexion));
+            UnitOfWork.commit(connexion);
+            assertEquals(0, principale.commits);
+            externe.commit();
+        }
+
+        assertEquals(1, principale.commits);
+        assertFalse(UnitOfWork.isActive(connexion));
+        assertFalse(UnitOfWork.isActive(autre));
+    }
+
+    @Test
+    void testRollbackDAO_dansUneUnite_marqueRollbackOnly() throws SQLException {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            UnitOfWork.rollback(connexion);
+            assertEquals(0, compteurs.rollbacks);
+            assertThrows(DAOException.class, uow::commit);
+        }
+
+        assertEquals(0, compteurs.commits);
+        assertEquals(1, compteurs.rollbacks);
+    }
+
+    @Test
+    void testRetourAuPointDeSauvegarde_transactionValidable() throws SQLException {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            Savepoint savepoint = uow.savepoint("ligne_1");
+            UnitOfWork.rollback(connexion);
+            uow.rollbackTo(savepoint);
+            uow.commit();
+        }
+
+        assertEquals(1, compteurs.savepoints);
+        assertEquals(1, compteurs.rollbacksSavepoint);
+        assertEquals(1, compteurs.commits);
+        assertEquals(0, compteurs.rollbacks);
+    }
+
+    @Test
+    void testApresCommit_executeApresLeCommitPhysique_abandonneSiAnnulation() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+        List<Integer> commitsVus = new ArrayList<>();
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            UnitOfWork.apresCommit(connexion, () -> commitsVus.add(compteurs.commits));
+            assertTrue(commitsVus.isEmpty());
+            uow.commit();
+        }
+        assertEquals(List.of(1), commitsVus);
+
+        try (UnitOfWork uow = UnitOfWork.begin(connexion)) {
+            UnitOfWork.apresCommit(uow.getConnection(), () -> commitsVus.add(-1));
+        }
+        assertEquals(List.of(1), commitsVus);
+
+        // Hors unité de travail : exécution immédiate
+        UnitOfWork.apresCommit(connexion, () -> commitsVus.add(compteurs.commits));
+        assertEquals(List.of(1, 1), commitsVus);
+    }
+
+    @Test
+    void testTransactionTemplate_exceptionAnnule() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+        TransactionTemplate template = new TransactionTemplate(connexion);
+
+        assertEquals("ok", template.execute(uow -> {
+            UnitOfWork.commit(connexion);
+            return "ok";
+        }));
+        assertThrows(DAOException.class, () -> template.executeWithoutResult(uow -> {
+            throw new SQLException("échec");
+        }));
+
+        assertEquals(1, compteurs.commits);
+        assertEquals(1, compteurs.rollbacks);
+    }
+
+    @Test
+    void testTransactionTemplateImbrique_unSeulCommit() {
+        Compteurs compteurs = new Compteurs();
+        Connection connexion = compteurs.connexion();
+        TransactionTemplate template = new TransactionTemplate(connexion);
+
+        template.executeWithoutResult(uow -> template.executeWithoutResult(interne -> UnitOfWork.commit(connexion)));
+
+        assertEquals(1, compteurs.commits);
+        assertEquals(0, compteurs.rollbacks);
+    }
+}
@@ -0,0 +1,135 @@
+package fr.tournois.export;
+
+import fr.tournois.model.Equipe;
+import fr.tournois.model.Joueur;
+import fr.tournois.model.Tournoi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+class CacheExportsTest {
+
+    @TempDir
+    Path dossier;
+
+    private Path document(CacheExports cache, int taille) throws Exception {
+        Path temporaire = cache.fichierTemporaire();
+        Files.write(temporaire, new byte[taille]);
+        return temporaire;
+    }
+
+    @Test
+    void testDocumentServiDepuisLeCache() throws Exception {
+        CacheExports cache = new CacheExports(dossier, 1000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(cache.copierVers("abc", out));
+
+        cache.stocker("abc", document(cache, 100));
+        assertTrue(cache.copierVers("abc", out));
+        assertEquals(100, out.size());
+        assertEquals(100, cache.getTailleTotale());
+    }
+
+    @Test
+    void testEvictionLRUAuDelaDeLaTailleMax() throws Exception {
+        CacheExports cache = new CacheExports(dossier, 250);
+        cache.stocker("a", document(cache, 100));
+        cache.stocker("b", document(cache, 100));
+        cache.copierVers("a", new ByteArrayOutputStream());   // b devient le moins récent
+        cache.stocker("c", document(cache, 100));
+
+        assertTrue(cache.contient("a"));
+        assertFalse(cache.contient("b"));
+        assertTrue(cache.contient("c"));
+        assertFalse(Files.exists(dossier.resolve("b.pdf")));
+        assertEquals(200, cache.getTailleTotale());
+    }
+
+    @Test
+    void testRechargementDuRepertoire() throws Exception {
+        Files.write(dossier.resolve("ancien.pdf"), new byte[100]);
+        Files.setLastModifiedTime(dossier.resolve("ancien.pdf"), FileTime.fromMillis(1000));
+        Files.write(dossier.resolve("recent.pdf"), new byte[100]);
+        Files.write(dossier.resolve("abandonne.tmp"), new byte[10]);
+
+        CacheExports cache = new CacheExports(dossier, 150);
+
+        assertTrue(cache.contient("recent"));
+        assertFalse(cache.contient("ancien"));
+        assertFalse(Files.exists(dossier.resolve("abandonne.tmp")));
+    }
+
+    private static Tournoi tournoi() {
+        Tournoi tournoi = new Tournoi();
+        tournoi.setId(1);
+        tournoi.setNom("Open");
+        tournoi.setLieu("Paris");
+        tournoi.setDateDebut(LocalDate.of(2025, 6, 14));
+        tournoi.setDateFin(LocalDate.of(2025, 6, 15));
+        return tournoi;
+    }
+
+    private static Equipe equipe(int id, String... pseudos) {
+        Equipe equipe = new Equipe();
+        equipe.setId(id);
+        equipe.setNom("Equipe" + id);
+        equipe.setJoueurs(new ArrayList<>());
+        for (String pseudo : pseudos) {
+            Joueur joueur = new Joueur();
+            joueur.setPseudo(pseudo);
+            equipe.getJoueurs().add(joueur);
+        }
+        return equipe;
+    }
+
+    @Test
+    void testEmpreinteSuitLesDonnees() {
+        EmpreinteExport a = new EmpreinteExport(tournoi());
+        a.ajouterEquipe(1, equipe(1, "ab", "c"));
+        EmpreinteExport b = new EmpreinteExport(tournoi());
+        b.ajouterEquipe(1, equipe(1, "ab", "c"));
+        assertEquals(a.getValeur(), b.getValeur());
+        assertEquals(1, a.getNbEquipes());
+
+        // Même concaténation, découpage différent
+        EmpreinteExport c = new EmpreinteExport(tournoi());
+        c.ajouterEquipe(1, equipe(1, "a", "bc"));
+        assertNotEquals(a.getValeur(), c.getValeur());
+
+        Tournoi renomme = tournoi();
+        renomme.setNom("Open 2");
+        EmpreinteExport d = new EmpreinteExport(renomme);
+        d.ajouterEquipe(1, equipe(1, "ab", "c"));
+        assertNotEquals(a.getValeur(), d.getValeur());
+    }
+
+    @Test
+    void testEmpreinteSuitLeFichierDuLogo() throws Exception {
+        Path logos = Files.createDirectory(dossier.resolve("logos"));
+        CacheLogos cache = new CacheLogos(logos, 10);
+        Equipe equipe = equipe(1, "ab");
+        equipe.setLogo("wolves.png");
+
+        EmpreinteExport absent = new EmpreinteExport(tournoi(), cache);
+        absent.ajouterEquipe(1, equipe);
+
+        Files.write(logos.resolve("wolves.png"), new byte[10]);
+        EmpreinteExport ajoute = new EmpreinteExport(tournoi(), cache);
+        ajoute.ajouterEquipe(1, equipe);
+        assertNotEquals(absent.getValeur(), ajoute.getValeur());
+
+        // Remplacé sous le même nom
+        Files.write(logos.resolve("wolves.png"), new byte[20]);
+        Files.setLastModifiedTime(logos.resolve("wolves.png"), FileTime.fromMillis(0));
+        EmpreinteExport remplace = new EmpreinteExport(tournoi(), cache);
+        remplace.ajouterEquipe(1, equipe);
+        assertNotEquals(ajoute.getValeur(), remplace.getValeur());
+    }
+}
@@ -0,0 +1,95 @@
+package fr.tournois.export;
+
+import com.itextpdf.text.Image;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+class CacheLogosTest {
+
+    @TempDir
+    Path dossier;
+
+    private void creerLogo(String nom, int taille) throws Exception {
+        ImageIO.write(new BufferedImage(taille, taille, BufferedImage.TYPE_INT_RGB), "png",
+                dossier.resolve(nom).toFile());
+    }
+
+    @Test
+    void testLogoChargeUneSeuleFois() throws Exception {
+        creerLogo("wolves.png", 64);
+        CacheLogos cache = new CacheLogos(dossier, 10);
+
+        Image premier = cache.getLogo("wolves.png");
+        Image second = cache.getLogo("wolves.png");
+
+        assertNotNull(premier);
+        assertSame(premier, second);
+        assertEquals(1, cache.getNombreChargements());
+        assertTrue(premier.getScaledWidth() <= CacheLogos.TAILLE_LOGO);
+    }
+
+    @Test
+    void testLogoAbsentMemorise() {
+        CacheLogos cache = new CacheLogos(dossier, 10);
+
+        assertNull(cache.getLogo("absent.png"));
+        assertNull(cache.getLogo("absent.png"));
+        assertNull(cache.getLogo("../hors_repertoire.png"));
+        assertNull(cache.getLogo(null));
+        assertEquals(2, cache.getNombreChargements());
+    }
+
+    @Test
+    void testLogoRemplaceSousLeMemeNom_relu() throws Exception {
+        creerLogo("wolves.png", 64);
+        CacheLogos cache = new CacheLogos(dossier, 10);
+        Image ancien = cache.getLogo("wolves.png");
+        String version = cache.getVersion("wolves.png");
+
+        creerLogo("wolves.png", 32);
+        Files.setLastModifiedTime(dossier.resolve("wolves.png"), FileTime.fromMillis(0));
+
+        assertNotEquals(version, cache.getVersion("wolves.png"));
+        assertNotSame(ancien, cache.getLogo("wolves.png"));
+        assertEquals(2, cache.getNombreChargements());
+    }
+
+    @Test
+    void testLogoAjouteApresAbsence_charge() throws Exception {
+        CacheLogos cache = new CacheLogos(dossier, 10);
+        assertNull(cache.getLogo("nouveau.png"));
+        assertNull(cache.getVersion("nouveau.png"));
+
+        creerLogo("nouveau.png", 16);
+
+        assertNotNull(cache.getVersion("nouveau.png"));
+        assertNotNull(cache.getLogo("nouveau.png"));
+    }
+
+    @Test
+    void testEvictionDuMoinsRecemmentUtilise() throws Exception {
+        creerLogo("a.png", 8);
+        creerLogo("b.png", 8);
+        creerLogo("c.png", 8);
+        CacheLogos cache = new CacheLogos(dossier, 2);
+
+        cache.getLogo("a.png");
+        cache.getLogo("b.png");
+        cache.getLogo("a.png");
+        cache.getLogo("c.png");  // évince b, le moins récemment utilisé
+        assertEquals(3, cache.getNombreChargements());
+
+        cache.getLogo("a.png");
+        assertEquals(3, cache.getNombreChargements());
+        Files.delete(dossier.resolve("b.png"));
+        assertNull(cache.getLogo("b.png"));
+        assertEquals(4, cache.getNombreChargements());
+    }
+}
@@ -0,0 +1,127 @@
+package fr.tournois.export;
+
+import fr.tournois.dao.ContexteRequetes;
+import fr.tournois.model.Joueur;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+class ExportGroupeTest {
+
+    @TempDir
+    Path dossier;
+
+    private static List<ElementExport> fiches(int nombre) {
+        List<ElementExport> elements = new ArrayList<>();
+        for (int i = 1; i <= nombre; i++) {
+            Joueur joueur = new Joueur();
+            joueur.setId(i);
+            joueur.setPseudo("Joueur " + i);
+            joueur.setNom("Nom" + i);
+            joueur.setPrenom("Prénom" + i);
+            elements.add(ElementExport.ficheJoueur(joueur));
+        }
+        return elements;
+    }
+
+    @Test
+    void testExportVersRepertoire() throws Exception {
+        AtomicInteger dernier = new AtomicInteger();
+        ExportGroupe.Rapport rapport = new ExportGroupe(fiches(20), 4)
+                .versRepertoire(dossier.resolve("fiches"), (termines, total) -> dernier.set(termines));
+
+        assertEquals(20, rapport.getGeneres());
+        assertTrue(rapport.getErreurs().isEmpty());
+        assertEquals(20, dernier.get());
+        Path fichier = dossier.resolve("fiches").resolve("joueur_7_Joueur_7.pdf");
+        assertTrue(Files.size(fichier) > 0);
+        assertEquals("%PDF", new String(Files.readAllBytes(fichier), 0, 4));
+    }
+
+    @Test
+    void testExportVersZip() throws Exception {
+        Path archive = dossier.resolve("fiches.zip");
+        ExportGroupe.Rapport rapport = new ExportGroupe(fiches(15), 3).versZip(archive, null);
+
+        assertEquals(15, rapport.getGeneres());
+        Set<String> noms = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(archive))) {
+            ZipEntry entree;
+            while ((entree = zip.getNextEntry()) != null) {
+                noms.add(entree.getName());
+                assertTrue(zip.readAllBytes().length > 0);
+            }
+        }
+        assertEquals(15, noms.size());
+        assertTrue(noms.contains("joueur_1_Joueur_1.pdf"));
+    }
+
+    @Test
+    void testEchecNArretePasLExport() throws Exception {
+        List<ElementExport> elements = fiches(5);
+        elements.add(new ElementExport() {
+            @Override
+            public String getNomFichier() {
+                return "casse.pdf";
+            }
+
+            @Override
+            public void ecrire(OutputStream out) throws IOException {
+                throw new IOException("disque plein");
+            }
+        });
+
+        ExportGroupe.Rapport rapport = new ExportGroupe(elements, 2).versRepertoire(dossier, null);
+
+        assertEquals(5, rapport.getGeneres());
+        assertEquals(List.of("casse.pdf : disque plein"), rapport.getErreurs());
+        assertFalse(Files.exists(dossier.resolve("casse.pdf")));
+    }
+
+    @Test
+    void testThreadsDeGenerationDansLeContexteDeLAppelant() throws Exception {
+        ContexteRequetes contexte = ContexteRequetes.rapport();
+        Set<ContexteRequetes> vus = ConcurrentHashMap.newKeySet();
+        List<ElementExport> elements = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String nom = "doc" + i + ".pdf";
+            elements.add(new ElementExport() {
+                @Override
+                public String getNomFichier() {
+                    return nom;
+                }
+
+                @Override
+                public void ecrire(OutputStream out) throws IOException {
+                    vus.add(ContexteRequetes.courant());
+                    out.write(1);
+                }
+            });
+        }
+
+        ExportGroupe.Rapport rapport = contexte.executer(() -> new ExportGroupe(elements, 3).versRepertoire(dossier, null));
+
+        assertEquals(6, rapport.getGeneres());
+        assertEquals(1, vus.size());
+        assertSame(contexte, vus.iterator().next());
+    }
+
+    @Test
+    void testNettoyageNomFichier() {
+        assertEquals("Equipe_Elite_", ElementExport.nettoyer("Équipe Élite !"));
+        assertEquals("sans_nom", ElementExport.nettoyer("  "));
+    }
+}
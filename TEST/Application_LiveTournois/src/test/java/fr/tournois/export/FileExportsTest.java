@@ -0,0 +1,78 @@
+package fr.tournois.export;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class FileExportsTest {
+
+    private static void attendreFin(TacheExport tache) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (!tache.getEtat().isFinal() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(tache.getEtat().isFinal(), "La tâche ne s'est pas terminée");
+    }
+
+    @Test
+    void testTacheTermineeAvecAvancement() throws Exception {
+        FileExports file = new FileExports(1);
+        TacheExport tache = file.soumettre("export", suivi -> {
+            suivi.avancer(0.5, "moitié");
+            return "fini";
+        });
+        attendreFin(tache);
+        assertEquals(TacheExport.Etat.TERMINEE, tache.getEtat());
+        assertEquals(1.0, tache.getAvancement());
+        assertEquals("fini", tache.getMessage());
+    }
+
+    @Test
+    void testTravailleursBornesEtAnnulation() throws Exception {
+        FileExports file = new FileExports(1);
+        CountDownLatch demarree = new CountDownLatch(1);
+        TacheExport longue = file.soumettre("longue", suivi -> {
+            demarree.countDown();
+            Thread.sleep(60_000);
+            return "jamais";
+        });
+        TacheExport suivante = file.soumettre("suivante", suivi -> "fini");
+        assertTrue(demarree.await(5, TimeUnit.SECONDS));
+
+        // Un seul travailleur : la seconde tâche attend dans la file
+        assertEquals(TacheExport.Etat.EN_COURS, longue.getEtat());
+        assertEquals(TacheExport.Etat.EN_ATTENTE, suivante.getEtat());
+
+        assertTrue(suivante.annuler());
+        assertEquals(TacheExport.Etat.ANNULEE, suivante.getEtat());
+        assertTrue(longue.annuler());
+        attendreFin(longue);
+        assertEquals(TacheExport.Etat.ANNULEE, longue.getEtat());
+        assertFalse(longue.annuler());
+    }
+
+    @Test
+    void testEchecEtRetraitDesTerminees() throws Exception {
+        FileExports file = new FileExports(2);
+        int[] notifications = {0};
+        file.ajouterEcouteur(tache -> {
+            synchronized (notifications) {
+                notifications[0]++;
+            }
+        });
+        TacheExport tache = file.soumettre("cassé", suivi -> {
+            throw new IllegalStateException("disque plein");
+        });
+        attendreFin(tache);
+        assertEquals(TacheExport.Etat.ECHOUEE, tache.getEtat());
+        assertEquals("disque plein", tache.getMessage());
+        synchronized (notifications) {
+            assertTrue(notifications[0] >= 2);
+        }
+
+        file.retirerTerminees();
+        assertTrue(file.getTaches().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package fr.tournois.importation;
+
+import fr.tournois.model.Joueur;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+class ImportJoueursCsvTest {
+
+    private static final ImportJoueursCsv.Entete ENTETE = new ImportJoueursCsv.Entete(
+            new String[] {"Équipe", "Pseudo", "Nom", "Prénom", "Date de naissance", "Email", "Tag"});
+
+    @Test
+    void testLectureCsvPointVirguleAvecGuillemets() throws IOException {
+        String csv = "\uFEFFequipe;pseudo;nom\n"
+                + "\n"
+                + "\"Wolves; Gaming\";\"Le \"\"Loup\"\"\";Martin\n"
+                + "\"Arctic\nBears\";Ice;Berg\n";
+        try (LecteurCsv lecteur = new LecteurCsv(new StringReader(csv))) {
+            assertArrayEquals(new String[] {"equipe", "pseudo", "nom"}, lecteur.lire());
+            assertEquals(';', lecteur.getSeparateur());
+
+            assertArrayEquals(new String[] {"Wolves; Gaming", "Le \"Loup\"", "Martin"}, lecteur.lire());
+            assertEquals(3, lecteur.getNumeroLigne());
+
+            assertArrayEquals(new String[] {"Arctic\nBears", "Ice", "Berg"}, lecteur.lire());
+            assertEquals(4, lecteur.getNumeroLigne());
+            assertNull(lecteur.lire());
+        }
+    }
+
+    @Test
+    void testGuillemetNonFerme() throws IOException {
+        try (LecteurCsv lecteur = new LecteurCsv(new StringReader("a,b\n\"x,y\n"))) {
+            lecteur.lire();
+            assertThrows(IOException.class, lecteur::lire);
+        }
+    }
+
+    @Test
+    void testSeparateurDeduit() {
+        assertEquals(',', LecteurCsv.deduireSeparateur("a,b,c"));
+        assertEquals(';', LecteurCsv.deduireSeparateur("a;b;\"c,d,e\""));
+        assertEquals('\t', LecteurCsv.deduireSeparateur("a\tb\tc"));
+    }
+
+    @Test
+    void testConversionLigneValide() {
+        Joueur joueur = ImportJoueursCsv.convertir(ENTETE,
+                new String[] {" Wolves Gaming ", "Wolf", "Martin", "Thomas", "15/03/1999", "wolf@wolves.gg", "WLV"});
+        assertEquals("Wolf", joueur.getPseudo());
+        assertEquals("Wolves Gaming", joueur.getEquipe().getNom());
+        assertEquals("WLV", joueur.getEquipe().getTag());
+        assertNull(joueur.getEquipe().getId());
+        assertNotNull(joueur.getDateNaissance());
+    }
+
+    @Test
+    void testConversionLigneInvalide() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                ImportJoueursCsv.convertir(ENTETE,
+                        new String[] {"Wolves", "", "Martin", "Thomas", "31/02/1999", "pas-un-email", "TROPLONGTAG"}));
+        assertTrue(e.getMessage().contains("pseudo obligatoire"));
+        assertTrue(e.getMessage().contains("date de naissance invalide"));
+        assertTrue(e.getMessage().contains("email invalide"));
+        assertTrue(e.getMessage().contains("tag trop long"));
+
+        // Ligne plus courte que l'en-tête : les colonnes manquantes sont vides
+        assertThrows(IllegalArgumentException.class, () ->
+                ImportJoueursCsv.convertir(ENTETE, new String[] {"Wolves", "Wolf"}));
+    }
+
+    @Test
+    void testEnteteIncomplet() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                new ImportJoueursCsv.Entete(new String[] {"equipe", "pseudo"}));
+        assertTrue(e.getMessage().contains("nom"));
+        assertTrue(e.getMessage().contains("prenom"));
+    }
+}
@@ -0,0 +1,75 @@
+package fr.tournois.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListeParesseuseTest {
+
+    @Test
+    void testAucunChargementAvantLePremierAcces() {
+        AtomicInteger chargements = new AtomicInteger();
+        ListeParesseuse<String> liste = new ListeParesseuse<>(() -> {
+            chargements.incrementAndGet();
+            return List.of("a", "b");
+        });
+
+        assertFalse(liste.estChargee());
+        assertEquals(0, chargements.get());
+        assertEquals("[non chargée]", liste.toString());
+    }
+
+    @Test
+    void testChargementUniqueAuPremierAcces() {
+        AtomicInteger chargements = new AtomicInteger();
+        ListeParesseuse<String> liste = new ListeParesseuse<>(() -> {
+            chargements.incrementAndGet();
+            return List.of("a", "b");
+        });
+
+        assertEquals(2, liste.size());
+        assertEquals("b", liste.get(1));
+        assertTrue(liste.contains("a"));
+        assertTrue(liste.estChargee());
+        assertEquals(1, chargements.get());
+    }
+
+    @Test
+    void testListeModifiableApresChargement() {
+        ListeParesseuse<String> liste = new ListeParesseuse<>(() -> List.of("a"));
+
+        liste.add("b");
+        liste.remove("a");
+
+        assertEquals(List.of("b"), liste);
+    }
+
+    @Test
+    void testEchecDuChargementPropageEtRetente() {
+        AtomicInteger essais = new AtomicInteger();
+        ListeParesseuse<String> liste = new ListeParesseuse<>(() -> {
+            if (essais.incrementAndGet() == 1) {
+                throw new IllegalStateException("hors session");
+            }
+            return List.of("a");
+        });
+
+        assertThrows(IllegalStateException.class, liste::size);
+        assertFalse(liste.estChargee());
+        assertEquals(1, liste.size());
+    }
+
+    @Test
+    void testInscriptionDansUnTournoiNonCharge() {
+        Tournoi tournoi = new Tournoi();
+        tournoi.setNbEquipesMax(2);
+        tournoi.setInscriptions(new ListeParesseuse<>(List::of));
+
+        tournoi.ajouterInscription(new Inscription());
+
+        assertEquals(1, tournoi.getInscriptions().size());
+    }
+}
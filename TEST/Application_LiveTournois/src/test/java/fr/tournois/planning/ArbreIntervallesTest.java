@@ -0,0 +1,57 @@
+package fr.tournois.planning;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+class ArbreIntervallesTest {
+
+    @Test
+    void testChevauchement() {
+        ArbreIntervalles arbre = new ArbreIntervalles();
+        arbre.ajouter(100, 200, 1);
+        arbre.ajouter(300, 400, 2);
+
+        assertEquals(1, arbre.chercherChevauchement(150, 250, -1));
+        assertEquals(-1, arbre.chercherChevauchement(200, 300, -1)); // bornes jointives
+        assertEquals(2, arbre.chercherChevauchement(50, 350, 1));    // le tournoi 1 est ignoré
+        assertEquals(List.of(1, 2), arbre.chevauchements(0, 1000));
+
+        assertTrue(arbre.retirer(100, 1));
+        assertFalse(arbre.retirer(100, 1));
+        assertEquals(-1, arbre.chercherChevauchement(150, 250, -1));
+        assertEquals(1, arbre.getTaille());
+    }
+
+    @Test
+    void testIdentiqueAuParcoursComplet() {
+        Random aleatoire = new Random(7);
+        int n = 2000;
+        long[] debuts = new long[n];
+        long[] fins = new long[n];
+        ArbreIntervalles arbre = new ArbreIntervalles();
+        for (int i = 0; i < n; i++) {
+            debuts[i] = aleatoire.nextInt(1_000_000);
+            fins[i] = debuts[i] + 1 + aleatoire.nextInt(500);
+            arbre.ajouter(debuts[i], fins[i], i);
+        }
+        // Retire un intervalle sur deux
+        for (int i = 0; i < n; i += 2) {
+            assertTrue(arbre.retirer(debuts[i], i));
+        }
+        for (int k = 0; k < 500; k++) {
+            long debut = aleatoire.nextInt(1_000_000);
+            long fin = debut + 1 + aleatoire.nextInt(500);
+            int attendu = 0;
+            for (int i = 1; i < n; i += 2) {
+                if (debuts[i] < fin && debut < fins[i]) {
+                    attendu++;
+                }
+            }
+            assertEquals(attendu, arbre.chevauchements(debut, fin).size());
+            assertEquals(attendu > 0, arbre.chercherChevauchement(debut, fin, -1) >= 0);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package fr.tournois.planning;
+
+import fr.tournois.model.Affectation;
+import fr.tournois.model.Staff;
+import fr.tournois.model.Tournoi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetecteurConflitsTest {
+
+    private static final LocalDate JOUR = LocalDate.of(2025, 6, 14);
+
+    private final DetecteurConflits detecteur = DetecteurConflits.getInstance();
+
+    @AfterEach
+    void oublierIndex() {
+        detecteur.reinitialiser();
+    }
+
+    /** Affectation saisie à l'écran : dates sans heure, enregistrées à minuit. */
+    private static Affectation affectation(int idStaff, int idTournoi, LocalDate debut, LocalDate fin) {
+        return affectation(idStaff, idTournoi, debut.atTime(LocalTime.MIDNIGHT), fin.atTime(LocalTime.MIDNIGHT));
+    }
+
+    private static Affectation affectation(int idStaff, int idTournoi, LocalDateTime debut, LocalDateTime fin) {
+        Staff staff = new Staff();
+        staff.setId(idStaff);
+        Tournoi tournoi = new Tournoi();
+        tournoi.setId(idTournoi);
+        Affectation affectation = new Affectation();
+        affectation.setStaff(staff);
+        affectation.setTournoi(tournoi);
+        affectation.setDateDebut(debut);
+        affectation.setDateFin(fin);
+        return affectation;
+    }
+
+    @Test
+    void testTournoisDUnJourLeMemeJour_enConflit() {
+        detecteur.charger(List.of(affectation(1, 10, JOUR, JOUR)));
+
+        assertEquals(10, detecteur.chercherConflit(null, affectation(1, 20, JOUR, JOUR)));
+    }
+
+    @Test
+    void testJourDeBornePartage_enConflit() {
+        detecteur.charger(List.of(affectation(1, 10, JOUR.minusDays(2), JOUR)));
+
+        assertEquals(10, detecteur.chercherConflit(null, affectation(1, 20, JOUR, JOUR.plusDays(1))));
+    }
+
+    @Test
+    void testJoursConsecutifs_sansConflit() {
+        detecteur.charger(List.of(affectation(1, 10, JOUR, JOUR)));
+
+        assertEquals(-1, detecteur.chercherConflit(null, affectation(1, 20, JOUR.plusDays(1), JOUR.plusDays(1))));
+        assertEquals(-1, detecteur.chercherConflit(null, affectation(2, 20, JOUR, JOUR)));
+    }
+
+    @Test
+    void testHorairesPrecis_bornesJointivesSansConflit() {
+        detecteur.charger(List.of(affectation(1, 10, JOUR.atTime(8, 0), JOUR.atTime(12, 0))));
+
+        assertEquals(-1, detecteur.chercherConflit(null, affectation(1, 20, JOUR.atTime(12, 0), JOUR.atTime(18, 0))));
+        assertEquals(10, detecteur.chercherConflit(null, affectation(1, 20, JOUR.atTime(11, 0), JOUR.atTime(18, 0))));
+    }
+
+    @Test
+    void testEnregistrementApresCharge_prisEnCompte() {
+        detecteur.charger(List.of());
+        detecteur.enregistrer(affectation(1, 10, JOUR, JOUR));
+
+        assertEquals(10, detecteur.chercherConflit(null, affectation(1, 20, JOUR, JOUR)));
+        detecteur.retirerTournoi(10);
+        assertEquals(-1, detecteur.chercherConflit(null, affectation(1, 20, JOUR, JOUR)));
+    }
+}
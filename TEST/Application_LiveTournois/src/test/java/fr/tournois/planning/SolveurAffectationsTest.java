@@ -0,0 +1,112 @@
+package fr.tournois.planning;
+
+import fr.tournois.model.Affectation;
+import fr.tournois.model.Staff;
+import fr.tournois.model.Tournoi;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+class SolveurAffectationsTest {
+
+    private static Staff staff(int id, String fonction) {
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setNom("Nom" + id);
+        staff.setPrenom("Prenom" + id);
+        staff.setFonction(fonction);
+        return staff;
+    }
+
+    private static Tournoi tournoi(int id, String lieu, LocalDate debut, LocalDate fin) {
+        Tournoi tournoi = new Tournoi();
+        tournoi.setId(id);
+        tournoi.setLieu(lieu);
+        tournoi.setDateDebut(debut);
+        tournoi.setDateFin(fin);
+        tournoi.setNbEquipesMax(16);
+        return tournoi;
+    }
+
+    @Test
+    void testAffectationSansConflit() {
+        Tournoi tournoi = tournoi(1, "Paris", LocalDate.of(2025, 6, 14), LocalDate.of(2025, 6, 15));
+        List<Staff> staffs = new ArrayList<>();
+        staffs.add(staff(1, "Organisateur"));
+        staffs.add(staff(2, "Arbitre"));
+        staffs.add(staff(3, "Arbitre"));
+        staffs.add(staff(4, "Arbitre"));
+        staffs.add(staff(5, "Technicien"));
+
+        // L'arbitre 2 est déjà pris ce week-end sur un autre tournoi
+        Affectation existante = new Affectation();
+        existante.setStaff(staffs.get(1));
+        existante.setTournoi(tournoi(2, "Lyon", LocalDate.of(2025, 6, 14), LocalDate.of(2025, 6, 14)));
+        existante.setDateDebut(LocalDateTime.of(2025, 6, 14, 10, 0));
+        existante.setDateFin(LocalDateTime.of(2025, 6, 14, 18, 0));
+        // L'arbitre 3 travaille à Paris la veille : moins de temps mort et pas de déplacement
+        Affectation veille = new Affectation();
+        veille.setStaff(staffs.get(2));
+        veille.setTournoi(tournoi(3, "Paris", LocalDate.of(2025, 6, 13), LocalDate.of(2025, 6, 13)));
+        veille.setDateDebut(LocalDateTime.of(2025, 6, 13, 8, 0));
+        veille.setDateFin(LocalDateTime.of(2025, 6, 13, 20, 0));
+
+        List<BesoinStaff> besoins = BesoinStaff.parDefaut(tournoi);
+        SolveurAffectations solveur = new SolveurAffectations(tournoi, besoins, staffs,
+                List.of(existante, veille), new Random(1));
+        SolveurAffectations.Resultat resultat = solveur.resoudre(50, null);
+
+        Set<Integer> affectes = new HashSet<>();
+        for (Affectation affectation : resultat.getAffectations()) {
+            assertTrue(affectes.add(affectation.getStaff().getId()), "Un membre affecté deux fois");
+            assertNotEquals(2, affectation.getStaff().getId());
+        }
+        // Le commentateur manque ; les deux postes d'arbitre sont pourvus par 3 et 4
+        assertEquals(1, resultat.getNonPourvus().size());
+        assertEquals("Commentateur", resultat.getNonPourvus().get(0).getFonction());
+        assertEquals(4, resultat.getAffectations().size());
+    }
+
+    @Test
+    void testAffectationSaisieSansHeure_couvreToutLeJour() {
+        LocalDate jour = LocalDate.of(2025, 6, 14);
+        Tournoi tournoi = tournoi(1, "Paris", jour, jour);
+        List<Staff> staffs = List.of(staff(1, "Arbitre"), staff(2, "Arbitre"), staff(3, "Arbitre"));
+
+        // Tournoi d'un jour saisi à l'écran : début et fin le même jour à minuit
+        Affectation existante = new Affectation();
+        existante.setStaff(staffs.get(0));
+        existante.setTournoi(tournoi(2, "Paris", jour, jour));
+        existante.setDateDebut(jour.atStartOfDay());
+        existante.setDateFin(jour.atStartOfDay());
+
+        SolveurAffectations.Resultat resultat = new SolveurAffectations(tournoi, BesoinStaff.parDefaut(tournoi),
+                staffs, List.of(existante), new Random(1)).resoudre(50, null);
+
+        for (Affectation affectation : resultat.getAffectations()) {
+            assertNotEquals(1, affectation.getStaff().getId());
+        }
+    }
+
+    @Test
+    void testInterruption() throws InterruptedException {
+        Tournoi tournoi = tournoi(1, "Paris", LocalDate.of(2025, 6, 14), LocalDate.of(2025, 6, 15));
+        List<Staff> staffs = List.of(staff(1, "Arbitre"), staff(2, "Arbitre"));
+        SolveurAffectations solveur = new SolveurAffectations(tournoi, BesoinStaff.parDefaut(tournoi), staffs, List.of());
+
+        SolveurAffectations.Resultat[] resultat = new SolveurAffectations.Resultat[1];
+        Thread thread = new Thread(() -> resultat[0] = solveur.resoudre(60_000, null));
+        thread.start();
+        thread.interrupt();
+        thread.join(5_000);
+        assertFalse(thread.isAlive());
+        assertEquals(2, resultat[0].getAffectations().size());
+    }
+}
@@ -0,0 +1,48 @@
+package fr.tournois.ui.util;
+
+import fr.tournois.dao.EvenementDAO;
+import fr.tournois.model.Jeu;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListeSynchroniseeTest {
+
+    private static Jeu jeu(int id, String genre) {
+        Jeu jeu = new Jeu();
+        jeu.setId(id);
+        jeu.setNom("Jeu " + id);
+        jeu.setGenre(genre);
+        return jeu;
+    }
+
+    @Test
+    void testApplicationDesEvenements() {
+        List<Jeu> liste = new ArrayList<>(List.of(jeu(1, "FPS"), jeu(2, "MOBA"), jeu(3, "FPS")));
+        Predicate<Jeu> fps = j -> "FPS".equals(j.getGenre());
+
+        // Création retenue par le filtre : ajoutée ; non retenue : ignorée
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.creation(Jeu.class, 4, jeu(4, "FPS")), Jeu::getId, fps));
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.creation(Jeu.class, 5, jeu(5, "RTS")), Jeu::getId, fps));
+        assertEquals(List.of(1, 2, 3, 4), liste.stream().map(Jeu::getId).toList());
+
+        // Modification : remplacée à sa place, ou retirée si elle ne répond plus au filtre
+        Jeu modifie = jeu(3, "FPS");
+        modifie.setNom("Renommé");
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.modification(Jeu.class, 3, modifie), Jeu::getId, fps));
+        assertSame(modifie, liste.get(2));
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.modification(Jeu.class, 1, jeu(1, "RTS")), Jeu::getId, fps));
+        assertEquals(List.of(2, 3, 4), liste.stream().map(Jeu::getId).toList());
+
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.suppression(Jeu.class, 2), Jeu::getId, fps));
+        assertTrue(ListeSynchronisee.appliquer(liste, EvenementDAO.suppression(Jeu.class, 99), Jeu::getId, fps));
+        assertEquals(List.of(3, 4), liste.stream().map(Jeu::getId).toList());
+
+        // Changement en masse : rechargement demandé
+        assertFalse(ListeSynchronisee.appliquer(liste, EvenementDAO.rechargement(Jeu.class), Jeu::getId, fps));
+    }
+}
@@ -0,0 +1,28 @@
+package fr.tournois.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashSetTest {
+
+    @Test
+    void testAjoutEtRecherche() {
+        IntHashSet ensemble = new IntHashSet();
+        for (int v = -1000; v <= 1000; v++) {
+            if (v != 0) {
+                assertTrue(ensemble.add(v * 64));
+            }
+        }
+        assertTrue(ensemble.add(0));
+        assertFalse(ensemble.add(0));
+        assertFalse(ensemble.add(5 * 64));
+        assertEquals(2001, ensemble.size());
+        assertTrue(ensemble.contains(-1000 * 64));
+        assertFalse(ensemble.contains(1001 * 64));
+        assertFalse(ensemble.contains(65));
+
+        ensemble.clear();
+        assertTrue(ensemble.isEmpty());
+        assertFalse(ensemble.contains(0));
+    }
+}
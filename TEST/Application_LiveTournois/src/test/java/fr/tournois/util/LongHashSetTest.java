@@ -0,0 +1,25 @@
+package fr.tournois.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void testAjoutEtRecherche() {
+        LongHashSet ensemble = new LongHashSet();
+        for (long v = -1000; v <= 1000; v++) {
+            assertTrue(ensemble.add(v << 32 | 7));
+        }
+        assertTrue(ensemble.add(0L));
+        assertFalse(ensemble.add(0L));
+        assertFalse(ensemble.add(5L << 32 | 7));
+        assertEquals(2002, ensemble.size());
+        assertTrue(ensemble.contains(-1000L << 32 | 7));
+        assertFalse(ensemble.contains(1001L << 32 | 7));
+
+        ensemble.clear();
+        assertTrue(ensemble.isEmpty());
+        assertFalse(ensemble.contains(0L));
+    }
+}